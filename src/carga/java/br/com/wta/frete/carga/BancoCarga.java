@@ -0,0 +1,67 @@
+// Caminho: src/carga/java/br/com/wta/frete/carga/BancoCarga.java
+package br.com.wta.frete.carga;
+
+import java.io.IOException;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * Banco do teste de carga: PostgreSQL embarcado (binário baixado como artefato
+ * Maven, executado localmente, sem Docker) ou uma instância local já em
+ * execução.
+ */
+public final class BancoCarga implements AutoCloseable {
+
+    private final EmbeddedPostgres embarcado;
+    private final String jdbcUrl;
+    private final String usuario;
+    private final String senha;
+
+    private BancoCarga(EmbeddedPostgres embarcado, String jdbcUrl, String usuario, String senha) {
+        this.embarcado = embarcado;
+        this.jdbcUrl = jdbcUrl;
+        this.usuario = usuario;
+        this.senha = senha;
+    }
+
+    public static BancoCarga iniciar(ConfiguracaoCarga configuracao) throws IOException {
+        if (!configuracao.isBancoEmbarcado()) {
+            return new BancoCarga(null, configuracao.jdbcUrl(), configuracao.usuario(), configuracao.senha());
+        }
+
+        EmbeddedPostgres postgres = EmbeddedPostgres.builder()
+                // Ajustes de servidor descartável: durabilidade não importa aqui,
+                // mas o número de conexões precisa comportar o pool da aplicação.
+                .setServerConfig("max_connections", "200")
+                .setServerConfig("fsync", "off")
+                .setServerConfig("synchronous_commit", "off")
+                .setServerConfig("full_page_writes", "off")
+                .setServerConfig("shared_buffers", "256MB")
+                .start();
+        String url = postgres.getJdbcUrl("postgres", "postgres") + "&reWriteBatchedInserts=true";
+        return new BancoCarga(postgres, url, "postgres", "postgres");
+    }
+
+    public String getJdbcUrl() {
+        return jdbcUrl;
+    }
+
+    public String getUsuario() {
+        return usuario;
+    }
+
+    public String getSenha() {
+        return senha;
+    }
+
+    public String getDescricao() {
+        return embarcado != null ? "PostgreSQL embarcado (porta " + embarcado.getPort() + ")" : jdbcUrl;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (embarcado != null) {
+            embarcado.close();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+// Caminho: src/carga/java/br/com/wta/frete/carga/ConfiguracaoCarga.java
+package br.com.wta.frete.carga;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Parâmetros do teste de carga, lidos de argumentos {@code chave=valor} (ou
+ * propriedades de sistema -Dchave=valor, com precedência menor).
+ *
+ * Banco: sem {@code carga.jdbc-url}, um PostgreSQL embarcado é iniciado em um
+ * diretório temporário; com ela, a instância local informada é usada (o schema
+ * é recriado pelo Flyway, portanto use um banco descartável).
+ */
+public record ConfiguracaoCarga(
+        String jdbcUrl,
+        String usuario,
+        String senha,
+        int transportadores,
+        int clientes,
+        int lojistas,
+        int fretes,
+        int produtos,
+        int threads,
+        int aquecimentoSegundos,
+        int duracaoSegundos,
+        int pesoLance,
+        int pesoOrdemServico,
+        int pesoMarketplace,
+        long semente,
+        Path resultado) {
+
+    public static ConfiguracaoCarga de(String[] args) {
+        Map<String, String> valores = new HashMap<>();
+        System.getProperties().forEach((chave, valor) -> {
+            if (chave.toString().startsWith("carga.")) {
+                valores.put(chave.toString(), valor.toString());
+            }
+        });
+        for (String arg : args) {
+            int separador = arg.indexOf('=');
+            if (separador <= 0) {
+                throw new IllegalArgumentException("Argumento inválido (esperado chave=valor): " + arg);
+            }
+            valores.put(arg.substring(0, separador), arg.substring(separador + 1));
+        }
+
+        return new ConfiguracaoCarga(
+                valores.getOrDefault("carga.jdbc-url", ""),
+                valores.getOrDefault("carga.usuario", "postgres"),
+                valores.getOrDefault("carga.senha", "postgres"),
+                inteiro(valores, "carga.transportadores", 200),
+                inteiro(valores, "carga.clientes", 200),
+                inteiro(valores, "carga.lojistas", 20),
+                inteiro(valores, "carga.fretes", 1_000),
+                inteiro(valores, "carga.produtos", 2_000),
+                inteiro(valores, "carga.threads", 16),
+                inteiro(valores, "carga.aquecimento-s", 10),
+                inteiro(valores, "carga.duracao-s", 60),
+                inteiro(valores, "carga.peso.lance", 70),
+                inteiro(valores, "carga.peso.ordem-servico", 10),
+                inteiro(valores, "carga.peso.marketplace", 20),
+                Long.parseLong(valores.getOrDefault("carga.semente", "42")),
+                Path.of(valores.getOrDefault("carga.resultado", "target/carga-resultado.json")));
+    }
+
+    public boolean isBancoEmbarcado() {
+        return jdbcUrl == null || jdbcUrl.isBlank();
+    }
+
+    private static int inteiro(Map<String, String> valores, String chave, int padrao) {
+        String valor = valores.get(chave);
+        return valor == null || valor.isBlank() ? padrao : Integer.parseInt(valor.trim());
+    }
+}
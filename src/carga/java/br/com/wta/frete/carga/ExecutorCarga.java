@@ -0,0 +1,259 @@
+// Caminho: src/carga/java/br/com/wta/frete/carga/ExecutorCarga.java
+package br.com.wta.frete.carga;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import br.com.wta.frete.carga.MassaDadosCarga.Massa;
+
+/**
+ * Dispara as cargas de trabalho contra a aplicação, via HTTP, em
+ * {@code carga.threads} threads. Cada requisição sorteia a operação pelos pesos
+ * configurados:
+ *
+ * 1. LANCE: POST /fretes/{id}/lances, com valor abaixo do melhor lance
+ * conhecido pelo gerador (rejeições por concorrência são esperadas e contadas à
+ * parte).
+ * 2. ORDEM_SERVICO: POST /ordens-servico (cria a OS e o Frete).
+ * 3. MARKETPLACE: GET de uma página de produtos ou de um produto.
+ *
+ * A latência (do envio ao fim da leitura da resposta) é registrada em
+ * microssegundos em um histograma HDR por operação.
+ */
+public final class ExecutorCarga {
+
+    public enum Operacao {
+        LANCE, ORDEM_SERVICO, MARKETPLACE
+    }
+
+    /**
+     * Medições de uma operação em uma fase (aquecimento ou medição).
+     */
+    public static final class Medicao {
+        final Recorder latencias = new Recorder(3);
+        final LongAdder sucessos = new LongAdder();
+        final LongAdder rejeicoes = new LongAdder();
+        final LongAdder erros = new LongAdder();
+
+        void reiniciar() {
+            latencias.reset();
+            sucessos.reset();
+            rejeicoes.reset();
+            erros.reset();
+        }
+    }
+
+    /**
+     * Resultado consolidado de uma operação.
+     */
+    public record ResultadoOperacao(Operacao operacao, long sucessos, long rejeicoes, long erros,
+            Histogram latenciasMicros) {
+
+        public long total() {
+            return sucessos + rejeicoes + erros;
+        }
+    }
+
+    private static final long DECREMENTO_CENTAVOS = 500;
+    private static final String[] CEPS = { "01310100", "20040002", "30130010", "40020000", "80010000",
+            "90010000", "70040010", "13010111", "60060000", "69005000" };
+
+    private final ConfiguracaoCarga configuracao;
+    private final Massa massa;
+    private final String baseUrl;
+    private final HttpClient http;
+    private final Map<Operacao, Medicao> medicoes = new EnumMap<>(Operacao.class);
+    // Melhor lance estimado por Frete (centavos), indexado por freteId - primeiroFrete.
+    private final AtomicLongArray melhorLance;
+
+    public ExecutorCarga(ConfiguracaoCarga configuracao, Massa massa, int porta) {
+        this.configuracao = configuracao;
+        this.massa = massa;
+        this.baseUrl = "http://localhost:" + porta;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        for (Operacao operacao : Operacao.values()) {
+            medicoes.put(operacao, new Medicao());
+        }
+        int fretes = (int) (massa.ultimoFrete() - massa.primeiroFrete() + 1);
+        this.melhorLance = new AtomicLongArray(fretes);
+        long inicial = MassaDadosCarga.PRECO_INICIAL.movePointRight(2).longValueExact();
+        for (int i = 0; i < fretes; i++) {
+            melhorLance.set(i, inicial);
+        }
+    }
+
+    /**
+     * Executa o aquecimento (descartado) e a fase medida.
+     */
+    public List<ResultadoOperacao> executar() throws InterruptedException {
+        rodarFase(configuracao.aquecimentoSegundos(), 1);
+        medicoes.values().forEach(Medicao::reiniciar);
+        rodarFase(configuracao.duracaoSegundos(), 2);
+
+        List<ResultadoOperacao> resultados = new ArrayList<>();
+        medicoes.forEach((operacao, medicao) -> resultados.add(new ResultadoOperacao(operacao,
+                medicao.sucessos.sum(), medicao.rejeicoes.sum(), medicao.erros.sum(),
+                medicao.latencias.getIntervalHistogram())));
+        return resultados;
+    }
+
+    private void rodarFase(int segundos, long fase) throws InterruptedException {
+        if (segundos <= 0) {
+            return;
+        }
+        long fim = System.nanoTime() + TimeUnit.SECONDS.toNanos(segundos);
+        CountDownLatch concluidas = new CountDownLatch(configuracao.threads());
+        for (int t = 0; t < configuracao.threads(); t++) {
+            // Semente por thread e fase: a sequência de operações é reproduzível.
+            SplittableRandom aleatorio = new SplittableRandom(configuracao.semente() * 31 + fase * 1_000 + t);
+            Thread thread = new Thread(() -> {
+                try {
+                    while (System.nanoTime() < fim) {
+                        executarUma(aleatorio);
+                    }
+                } finally {
+                    concluidas.countDown();
+                }
+            }, "carga-" + fase + "-" + t);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        concluidas.await();
+    }
+
+    private void executarUma(SplittableRandom aleatorio) {
+        int pesoTotal = configuracao.pesoLance() + configuracao.pesoOrdemServico() + configuracao.pesoMarketplace();
+        int sorteio = aleatorio.nextInt(pesoTotal);
+        if (sorteio < configuracao.pesoLance()) {
+            lance(aleatorio);
+        } else if (sorteio < configuracao.pesoLance() + configuracao.pesoOrdemServico()) {
+            ordemServico(aleatorio);
+        } else {
+            marketplace(aleatorio);
+        }
+    }
+
+    // --- OPERAÇÕES ---
+
+    private void lance(SplittableRandom aleatorio) {
+        int indice = aleatorio.nextInt(melhorLance.length());
+        long freteId = massa.primeiroFrete() + indice;
+        long transportadorId = entre(aleatorio, massa.primeiroTransportador(), massa.ultimoTransportador());
+        long valor = melhorLance.get(indice) - DECREMENTO_CENTAVOS - aleatorio.nextLong(1_000);
+        if (valor <= 100) {
+            valor = melhorLance.get(indice);
+        }
+
+        String corpo = "{\"transportadorId\":" + transportadorId + ",\"valorLance\":"
+                + BigDecimal.valueOf(valor, 2).toPlainString() + "}";
+        int status = enviar(Operacao.LANCE, post("/api/v1/logistica/fretes/" + freteId + "/lances", corpo));
+        if (status / 100 == 2 || status == 400) {
+            // Aceito, ou outro transportador chegou antes: o gerador passa a mirar
+            // abaixo deste valor.
+            melhorLance.accumulateAndGet(indice, valor, Math::min);
+        }
+    }
+
+    private void ordemServico(SplittableRandom aleatorio) {
+        long clienteId = entre(aleatorio, massa.primeiroCliente(), massa.ultimoCliente());
+        String cepColeta = CEPS[aleatorio.nextInt(CEPS.length)];
+        String cepDestino = CEPS[aleatorio.nextInt(CEPS.length)];
+        int itens = 1 + aleatorio.nextInt(3);
+
+        StringBuilder corpo = new StringBuilder(256)
+                .append("{\"clienteSolicitanteId\":").append(clienteId)
+                .append(",\"dataPrevistaColeta\":\"").append(LocalDate.now().plusDays(3)).append('"')
+                .append(",\"enderecoColeta\":\"Rua da Carga, ").append(aleatorio.nextInt(1_000)).append('"')
+                .append(",\"cepColeta\":\"").append(cepColeta).append('"')
+                .append(",\"cepDestino\":\"").append(cepDestino).append('"')
+                .append(",\"nomeModalidadeFrete\":\"").append(MassaDadosCarga.MODALIDADE).append('"')
+                .append(",\"itensFrete\":[");
+        for (int i = 0; i < itens; i++) {
+            if (i > 0) {
+                corpo.append(',');
+            }
+            corpo.append("{\"freteId\":0,\"descricao\":\"Item ").append(i)
+                    .append("\",\"tipoMaterial\":\"SUCATA\",\"pesoEstimadoKg\":").append(100 + aleatorio.nextInt(900))
+                    .append('}');
+        }
+        corpo.append("]}");
+        enviar(Operacao.ORDEM_SERVICO, post("/api/v1/logistica/ordens-servico", corpo.toString()));
+    }
+
+    private void marketplace(SplittableRandom aleatorio) {
+        String caminho;
+        if (aleatorio.nextInt(10) < 7) {
+            int paginas = Math.max(1, (int) ((massa.ultimoProduto() - massa.primeiroProduto() + 1) / 20));
+            caminho = "/api/v1/marketplace/produtos?page=" + aleatorio.nextInt(paginas) + "&size=20";
+        } else {
+            caminho = "/api/v1/marketplace/produtos/"
+                    + entre(aleatorio, massa.primeiroProduto(), massa.ultimoProduto());
+        }
+        enviar(Operacao.MARKETPLACE, HttpRequest.newBuilder(URI.create(baseUrl + caminho)).GET()
+                .timeout(Duration.ofSeconds(30)).build());
+    }
+
+    // --- HTTP ---
+
+    private HttpRequest post(String caminho, String corpoJson) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + caminho))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(corpoJson))
+                .build();
+    }
+
+    /**
+     * Envia a requisição e registra latência e resultado. 2xx = sucesso, 400 =
+     * rejeição de regra de negócio, demais = erro.
+     *
+     * @return O status HTTP (0 em falha de rede).
+     */
+    private int enviar(Operacao operacao, HttpRequest requisicao) {
+        Medicao medicao = medicoes.get(operacao);
+        long inicio = System.nanoTime();
+        int status;
+        try {
+            status = http.send(requisicao, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            status = 0;
+        } catch (Exception e) {
+            status = 0;
+        }
+        medicao.latencias.recordValue(Math.max(1, (System.nanoTime() - inicio) / 1_000));
+
+        if (status / 100 == 2) {
+            medicao.sucessos.increment();
+        } else if (status == 400) {
+            medicao.rejeicoes.increment();
+        } else {
+            medicao.erros.increment();
+        }
+        return status;
+    }
+
+    private static long entre(SplittableRandom aleatorio, long inicio, long fim) {
+        return inicio + aleatorio.nextLong(fim - inicio + 1);
+    }
+}
@@ -0,0 +1,138 @@
+// Caminho: src/carga/java/br/com/wta/frete/carga/MassaDadosCarga.java
+package br.com.wta.frete.carga;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Massa sintética do teste de carga: transportadores, clientes, lojistas,
+ * produtos do marketplace e fretes com leilão aberto.
+ *
+ * Gerada no próprio banco (INSERT ... SELECT generate_series), com IDs e
+ * valores derivados do índice da linha: a mesma configuração produz sempre a
+ * mesma massa, o que permite comparar builds.
+ */
+public final class MassaDadosCarga {
+
+    // Preço inicial dos leilões gerados; os lances descem a partir dele.
+    static final BigDecimal PRECO_INICIAL = new BigDecimal("5000.00");
+    static final String MODALIDADE = "ROD_PESADO";
+
+    /**
+     * Faixas de IDs geradas (inclusivas).
+     */
+    public record Massa(long primeiroTransportador, long ultimoTransportador, long primeiroCliente,
+            long ultimoCliente, long primeiroFrete, long ultimoFrete, long primeiroProduto, long ultimoProduto) {
+    }
+
+    private final JdbcTemplate jdbc;
+
+    public MassaDadosCarga(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public Massa gerar(ConfiguracaoCarga configuracao) {
+        long transportadores = configuracao.transportadores();
+        long clientes = configuracao.clientes();
+        long lojistas = configuracao.lojistas();
+
+        long primeiroTransportador = 1;
+        long primeiroCliente = primeiroTransportador + transportadores;
+        long primeiroLojista = primeiroCliente + clientes;
+        long ultimaPessoa = primeiroLojista + lojistas - 1;
+
+        gerarTabelasMestras();
+
+        jdbc.update("""
+                INSERT INTO core.pessoas (pessoa_id, nome, email, senha, ativo, is_colaborador, is_cliente)
+                SELECT g, 'Pessoa Carga ' || g, 'carga' || g || '@brfrete.com', 'carga', TRUE,
+                       g < ?, g >= ? AND g < ?
+                FROM generate_series(1, ?) g
+                """, primeiroCliente, primeiroCliente, primeiroLojista, ultimaPessoa);
+        jdbc.update("""
+                INSERT INTO colaboradores.transportadores (pessoa_id, licenca_transporte)
+                SELECT g, 'ANTT-' || g FROM generate_series(?, ?) g
+                """, primeiroTransportador, primeiroCliente - 1);
+        jdbc.update("""
+                INSERT INTO clientes.detalhes (pessoa_id)
+                SELECT g FROM generate_series(?, ?) g
+                """, primeiroCliente, primeiroLojista - 1);
+        jdbc.update("""
+                INSERT INTO colaboradores.lojistas (pessoa_id, nome_loja, endereco_coleta)
+                SELECT g, 'Loja Carga ' || g, 'Rua da Carga, ' || g FROM generate_series(?, ?) g
+                """, primeiroLojista, ultimaPessoa);
+
+        // Produtos: vendedores e categorias em rodízio, preços determinísticos.
+        jdbc.update("""
+                INSERT INTO marketplace.produtos (vendedor_id, categoria_id, titulo, descricao, sku, preco)
+                SELECT ? + (g % ?), c.categoria_id, 'Produto Carga ' || g, 'Gerado pelo teste de carga',
+                       'CARGA-' || g, 10 + (g % 500)
+                FROM generate_series(1, ?) g
+                JOIN LATERAL (
+                    SELECT categoria_id FROM marketplace.categorias
+                    ORDER BY categoria_id OFFSET (g % (SELECT COUNT(*) FROM marketplace.categorias)) LIMIT 1
+                ) c ON TRUE
+                """, primeiroLojista, lojistas, configuracao.produtos());
+
+        // Uma OS por Frete; leilões abertos por 7 dias (o agendador não os encerra
+        // durante o teste).
+        jdbc.update("""
+                INSERT INTO logistica.ordens_servico (ordem_id, cliente_solicitante_id, data_prevista_coleta,
+                    endereco_coleta, cep_coleta, cep_destino)
+                SELECT g, ? + (g % ?), CURRENT_DATE + 3, 'Rua da Coleta, ' || g,
+                       lpad(((g * 7919) % 100000000)::text, 8, '0'), lpad(((g * 104729) % 100000000)::text, 8, '0')
+                FROM generate_series(1, ?) g
+                """, primeiroCliente, clientes, configuracao.fretes());
+        jdbc.update("""
+                INSERT INTO logistica.fretes (frete_id, ordem_servico_id, modalidade_id, status_leilao_id,
+                    data_expiracao_negociacao, distancia_km, antt_piso_minimo, preco_sugerido, custo_base_mercado,
+                    peso_total_kg)
+                SELECT g, g, m.modalidade_id, s.status_id, now() + INTERVAL '7 days', 400, 500, ?, ?, 1000
+                FROM generate_series(1, ?) g
+                CROSS JOIN (SELECT modalidade_id FROM logistica.modalidades_frete WHERE nome_modalidade = ?) m
+                CROSS JOIN (SELECT status_id FROM logistica.status_leilao WHERE nome_status = 'AGUARDANDO_LANCES') s
+                """, PRECO_INICIAL, PRECO_INICIAL, configuracao.fretes(), MODALIDADE);
+        jdbc.update("""
+                INSERT INTO logistica.leilao_estado (frete_id, nome_status, data_expiracao_negociacao)
+                SELECT frete_id, 'AGUARDANDO_LANCES', data_expiracao_negociacao FROM logistica.fretes
+                """);
+
+        // Sequências alinhadas às chaves explícitas (a OS criada pela carga usa a próxima).
+        for (String tabela : List.of("core.pessoas:pessoa_id", "logistica.ordens_servico:ordem_id",
+                "logistica.fretes:frete_id")) {
+            String[] partes = tabela.split(":");
+            jdbc.queryForObject("SELECT setval(pg_get_serial_sequence(?, ?), (SELECT MAX(" + partes[1] + ") FROM "
+                    + partes[0] + "))", Long.class, partes[0], partes[1]);
+        }
+        jdbc.execute("ANALYZE");
+
+        long primeiroProduto = jdbc.queryForObject("SELECT MIN(produto_id) FROM marketplace.produtos", Long.class);
+        return new Massa(primeiroTransportador, primeiroCliente - 1, primeiroCliente, primeiroLojista - 1, 1,
+                configuracao.fretes(), primeiroProduto, primeiroProduto + configuracao.produtos() - 1);
+    }
+
+    private void gerarTabelasMestras() {
+        jdbc.update("""
+                INSERT INTO logistica.modalidades_frete (nome_modalidade)
+                VALUES ('ROD_PESADO'), ('ROD_LEVE'), ('FRACIONADO') ON CONFLICT DO NOTHING
+                """);
+        jdbc.update("""
+                INSERT INTO logistica.status_leilao (nome_status)
+                VALUES ('AGUARDANDO_LANCES'), ('ENCERRADO_COM_VENCEDOR'), ('ENCERRADO_SEM_LANCES')
+                ON CONFLICT DO NOTHING
+                """);
+        jdbc.update("""
+                INSERT INTO logistica.antt_parametros (chave, valor, descricao, data_vigencia)
+                VALUES ('CUSTO_FIXO_VIAGEM', 150.00, 'Carga', CURRENT_DATE - 30),
+                       ('COEFICIENTE_POR_KM', 0.75, 'Carga', CURRENT_DATE - 30),
+                       ('TAXA_ADMINISTRATIVA', 0.05, 'Carga', CURRENT_DATE - 30)
+                ON CONFLICT DO NOTHING
+                """);
+        jdbc.update("""
+                INSERT INTO marketplace.categorias (nome_categoria)
+                SELECT 'Categoria Carga ' || g FROM generate_series(1, 10) g ON CONFLICT DO NOTHING
+                """);
+    }
+}
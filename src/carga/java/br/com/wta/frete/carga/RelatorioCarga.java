@@ -0,0 +1,84 @@
+// Caminho: src/carga/java/br/com/wta/frete/carga/RelatorioCarga.java
+package br.com.wta.frete.carga;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.HdrHistogram.Histogram;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import br.com.wta.frete.carga.ExecutorCarga.ResultadoOperacao;
+
+/**
+ * Relatório do teste de carga: tabela no console e JSON (vazão e percentis de
+ * latência por operação) para comparação entre builds.
+ */
+public final class RelatorioCarga {
+
+    private static final double[] PERCENTIS = { 50, 90, 99, 99.9 };
+
+    private RelatorioCarga() {
+    }
+
+    public static void imprimir(List<ResultadoOperacao> resultados, int duracaoSegundos) {
+        System.out.printf(Locale.ROOT, "%n%-14s %9s %9s %9s %7s %10s %9s %9s %9s %9s %9s%n", "operacao", "total",
+                "sucesso", "rejeicao", "erro", "ops/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (ResultadoOperacao r : resultados) {
+            Histogram h = r.latenciasMicros();
+            System.out.printf(Locale.ROOT, "%-14s %9d %9d %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    r.operacao(), r.total(), r.sucessos(), r.rejeicoes(), r.erros(),
+                    (double) r.total() / duracaoSegundos, ms(h.getValueAtPercentile(50)),
+                    ms(h.getValueAtPercentile(90)), ms(h.getValueAtPercentile(99)),
+                    ms(h.getValueAtPercentile(99.9)), ms(h.getMaxValue()));
+        }
+    }
+
+    public static void gravarJson(Path destino, ConfiguracaoCarga configuracao, String banco,
+            List<ResultadoOperacao> resultados) throws IOException {
+        Map<String, Object> raiz = new LinkedHashMap<>();
+        raiz.put("dataExecucao", OffsetDateTime.now().toString());
+        raiz.put("java", System.getProperty("java.version"));
+        raiz.put("banco", banco);
+        raiz.put("configuracao", configuracao);
+
+        List<Map<String, Object>> operacoes = new ArrayList<>();
+        for (ResultadoOperacao r : resultados) {
+            Histogram h = r.latenciasMicros();
+            Map<String, Object> operacao = new LinkedHashMap<>();
+            operacao.put("operacao", r.operacao().name());
+            operacao.put("total", r.total());
+            operacao.put("sucessos", r.sucessos());
+            operacao.put("rejeicoes", r.rejeicoes());
+            operacao.put("erros", r.erros());
+            operacao.put("vazaoPorSegundo", (double) r.total() / configuracao.duracaoSegundos());
+            Map<String, Double> percentis = new LinkedHashMap<>();
+            for (double p : PERCENTIS) {
+                percentis.put("p" + (p == Math.rint(p) ? String.valueOf((int) p) : String.valueOf(p)),
+                        ms(h.getValueAtPercentile(p)));
+            }
+            percentis.put("max", ms(h.getMaxValue()));
+            operacao.put("latenciaMs", percentis);
+            operacoes.add(operacao);
+        }
+        raiz.put("operacoes", operacoes);
+
+        Files.createDirectories(destino.toAbsolutePath().getParent());
+        new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .writerWithDefaultPrettyPrinter()
+                .writeValue(destino.toFile(), raiz);
+    }
+
+    private static double ms(long micros) {
+        return micros / 1_000.0;
+    }
+}
@@ -0,0 +1,69 @@
+// Caminho: src/carga/java/br/com/wta/frete/carga/TesteCarga.java
+package br.com.wta.frete.carga;
+
+import java.util.List;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import br.com.wta.frete.BrFreteApplication;
+import br.com.wta.frete.carga.ExecutorCarga.ResultadoOperacao;
+import br.com.wta.frete.carga.MassaDadosCarga.Massa;
+
+/**
+ * Teste de carga ponta a ponta, executado pelo perfil Maven {@code carga}.
+ *
+ * 1. Inicia o banco ({@link BancoCarga}).
+ * 2. Sobe a aplicação completa (perfis dev e carga, porta aleatória); o Flyway aplica
+ * as migrações a partir da V1__Initial_Schema.sql.
+ * 3. Gera a massa sintética ({@link MassaDadosCarga}).
+ * 4. Executa aquecimento e medição ({@link ExecutorCarga}).
+ * 5. Imprime e grava o relatório ({@link RelatorioCarga}).
+ *
+ * Tudo roda localmente, sem rede nem Docker (o binário do PostgreSQL vem do
+ * repositório Maven local).
+ */
+public final class TesteCarga {
+
+    private TesteCarga() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        ConfiguracaoCarga configuracao = ConfiguracaoCarga.de(args);
+
+        try (BancoCarga banco = BancoCarga.iniciar(configuracao);
+                ConfigurableApplicationContext contexto = iniciarAplicacao(banco, configuracao)) {
+
+            System.out.println("Banco: " + banco.getDescricao());
+            Massa massa = new MassaDadosCarga(contexto.getBean(JdbcTemplate.class)).gerar(configuracao);
+            System.out.println("Massa gerada: " + massa);
+
+            int porta = Integer.parseInt(contexto.getEnvironment().getProperty("local.server.port"));
+            List<ResultadoOperacao> resultados = new ExecutorCarga(configuracao, massa, porta).executar();
+
+            RelatorioCarga.imprimir(resultados, configuracao.duracaoSegundos());
+            RelatorioCarga.gravarJson(configuracao.resultado(), configuracao, banco.getDescricao(), resultados);
+            System.out.println("Resultado gravado em " + configuracao.resultado().toAbsolutePath());
+        }
+        // Threads não-daemon da aplicação (ex: pools do Tomcat) não seguram a JVM.
+        System.exit(0);
+    }
+
+    private static ConfigurableApplicationContext iniciarAplicacao(BancoCarga banco, ConfiguracaoCarga configuracao) {
+        int pool = Math.max(10, configuracao.threads() + 4);
+        // O reinício automático do devtools não faz sentido aqui (e só é
+        // desligado por propriedade de sistema).
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        // Argumentos de linha de comando: precedência sobre os arquivos dos perfis
+        // (dev + carga, este em src/carga/resources).
+        return new SpringApplicationBuilder(BrFreteApplication.class)
+                .profiles("dev", "carga")
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=" + banco.getJdbcUrl(),
+                        "--spring.datasource.username=" + banco.getUsuario(),
+                        "--spring.datasource.password=" + banco.getSenha(),
+                        "--spring.datasource.hikari.maximum-pool-size=" + pool);
+    }
+}
@@ -0,0 +1,82 @@
+// Caminho: src/jmh/java/br/com/wta/frete/benchmark/MapeamentoBenchmark.java
+package br.com.wta.frete.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.wta.frete.logistica.controller.dto.FreteResponse;
+import br.com.wta.frete.logistica.controller.dto.LanceResponse;
+import br.com.wta.frete.logistica.entity.Frete;
+import br.com.wta.frete.logistica.entity.ModalidadeFrete;
+import br.com.wta.frete.logistica.entity.OrdemServico;
+import br.com.wta.frete.logistica.entity.StatusLeilao;
+import br.com.wta.frete.logistica.service.LivroOfertasLeilao;
+import br.com.wta.frete.logistica.service.LivroOfertasLeilao.OfertaTransportador;
+import br.com.wta.frete.logistica.service.mapper.FreteMapper;
+import br.com.wta.frete.logistica.service.mapper.FreteMapperImpl;
+import br.com.wta.frete.logistica.service.mapper.LanceMapper;
+import br.com.wta.frete.logistica.service.mapper.LanceMapperImpl;
+
+/**
+ * Conversões MapStruct das respostas mais frequentes da API (Frete e Lance).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapeamentoBenchmark {
+
+    private final FreteMapper freteMapper = new FreteMapperImpl();
+    private final LanceMapper lanceMapper = new LanceMapperImpl();
+
+    private Frete frete;
+    private OfertaTransportador oferta;
+
+    @Setup
+    public void preparar() {
+        OrdemServico ordemServico = new OrdemServico();
+        ordemServico.setId(10L);
+        StatusLeilao status = new StatusLeilao();
+        status.setId(1);
+        status.setNomeStatus(LivroOfertasLeilao.STATUS_ABERTO);
+
+        frete = new Frete();
+        frete.setFreteId(100L);
+        frete.setOrdemServico(ordemServico);
+        frete.setModalidade(new ModalidadeFrete(1, "ROD_PESADO"));
+        frete.setStatusLeilao(status);
+        frete.setDataExpiracaoNegociacao(LocalDateTime.now().plusHours(48));
+        frete.setDistanciaKm(new BigDecimal("432.75"));
+        frete.setAnttPisoMinimo(new BigDecimal("520.30"));
+        frete.setPrecoSugerido(new BigDecimal("624.36"));
+        frete.setCustoBaseMercado(new BigDecimal("624.36"));
+        frete.setPesoTotalKg(new BigDecimal("12500"));
+
+        oferta = new OfertaTransportador(1000L, 7L, "Transportadora Exemplo", new BigDecimal("600.00"),
+                LocalDateTime.now());
+    }
+
+    @Benchmark
+    public FreteResponse freteParaResponse() {
+        return freteMapper.toResponse(frete);
+    }
+
+    @Benchmark
+    public LanceResponse ofertaParaResponse() {
+        return lanceMapper.toResponse(frete.getFreteId(), oferta);
+    }
+}
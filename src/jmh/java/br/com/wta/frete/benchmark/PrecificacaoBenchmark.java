@@ -0,0 +1,153 @@
+// Caminho: src/jmh/java/br/com/wta/frete/benchmark/PrecificacaoBenchmark.java
+package br.com.wta.frete.benchmark;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.wta.frete.colaboradores.entity.MetricaTransportadorFrete;
+import br.com.wta.frete.colaboradores.entity.Transportador;
+import br.com.wta.frete.colaboradores.repository.MetricaTransportadorFreteRepository;
+import br.com.wta.frete.logistica.entity.AnttParametro;
+import br.com.wta.frete.logistica.entity.ModalidadeFrete;
+import br.com.wta.frete.logistica.repository.AnttParametroRepository;
+import br.com.wta.frete.logistica.repository.ModalidadeFreteRepository;
+import br.com.wta.frete.logistica.service.AnttParametroService;
+import br.com.wta.frete.logistica.service.IndiceMetricasTransportador;
+import br.com.wta.frete.logistica.service.MetricaTransportadorFreteService;
+import br.com.wta.frete.logistica.service.TabelaAntt;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Precificação sem banco: Piso Mínimo ANTT (tabela em memória) e custo
+ * personalizado do transportador (índice de métricas já carregado).
+ *
+ * Os repositórios são simulados; a carga ocorre uma única vez no setup e o
+ * caminho medido é o mesmo da criação de um Frete.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrecificacaoBenchmark {
+
+    private static final int TRANSPORTADORES = 1_000;
+    private static final int MODALIDADE_ID = 1;
+    private static final String MODALIDADE = "ROD_PESADO";
+
+    private AnttParametroService anttService;
+    private MetricaTransportadorFreteService metricaService;
+
+    private final BigDecimal distanciaKm = new BigDecimal("432.75");
+    private final long distanciaCentesimosKm = 43_275L;
+    private final BigDecimal pesoTotalKg = new BigDecimal("12500");
+    private final LocalDate dataAuditoria = LocalDate.now().minusMonths(6);
+    private long sequencia;
+
+    @Setup
+    public void preparar() {
+        AnttParametroRepository anttRepository = mock(AnttParametroRepository.class);
+        when(anttRepository.calcularChecksum()).thenReturn("benchmark");
+        when(anttRepository.findAll()).thenReturn(List.of(
+                parametro(1, TabelaAntt.CUSTO_FIXO_VIAGEM, "150.00", LocalDate.now().minusYears(1)),
+                parametro(2, TabelaAntt.COEFICIENTE_POR_KM, "0.75", LocalDate.now().minusYears(1)),
+                parametro(3, TabelaAntt.TAXA_ADMINISTRATIVA, "0.05", LocalDate.now().minusYears(1)),
+                parametro(4, TabelaAntt.COEFICIENTE_POR_KM, "0.80", LocalDate.now().minusMonths(1))));
+        anttService = new AnttParametroService(anttRepository, null, new SimpleMeterRegistry());
+        anttService.recarregar();
+
+        ModalidadeFrete modalidade = new ModalidadeFrete(MODALIDADE_ID, MODALIDADE);
+        ModalidadeFreteRepository modalidadeRepository = mock(ModalidadeFreteRepository.class);
+        when(modalidadeRepository.findAll()).thenReturn(List.of(modalidade));
+        when(modalidadeRepository.findByNomeModalidade(MODALIDADE)).thenReturn(Optional.of(modalidade));
+
+        List<MetricaTransportadorFrete> metricas = new ArrayList<>(TRANSPORTADORES);
+        List<Long> transportadorIds = new ArrayList<>(TRANSPORTADORES);
+        for (long id = 1; id <= TRANSPORTADORES; id++) {
+            Transportador transportador = new Transportador();
+            transportador.setPessoaId(id);
+            MetricaTransportadorFrete metrica = new MetricaTransportadorFrete();
+            metrica.setMetricaId(id);
+            metrica.setTransportador(transportador);
+            metrica.setModalidadeFrete(modalidade);
+            metrica.setCustoFixoViagem(BigDecimal.valueOf(150 + id % 100));
+            metrica.setCustoPorKm(new BigDecimal("1.2500"));
+            metrica.setMargemLucro(new BigDecimal("0.1500"));
+            metricas.add(metrica);
+            transportadorIds.add(id);
+        }
+        MetricaTransportadorFreteRepository metricaRepository = mock(MetricaTransportadorFreteRepository.class);
+        when(metricaRepository.buscarComModalidadePorTransportadores(any())).thenReturn(metricas);
+
+        IndiceMetricasTransportador indice = new IndiceMetricasTransportador(metricaRepository, modalidadeRepository,
+                TimeUnit.HOURS.toMillis(1));
+        metricaService = new MetricaTransportadorFreteService(metricaRepository, modalidadeRepository, null, null,
+                indice);
+        metricaService.precarregarMetricas(transportadorIds);
+    }
+
+    @Benchmark
+    public BigDecimal pisoMinimoVigente() {
+        return anttService.calcularPisoMinimo(distanciaKm, pesoTotalKg);
+    }
+
+    @Benchmark
+    public long pisoMinimoVigenteEmCentavos() {
+        return anttService.calcularPisoMinimoCentavos(distanciaCentesimosKm, pesoTotalKg);
+    }
+
+    @Benchmark
+    public BigDecimal pisoMinimoEmDataAnterior() {
+        return anttService.calcularPisoMinimo(distanciaKm, pesoTotalKg, dataAuditoria);
+    }
+
+    @Benchmark
+    public BigDecimal custoPersonalizadoPorNomeModalidade() {
+        return metricaService.calcularCustoPersonalizado(proximoTransportador(), MODALIDADE, distanciaKm);
+    }
+
+    @Benchmark
+    public BigDecimal custoPersonalizadoPorIdModalidade() {
+        return metricaService.calcularCustoPersonalizado(proximoTransportador(), MODALIDADE_ID, distanciaKm);
+    }
+
+    @Benchmark
+    public long custoPersonalizadoEmCentavos() {
+        return metricaService.calcularCustoPersonalizadoCentavos(proximoTransportador(), MODALIDADE_ID,
+                distanciaCentesimosKm);
+    }
+
+    private Long proximoTransportador() {
+        return sequencia++ % TRANSPORTADORES + 1;
+    }
+
+    private static AnttParametro parametro(int id, String chave, String valor, LocalDate vigencia) {
+        AnttParametro parametro = new AnttParametro();
+        parametro.setId(id);
+        parametro.setChave(chave);
+        parametro.setValor(new BigDecimal(valor));
+        parametro.setDescricao(chave);
+        parametro.setDataVigencia(vigencia);
+        return parametro;
+    }
+}
@@ -0,0 +1,127 @@
+// Caminho: src/jmh/java/br/com/wta/frete/benchmark/ValidacaoLanceBenchmark.java
+package br.com.wta.frete.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.wta.frete.logistica.service.LivroOfertasLeilao;
+import br.com.wta.frete.logistica.service.LivroOfertasLeilao.ContraLance;
+import br.com.wta.frete.logistica.service.LivroOfertasLeilao.LanceAutomaticoAtivo;
+import br.com.wta.frete.logistica.service.LivroOfertasLeilao.OfertaTransportador;
+import br.com.wta.frete.shared.exception.InvalidDataException;
+
+/**
+ * Validação de lances do LanceService, executada contra o livro de ofertas em
+ * memória ({@link LivroOfertasLeilao}): é o trecho do caminho de um lance que
+ * não depende do banco nem do bloqueio do leilão.
+ *
+ * O livro é montado com {@code ofertas} transportadores já posicionados. A
+ * disputa automática consome o livro; por isso cada invocação recebe um livro
+ * novo, montado fora da medição ({@link Disputa}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidacaoLanceBenchmark {
+
+    private static final BigDecimal VALOR_INICIAL = new BigDecimal("10000.00");
+
+    @Param({ "10", "1000" })
+    public int ofertas;
+
+    private LivroOfertasLeilao livro;
+    private OfertaTransportador ultimaColocada;
+    private BigDecimal lanceValido;
+    private BigDecimal lanceSemDecremento;
+    private LocalDateTime agora;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        agora = LocalDateTime.now();
+        livro = montarLivro(ofertas);
+        ultimaColocada = livro.ofertaDe((long) ofertas);
+        lanceValido = livro.getMelhorOferta().valorLance().subtract(LivroOfertasLeilao.DECREMENTO_MINIMO);
+        lanceSemDecremento = livro.getMelhorOferta().valorLance().subtract(BigDecimal.ONE);
+    }
+
+    /**
+     * Lance aceito: status, prazo e Regras 1 a 4.
+     */
+    @Benchmark
+    public BigDecimal validarLanceAceito() {
+        livro.validarStatusParaLance(agora);
+        livro.validarValorDoLance(ultimaColocada, lanceValido);
+        return lanceValido;
+    }
+
+    /**
+     * Lance rejeitado pela Regra 4 (inclui a montagem da mensagem e da exceção).
+     */
+    @Benchmark
+    public String validarLanceRejeitado() {
+        try {
+            livro.validarValorDoLance(ultimaColocada, lanceSemDecremento);
+            return null;
+        } catch (InvalidDataException e) {
+            return e.getReasonCode();
+        }
+    }
+
+    /**
+     * Disputa entre dois lances automáticos, resolvida em um único passo.
+     */
+    @Benchmark
+    public List<ContraLance> resolverLancesAutomaticos(Disputa disputa) {
+        return disputa.livro.resolverLancesAutomaticos();
+    }
+
+    /**
+     * Livro com dois lances automáticos registrados, remontado antes de cada
+     * invocação (a resolução altera o livro).
+     */
+    @State(Scope.Thread)
+    public static class Disputa {
+
+        private LivroOfertasLeilao livro;
+
+        @Setup(Level.Invocation)
+        public void montar(ValidacaoLanceBenchmark benchmark) {
+            int ofertas = benchmark.ofertas;
+            livro = benchmark.montarLivro(ofertas);
+            BigDecimal melhor = livro.getMelhorOferta().valorLance();
+            livro.registrarLanceAutomatico(new LanceAutomaticoAtivo(1L, (long) ofertas, melhor.subtract(
+                    new BigDecimal("500.00"))));
+            livro.registrarLanceAutomatico(new LanceAutomaticoAtivo(2L, (long) ofertas - 1, melhor.subtract(
+                    new BigDecimal("800.00"))));
+        }
+    }
+
+    private LivroOfertasLeilao montarLivro(int quantidade) {
+        LivroOfertasLeilao novo = new LivroOfertasLeilao(1L, 1L, LivroOfertasLeilao.STATUS_ABERTO,
+                agora.plusHours(48), new BigDecimal("100.00"));
+        // Transportador 1 lidera; os demais ficam acima, em degraus de R$ 5,00.
+        for (int i = quantidade; i >= 1; i--) {
+            BigDecimal valor = VALOR_INICIAL.add(LivroOfertasLeilao.DECREMENTO_MINIMO.multiply(BigDecimal.valueOf(i)));
+            novo.registrar(new OfertaTransportador((long) i, (long) i, "Transportador " + i, valor, agora));
+        }
+        return novo;
+    }
+}
@@ -2,8 +2,11 @@ package br.com.wta.frete.colaboradores.repository;
 
 import br.com.wta.frete.colaboradores.entity.MetricaTransportadorFrete;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -43,12 +46,29 @@ public interface MetricaTransportadorFreteRepository extends JpaRepository<Metri
     Optional<MetricaTransportadorFrete> findByTransportadorPessoaIdAndModalidadeFreteId(
             Long transportadorPessoaId, Integer modalidadeFreteId);
 
+    /**
+     * Como a busca acima, mas tolera mais de uma métrica para a mesma modalidade
+     * (vale a de menor ID). Usado pelo índice de métricas em memória.
+     */
+    Optional<MetricaTransportadorFrete> findFirstByTransportadorPessoaIdAndModalidadeFreteIdOrderByMetricaIdAsc(
+            Long transportadorPessoaId, Integer modalidadeFreteId);
+
     /**
      * Usado para validar a unicidade do nome da métrica para um dado transportador.
      */
     Optional<MetricaTransportadorFrete> findByTransportadorPessoaIdAndNomeMetrica(
             Long transportadorPessoaId, String nomeMetrica);
             
+    /**
+     * Carrega, em uma única consulta, as métricas com modalidade de um conjunto de
+     * transportadores (precificação em lote). Ordenadas por ID para que a escolha
+     * entre métricas da mesma modalidade seja estável.
+     */
+    @Query("SELECT m FROM MetricaTransportadorFrete m JOIN FETCH m.modalidadeFrete "
+            + "WHERE m.transportador.pessoaId IN :transportadorIds ORDER BY m.metricaId")
+    List<MetricaTransportadorFrete> buscarComModalidadePorTransportadores(
+            @Param("transportadorIds") Collection<Long> transportadorIds);
+
     // *************************************************************************
     // O método findMatchingMetrics (lógica complexa de precificação) será
     // adicionado quando integrarmos o FreteService.
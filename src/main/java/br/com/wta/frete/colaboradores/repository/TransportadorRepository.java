@@ -1,6 +1,7 @@
 package br.com.wta.frete.colaboradores.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import br.com.wta.frete.colaboradores.entity.Transportador;
@@ -23,4 +24,11 @@ public interface TransportadorRepository extends JpaRepository<Transportador, Lo
 	 * Retorna Optional para permitir validação no Service.
 	 */
 	Optional<Transportador> findByPessoaId(Long pessoaId); // NOVO MÉTODO PARA COMPATIBILIDADE DA LÓGICA
-}
\ No newline at end of file
+
+	/**
+	 * Busca apenas o nome da Pessoa associada ao Transportador. Uma única consulta
+	 * serve como verificação de existência e fornece o nome para a resposta.
+	 */
+	@Query("SELECT p.nome FROM Transportador t JOIN t.pessoa p WHERE t.pessoaId = :pessoaId")
+	Optional<String> buscarNomePorId(Long pessoaId);
+}
@@ -1,9 +1,14 @@
 package br.com.wta.frete.colaboradores.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import br.com.wta.frete.colaboradores.entity.Veiculo;
+import br.com.wta.frete.colaboradores.entity.enums.StatusVeiculo;
+import br.com.wta.frete.colaboradores.repository.projection.VeiculoCapacidadeProjection;
+
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -27,4 +32,13 @@ public interface VeiculoRepository extends JpaRepository<Veiculo, Integer> {
 
 	// NOVO MÉTODO: Busca por placa OU renavam, ignorando o case.
     Optional<Veiculo> findByPlacaIgnoreCaseOrRenavamIgnoreCase(String placa, String renavam);
-}
\ No newline at end of file
+
+	/**
+	 * Capacidades dos veículos no status informado, para a carga do índice de
+	 * compatibilidade de carga.
+	 */
+	@Query("SELECT new br.com.wta.frete.colaboradores.repository.projection.VeiculoCapacidadeProjection("
+			+ "v.id, v.transportador.pessoaId, v.tipoVeiculo, v.capacidadeKg, v.capacidadeM3) "
+			+ "FROM Veiculo v WHERE v.statusVeiculo = :status")
+	List<VeiculoCapacidadeProjection> buscarCapacidades(StatusVeiculo status);
+}
@@ -0,0 +1,17 @@
+package br.com.wta.frete.colaboradores.repository.projection;
+
+import java.math.BigDecimal;
+
+import br.com.wta.frete.colaboradores.entity.enums.TipoVeiculo;
+
+/**
+ * Projeção das capacidades de um veículo para a carga do índice de
+ * compatibilidade de carga (FrotaDisponivelService).
+ */
+public record VeiculoCapacidadeProjection(
+		Integer veiculoId,
+		Long transportadorId,
+		TipoVeiculo tipoVeiculo,
+		BigDecimal capacidadeKg,
+		BigDecimal capacidadeM3) {
+}
@@ -0,0 +1,200 @@
+// Caminho: src/main/java/br/com/wta/frete/colaboradores/service/FrotaDisponivelService.java
+package br.com.wta.frete.colaboradores.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.com.wta.frete.colaboradores.entity.Veiculo;
+import br.com.wta.frete.colaboradores.entity.enums.StatusVeiculo;
+import br.com.wta.frete.colaboradores.entity.enums.TipoVeiculo;
+import br.com.wta.frete.colaboradores.repository.VeiculoRepository;
+import br.com.wta.frete.colaboradores.repository.projection.VeiculoCapacidadeProjection;
+import br.com.wta.frete.colaboradores.service.IndiceCapacidadeVeiculos.VeiculoCapacidade;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Frota DISPONIVEL em memória para a compatibilidade entre veículos e cargas.
+ *
+ * Mantém os veículos disponíveis por ID e um {@link IndiceCapacidadeVeiculos}
+ * reconstruído sob demanda: cada cadastro apenas marca o índice como
+ * desatualizado, e a próxima consulta o reconstrói (milissegundos para
+ * dezenas de milhares de veículos). Uma ressincronização periódica relê a
+ * frota do banco, incorporando mudanças feitas por outros nós; os cadastros
+ * deste nó confirmados durante a leitura são reaplicados na frota nova.
+ */
+@Service
+public class FrotaDisponivelService {
+
+    private static final Logger log = LoggerFactory.getLogger(FrotaDisponivelService.class);
+
+    private static final int ESCALA_CAPACIDADE = 2;
+
+    private final VeiculoRepository veiculoRepository;
+
+    private volatile Map<Integer, VeiculoCapacidade> veiculos = new ConcurrentHashMap<>();
+    private volatile IndiceCapacidadeVeiculos indice = new IndiceCapacidadeVeiculos(List.of());
+    private volatile boolean desatualizado;
+    // Cadastros recebidos durante uma recarga (nulo fora dela); guardado por this.
+    private List<Consumer<Map<Integer, VeiculoCapacidade>>> alteracoesDuranteRecarga;
+
+    public FrotaDisponivelService(VeiculoRepository veiculoRepository, MeterRegistry meterRegistry) {
+        this.veiculoRepository = veiculoRepository;
+
+        Gauge.builder("frete.frota.veiculos.indexados", this, servico -> servico.veiculos.size())
+                .description("Veículos DISPONIVEL no índice de compatibilidade de carga deste nó")
+                .register(meterRegistry);
+    }
+
+    // --- CARGA ---
+
+    // Transacional no próprio listener: a chamada a recarregar() abaixo não
+    // passa pelo proxy.
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void carregar() {
+        recarregar();
+    }
+
+    /**
+     * Relê a frota disponível do banco e substitui o índice. Cadastros
+     * confirmados durante a leitura são reaplicados na frota nova.
+     */
+    @Scheduled(fixedDelayString = "${frete.frota.ressincronizacao:300000}",
+            initialDelayString = "${frete.frota.ressincronizacao:300000}")
+    @Transactional(readOnly = true)
+    public void recarregar() {
+        List<Consumer<Map<Integer, VeiculoCapacidade>>> alteracoes = new ArrayList<>();
+        synchronized (this) {
+            alteracoesDuranteRecarga = alteracoes;
+        }
+        Map<Integer, VeiculoCapacidade> novos = new ConcurrentHashMap<>();
+        try {
+            for (VeiculoCapacidadeProjection veiculo : veiculoRepository.buscarCapacidades(StatusVeiculo.DISPONIVEL)) {
+                novos.put(veiculo.veiculoId(), capacidade(veiculo.veiculoId(), veiculo.transportadorId(),
+                        veiculo.tipoVeiculo(), veiculo.capacidadeKg(), veiculo.capacidadeM3()));
+            }
+        } catch (RuntimeException e) {
+            // Mantém a frota atual, que recebeu os cadastros normalmente.
+            synchronized (this) {
+                alteracoesDuranteRecarga = null;
+            }
+            throw e;
+        }
+        synchronized (this) {
+            // Idempotentes: reaplicar o que a leitura já viu não muda a frota.
+            alteracoes.forEach(alteracao -> alteracao.accept(novos));
+            veiculos = novos;
+            indice = new IndiceCapacidadeVeiculos(novos.values());
+            desatualizado = false;
+            alteracoesDuranteRecarga = null;
+        }
+        log.debug("Índice de capacidade recarregado com {} veículo(s) disponível(is) ({} cadastro(s) "
+                + "reaplicado(s)).", novos.size(), alteracoes.size());
+    }
+
+    // --- MANUTENÇÃO (após o commit do chamador) ---
+
+    /**
+     * Atualiza o veículo no índice: entra se DISPONIVEL, sai nos demais
+     * status.
+     */
+    public void registrarVeiculo(Veiculo veiculo) {
+        VeiculoCapacidade capacidade = capacidade(veiculo.getId(), veiculo.getTransportador().getPessoaId(),
+                veiculo.getTipoVeiculo(), veiculo.getCapacidadeKg(), veiculo.getCapacidadeM3());
+        boolean disponivel = veiculo.getStatusVeiculo() == StatusVeiculo.DISPONIVEL;
+
+        aposCommit(() -> alterar(frota -> {
+            if (disponivel) {
+                frota.put(capacidade.veiculoId(), capacidade);
+            } else {
+                frota.remove(capacidade.veiculoId());
+            }
+        }));
+    }
+
+    // Aplica na frota atual e, durante uma recarga, guarda para a frota nova.
+    private synchronized void alterar(Consumer<Map<Integer, VeiculoCapacidade>> alteracao) {
+        alteracao.accept(veiculos);
+        desatualizado = true;
+        if (alteracoesDuranteRecarga != null) {
+            alteracoesDuranteRecarga.add(alteracao);
+        }
+    }
+
+    private static void aposCommit(Runnable acao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        } else {
+            acao.run();
+        }
+    }
+
+    // --- CONSULTAS ---
+
+    /**
+     * Transportadores com veículo disponível que comporta a carga (peso e
+     * volume), cada um com o menor veículo compatível.
+     *
+     * @param volumeCentesimosM3 Volume da carga; nulo ou zero não restringe.
+     * @param tipos              Tipos de veículo aceitos; vazio aceita todos.
+     */
+    public List<VeiculoCapacidade> buscarTransportadores(long pesoCentesimosKg, Long volumeCentesimosM3,
+            Set<TipoVeiculo> tipos, int limite) {
+        return indice().buscarTransportadores(pesoCentesimosKg, volumeCentesimosM3, tipos, limite);
+    }
+
+    /**
+     * Capacidades (não dominadas) da frota disponível do transportador.
+     */
+    public List<VeiculoCapacidade> frota(long transportadorId) {
+        return indice().frota(transportadorId);
+    }
+
+    private IndiceCapacidadeVeiculos indice() {
+        if (desatualizado) {
+            synchronized (this) {
+                if (desatualizado) {
+                    desatualizado = false;
+                    indice = new IndiceCapacidadeVeiculos(veiculos.values());
+                }
+            }
+        }
+        return indice;
+    }
+
+    // Capacidade do veículo em centésimos, truncada para baixo (nunca promete
+    // mais do que o cadastrado).
+    private static VeiculoCapacidade capacidade(Integer veiculoId, Long transportadorId, TipoVeiculo tipo,
+            BigDecimal capacidadeKg, BigDecimal capacidadeM3) {
+        return new VeiculoCapacidade(
+                veiculoId,
+                transportadorId,
+                tipo,
+                capacidadeKg.setScale(ESCALA_CAPACIDADE, RoundingMode.DOWN).unscaledValue().longValueExact(),
+                capacidadeM3 != null
+                        ? capacidadeM3.setScale(ESCALA_CAPACIDADE, RoundingMode.DOWN).unscaledValue().longValueExact()
+                        : null);
+    }
+}
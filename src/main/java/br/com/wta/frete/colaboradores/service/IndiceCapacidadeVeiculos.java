@@ -0,0 +1,235 @@
+// Caminho: src/main/java/br/com/wta/frete/colaboradores/service/IndiceCapacidadeVeiculos.java
+package br.com.wta.frete.colaboradores.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import br.com.wta.frete.colaboradores.entity.enums.TipoVeiculo;
+
+/**
+ * Índice imutável das capacidades (peso x volume) dos veículos disponíveis,
+ * agrupado por {@link TipoVeiculo}.
+ *
+ * A pergunta "quais veículos comportam P kg e V m3" é uma consulta de
+ * dominância em duas dimensões. Em cada tipo, os veículos ficam ordenados por
+ * capacidade de peso e divididos em blocos de {@value #TAMANHO_BLOCO}; cada
+ * bloco guarda também a ordem dos seus veículos por volume (decrescente). A
+ * consulta localiza por busca binária o primeiro veículo com peso suficiente
+ * e, nos blocos seguintes, percorre apenas o prefixo com volume suficiente:
+ * o custo é proporcional ao número de blocos e de veículos encontrados, sem
+ * varrer a frota inteira.
+ *
+ * Capacidades em centésimos (kg e m3). Veículo sem capacidade de volume
+ * informada só comporta cargas sem volume.
+ */
+public final class IndiceCapacidadeVeiculos {
+
+    static final int TAMANHO_BLOCO = 64;
+
+    private static final long VOLUME_DESCONHECIDO = -1;
+
+    /**
+     * Veículo disponível indexado.
+     *
+     * @param volumeCentesimosM3 Nulo se o veículo não tiver capacidade de
+     *                           volume cadastrada.
+     */
+    public record VeiculoCapacidade(
+            int veiculoId,
+            long transportadorId,
+            TipoVeiculo tipoVeiculo,
+            long pesoCentesimosKg,
+            Long volumeCentesimosM3) {
+
+        /**
+         * Indica se o veículo comporta a carga (volume nulo ou zero não
+         * restringe).
+         */
+        public boolean comporta(long pesoCentesimosKg, Long volumeCentesimosM3) {
+            return this.pesoCentesimosKg >= pesoCentesimosKg
+                    && volume(this.volumeCentesimosM3) >= exigencia(volumeCentesimosM3);
+        }
+    }
+
+    private static final Comparator<VeiculoCapacidade> POR_AJUSTE = Comparator
+            .comparingLong(VeiculoCapacidade::pesoCentesimosKg)
+            .thenComparingLong(v -> volume(v.volumeCentesimosM3()))
+            .thenComparingInt(VeiculoCapacidade::veiculoId);
+
+    private final Map<TipoVeiculo, Grupo> grupos = new EnumMap<>(TipoVeiculo.class);
+    private final Map<Long, List<VeiculoCapacidade>> frotas = new HashMap<>();
+    private final int tamanho;
+
+    public IndiceCapacidadeVeiculos(Collection<VeiculoCapacidade> veiculos) {
+        Map<TipoVeiculo, List<VeiculoCapacidade>> porTipo = new EnumMap<>(TipoVeiculo.class);
+        Map<Long, List<VeiculoCapacidade>> porTransportador = new HashMap<>();
+        for (VeiculoCapacidade veiculo : veiculos) {
+            porTipo.computeIfAbsent(veiculo.tipoVeiculo(), t -> new ArrayList<>()).add(veiculo);
+            porTransportador.computeIfAbsent(veiculo.transportadorId(), t -> new ArrayList<>()).add(veiculo);
+        }
+        porTipo.forEach((tipo, lista) -> grupos.put(tipo, new Grupo(lista)));
+        porTransportador.forEach((transportadorId, frota) -> frotas.put(transportadorId, fronteira(frota)));
+        this.tamanho = veiculos.size();
+    }
+
+    public int tamanho() {
+        return tamanho;
+    }
+
+    // --- CONSULTAS ---
+
+    /**
+     * Transportadores com ao menos um veículo que comporta a carga, cada um
+     * com o menor veículo compatível, do ajuste mais justo ao mais folgado.
+     *
+     * @param tipos Tipos de veículo aceitos; nulo ou vazio aceita todos.
+     */
+    public List<VeiculoCapacidade> buscarTransportadores(long pesoCentesimosKg, Long volumeCentesimosM3,
+            Set<TipoVeiculo> tipos, int limite) {
+        long volumeExigido = exigencia(volumeCentesimosM3);
+        Map<Long, VeiculoCapacidade> menorPorTransportador = new HashMap<>();
+        for (Map.Entry<TipoVeiculo, Grupo> entrada : grupos.entrySet()) {
+            if (tipos == null || tipos.isEmpty() || tipos.contains(entrada.getKey())) {
+                entrada.getValue().coletar(pesoCentesimosKg, volumeExigido, menorPorTransportador);
+            }
+        }
+        return menorPorTransportador.values().stream()
+                .sorted(POR_AJUSTE)
+                .limit(limite)
+                .toList();
+    }
+
+    /**
+     * Capacidades da frota disponível do transportador, sem os veículos
+     * dominados (menores em peso e em volume que outro da mesma frota).
+     * Vazio se ele não tiver veículo disponível.
+     */
+    public List<VeiculoCapacidade> frota(long transportadorId) {
+        return frotas.getOrDefault(transportadorId, List.of());
+    }
+
+    /**
+     * Indica se algum veículo da frota comporta a carga.
+     */
+    public static boolean comporta(List<VeiculoCapacidade> frota, long pesoCentesimosKg, Long volumeCentesimosM3) {
+        for (VeiculoCapacidade veiculo : frota) {
+            if (veiculo.comporta(pesoCentesimosKg, volumeCentesimosM3)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Fronteira de Pareto: ordenada por peso decrescente, mantém só quem tem
+    // mais volume que todos os anteriores.
+    private static List<VeiculoCapacidade> fronteira(List<VeiculoCapacidade> frota) {
+        List<VeiculoCapacidade> ordenada = new ArrayList<>(frota);
+        ordenada.sort(POR_AJUSTE.reversed());
+        List<VeiculoCapacidade> fronteira = new ArrayList<>();
+        long maiorVolume = Long.MIN_VALUE;
+        for (VeiculoCapacidade veiculo : ordenada) {
+            long volume = volume(veiculo.volumeCentesimosM3());
+            if (volume > maiorVolume) {
+                fronteira.add(veiculo);
+                maiorVolume = volume;
+            }
+        }
+        return List.copyOf(fronteira);
+    }
+
+    private static long volume(Long volumeCentesimosM3) {
+        return volumeCentesimosM3 != null ? volumeCentesimosM3 : VOLUME_DESCONHECIDO;
+    }
+
+    private static long exigencia(Long volumeCentesimosM3) {
+        return volumeCentesimosM3 != null && volumeCentesimosM3 > 0 ? volumeCentesimosM3 : VOLUME_DESCONHECIDO;
+    }
+
+    /**
+     * Veículos de um tipo em arrays paralelos ordenados por peso, com a ordem
+     * por volume de cada bloco.
+     */
+    private static final class Grupo {
+
+        private final VeiculoCapacidade[] veiculos;
+        private final long[] pesos;
+        private final long[] volumes;
+        private final int[][] ordemVolumePorBloco;
+
+        Grupo(List<VeiculoCapacidade> lista) {
+            veiculos = lista.toArray(VeiculoCapacidade[]::new);
+            Arrays.sort(veiculos, POR_AJUSTE);
+            pesos = new long[veiculos.length];
+            volumes = new long[veiculos.length];
+            for (int i = 0; i < veiculos.length; i++) {
+                pesos[i] = veiculos[i].pesoCentesimosKg();
+                volumes[i] = volume(veiculos[i].volumeCentesimosM3());
+            }
+
+            int blocos = (veiculos.length + TAMANHO_BLOCO - 1) / TAMANHO_BLOCO;
+            ordemVolumePorBloco = new int[blocos][];
+            for (int b = 0; b < blocos; b++) {
+                int inicio = b * TAMANHO_BLOCO;
+                int fim = Math.min(inicio + TAMANHO_BLOCO, veiculos.length);
+                Integer[] ordem = new Integer[fim - inicio];
+                for (int i = inicio; i < fim; i++) {
+                    ordem[i - inicio] = i;
+                }
+                Arrays.sort(ordem, (x, y) -> Long.compare(volumes[y], volumes[x]));
+                ordemVolumePorBloco[b] = Arrays.stream(ordem).mapToInt(Integer::intValue).toArray();
+            }
+        }
+
+        void coletar(long pesoMinimo, long volumeMinimo, Map<Long, VeiculoCapacidade> menorPorTransportador) {
+            int primeiro = primeiroComPeso(pesoMinimo);
+            if (primeiro >= veiculos.length) {
+                return;
+            }
+
+            // Bloco parcial: só a partir do primeiro veículo com peso suficiente.
+            int blocoInicial = primeiro / TAMANHO_BLOCO;
+            int fimParcial = Math.min((blocoInicial + 1) * TAMANHO_BLOCO, veiculos.length);
+            for (int i = primeiro; i < fimParcial; i++) {
+                if (volumes[i] >= volumeMinimo) {
+                    registrar(veiculos[i], menorPorTransportador);
+                }
+            }
+
+            // Blocos inteiros: todos têm peso suficiente; percorre o prefixo por volume.
+            for (int b = blocoInicial + 1; b < ordemVolumePorBloco.length; b++) {
+                for (int i : ordemVolumePorBloco[b]) {
+                    if (volumes[i] < volumeMinimo) {
+                        break;
+                    }
+                    registrar(veiculos[i], menorPorTransportador);
+                }
+            }
+        }
+
+        private int primeiroComPeso(long pesoMinimo) {
+            int baixo = 0;
+            int alto = pesos.length;
+            while (baixo < alto) {
+                int meio = (baixo + alto) >>> 1;
+                if (pesos[meio] < pesoMinimo) {
+                    baixo = meio + 1;
+                } else {
+                    alto = meio;
+                }
+            }
+            return baixo;
+        }
+
+        private static void registrar(VeiculoCapacidade veiculo, Map<Long, VeiculoCapacidade> menorPorTransportador) {
+            menorPorTransportador.merge(veiculo.transportadorId(), veiculo,
+                    (atual, novo) -> POR_AJUSTE.compare(novo, atual) < 0 ? novo : atual);
+        }
+    }
+}
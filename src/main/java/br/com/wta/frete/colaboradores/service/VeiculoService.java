@@ -25,6 +25,7 @@ public class VeiculoService {
     private final VeiculoRepository veiculoRepository;
     private final TransportadorRepository transportadorRepository;
     private final VeiculoMapper veiculoMapper;
+    private final FrotaDisponivelService frotaDisponivelService;
 
     /**
      * Cadastra um novo veículo para um Transportador específico.
@@ -56,6 +57,9 @@ public class VeiculoService {
         // 5. Salvar no Banco de Dados
         Veiculo veiculoSalvo = veiculoRepository.save(veiculo);
 
+        // Índice de compatibilidade de carga (após o commit)
+        frotaDisponivelService.registrarVeiculo(veiculoSalvo);
+
         // 6. Mapear Entidade para Response DTO
         return veiculoMapper.toResponse(veiculoSalvo);
     }
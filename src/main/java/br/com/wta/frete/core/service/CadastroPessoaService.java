@@ -8,6 +8,7 @@ import br.com.wta.frete.core.entity.PessoaPerfil;
 import br.com.wta.frete.core.repository.PerfilRepository;
 import br.com.wta.frete.core.repository.PessoaRepository;
 import br.com.wta.frete.core.service.mapper.PessoaMapper;
+import br.com.wta.frete.shared.outbox.RegistroOutbox;
 
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -31,8 +32,7 @@ public class CadastroPessoaService {
     private final PerfilRepository perfilRepository;
     private final PasswordEncoder passwordEncoder;
     private final PessoaMapper pessoaMapper;
-    private final TokenAtivacaoService tokenAtivacaoService;
-    private final EmailService emailService;
+    private final RegistroOutbox registroOutbox;
 
     // Injeção de Dependências
     public CadastroPessoaService(
@@ -40,14 +40,12 @@ public class CadastroPessoaService {
             PerfilRepository perfilRepository,
             PasswordEncoder passwordEncoder,
             PessoaMapper pessoaMapper,
-            TokenAtivacaoService tokenAtivacaoService,
-            EmailService emailService) {
+            RegistroOutbox registroOutbox) {
         this.pessoaRepository = pessoaRepository;
         this.perfilRepository = perfilRepository;
         this.passwordEncoder = passwordEncoder;
         this.pessoaMapper = pessoaMapper;
-        this.tokenAtivacaoService = tokenAtivacaoService;
-        this.emailService = emailService;
+        this.registroOutbox = registroOutbox;
     }
 
     /**
@@ -145,11 +143,13 @@ public class CadastroPessoaService {
         // PROCESSO DE ATIVAÇÃO DE CONTA (Fases 1 e 2)
         // =================================================================
 
-        // 6. GERAÇÃO E ARMAZENAMENTO DO TOKEN NO REDIS (Fase 1)
-        String token = tokenAtivacaoService.criarToken(pessoaSalva.getId());
-
-        // 7. ENVIO DO E-MAIL DE ATIVAÇÃO (Fase 2)
-        emailService.enviarEmailAtivacao(pessoaSalva.getEmail(), token);
+        // 6. EVENTO DE ATIVAÇÃO NO OUTBOX (mesma transação do cadastro)
+        // O token (Redis) e o e-mail são gerados pelo ManipuladorEmailAtivacao
+        // após o commit: um cadastro revertido não envia e-mail, e uma falha do
+        // SMTP não desfaz o cadastro (nova tentativa pelo relay).
+        registroOutbox.registrarEvento(ManipuladorEmailAtivacao.TIPO_EVENTO, pessoaSalva.getId(),
+                new ManipuladorEmailAtivacao.EmailAtivacao(pessoaSalva.getId(), pessoaSalva.getEmail()),
+                ManipuladorEmailAtivacao.TIPO_EVENTO + ":" + pessoaSalva.getId());
 
         return pessoaSalva;
     }
@@ -0,0 +1,64 @@
+// Caminho: src/main/java/br/com/wta/frete/core/service/ManipuladorEmailAtivacao.java
+package br.com.wta.frete.core.service;
+
+import java.util.Set;
+
+import org.springframework.stereotype.Component;
+
+import br.com.wta.frete.shared.outbox.ManipuladorOutbox;
+import br.com.wta.frete.shared.outbox.RegistroOutbox;
+import br.com.wta.frete.shared.outbox.RegistroOutbox.ItemOutbox;
+
+/**
+ * Processo de ativação de conta (Fases 1 e 2) disparado pelo evento
+ * EMAIL_ATIVACAO do outbox, gravado pelo CadastroPessoaService.
+ *
+ * Gera o token (Redis) e envia o e-mail. Em uma reentrega após falha do SMTP
+ * um novo token substitui o anterior, de modo que só o link do último e-mail
+ * enviado é válido.
+ */
+@Component
+public class ManipuladorEmailAtivacao implements ManipuladorOutbox {
+
+    public static final String TIPO_EVENTO = "EMAIL_ATIVACAO";
+
+    /**
+     * Payload do evento.
+     */
+    public record EmailAtivacao(Long pessoaId, String email) {
+    }
+
+    private final RegistroOutbox registroOutbox;
+    private final TokenAtivacaoService tokenAtivacaoService;
+    private final EmailService emailService;
+
+    public ManipuladorEmailAtivacao(
+            RegistroOutbox registroOutbox,
+            TokenAtivacaoService tokenAtivacaoService,
+            EmailService emailService) {
+        this.registroOutbox = registroOutbox;
+        this.tokenAtivacaoService = tokenAtivacaoService;
+        this.emailService = emailService;
+    }
+
+    @Override
+    public String nome() {
+        return "email-ativacao";
+    }
+
+    @Override
+    public Set<String> tipos() {
+        return Set.of(TIPO_EVENTO);
+    }
+
+    @Override
+    public void processar(ItemOutbox item) {
+        EmailAtivacao evento = registroOutbox.lerPayload(item, EmailAtivacao.class);
+
+        // 1. GERAÇÃO E ARMAZENAMENTO DO TOKEN NO REDIS (Fase 1)
+        String token = tokenAtivacaoService.criarToken(evento.pessoaId());
+
+        // 2. ENVIO DO E-MAIL DE ATIVAÇÃO (Fase 2)
+        emailService.enviarEmailAtivacao(evento.email(), token);
+    }
+}
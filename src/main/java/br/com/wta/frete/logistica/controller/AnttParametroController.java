@@ -0,0 +1,58 @@
+package br.com.wta.frete.logistica.controller;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.com.wta.frete.logistica.controller.dto.AnttParametroRequest;
+import br.com.wta.frete.logistica.controller.dto.AnttParametroResponse;
+import br.com.wta.frete.logistica.service.AnttParametroService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Controller administrativo dos parâmetros ANTT (piso mínimo legal).
+ * Endpoint: /api/v1/logistica/antt-parametros
+ */
+@RestController
+@RequestMapping("/api/v1/logistica/antt-parametros")
+@RequiredArgsConstructor
+public class AnttParametroController {
+
+    private final AnttParametroService anttParametroService;
+
+    /**
+     * Lista os parâmetros vigentes na data informada (padrão: hoje).
+     *
+     * @param data Data de referência (yyyy-MM-dd), opcional.
+     * @return Parâmetros vigentes (Status 200 OK).
+     */
+    @GetMapping
+    public ResponseEntity<List<AnttParametroResponse>> listarVigentes(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate data) {
+        return ResponseEntity.ok(anttParametroService.listarVigentes(data != null ? data : LocalDate.now()));
+    }
+
+    /**
+     * Atualiza o valor de um parâmetro. Uma data de vigência diferente da atual
+     * cria uma nova versão do parâmetro.
+     *
+     * @param id      ID do parâmetro.
+     * @param request Novo valor, descrição e data de vigência.
+     * @return O parâmetro atualizado (Status 200 OK).
+     */
+    @PutMapping("/{id}")
+    public ResponseEntity<AnttParametroResponse> atualizarParametro(@PathVariable Integer id,
+            @Valid @RequestBody AnttParametroRequest request) {
+        return ResponseEntity.ok(anttParametroService.atualizarParametro(id, request));
+    }
+}
@@ -0,0 +1,63 @@
+package br.com.wta.frete.logistica.controller;
+
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.wta.frete.logistica.controller.dto.CotacaoLoteRequest;
+import br.com.wta.frete.logistica.controller.dto.CotacaoResponse;
+import br.com.wta.frete.logistica.service.CotacaoLoteService;
+import br.com.wta.frete.logistica.service.CotacaoLoteService.ContextoCotacao;
+import jakarta.validation.Valid;
+
+/**
+ * Controller REST para cotações de frete sem criação de Ordem de Serviço.
+ * Endpoints: /api/v1/logistica/cotacoes
+ */
+@RestController
+@RequestMapping("/api/v1/logistica/cotacoes")
+public class CotacaoController {
+
+    private static final byte[] QUEBRA_LINHA = "\n".getBytes(StandardCharsets.UTF_8);
+
+    private final CotacaoLoteService cotacaoLoteService;
+    private final ObjectMapper objectMapper;
+
+    public CotacaoController(CotacaoLoteService cotacaoLoteService, ObjectMapper objectMapper) {
+        this.cotacaoLoteService = cotacaoLoteService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * POST /api/v1/logistica/cotacoes/lote
+     * Precifica uma lista de pares origem/destino. A resposta é NDJSON (uma linha
+     * JSON por entrada, com o índice da entrada), transmitida à medida que os
+     * blocos são precificados. Entradas inválidas geram linhas com status ERRO.
+     *
+     * @param request Lote de cotações.
+     * @return 200 OK com o corpo em application/x-ndjson.
+     */
+    @PostMapping(value = "/lote", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> cotarLote(@Valid @RequestBody CotacaoLoteRequest request) {
+        // Carregado antes do streaming: falhas aqui ainda viram respostas HTTP de erro.
+        ContextoCotacao contexto = cotacaoLoteService.prepararLote(request);
+
+        StreamingResponseBody corpo = saida -> cotacaoLoteService.cotarLote(request.cotacoes(), contexto, bloco -> {
+            for (CotacaoResponse resposta : bloco) {
+                saida.write(objectMapper.writeValueAsBytes(resposta));
+                saida.write(QUEBRA_LINHA);
+            }
+            saida.flush();
+        });
+
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(corpo);
+    }
+}
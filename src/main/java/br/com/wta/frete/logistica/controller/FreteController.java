@@ -0,0 +1,132 @@
+package br.com.wta.frete.logistica.controller;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import br.com.wta.frete.logistica.controller.dto.FreteAbertoResponse;
+import br.com.wta.frete.logistica.controller.dto.LeilaoEstadoResponse;
+import br.com.wta.frete.logistica.controller.dto.TransportadorCompativelResponse;
+import br.com.wta.frete.logistica.service.CompatibilidadeCargaService;
+import br.com.wta.frete.logistica.service.DescobertaFretesService;
+import br.com.wta.frete.logistica.service.LeilaoEstadoService;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Controller de consulta dos Fretes (leilões).
+ * Endpoints: GET /api/v1/logistica/fretes/{freteId}/estado,
+ * GET /api/v1/logistica/fretes/abertos,
+ * GET /api/v1/logistica/fretes/compativeis e
+ * GET /api/v1/logistica/fretes/{freteId}/transportadores-compativeis
+ */
+@RestController
+@RequestMapping("/api/v1/logistica/fretes")
+@RequiredArgsConstructor
+public class FreteController {
+
+    private final LeilaoEstadoService leilaoEstadoService;
+    private final DescobertaFretesService descobertaFretesService;
+    private final CompatibilidadeCargaService compatibilidadeCargaService;
+
+    /**
+     * Estado atual do leilão (melhor lance, líder, quantidade de lances e tempo
+     * restante), lido do modelo de leitura por chave primária.
+     *
+     * O ETag é a versão do estado: com If-None-Match igual, a resposta é 304 Not
+     * Modified sem corpo. O tempo restante não faz parte do ETag.
+     *
+     * @param freteId O ID do Frete.
+     * @return O estado do leilão (Status 200 OK) ou 304.
+     */
+    @GetMapping("/{freteId}/estado")
+    public ResponseEntity<LeilaoEstadoResponse> buscarEstado(@PathVariable Long freteId, WebRequest webRequest) {
+        LeilaoEstadoResponse estado = leilaoEstadoService.buscar(freteId);
+
+        String etag = "\"" + estado.versao() + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            // 304 e cabeçalho ETag já preenchidos pelo WebRequest.
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(estado);
+    }
+
+    /**
+     * Leilões abertos com coleta próxima ao CEP informado, do mais próximo do
+     * encerramento para o mais distante. Respondido pelo índice em memória, sem
+     * consultar a tabela de fretes.
+     *
+     * Exemplo: GET
+     * /api/v1/logistica/fretes/abertos?cep=01001000&raioKm=50&transportadorId=7
+     *
+     * @param cep             CEP de referência (obrigatório).
+     * @param raioKm          Raio em km, linha reta (padrão 100, máximo 1000).
+     * @param modalidade      Nome da modalidade de frete.
+     * @param pesoMinKg       Peso total mínimo do frete.
+     * @param pesoMaxKg       Peso total máximo do frete.
+     * @param transportadorId Apenas fretes que cabem em um veículo disponível
+     *                        do transportador.
+     * @param limite          Máximo de fretes (padrão 50, máximo 200).
+     * @return A lista de leilões abertos (Status 200 OK).
+     */
+    @GetMapping("/abertos")
+    public ResponseEntity<List<FreteAbertoResponse>> buscarAbertos(
+            @RequestParam String cep,
+            @RequestParam(required = false) Double raioKm,
+            @RequestParam(required = false) String modalidade,
+            @RequestParam(required = false) BigDecimal pesoMinKg,
+            @RequestParam(required = false) BigDecimal pesoMaxKg,
+            @RequestParam(required = false) Long transportadorId,
+            @RequestParam(required = false) Integer limite) {
+        return ResponseEntity.ok(descobertaFretesService.buscarAbertos(cep, raioKm, modalidade, pesoMinKg,
+                pesoMaxKg, transportadorId, limite));
+    }
+
+    /**
+     * Leilões abertos (em qualquer região) que algum veículo disponível do
+     * transportador comporta em peso e volume, do mais próximo do encerramento
+     * para o mais distante.
+     *
+     * @param transportadorId O ID do Transportador.
+     * @param limite          Máximo de fretes (padrão 50, máximo 500).
+     * @return A lista de leilões compatíveis (Status 200 OK).
+     */
+    @GetMapping("/compativeis")
+    public ResponseEntity<List<FreteAbertoResponse>> buscarCompativeis(
+            @RequestParam Long transportadorId,
+            @RequestParam(required = false) Integer limite) {
+        return ResponseEntity.ok(compatibilidadeCargaService.buscarFretes(transportadorId, limite));
+    }
+
+    /**
+     * Transportadores com veículo disponível que comporta a carga do Frete,
+     * cada um com o menor veículo compatível (ex: notificação de novos
+     * leilões, pré-filtro de lances).
+     *
+     * Exemplo: GET
+     * /api/v1/logistica/fretes/42/transportadores-compativeis?tiposVeiculo=BAU_SECO,TRUCK_3_EIXOS
+     *
+     * @param freteId      O ID do Frete.
+     * @param tiposVeiculo Tipos de veículo aceitos (opcional).
+     * @param limite       Máximo de transportadores (padrão 50, máximo 500).
+     * @return A lista de transportadores compatíveis (Status 200 OK).
+     */
+    @GetMapping("/{freteId}/transportadores-compativeis")
+    public ResponseEntity<List<TransportadorCompativelResponse>> buscarTransportadoresCompativeis(
+            @PathVariable Long freteId,
+            @RequestParam(required = false) List<String> tiposVeiculo,
+            @RequestParam(required = false) Integer limite) {
+        return ResponseEntity.ok(compatibilidadeCargaService.buscarTransportadores(freteId, tiposVeiculo, limite));
+    }
+}
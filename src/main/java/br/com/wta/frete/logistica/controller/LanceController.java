@@ -1,15 +1,22 @@
 package br.com.wta.frete.logistica.controller;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import br.com.wta.frete.logistica.controller.dto.LanceAutomaticoRequest;
+import br.com.wta.frete.logistica.controller.dto.LanceAutomaticoResponse;
 import br.com.wta.frete.logistica.controller.dto.LanceRequest;
 import br.com.wta.frete.logistica.controller.dto.LanceResponse;
+import br.com.wta.frete.logistica.service.HubEventosLeilao;
 import br.com.wta.frete.logistica.service.LanceService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -17,7 +24,9 @@ import lombok.RequiredArgsConstructor;
 /**
  * Controller responsável por receber as requisições de Lances dos
  * Transportadores.
- * Endpoint: POST /logistica/fretes/{freteId}/lances
+ * Endpoints: POST /logistica/fretes/{freteId}/lances,
+ * GET /logistica/fretes/{freteId}/lances/stream (SSE) e
+ * POST/DELETE /logistica/fretes/{freteId}/lances/automaticos (proxy bidding)
  */
 @RestController
 @RequestMapping("/api/v1/logistica/fretes/{freteId}/lances")
@@ -25,6 +34,7 @@ import lombok.RequiredArgsConstructor;
 public class LanceController {
 
     private final LanceService lanceService;
+    private final HubEventosLeilao hubEventos;
 
     /**
      * Recebe e processa a submissão/atualização de um lance para um frete.
@@ -42,4 +52,47 @@ public class LanceController {
 
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
-}
\ No newline at end of file
+
+    /**
+     * Acompanha o leilão em tempo real (Server-Sent Events), sem polling.
+     * Eventos: ESTADO (na conexão), MELHOR_LANCE, TEMPO_RESTANTE (periódico) e
+     * ENCERRADO (o stream é finalizado em seguida).
+     *
+     * @param freteId O ID do Frete.
+     * @return O stream de eventos (text/event-stream).
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter acompanharLances(@PathVariable Long freteId) {
+        return hubEventos.assinar(freteId);
+    }
+
+    /**
+     * Registra (ou altera) o lance automático do transportador: sempre que outro
+     * transportador superar o seu lance, o leilão cobre automaticamente com o
+     * decremento mínimo, sem descer abaixo do valor mínimo informado nem do piso
+     * ANTT.
+     *
+     * @param freteId O ID do Frete.
+     * @param request Transportador e valor mínimo.
+     * @return O lance automático e a situação do transportador no leilão (Status
+     *         200 OK).
+     */
+    @PostMapping("/automaticos")
+    public ResponseEntity<LanceAutomaticoResponse> registrarLanceAutomatico(@PathVariable Long freteId,
+            @Valid @RequestBody LanceAutomaticoRequest request) {
+        return ResponseEntity.ok(lanceService.registrarLanceAutomatico(freteId, request));
+    }
+
+    /**
+     * Cancela o lance automático do transportador (os lances já gravados
+     * permanecem).
+     *
+     * @return Status 204 No Content.
+     */
+    @DeleteMapping("/automaticos/{transportadorId}")
+    public ResponseEntity<Void> cancelarLanceAutomatico(@PathVariable Long freteId,
+            @PathVariable Long transportadorId) {
+        lanceService.cancelarLanceAutomatico(freteId, transportadorId);
+        return ResponseEntity.noContent().build();
+    }
+}
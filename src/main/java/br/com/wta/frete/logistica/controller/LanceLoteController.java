@@ -0,0 +1,38 @@
+package br.com.wta.frete.logistica.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.com.wta.frete.logistica.controller.dto.LanceLoteRequest;
+import br.com.wta.frete.logistica.controller.dto.LanceLoteResponse;
+import br.com.wta.frete.logistica.service.LanceLoteService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Controller de envio de lances em lote (vários fretes em uma requisição).
+ * Endpoint: POST /api/v1/logistica/lances/lote
+ */
+@RestController
+@RequestMapping("/api/v1/logistica/lances")
+@RequiredArgsConstructor
+public class LanceLoteController {
+
+    private final LanceLoteService lanceLoteService;
+
+    /**
+     * Processa um lote de lances. Lances do mesmo frete são aplicados na ordem do
+     * lote; fretes diferentes são processados em paralelo.
+     *
+     * @param request Os lances (freteId, transportadorId, valorLance).
+     * @return O resultado de cada lance (ACEITO ou REJEITADO com o reasonCode),
+     *         na ordem do lote (Status 200 OK).
+     */
+    @PostMapping("/lote")
+    public ResponseEntity<LanceLoteResponse> processarLote(@Valid @RequestBody LanceLoteRequest request) {
+        return ResponseEntity.ok(lanceLoteService.processarLote(request));
+    }
+}
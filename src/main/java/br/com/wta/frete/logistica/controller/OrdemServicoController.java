@@ -1,7 +1,11 @@
 package br.com.wta.frete.logistica.controller;
 
+import java.net.URI;
+import java.time.LocalDate;
 import java.util.List;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -9,10 +13,15 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import br.com.wta.frete.logistica.controller.dto.HistoricoStatusOrdemResponse;
 import br.com.wta.frete.logistica.controller.dto.OrdemServicoRequest;
 import br.com.wta.frete.logistica.controller.dto.OrdemServicoResponse;
+import br.com.wta.frete.logistica.controller.dto.PaginaOrdensServicoResponse;
+import br.com.wta.frete.logistica.controller.dto.PrecificacaoOrdemResponse;
 import br.com.wta.frete.logistica.service.OrdemServicoService;
 import jakarta.validation.Valid;
 
@@ -30,10 +39,16 @@ import jakarta.validation.Valid;
 public class OrdemServicoController {
 
     private final OrdemServicoService ordemServicoService;
+    // Mesma propriedade lida pelo OrdemServicoService: com a precificação
+    // delegada aos workers, a criação responde 202 Accepted.
+    private final boolean precificacaoAssincrona;
 
     // Injeção de dependência via construtor (melhor prática do Spring)
-    public OrdemServicoController(OrdemServicoService ordemServicoService) {
+    public OrdemServicoController(
+            OrdemServicoService ordemServicoService,
+            @Value("${frete.ordens-servico.precificacao-assincrona:false}") boolean precificacaoAssincrona) {
         this.ordemServicoService = ordemServicoService;
+        this.precificacaoAssincrona = precificacaoAssincrona;
     }
 
     /**
@@ -41,15 +56,49 @@ public class OrdemServicoController {
      * Cria uma nova Ordem de Serviço (solicitação de frete).
      *
      * @param request DTO de entrada com os dados da OS.
-     * @return 201 Created e o corpo da OS criada.
+     * @return 201 Created e o corpo da OS criada. Com a precificação
+     *         assíncrona, 202 Accepted e o header Location apontando para a
+     *         situação da precificação.
      */
     @PostMapping
     public ResponseEntity<OrdemServicoResponse> criarOrdemServico(@Valid @RequestBody OrdemServicoRequest request) {
         // A anotação @Valid utiliza as restrições definidas no OrdemServicoRequest.java
         OrdemServicoResponse response = ordemServicoService.criarOrdemServico(request);
+        if (precificacaoAssincrona) {
+            URI situacao = ServletUriComponentsBuilder.fromCurrentRequestUri()
+                    .path("/{id}/precificacao")
+                    .buildAndExpand(response.ordemServicoId())
+                    .toUri();
+            return ResponseEntity.accepted().location(situacao).body(response);
+        }
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    /**
+     * GET /api/v1/logistica/ordens-servico/{id}/precificacao
+     * Situação da precificação (criação do Frete) da Ordem de Serviço.
+     *
+     * @param id ID da Ordem de Serviço.
+     * @return 200 OK com a situação (PENDENTE, CONCLUIDA ou FALHA).
+     */
+    @GetMapping("/{id}/precificacao")
+    public ResponseEntity<PrecificacaoOrdemResponse> buscarPrecificacao(@PathVariable Long id) {
+        return ResponseEntity.ok(ordemServicoService.buscarPrecificacao(id));
+    }
+
+    /**
+     * GET /api/v1/logistica/ordens-servico/{id}/historico-status
+     * Mudanças de status da Ordem de Serviço, da mais antiga para a mais
+     * recente.
+     *
+     * @param id ID da Ordem de Serviço.
+     * @return 200 OK com o histórico.
+     */
+    @GetMapping("/{id}/historico-status")
+    public ResponseEntity<List<HistoricoStatusOrdemResponse>> buscarHistoricoStatus(@PathVariable Long id) {
+        return ResponseEntity.ok(ordemServicoService.buscarHistoricoStatus(id));
+    }
+
     /**
      * GET /api/v1/logistica/ordens-servico/{id}
      * Busca uma Ordem de Serviço específica pelo seu ID.
@@ -65,13 +114,29 @@ public class OrdemServicoController {
 
     /**
      * GET /api/v1/logistica/ordens-servico
-     * Lista todas as Ordens de Serviço cadastradas no sistema.
+     * Lista as Ordens de Serviço, da mais recente para a mais antiga, com
+     * paginação por cursor e filtros opcionais.
      *
-     * @return 200 OK e a lista de OSs.
+     * @param status          Status da OS (ex: PENDENTE).
+     * @param clienteId       ID do cliente solicitante.
+     * @param transportadorId ID do transportador designado.
+     * @param dataInicio      Data inicial da solicitação (ISO, inclusiva).
+     * @param dataFim         Data final da solicitação (ISO, inclusiva).
+     * @param cursor          'proximoCursor' da página anterior.
+     * @param tamanho         Tamanho da página (padrão 50, máximo 200).
+     * @return 200 OK e a página de OSs.
      */
     @GetMapping
-    public ResponseEntity<List<OrdemServicoResponse>> buscarTodas() {
-        List<OrdemServicoResponse> response = ordemServicoService.buscarTodas();
+    public ResponseEntity<PaginaOrdensServicoResponse> listar(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long clienteId,
+            @RequestParam(required = false) Long transportadorId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer tamanho) {
+        PaginaOrdensServicoResponse response = ordemServicoService.listar(status, clienteId, transportadorId,
+                dataInicio, dataFim, cursor, tamanho);
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,15 @@
+package br.com.wta.frete.logistica.controller.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * DTO de Requisição (Record) da cotação em lote. Cada entrada é precificada
+ * individualmente; uma entrada inválida gera uma linha de erro na resposta e
+ * não interrompe o lote.
+ */
+public record CotacaoLoteRequest(
+		@NotNull(message = "A lista de cotações é obrigatória") @Size(min = 1, message = "O lote deve ter pelo menos uma cotação.") List<CotacaoRequest> cotacoes) {
+}
@@ -0,0 +1,26 @@
+package br.com.wta.frete.logistica.controller.dto;
+
+import java.util.List;
+
+/**
+ * DTO de Requisição (Record) de uma cotação (par origem/destino) dentro de um
+ * lote. A validação é feita pelo serviço, entrada a entrada, para que o erro
+ * de uma linha volte na própria linha da resposta.
+ */
+public record CotacaoRequest(
+		// Identificador livre do integrador, devolvido na resposta (opcional)
+		String referencia,
+
+		// Localização
+		String cepColeta,
+		String cepDestino,
+
+		// Nome da Modalidade de Frete (ex: ROD_PESADO, FRACIONADO)
+		String nomeModalidadeFrete,
+
+		// Transportador opcional: se informado, usa a métrica personalizada dele
+		Long transportadorId,
+
+		// Itens (apenas o peso é usado na cotação)
+		List<ItemCotacaoRequest> itens) {
+}
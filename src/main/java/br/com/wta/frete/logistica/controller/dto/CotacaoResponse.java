@@ -0,0 +1,40 @@
+package br.com.wta.frete.logistica.controller.dto;
+
+import java.math.BigDecimal;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * DTO de Resposta de uma linha da cotação em lote (uma linha NDJSON por
+ * entrada). Em caso de erro, apenas indice/referencia e os campos de erro são
+ * preenchidos.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CotacaoResponse(
+		// Posição da entrada no lote (base 0)
+		int indice,
+		String referencia,
+
+		// OK ou ERRO
+		String status,
+
+		BigDecimal distanciaKm,
+		BigDecimal pesoTotalKg,
+		BigDecimal anttPisoMinimo,
+		BigDecimal precoSugerido,
+		Long transportadorId,
+
+		// Preenchidos quando status = ERRO
+		String codigoErro,
+		String campo,
+		String mensagemErro) {
+
+	public static final String STATUS_OK = "OK";
+	public static final String STATUS_ERRO = "ERRO";
+
+	public static CotacaoResponse erro(int indice, String referencia, String codigoErro, String campo,
+			String mensagemErro) {
+		return new CotacaoResponse(indice, referencia, STATUS_ERRO, null, null, null, null, null, codigoErro, campo,
+				mensagemErro);
+	}
+}
@@ -0,0 +1,29 @@
+package br.com.wta.frete.logistica.controller.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO de resposta de um leilão aberto na descoberta de fretes ("fretes perto
+ * de mim").
+ */
+public record FreteAbertoResponse(
+		Long freteId,
+		String modalidade,
+		String cepColeta,
+		String cepDestino,
+
+		// Nulo se o peso total do Frete não for conhecido
+		BigDecimal pesoTotalKg,
+
+		// Soma dos volumes informados nos itens; nulo se nenhum informou
+		BigDecimal volumeTotalM3,
+
+		// Linha reta entre o CEP da consulta e o CEP de coleta; nulo em consultas
+		// sem CEP de referência
+		BigDecimal distanciaOrigemKm,
+		LocalDateTime dataExpiracaoNegociacao,
+
+		// Calculado no momento da resposta
+		long segundosParaEncerramento) {
+}
@@ -0,0 +1,19 @@
+package br.com.wta.frete.logistica.controller.dto;
+
+import java.time.OffsetDateTime;
+
+/**
+ * DTO de Resposta (Record) com uma mudança de status da Ordem de Serviço
+ * (GET /ordens-servico/{id}/historico-status).
+ */
+public record HistoricoStatusOrdemResponse(
+
+		// Nulo na criação da OS
+		String statusAnterior,
+		String statusNovo,
+
+		// Transportador designado no momento da mudança
+		Long transportadorId,
+
+		OffsetDateTime alteradoEm) {
+}
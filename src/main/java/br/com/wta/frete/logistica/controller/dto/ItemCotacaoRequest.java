@@ -0,0 +1,13 @@
+package br.com.wta.frete.logistica.controller.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO de Requisição de um item de carga na cotação em lote. Diferente do
+ * ItemFreteRequest, não há Frete associado.
+ */
+public record ItemCotacaoRequest(
+		String descricao,
+		BigDecimal pesoEstimadoKg,
+		BigDecimal volumeEstimadoM3) {
+}
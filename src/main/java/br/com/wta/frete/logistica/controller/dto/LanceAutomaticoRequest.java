@@ -0,0 +1,16 @@
+package br.com.wta.frete.logistica.controller.dto;
+
+import java.math.BigDecimal;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * DTO de requisição para registrar (ou alterar) um lance automático: o menor
+ * valor que o transportador aceita receber pelo frete.
+ */
+public record LanceAutomaticoRequest(
+		@NotNull(message = "O ID do Transportador é obrigatório.") Long transportadorId,
+
+		@NotNull(message = "O valor mínimo é obrigatório.") @DecimalMin(value = "0.01", message = "O valor deve ser positivo.") BigDecimal valorMinimo) {
+}
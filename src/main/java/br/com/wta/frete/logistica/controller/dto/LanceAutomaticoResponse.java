@@ -0,0 +1,21 @@
+package br.com.wta.frete.logistica.controller.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO de resposta de um lance automático, com a situação do transportador no
+ * leilão logo após o registro.
+ */
+public record LanceAutomaticoResponse(
+		Long lanceAutomaticoId,
+		Long freteId,
+		Long transportadorId,
+		BigDecimal valorMinimo,
+		boolean ativo,
+
+		// Lance atual do transportador (nulo se ainda não houve contra-lance)
+		BigDecimal valorLanceAtual,
+
+		// Indica se o transportador detém o melhor lance
+		boolean lider) {
+}
@@ -0,0 +1,13 @@
+package br.com.wta.frete.logistica.controller.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO de Requisição de um lance do lote. Os campos são validados por lance (um
+ * campo ausente rejeita apenas este lance, com o código LANCE_INVALIDO).
+ */
+public record LanceLoteItemRequest(
+		Long freteId,
+		Long transportadorId,
+		BigDecimal valorLance) {
+}
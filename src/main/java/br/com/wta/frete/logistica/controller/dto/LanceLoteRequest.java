@@ -0,0 +1,15 @@
+package br.com.wta.frete.logistica.controller.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * DTO de Requisição (Record) do envio de lances em lote (ex: robôs de lance de
+ * transportadores). Cada lance é aceito ou rejeitado individualmente; um lance
+ * inválido não interrompe o lote.
+ */
+public record LanceLoteRequest(
+		@NotNull(message = "A lista de lances é obrigatória") @Size(min = 1, message = "O lote deve ter pelo menos um lance.") List<LanceLoteItemRequest> lances) {
+}
@@ -0,0 +1,14 @@
+package br.com.wta.frete.logistica.controller.dto;
+
+import java.util.List;
+
+/**
+ * DTO de Resposta do envio de lances em lote: totais e o resultado de cada
+ * lance, na ordem original do lote.
+ */
+public record LanceLoteResponse(
+		int total,
+		int aceitos,
+		int rejeitados,
+		List<ResultadoLanceResponse> resultados) {
+}
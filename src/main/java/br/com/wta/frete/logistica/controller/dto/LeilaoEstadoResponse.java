@@ -0,0 +1,29 @@
+package br.com.wta.frete.logistica.controller.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO de resposta com o estado atual do leilão de um Frete (modelo de leitura
+ * logistica.leilao_estado).
+ */
+public record LeilaoEstadoResponse(
+		Long freteId,
+		String nomeStatus,
+
+		// Melhor lance (ou valor final aceito, após o encerramento); nulo sem lances
+		BigDecimal valorMelhorLance,
+
+		// Transportador dono do melhor lance (ou vencedor)
+		Long transportadorLiderId,
+		int totalLances,
+		LocalDateTime dataExpiracaoNegociacao,
+
+		// Calculado no momento da resposta (não faz parte do ETag): após um 304, o
+		// cliente deve recalcular a partir de dataExpiracaoNegociacao
+		long segundosRestantes,
+
+		// Incrementada a cada mudança de estado (ETag)
+		long versao,
+		LocalDateTime atualizadoEm) {
+}
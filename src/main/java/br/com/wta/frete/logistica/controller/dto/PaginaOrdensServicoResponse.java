@@ -0,0 +1,15 @@
+package br.com.wta.frete.logistica.controller.dto;
+
+import java.util.List;
+
+/**
+ * DTO de Resposta (Record) de uma página da listagem de Ordens de Serviço
+ * (GET /ordens-servico), paginada por cursor.
+ */
+public record PaginaOrdensServicoResponse(
+
+		List<OrdemServicoResponse> itens,
+
+		// Valor do parâmetro 'cursor' da próxima página (nulo na última página)
+		Long proximoCursor) {
+}
@@ -0,0 +1,24 @@
+package br.com.wta.frete.logistica.controller.dto;
+
+/**
+ * DTO de Resposta (Record) com a situação da precificação de uma Ordem de
+ * Serviço (GET /ordens-servico/{id}/precificacao).
+ */
+public record PrecificacaoOrdemResponse(
+
+		Long ordemServicoId,
+
+		// PENDENTE (na fila ou em processamento), CONCLUIDA ou FALHA
+		String situacao,
+
+		// Frete criado (apenas quando CONCLUIDA)
+		Long freteId,
+
+		// Tentativas já realizadas e o motivo da última falha
+		int tentativas,
+		String erro) {
+
+	public static final String SITUACAO_PENDENTE = "PENDENTE";
+	public static final String SITUACAO_CONCLUIDA = "CONCLUIDA";
+	public static final String SITUACAO_FALHA = "FALHA";
+}
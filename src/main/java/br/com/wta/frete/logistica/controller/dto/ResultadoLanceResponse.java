@@ -0,0 +1,46 @@
+package br.com.wta.frete.logistica.controller.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * DTO de Resposta do resultado de um lance do lote. Lances aceitos trazem os
+ * dados do lance gravado; lances rejeitados trazem o código (reasonCode) e a
+ * mensagem da InvalidDataException correspondente.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ResultadoLanceResponse(
+		// Posição do lance no lote (base 0)
+		int indice,
+		Long freteId,
+		Long transportadorId,
+
+		// ACEITO ou REJEITADO
+		String status,
+
+		// Preenchidos quando status = ACEITO
+		Long lanceId,
+		BigDecimal valorLance,
+		LocalDateTime dataLance,
+
+		// Preenchidos quando status = REJEITADO
+		String codigoErro,
+		String campo,
+		String mensagemErro) {
+
+	public static final String STATUS_ACEITO = "ACEITO";
+	public static final String STATUS_REJEITADO = "REJEITADO";
+
+	public static ResultadoLanceResponse aceito(int indice, LanceResponse lance) {
+		return new ResultadoLanceResponse(indice, lance.freteId(), lance.transportadorId(), STATUS_ACEITO,
+				lance.lanceId(), lance.valorLance(), lance.dataLance(), null, null, null);
+	}
+
+	public static ResultadoLanceResponse rejeitado(int indice, Long freteId, Long transportadorId,
+			String codigoErro, String campo, String mensagemErro) {
+		return new ResultadoLanceResponse(indice, freteId, transportadorId, STATUS_REJEITADO, null, null, null,
+				codigoErro, campo, mensagemErro);
+	}
+}
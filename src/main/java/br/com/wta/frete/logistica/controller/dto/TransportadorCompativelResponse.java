@@ -0,0 +1,19 @@
+package br.com.wta.frete.logistica.controller.dto;
+
+import java.math.BigDecimal;
+
+import br.com.wta.frete.colaboradores.entity.enums.TipoVeiculo;
+
+/**
+ * DTO de resposta de um transportador compatível com a carga de um Frete: o
+ * menor veículo disponível dele que comporta o peso e o volume.
+ */
+public record TransportadorCompativelResponse(
+		Long transportadorId,
+		Integer veiculoId,
+		TipoVeiculo tipoVeiculo,
+		BigDecimal capacidadeKg,
+
+		// Nulo se o veículo não tiver capacidade de volume cadastrada
+		BigDecimal capacidadeM3) {
+}
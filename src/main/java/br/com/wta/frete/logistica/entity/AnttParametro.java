@@ -11,9 +11,11 @@ import java.time.LocalDate;
 /**
  * Mapeia a tabela 'logistica.antt_parametros'. Armazena parâmetros de
  * regulamentação (como ANTT - Agência Nacional de Transportes Terrestres).
+ * Cada chave pode ter várias versões, uma por data de vigência.
  */
 @Entity
-@Table(name = "antt_parametros", schema = "logistica", uniqueConstraints = { @UniqueConstraint(columnNames = "chave") })
+@Table(name = "antt_parametros", schema = "logistica", uniqueConstraints = {
+		@UniqueConstraint(columnNames = { "chave", "data_vigencia" }) })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -28,7 +30,7 @@ public class AnttParametro {
 	private Integer id;
 
 	/**
-	 * Chave única para o parâmetro (VARCHAR(100) UNIQUE NOT NULL).
+	 * Chave do parâmetro (VARCHAR(100) NOT NULL). Única por data de vigência.
 	 */
 	@Column(name = "chave", nullable = false, length = 100)
 	private String chave;
@@ -46,8 +48,9 @@ public class AnttParametro {
 	private String descricao;
 
 	/**
-	 * Data de início da vigência do parâmetro (DATE DEFAULT now()).
+	 * Data de início da vigência do parâmetro (DATE NOT NULL DEFAULT
+	 * CURRENT_DATE).
 	 */
-	@Column(name = "data_vigencia", columnDefinition = "DATE")
+	@Column(name = "data_vigencia", nullable = false, columnDefinition = "DATE")
 	private LocalDate dataVigencia = LocalDate.now();
 }
\ No newline at end of file
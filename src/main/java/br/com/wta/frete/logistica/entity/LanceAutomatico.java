@@ -0,0 +1,64 @@
+// Caminho: src/main/java/br/com/wta/frete/logistica/entity/LanceAutomatico.java
+package br.com.wta.frete.logistica.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import br.com.wta.frete.colaboradores.entity.Transportador;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Mapeia a tabela 'logistica.lances_automaticos'. Valor mínimo que um
+ * Transportador aceita receber por um Frete: o leilão cobre automaticamente os
+ * lances concorrentes até esse valor (proxy bidding).
+ */
+@Entity
+@Table(name = "lances_automaticos", schema = "logistica", uniqueConstraints = {
+		@UniqueConstraint(columnNames = { "frete_id", "transportador_id" }) })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LanceAutomatico {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "lance_automatico_id")
+	private Long id;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "frete_id", nullable = false)
+	private Frete frete;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "transportador_id", nullable = false)
+	private Transportador transportador;
+
+	/**
+	 * Menor valor que o transportador aceita receber (NUMERIC(10, 2)).
+	 */
+	@Column(name = "valor_minimo", precision = 10, scale = 2, nullable = false)
+	private BigDecimal valorMinimo;
+
+	/**
+	 * Lances automáticos cancelados permanecem no histórico, inativos.
+	 */
+	@Column(name = "is_ativo", nullable = false)
+	private boolean ativo;
+
+	@Column(name = "data_registro", nullable = false)
+	private LocalDateTime dataRegistro;
+}
@@ -0,0 +1,69 @@
+package br.com.wta.frete.logistica.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Mapeia a tabela 'logistica.leilao_estado'. Modelo de leitura (desnormalizado)
+ * com o estado atual do leilão de um Frete, lido por chave primária.
+ */
+@Entity
+@Table(name = "leilao_estado", schema = "logistica")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeilaoEstado {
+
+	/**
+	 * Chave primária: o mesmo ID do Frete (não é gerada).
+	 */
+	@Id
+	@Column(name = "frete_id")
+	private Long freteId;
+
+	/**
+	 * Nome do status do leilão (cópia de logistica.status_leilao.nome_status).
+	 */
+	@Column(name = "nome_status", nullable = false, length = 50)
+	private String nomeStatus;
+
+	/**
+	 * Melhor lance (ou valor final aceito, após o encerramento).
+	 */
+	@Column(name = "valor_melhor_lance", precision = 10, scale = 2)
+	private BigDecimal valorMelhorLance;
+
+	/**
+	 * Transportador dono do melhor lance (ou vencedor).
+	 */
+	@Column(name = "transportador_lider_id")
+	private Long transportadorLiderId;
+
+	/**
+	 * Quantidade de lances (um por transportador).
+	 */
+	@Column(name = "total_lances", nullable = false)
+	private int totalLances;
+
+	@Column(name = "data_expiracao_negociacao")
+	private LocalDateTime dataExpiracaoNegociacao;
+
+	/**
+	 * Incrementada a cada mudança de estado (usada como ETag).
+	 */
+	@Column(name = "versao", nullable = false)
+	private long versao;
+
+	@Column(name = "atualizado_em", nullable = false)
+	private LocalDateTime atualizadoEm;
+}
@@ -1,6 +1,10 @@
 package br.com.wta.frete.logistica.repository;
 
+import java.time.LocalDate;
+import java.util.Optional;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import br.com.wta.frete.logistica.entity.AnttParametro;
@@ -12,7 +16,17 @@ import br.com.wta.frete.logistica.entity.AnttParametro;
 public interface AnttParametroRepository extends JpaRepository<AnttParametro, Integer> {
 
 	/**
-	 * Busca um parâmetro pela sua chave única.
+	 * Busca a versão de um parâmetro com a vigência informada (chave + data são
+	 * únicas).
+	 */
+	Optional<AnttParametro> findByChaveAndDataVigencia(String chave, LocalDate dataVigencia);
+
+	/**
+	 * Checksum (MD5) de todas as linhas da tabela. Usado pelo
+	 * AnttParametroService para detectar alterações sem recarregar a tabela.
+	 * Retorna null se a tabela estiver vazia.
 	 */
-	AnttParametro findByChave(String chave);
-}
\ No newline at end of file
+	@Query(value = "SELECT md5(string_agg(parametro_id || ':' || chave || ':' || valor || ':' || data_vigencia, ','"
+			+ " ORDER BY parametro_id)) FROM logistica.antt_parametros", nativeQuery = true)
+	String calcularChecksum();
+}
@@ -1,12 +1,18 @@
 package br.com.wta.frete.logistica.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import br.com.wta.frete.logistica.entity.Frete;
+import br.com.wta.frete.logistica.repository.projection.CargaFreteProjection;
+import br.com.wta.frete.logistica.repository.projection.FreteAbertoProjection;
+import br.com.wta.frete.logistica.repository.projection.PrazoLeilaoProjection;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repositório para a entidade Frete (logistica.fretes). A chave primária é o
@@ -20,21 +26,84 @@ public interface FreteRepository extends JpaRepository<Frete, Long> {
 	 */
 	List<Frete> findByStatusLeilaoId(Integer statusLeilaoId);
 
+	/**
+	 * Conta os fretes em um status do leilão (usa o índice
+	 * idx_fretes_status_expiracao).
+	 */
+	long countByStatusLeilaoId(Integer statusLeilaoId);
+
 	/**
 	 * Busca fretes pela modalidade (ID).
 	 */
 	List<Frete> findByModalidadeId(Integer modalidadeId);
 
 	/**
-	 * NOVO MÉTODO: Busca todos os fretes que expiraram e ainda estão abertos.
-	 * * @param now O momento atual (LocalDateTime.now()).
-	 * 
-	 * @param nomeStatusAberto O status que indica que o leilão está ativo para
-	 *                         lances (ex: "AGUARDANDO_LANCES").
-	 * @return Lista de Fretes expirados para processamento.
+	 * Primeira página da varredura de leilões expirados (keyset), ordenada por
+	 * (dataExpiracaoNegociacao, freteId). Usa o índice
+	 * idx_fretes_status_expiracao (status_leilao_id, data_expiracao_negociacao,
+	 * frete_id).
+	 *
+	 * @param statusLeilaoId ID do status aberto (ex: "AGUARDANDO_LANCES").
+	 * @param limite         Momento de corte (fretes que expiraram antes dele).
+	 * @param tamanhoPagina  Quantidade máxima de fretes na página.
+	 */
+	@Query("SELECT new br.com.wta.frete.logistica.repository.projection.PrazoLeilaoProjection("
+			+ "f.freteId, f.dataExpiracaoNegociacao) FROM Frete f "
+			+ "WHERE f.statusLeilao.id = :statusLeilaoId AND f.dataExpiracaoNegociacao < :limite "
+			+ "ORDER BY f.dataExpiracaoNegociacao, f.freteId")
+	List<PrazoLeilaoProjection> buscarExpirados(Integer statusLeilaoId, LocalDateTime limite, Limit tamanhoPagina);
+
+	/**
+	 * Próxima página da varredura: continua após o último frete da página
+	 * anterior (cursor = ultimaExpiracao, ultimoFreteId), sem OFFSET.
+	 */
+	@Query("SELECT new br.com.wta.frete.logistica.repository.projection.PrazoLeilaoProjection("
+			+ "f.freteId, f.dataExpiracaoNegociacao) FROM Frete f "
+			+ "WHERE f.statusLeilao.id = :statusLeilaoId AND f.dataExpiracaoNegociacao < :limite "
+			+ "AND (f.dataExpiracaoNegociacao > :ultimaExpiracao "
+			+ "OR (f.dataExpiracaoNegociacao = :ultimaExpiracao AND f.freteId > :ultimoFreteId)) "
+			+ "ORDER BY f.dataExpiracaoNegociacao, f.freteId")
+	List<PrazoLeilaoProjection> buscarExpiradosApos(Integer statusLeilaoId, LocalDateTime limite,
+			LocalDateTime ultimaExpiracao, Long ultimoFreteId, Limit tamanhoPagina);
+
+	/**
+	 * Prazos de todos os leilões abertos com data de expiração definida (carga
+	 * inicial do AgendadorEncerramentoLeiloes).
+	 */
+	@Query("SELECT new br.com.wta.frete.logistica.repository.projection.PrazoLeilaoProjection("
+			+ "f.freteId, f.dataExpiracaoNegociacao) FROM Frete f "
+			+ "WHERE f.statusLeilao.id = :statusLeilaoId AND f.dataExpiracaoNegociacao IS NOT NULL")
+	List<PrazoLeilaoProjection> buscarPrazosAbertos(Integer statusLeilaoId);
+
+	/**
+	 * Leilões abertos para a carga do índice de descoberta de fretes. Fretes
+	 * anteriores ao registro do peso total usam a soma dos pesos dos itens; o
+	 * volume é sempre a soma dos volumes informados nos itens.
+	 */
+	@Query("SELECT new br.com.wta.frete.logistica.repository.projection.FreteAbertoProjection("
+			+ "f.freteId, f.modalidade.nomeModalidade, f.ordemServico.cepColeta, f.ordemServico.cepDestino, "
+			+ "COALESCE(f.pesoTotalKg, (SELECT SUM(i.pesoEstimadoKg) FROM ItemFrete i WHERE i.frete = f)), "
+			+ "(SELECT SUM(i.volumeEstimadoM3) FROM ItemFrete i WHERE i.frete = f), "
+			+ "f.dataExpiracaoNegociacao) FROM Frete f "
+			+ "WHERE f.statusLeilao.id = :statusLeilaoId AND f.dataExpiracaoNegociacao IS NOT NULL")
+	List<FreteAbertoProjection> buscarAbertosParaDescoberta(Integer statusLeilaoId);
+
+	/**
+	 * Peso e volume totais da carga de um Frete (mesmas regras de
+	 * buscarAbertosParaDescoberta).
+	 */
+	@Query("SELECT new br.com.wta.frete.logistica.repository.projection.CargaFreteProjection("
+			+ "COALESCE(f.pesoTotalKg, (SELECT SUM(i.pesoEstimadoKg) FROM ItemFrete i WHERE i.frete = f)), "
+			+ "(SELECT SUM(i.volumeEstimadoM3) FROM ItemFrete i WHERE i.frete = f)) "
+			+ "FROM Frete f WHERE f.freteId = :freteId")
+	Optional<CargaFreteProjection> buscarCarga(Long freteId);
+
+	/**
+	 * IDs dos fretes de uma Ordem de Serviço (usa o índice
+	 * idx_fretes_ordem_servico).
 	 */
-	List<Frete> findByDataExpiracaoNegociacaoBeforeAndStatusLeilaoNomeStatus(LocalDateTime now,
-			String nomeStatusAberto);
+	@Query("SELECT f.freteId FROM Frete f WHERE f.ordemServico.id = :ordemServicoId ORDER BY f.freteId")
+	List<Long> buscarIdsPorOrdemServico(Long ordemServicoId);
 
 	// Método para buscar status, assumindo que StatusLeilao é uma entidade separada
 	// (A injeção do StatusLeilaoRepository será feita no Service)
@@ -0,0 +1,27 @@
+// Caminho: src/main/java/br/com/wta/frete/logistica/repository/LanceAutomaticoRepository.java
+package br.com.wta.frete.logistica.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import br.com.wta.frete.logistica.entity.LanceAutomatico;
+
+/**
+ * Repositório para a entidade LanceAutomatico (logistica.lances_automaticos).
+ */
+@Repository
+public interface LanceAutomaticoRepository extends JpaRepository<LanceAutomatico, Long> {
+
+	/**
+	 * Lances automáticos ativos de um Frete (carga do livro de ofertas), com o
+	 * ID do transportador já disponível sem carregar a entidade.
+	 */
+	@Query("SELECT a FROM LanceAutomatico a WHERE a.frete.freteId = :freteId AND a.ativo = TRUE ORDER BY a.id")
+	List<LanceAutomatico> buscarAtivosPorFrete(Long freteId);
+
+	Optional<LanceAutomatico> findByFreteFreteIdAndTransportadorPessoaId(Long freteId, Long transportadorPessoaId);
+}
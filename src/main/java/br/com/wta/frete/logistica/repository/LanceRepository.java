@@ -2,11 +2,14 @@
 package br.com.wta.frete.logistica.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import br.com.wta.frete.logistica.entity.Lance;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -49,4 +52,19 @@ public interface LanceRepository extends JpaRepository<Lance, Long> {
 	 */
 	Optional<Lance> findByFreteFreteIdAndTransportadorPessoaId(Long freteId,
 			Long transportadorPessoaId);
-}
\ No newline at end of file
+
+	/**
+	 * Busca os lances de um Frete já com o Transportador e a Pessoa carregados
+	 * (JOIN FETCH), evitando N+1 na carga do livro de ofertas em memória.
+	 */
+	@Query("SELECT l FROM Lance l JOIN FETCH l.transportador t JOIN FETCH t.pessoa WHERE l.frete.freteId = :freteId")
+	List<Lance> buscarPorFreteComTransportador(Long freteId);
+
+	/**
+	 * Atualiza o valor e a data de um lance existente com um único UPDATE (re-bid),
+	 * sem carregar a entidade.
+	 */
+	@Modifying
+	@Query("UPDATE Lance l SET l.valorLance = :valorLance, l.dataLance = :dataLance WHERE l.id = :lanceId")
+	int atualizarValorLance(Long lanceId, BigDecimal valorLance, LocalDateTime dataLance);
+}
@@ -0,0 +1,41 @@
+// Caminho: src/main/java/br/com/wta/frete/logistica/repository/LeilaoEstadoRepository.java
+package br.com.wta.frete.logistica.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import br.com.wta.frete.logistica.entity.LeilaoEstado;
+
+/**
+ * Repositório para o modelo de leitura LeilaoEstado (logistica.leilao_estado).
+ * As alterações são feitas com um único UPDATE, sem carregar a entidade, e
+ * sempre incrementam a versão.
+ */
+@Repository
+public interface LeilaoEstadoRepository extends JpaRepository<LeilaoEstado, Long> {
+
+	/**
+	 * Registra o novo melhor lance e a quantidade de lances do leilão.
+	 */
+	@Modifying
+	@Query("UPDATE LeilaoEstado e SET e.valorMelhorLance = :valorMelhorLance, "
+			+ "e.transportadorLiderId = :transportadorLiderId, e.totalLances = :totalLances, "
+			+ "e.versao = e.versao + 1, e.atualizadoEm = :agora WHERE e.freteId = :freteId")
+	int atualizarLances(Long freteId, BigDecimal valorMelhorLance, Long transportadorLiderId, int totalLances,
+			LocalDateTime agora);
+
+	/**
+	 * Registra o encerramento do leilão (status final, valor aceito e vencedor).
+	 */
+	@Modifying
+	@Query("UPDATE LeilaoEstado e SET e.nomeStatus = :nomeStatus, e.valorMelhorLance = :valorFinal, "
+			+ "e.transportadorLiderId = :transportadorVencedorId, "
+			+ "e.versao = e.versao + 1, e.atualizadoEm = :agora WHERE e.freteId = :freteId")
+	int atualizarEncerramento(Long freteId, String nomeStatus, BigDecimal valorFinal, Long transportadorVencedorId,
+			LocalDateTime agora);
+}
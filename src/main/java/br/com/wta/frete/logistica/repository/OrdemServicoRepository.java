@@ -10,10 +10,11 @@ import br.com.wta.frete.logistica.entity.OrdemServico;
 
 /**
  * Repositório para a entidade OrdemServico (logistica.ordens_servico). Inclui
- * consultas comuns baseadas em status e relacionamentos.
+ * consultas comuns baseadas em status e relacionamentos, e a listagem paginada
+ * com filtros ({@link OrdemServicoRepositoryCustom}).
  */
 @Repository
-public interface OrdemServicoRepository extends JpaRepository<OrdemServico, Long> {
+public interface OrdemServicoRepository extends JpaRepository<OrdemServico, Long>, OrdemServicoRepositoryCustom {
 
 	/**
 	 * Busca todas as Ordens de Serviço por um determinado Status.
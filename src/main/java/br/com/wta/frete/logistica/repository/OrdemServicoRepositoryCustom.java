@@ -0,0 +1,25 @@
+package br.com.wta.frete.logistica.repository;
+
+import java.util.List;
+
+import br.com.wta.frete.logistica.repository.projection.FiltroOrdensServico;
+import br.com.wta.frete.logistica.repository.projection.OrdemServicoResumoProjection;
+
+/**
+ * Consultas do OrdemServicoRepository montadas conforme os filtros informados
+ * (implementadas em OrdemServicoRepositoryImpl).
+ */
+public interface OrdemServicoRepositoryCustom {
+
+	/**
+	 * Página da listagem de Ordens de Serviço (keyset), da mais recente para a
+	 * mais antiga.
+	 *
+	 * @param filtro        Filtros opcionais.
+	 * @param aposOrdemId   Cursor: ID da última OS da página anterior (nulo na
+	 *                      primeira página).
+	 * @param tamanhoPagina Quantidade máxima de OSs na página.
+	 */
+	List<OrdemServicoResumoProjection> listarResumos(FiltroOrdensServico filtro, Long aposOrdemId,
+			int tamanhoPagina);
+}
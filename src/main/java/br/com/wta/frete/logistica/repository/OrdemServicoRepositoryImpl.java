@@ -0,0 +1,100 @@
+package br.com.wta.frete.logistica.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import br.com.wta.frete.logistica.repository.projection.FiltroOrdensServico;
+import br.com.wta.frete.logistica.repository.projection.OrdemServicoResumoProjection;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+/**
+ * Implementação das consultas dinâmicas do OrdemServicoRepository.
+ *
+ * A listagem inclui apenas os filtros informados (em vez de
+ * "(:param IS NULL OR ...)"), para que o PostgreSQL escolha o índice
+ * composto do filtro (V10__Indices_Listagem_Ordens_Servico.sql), e pagina
+ * pelo ordem_id (keyset, sem OFFSET): o custo de uma página não depende da
+ * posição na listagem.
+ *
+ * Com apenas o filtro de período, o único índice aplicável é
+ * (data_solicitacao, ordem_id): a ordenação passa a ser por
+ * (data_solicitacao DESC, ordem_id DESC), lida em ordem reversa do índice, e
+ * o cursor continua após a data e o ID da última OS da página. Como a data de
+ * solicitação é a de criação, a ordem é praticamente a mesma do ordem_id.
+ */
+class OrdemServicoRepositoryImpl implements OrdemServicoRepositoryCustom {
+
+	// O ID da associação é lido da chave estrangeira, sem JOIN com
+	// clientes/transportadores.
+	private static final String SELECT_RESUMO = "SELECT new "
+			+ "br.com.wta.frete.logistica.repository.projection.OrdemServicoResumoProjection("
+			+ "o.id, o.clienteSolicitante.pessoaId, o.transportadorDesignado.pessoaId, o.enderecoColeta, o.cepColeta, "
+			+ "o.cepDestino, o.dataSolicitacao, o.dataPrevistaColeta, o.status) FROM OrdemServico o";
+
+	// Data de solicitação da última OS da página anterior (cursor).
+	private static final String DATA_DO_CURSOR = "(SELECT c.dataSolicitacao FROM OrdemServico c "
+			+ "WHERE c.id = :aposOrdemId)";
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public List<OrdemServicoResumoProjection> listarResumos(FiltroOrdensServico filtro, Long aposOrdemId,
+			int tamanhoPagina) {
+		List<String> condicoes = new ArrayList<>();
+		if (filtro.status() != null) {
+			condicoes.add("o.status = :status");
+		}
+		if (filtro.clienteSolicitanteId() != null) {
+			condicoes.add("o.clienteSolicitante.pessoaId = :clienteId");
+		}
+		if (filtro.transportadorDesignadoId() != null) {
+			condicoes.add("o.transportadorDesignado.pessoaId = :transportadorId");
+		}
+		if (filtro.solicitadaDesde() != null) {
+			condicoes.add("o.dataSolicitacao >= :desde");
+		}
+		if (filtro.solicitadaAte() != null) {
+			condicoes.add("o.dataSolicitacao < :ate");
+		}
+		boolean somentePeriodo = filtro.status() == null && filtro.clienteSolicitanteId() == null
+				&& filtro.transportadorDesignadoId() == null
+				&& (filtro.solicitadaDesde() != null || filtro.solicitadaAte() != null);
+		if (aposOrdemId != null && somentePeriodo) {
+			// Limite superior da faixa no índice; o desempate é pelo ID.
+			condicoes.add("o.dataSolicitacao <= " + DATA_DO_CURSOR);
+			condicoes.add("(o.dataSolicitacao < " + DATA_DO_CURSOR + " OR o.id < :aposOrdemId)");
+		} else if (aposOrdemId != null) {
+			condicoes.add("o.id < :aposOrdemId");
+		}
+
+		String jpql = SELECT_RESUMO
+				+ (condicoes.isEmpty() ? "" : " WHERE " + String.join(" AND ", condicoes))
+				+ (somentePeriodo ? " ORDER BY o.dataSolicitacao DESC, o.id DESC" : " ORDER BY o.id DESC");
+		TypedQuery<OrdemServicoResumoProjection> query = entityManager
+				.createQuery(jpql, OrdemServicoResumoProjection.class)
+				.setMaxResults(tamanhoPagina);
+
+		if (filtro.status() != null) {
+			query.setParameter("status", filtro.status());
+		}
+		if (filtro.clienteSolicitanteId() != null) {
+			query.setParameter("clienteId", filtro.clienteSolicitanteId());
+		}
+		if (filtro.transportadorDesignadoId() != null) {
+			query.setParameter("transportadorId", filtro.transportadorDesignadoId());
+		}
+		if (filtro.solicitadaDesde() != null) {
+			query.setParameter("desde", filtro.solicitadaDesde());
+		}
+		if (filtro.solicitadaAte() != null) {
+			query.setParameter("ate", filtro.solicitadaAte());
+		}
+		if (aposOrdemId != null) {
+			query.setParameter("aposOrdemId", aposOrdemId);
+		}
+		return query.getResultList();
+	}
+}
@@ -0,0 +1,12 @@
+package br.com.wta.frete.logistica.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Projeção do peso e do volume totais da carga de um Frete, para a
+ * compatibilidade com os veículos (CompatibilidadeCargaService).
+ */
+public record CargaFreteProjection(
+		BigDecimal pesoTotalKg,
+		BigDecimal volumeTotalM3) {
+}
@@ -0,0 +1,20 @@
+package br.com.wta.frete.logistica.repository.projection;
+
+import java.time.ZonedDateTime;
+
+import br.com.wta.frete.core.entity.enums.StatusServico;
+
+/**
+ * Filtros opcionais da listagem de Ordens de Serviço. Campos nulos não
+ * restringem a consulta.
+ *
+ * @param solicitadaDesde Início (inclusivo) da data de solicitação.
+ * @param solicitadaAte   Fim (exclusivo) da data de solicitação.
+ */
+public record FiltroOrdensServico(
+		StatusServico status,
+		Long clienteSolicitanteId,
+		Long transportadorDesignadoId,
+		ZonedDateTime solicitadaDesde,
+		ZonedDateTime solicitadaAte) {
+}
@@ -0,0 +1,19 @@
+package br.com.wta.frete.logistica.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Projeção de um leilão aberto para a carga do índice de descoberta de fretes
+ * (DescobertaFretesService): modalidade, CEPs da OS, peso e volume totais e
+ * prazo.
+ */
+public record FreteAbertoProjection(
+		Long freteId,
+		String nomeModalidade,
+		String cepColeta,
+		String cepDestino,
+		BigDecimal pesoTotalKg,
+		BigDecimal volumeTotalM3,
+		LocalDateTime dataExpiracaoNegociacao) {
+}
@@ -0,0 +1,23 @@
+package br.com.wta.frete.logistica.repository.projection;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+
+import br.com.wta.frete.core.entity.enums.StatusServico;
+
+/**
+ * Projeção da Ordem de Serviço com apenas as colunas do OrdemServicoResponse:
+ * usada na listagem paginada, sem carregar a entidade nem as associações
+ * (cliente e transportador vêm das chaves estrangeiras).
+ */
+public record OrdemServicoResumoProjection(
+		Long ordemServicoId,
+		Long clienteSolicitanteId,
+		Long transportadorDesignadoId,
+		String enderecoColeta,
+		String cepColeta,
+		String cepDestino,
+		ZonedDateTime dataSolicitacao,
+		LocalDate dataPrevistaColeta,
+		StatusServico status) {
+}
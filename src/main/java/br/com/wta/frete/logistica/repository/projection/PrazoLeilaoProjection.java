@@ -0,0 +1,11 @@
+package br.com.wta.frete.logistica.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projeção mínima do prazo de um leilão (Frete): usada como cursor (keyset) na
+ * varredura de leilões expirados e na carga do agendador de encerramento.
+ * Carrega apenas as colunas do índice idx_fretes_status_expiracao.
+ */
+public record PrazoLeilaoProjection(Long freteId, LocalDateTime dataExpiracaoNegociacao) {
+}
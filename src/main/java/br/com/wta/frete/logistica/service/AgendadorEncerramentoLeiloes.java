@@ -0,0 +1,228 @@
+// Caminho: src/main/java/br/com/wta/frete/logistica/service/AgendadorEncerramentoLeiloes.java
+package br.com.wta.frete.logistica.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.com.wta.frete.logistica.repository.FreteRepository;
+import br.com.wta.frete.logistica.repository.StatusLeilaoRepository;
+import br.com.wta.frete.logistica.repository.projection.PrazoLeilaoProjection;
+
+/**
+ * Encerra cada leilão (Frete) no seu prazo exato, sem esperar a varredura
+ * periódica do FreteService.
+ *
+ * Os prazos ficam em uma {@link DelayQueue} (ordenada pelo instante de
+ * expiração); uma thread dedicada aguarda o próximo prazo vencer e submete o
+ * encerramento ao {@link ProcessadorFinalizacaoLeiloes} (pool limitado), sem
+ * bloquear a fila enquanto o banco trabalha: com o pool saturado, o leilão fica
+ * para a varredura periódica. A fila é carregada do banco na
+ * subida da aplicação (leilões já vencidos são encerrados imediatamente) e
+ * alimentada pelo FreteService a cada novo Frete.
+ *
+ * Cada Frete tem no máximo um prazo vigente: agendar de novo substitui o
+ * anterior (prazo alterado) e {@link #cancelar} o retira (leilão encerrado
+ * antes do prazo). Uma entrada que não é mais a vigente do seu Frete é
+ * descartada ao vencer.
+ *
+ * A fila é apenas um gatilho: o FreteService relê o Frete antes de encerrar,
+ * então entradas obsoletas (leilão já encerrado, Frete revertido) são
+ * ignoradas. A varredura periódica continua como rede de segurança.
+ */
+@Component
+public class AgendadorEncerramentoLeiloes {
+
+    private static final Logger log = LoggerFactory.getLogger(AgendadorEncerramentoLeiloes.class);
+
+    private static final String STATUS_ABERTO = "AGUARDANDO_LANCES";
+
+    /**
+     * Prazo de encerramento de um Frete na fila.
+     */
+    record PrazoEncerramento(Long freteId, long expiraEmMillis) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(expiraEmMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed outro) {
+            PrazoEncerramento o = (PrazoEncerramento) outro;
+            int comparacao = Long.compare(expiraEmMillis, o.expiraEmMillis);
+            return comparacao != 0 ? comparacao : Long.compare(freteId, o.freteId);
+        }
+    }
+
+    private final DelayQueue<PrazoEncerramento> fila = new DelayQueue<>();
+    // Prazo vigente de cada Frete na fila.
+    private final Map<Long, PrazoEncerramento> vigentes = new ConcurrentHashMap<>();
+
+    private final ProcessadorFinalizacaoLeiloes processadorFinalizacao;
+    private final FreteRepository freteRepository;
+    private final StatusLeilaoRepository statusLeilaoRepository;
+    private final boolean habilitado;
+
+    private volatile Thread despachante;
+
+    public AgendadorEncerramentoLeiloes(
+            ProcessadorFinalizacaoLeiloes processadorFinalizacao,
+            FreteRepository freteRepository,
+            StatusLeilaoRepository statusLeilaoRepository,
+            @Value("${frete.leilao.agendador.habilitado:true}") boolean habilitado) {
+        this.processadorFinalizacao = processadorFinalizacao;
+        this.freteRepository = freteRepository;
+        this.statusLeilaoRepository = statusLeilaoRepository;
+        this.habilitado = habilitado;
+    }
+
+    // --- CICLO DE VIDA ---
+
+    /**
+     * Carrega os prazos dos leilões abertos e inicia a thread de encerramento.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        if (!habilitado) {
+            log.info("Agendador de encerramento de leilões desabilitado (frete.leilao.agendador.habilitado=false).");
+            return;
+        }
+
+        statusLeilaoRepository.findByNomeStatus(STATUS_ABERTO).ifPresentOrElse(status -> {
+            List<PrazoLeilaoProjection> prazos = freteRepository.buscarPrazosAbertos(status.getId());
+            prazos.forEach(p -> agendar(p.freteId(), p.dataExpiracaoNegociacao()));
+            log.info("Agendador de encerramento carregado com {} leilão(ões) aberto(s).", prazos.size());
+        }, () -> log.warn("Status '{}' não encontrado. Agendador iniciado sem leilões.", STATUS_ABERTO));
+
+        Thread thread = new Thread(this::despachar, "encerramento-leiloes");
+        thread.setDaemon(true);
+        despachante = thread;
+        thread.start();
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void parar() {
+        Thread thread = despachante;
+        despachante = null;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    // --- AGENDAMENTO ---
+
+    /**
+     * Agenda o encerramento do leilão no prazo informado, substituindo o prazo
+     * anterior do mesmo Frete. Dentro de uma transação, o agendamento só ocorre
+     * após o commit (um Frete revertido não entra na fila).
+     */
+    public void agendar(Long freteId, LocalDateTime dataExpiracaoNegociacao) {
+        if (!habilitado || freteId == null || dataExpiracaoNegociacao == null) {
+            return;
+        }
+
+        long expiraEmMillis = dataExpiracaoNegociacao.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        PrazoEncerramento prazo = new PrazoEncerramento(freteId, expiraEmMillis);
+
+        aposCommit(() -> {
+            PrazoEncerramento anterior = vigentes.put(freteId, prazo);
+            if (prazo.equals(anterior)) {
+                return;
+            }
+            if (anterior != null) {
+                fila.remove(anterior);
+            }
+            fila.offer(prazo);
+        });
+    }
+
+    /**
+     * Retira o prazo do Frete da fila (leilão encerrado antes do prazo). Dentro
+     * de uma transação, só após o commit.
+     */
+    public void cancelar(Long freteId) {
+        if (!habilitado || freteId == null) {
+            return;
+        }
+        aposCommit(() -> {
+            PrazoEncerramento anterior = vigentes.remove(freteId);
+            if (anterior != null) {
+                fila.remove(anterior);
+            }
+        });
+    }
+
+    /**
+     * Quantidade de prazos pendentes na fila (diagnóstico).
+     */
+    public int getPendentes() {
+        return vigentes.size();
+    }
+
+    private static void aposCommit(Runnable acao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        } else {
+            acao.run();
+        }
+    }
+
+    // --- DESPACHO ---
+
+    private void despachar() {
+        while (despachante == Thread.currentThread()) {
+            PrazoEncerramento prazo;
+            try {
+                prazo = fila.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            // Substituída ou cancelada depois de entrar na fila.
+            if (vigentes.remove(prazo.freteId(), prazo)) {
+                encerrar(prazo);
+            }
+        }
+        log.info("Agendador de encerramento de leilões finalizado ({} prazo(s) pendente(s)).", vigentes.size());
+    }
+
+    private void encerrar(PrazoEncerramento prazo) {
+        try {
+            // O prazo já venceu; a margem de 1 ms evita descartar o leilão por
+            // empate entre o prazo e o relógio (o FreteService exige prazo < limite).
+            LocalDateTime limite = LocalDateTime.now().plusNanos(1_000_000);
+            if (!processadorFinalizacao.tentarSubmeter(prazo.freteId(), limite)) {
+                // Pool saturado: esperar aqui atrasaria todos os prazos seguintes.
+                log.warn("Fila de encerramento cheia: o Frete #{} fica para a varredura periódica.",
+                        prazo.freteId());
+                return;
+            }
+            log.debug("Encerramento do Frete #{} submetido pelo agendador ({} ms após o prazo).", prazo.freteId(),
+                    System.currentTimeMillis() - prazo.expiraEmMillis());
+        } catch (Exception e) {
+            // A varredura periódica tentará novamente.
+            log.error("Falha ao submeter o encerramento do Frete #{}: {}", prazo.freteId(), e.getMessage(), e);
+        }
+    }
+}
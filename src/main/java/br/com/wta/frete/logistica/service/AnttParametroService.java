@@ -1,16 +1,29 @@
 package br.com.wta.frete.logistica.service;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Objects;
+import java.util.function.LongSupplier;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import br.com.wta.frete.logistica.controller.dto.AnttParametroRequest;
+import br.com.wta.frete.logistica.controller.dto.AnttParametroResponse;
 import br.com.wta.frete.logistica.entity.AnttParametro;
 import br.com.wta.frete.logistica.repository.AnttParametroRepository;
+import br.com.wta.frete.logistica.service.TabelaAntt.VersaoParametro;
+import br.com.wta.frete.logistica.service.mapper.AnttParametroMapper;
 import br.com.wta.frete.shared.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 /**
  * Serviço responsável por gerenciar e calcular o Piso Mínimo de Frete (PMF) da
@@ -19,81 +32,244 @@ import br.com.wta.frete.shared.exception.ResourceNotFoundException;
  * Utiliza parâmetros da tabela logistica.antt_parametros para garantir
  * atualização
  * dinâmica das regras regulatórias.
+ *
+ * A tabela é mantida em memória: todas as versões (histórico de vigência) e a
+ * {@link TabelaAntt} vigente hoje, publicadas por referência volátil e lidas
+ * sem bloqueio. O cálculo do piso não consulta o banco. A memória é
+ * recarregada após uma atualização administrativa e quando o checksum da
+ * tabela muda (alteração feita direto no banco ou por outro nó).
+ *
+ * A latência do cálculo do piso é publicada no timer frete.antt.piso-minimo.
  */
 @Service
 public class AnttParametroService {
 
-    // Constante para arredondamento (2 casas decimais, padrão financeiro)
-    private static final int CASAS_DECIMAIS = 2;
-    private static final RoundingMode MODO_ARREDONDAMENTO = RoundingMode.HALF_UP;
-
-    private final AnttParametroRepository anttRepository;
-
-    public AnttParametroService(AnttParametroRepository anttRepository) {
-        this.anttRepository = anttRepository;
-    }
+    private static final Logger log = LoggerFactory.getLogger(AnttParametroService.class);
 
     /**
-     * Busca todos os parâmetros ANTT no banco de dados e os converte em um Map
-     * de Chave -> Valor para acesso rápido no cálculo.
-     * * @return Um Map contendo (String chave, BigDecimal valor) dos parâmetros.
-     * 
-     * @throws ResourceNotFoundException Se a tabela de parâmetros estiver vazia,
-     *                                   impossibilitando qualquer cálculo.
+     * Todas as versões carregadas do banco e o checksum correspondente.
      */
-    private Map<String, BigDecimal> buscarParametrosComoMapa() {
-        List<AnttParametro> parametros = anttRepository.findAll();
+    private record HistoricoAntt(String checksum, List<VersaoParametro> versoes) {
+    }
 
-        if (parametros.isEmpty()) {
-            // Lançamos uma exceção para evitar que um cálculo incompleto vá para produção.
-            throw new ResourceNotFoundException(
-                    "Nenhum parâmetro ANTT (piso mínimo legal) encontrado. O cálculo é impossível.");
-        }
+    private final AnttParametroRepository anttRepository;
+    private final AnttParametroMapper anttParametroMapper;
+    private final Timer timerPisoMinimo;
 
-        return parametros.stream()
-                .collect(Collectors.toMap(
-                        AnttParametro::getChave,
-                        AnttParametro::getValor));
+    private volatile HistoricoAntt historico;
+    private volatile TabelaAntt tabelaVigente;
+
+    public AnttParametroService(AnttParametroRepository anttRepository, AnttParametroMapper anttParametroMapper,
+            MeterRegistry meterRegistry) {
+        this.anttRepository = anttRepository;
+        this.anttParametroMapper = anttParametroMapper;
+        this.timerPisoMinimo = Timer.builder("frete.antt.piso-minimo")
+                .description("Latência do cálculo do Piso Mínimo de Frete (ANTT)")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 
+    // --- CÁLCULO ---
+
     /**
      * Calcula o Piso Mínimo de Frete (PMF) em Reais (BRL), seguindo a estrutura
      * básica da tabela da ANTT (custo fixo + custo variável + margem).
      * * NOTA: Esta é uma fórmula simplificada (Linear Model). A ANTT oficial é
      * complexa (tabelas por tipo de carga, eixos, etc.).
      * * @param distanciaKm Distância rodoviária em quilômetros.
-     * 
+     *
      * @param pesoTotalKg Peso total da carga em quilogramas (fator de carga).
      * @return O valor do Piso Mínimo em BRL, arredondado para duas casas decimais.
+     * @throws ResourceNotFoundException Se a tabela de parâmetros estiver vazia,
+     *                                   impossibilitando qualquer cálculo.
      */
     public BigDecimal calcularPisoMinimo(BigDecimal distanciaKm, BigDecimal pesoTotalKg) {
+        // NOTA: Ignoramos o peso (pesoTotalKg) nesta versão simplificada do cálculo.
+        // Em um cenário real, o peso influenciaria no coeficiente por quilômetro.
+        return timerPisoMinimo.record(() -> obterTabelaVigente().calcularPisoMinimo(distanciaKm));
+    }
 
-        Map<String, BigDecimal> params = buscarParametrosComoMapa();
+    /**
+     * Recalcula o Piso Mínimo com os parâmetros que estavam vigentes na data
+     * informada (ex: auditoria de uma cotação antiga).
+     */
+    public BigDecimal calcularPisoMinimo(BigDecimal distanciaKm, BigDecimal pesoTotalKg, LocalDate dataReferencia) {
+        return timerPisoMinimo.record(() -> obterTabela(dataReferencia).calcularPisoMinimo(distanciaKm));
+    }
 
-        // 1. OBTENÇÃO DOS PARÂMETROS
-        // Se as chaves não existirem no DB, usamos um valor default seguro para evitar
-        // falhas no cálculo (embora a busca acima já lance ResourceNotFound se o map
-        // for vazio).
-        // Aqui, garantimos o valor caso o DB tenha só alguns parâmetros.
-        BigDecimal custoFixo = params.getOrDefault("CUSTO_FIXO_VIAGEM", new BigDecimal("100.00"));
-        BigDecimal coeficientePorKm = params.getOrDefault("COEFICIENTE_POR_KM", new BigDecimal("0.50"));
-        BigDecimal taxaAdministrativa = params.getOrDefault("TAXA_ADMINISTRATIVA", new BigDecimal("0.05"));
+    /**
+     * Piso Mínimo em ponto fixo, para quem já trabalha em centavos (ver
+     * {@link TabelaAntt#calcularPisoMinimoCentavos}).
+     *
+     * @param distanciaCentesimosKm Distância em centésimos de km.
+     * @return O valor do Piso Mínimo em centavos.
+     */
+    public long calcularPisoMinimoCentavos(long distanciaCentesimosKm, BigDecimal pesoTotalKg) {
+        return timerPisoMinimo.record(
+                (LongSupplier) () -> obterTabelaVigente().calcularPisoMinimoCentavos(distanciaCentesimosKm));
+    }
 
-        // NOTA: Ignoramos o peso (pesoTotalKg) nesta versão simplificada do cálculo.
-        // Em um cenário real, o peso influenciaria no coeficiente por quilômetro.
+    /**
+     * Tabela vigente hoje. Caminho rápido: leitura volátil + comparação de data.
+     */
+    public TabelaAntt obterTabelaVigente() {
+        TabelaAntt tabela = tabelaVigente;
+        LocalDate hoje = LocalDate.now();
+        if (tabela != null && tabela.getDataReferencia().equals(hoje)) {
+            return tabela;
+        }
+        // Primeira chamada ou virada do dia (novas vigências podem começar a valer).
+        return publicarTabelaVigente(hoje);
+    }
 
-        // 2. CÁLCULO
-        // Custo Variável (Distância * Coeficiente)
-        BigDecimal custoVariavel = distanciaKm.multiply(coeficientePorKm);
+    /**
+     * Tabela vigente em uma data qualquer (montada a partir do histórico em
+     * memória, sem consulta ao banco).
+     *
+     * @throws ResourceNotFoundException Se nenhum parâmetro vigorava na data
+     *                                   (anterior à primeira versão).
+     */
+    public TabelaAntt obterTabela(LocalDate dataReferencia) {
+        if (dataReferencia.equals(LocalDate.now())) {
+            return obterTabelaVigente();
+        }
+        HistoricoAntt atual = obterHistorico();
+        return exigirVigente(TabelaAntt.vigenteEm(atual.versoes(), dataReferencia, atual.checksum()));
+    }
 
-        // Custo Total Básico (Fixo + Variável)
-        BigDecimal custoTotalBasico = custoFixo.add(custoVariavel);
+    // --- ADMINISTRAÇÃO ---
 
-        // Aplicação de Margem Mínima Legal (Ex: 5% de margem)
-        // Valor Final = Custo Total Básico * (1 + Taxa Administrativa)
-        BigDecimal valorFinal = custoTotalBasico.multiply(BigDecimal.ONE.add(taxaAdministrativa));
+    /**
+     * Lista os parâmetros vigentes na data informada.
+     */
+    public List<AnttParametroResponse> listarVigentes(LocalDate dataReferencia) {
+        return obterTabela(dataReferencia).getVigentes().values().stream()
+                .sorted(Comparator.comparing(VersaoParametro::chave))
+                .map(v -> new AnttParametroResponse(v.anttParametroId(), v.chave(), v.valor(), v.descricao(),
+                        v.dataVigencia()))
+                .toList();
+    }
 
-        // 3. RETORNO (Garante 2 casas decimais e arredondamento)
-        return valorFinal.setScale(CASAS_DECIMAIS, MODO_ARREDONDAMENTO);
+    /**
+     * Atualiza um parâmetro ANTT. Se a data de vigência for a mesma da versão
+     * informada, a versão é alterada; caso contrário, uma nova versão da mesma
+     * chave é registrada (o histórico é preservado). A memória é recarregada
+     * após o commit.
+     *
+     * @throws ResourceNotFoundException Se o parâmetro não existir.
+     */
+    @Transactional
+    public AnttParametroResponse atualizarParametro(Integer anttParametroId, AnttParametroRequest request) {
+        @SuppressWarnings("null")
+        AnttParametro existente = anttRepository.findById(anttParametroId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Parâmetro ANTT não encontrado com ID: " + anttParametroId));
+
+        AnttParametro alvo = existente;
+        if (!request.dataVigencia().equals(existente.getDataVigencia())) {
+            alvo = anttRepository.findByChaveAndDataVigencia(existente.getChave(), request.dataVigencia())
+                    .orElseGet(() -> {
+                        AnttParametro novaVersao = new AnttParametro();
+                        novaVersao.setChave(existente.getChave());
+                        return novaVersao;
+                    });
+        }
+
+        anttParametroMapper.updateEntity(request, alvo);
+        AnttParametro salvo = anttRepository.save(alvo);
+
+        log.info("Parâmetro ANTT '{}' atualizado: R$ {} a partir de {}.", salvo.getChave(), salvo.getValor(),
+                salvo.getDataVigencia());
+        recarregarAposCommit();
+
+        return anttParametroMapper.toResponse(salvo);
+    }
+
+    // --- CARGA E ATUALIZAÇÃO DA MEMÓRIA ---
+
+    /**
+     * Verifica periodicamente o checksum da tabela e recarrega a memória se algo
+     * mudou no banco.
+     */
+    @Scheduled(fixedDelayString = "${frete.antt.verificacao.intervalo:60000}")
+    public void verificarAlteracoes() {
+        HistoricoAntt atual = historico;
+        String checksum = anttRepository.calcularChecksum();
+        if (atual == null || !Objects.equals(atual.checksum(), checksum)) {
+            recarregar();
+        }
+    }
+
+    /**
+     * Recarrega todas as versões do banco e publica a nova tabela vigente.
+     */
+    public synchronized void recarregar() {
+        String checksum = anttRepository.calcularChecksum();
+        List<VersaoParametro> versoes = anttRepository.findAll().stream()
+                .map(p -> new VersaoParametro(p.getId(), p.getChave(), p.getValor(), p.getDescricao(),
+                        p.getDataVigencia()))
+                .toList();
+
+        historico = new HistoricoAntt(checksum, versoes);
+        // Nada vigente hoje (tabela vazia ou só vigências futuras): nenhuma
+        // tabela é publicada e o cálculo volta a falhar.
+        TabelaAntt tabela = TabelaAntt.vigenteEm(versoes, LocalDate.now(), checksum);
+        tabelaVigente = tabela.getVigentes().isEmpty() ? null : tabela;
+
+        log.info("Parâmetros ANTT carregados em memória: {} versão(ões), checksum {}.", versoes.size(), checksum);
+    }
+
+    /**
+     * Monta e publica a tabela do dia. Sincronizado com recarregar() para não
+     * publicar uma tabela montada a partir de um histórico já substituído.
+     */
+    private synchronized TabelaAntt publicarTabelaVigente(LocalDate hoje) {
+        TabelaAntt tabela = tabelaVigente;
+        if (tabela != null && tabela.getDataReferencia().equals(hoje)) {
+            return tabela;
+        }
+        HistoricoAntt atual = obterHistorico();
+        tabela = exigirVigente(TabelaAntt.vigenteEm(atual.versoes(), hoje, atual.checksum()));
+        tabelaVigente = tabela;
+        return tabela;
+    }
+
+    /**
+     * Sem nenhuma versão vigente a tabela seria só de valores default: um piso
+     * inventado, tratado como a tabela vazia.
+     */
+    private static TabelaAntt exigirVigente(TabelaAntt tabela) {
+        if (tabela.getVigentes().isEmpty()) {
+            throw new ResourceNotFoundException("Nenhum parâmetro ANTT vigente em " + tabela.getDataReferencia()
+                    + ". O cálculo é impossível.");
+        }
+        return tabela;
+    }
+
+    private HistoricoAntt obterHistorico() {
+        HistoricoAntt atual = historico;
+        if (atual == null) {
+            recarregar();
+            atual = historico;
+        }
+        if (atual.versoes().isEmpty()) {
+            // Lançamos uma exceção para evitar que um cálculo incompleto vá para produção.
+            throw new ResourceNotFoundException(
+                    "Nenhum parâmetro ANTT (piso mínimo legal) encontrado. O cálculo é impossível.");
+        }
+        return atual;
+    }
+
+    private void recarregarAposCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            recarregar();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recarregar();
+            }
+        });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,43 @@
+// Caminho: src/main/java/br/com/wta/frete/logistica/service/BarramentoEventosLeilao.java
+package br.com.wta.frete.logistica.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Barramento dos eventos de leilão entre os nós da aplicação: um lance aceito
+ * no nó A chega aos assinantes (SSE) conectados ao nó B.
+ *
+ * Implementações (propriedade {@code frete.leilao.barramento}):
+ * 1. {@link BarramentoEventosLeilaoLocal} ("local", padrão): apenas este nó
+ * (instância única e testes).
+ * 2. {@link BarramentoEventosLeilaoRedis} ("redis"): pub/sub do Redis com
+ * mensagens binárias ({@link CodificadorEventoLeilao}).
+ *
+ * Em ambas, eventos MELHOR_LANCE do mesmo leilão são agrupados por nó
+ * ({@link CoalescedorEventosLeilao}).
+ */
+public interface BarramentoEventosLeilao {
+
+    /**
+     * Publica o evento para todos os nós (inclusive este).
+     */
+    void publicar(EventoLeilao evento);
+
+    /**
+     * Publica o evento após o commit da transação corrente (ou imediatamente, sem
+     * transação). Um lance revertido nunca chega aos assinantes.
+     */
+    default void publicarAposCommit(EventoLeilao evento) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publicar(evento);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publicar(evento);
+            }
+        });
+    }
+}
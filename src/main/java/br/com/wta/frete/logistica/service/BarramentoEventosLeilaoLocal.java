@@ -0,0 +1,44 @@
+// Caminho: src/main/java/br/com/wta/frete/logistica/service/BarramentoEventosLeilaoLocal.java
+package br.com.wta.frete.logistica.service;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Barramento em memória: entrega os eventos apenas aos assinantes deste nó.
+ * Padrão para instância única e testes.
+ */
+@Component
+@ConditionalOnProperty(name = "frete.leilao.barramento", havingValue = "local", matchIfMissing = true)
+public class BarramentoEventosLeilaoLocal implements BarramentoEventosLeilao {
+
+    private final ScheduledExecutorService agendador;
+    private final CoalescedorEventosLeilao coalescedor;
+
+    public BarramentoEventosLeilaoLocal(
+            HubEventosLeilao hubEventos,
+            @Value("${frete.leilao.barramento.janela-ms:100}") long janelaMs) {
+        this.agendador = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "barramento-leilao");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.coalescedor = new CoalescedorEventosLeilao(janelaMs, hubEventos::publicar, agendador);
+    }
+
+    @Override
+    public void publicar(EventoLeilao evento) {
+        coalescedor.publicar(evento);
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void encerrar() {
+        agendador.shutdownNow();
+    }
+}
@@ -0,0 +1,172 @@
+// Caminho: src/main/java/br/com/wta/frete/logistica/service/BarramentoEventosLeilaoRedis.java
+package br.com.wta.frete.logistica.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import br.com.wta.frete.logistica.service.CodificadorEventoLeilao.MensagemEvento;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Barramento distribuído sobre o pub/sub do Redis já presente no projeto.
+ *
+ * Fluxo: 1. O evento passa pelo {@link CoalescedorEventosLeilao} deste nó. 2. É
+ * entregue na hora aos assinantes locais. 3. É publicado no canal
+ * {@value #CANAL} em formato binário ({@link CodificadorEventoLeilao}) com o ID
+ * deste nó. 4. Cada nó entrega aos seus assinantes as mensagens recebidas,
+ * ignorando as que ele mesmo publicou.
+ *
+ * Uma falha do Redis não afeta o lance: o evento chega apenas aos assinantes
+ * locais e os demais nós recebem o próximo evento ou o heartbeat.
+ *
+ * O PUBLISH roda em uma thread própria, fora do bloqueio do leilão (o
+ * after-commit do lance ainda o mantém): um Redis lento ou inacessível não
+ * segura os lances. A fila é limitada
+ * ({@code frete.leilao.barramento.fila-publicacao}); quando cheia, o evento é
+ * descartado para os demais nós. Uma única thread preserva a ordem dos eventos.
+ */
+@Component
+@ConditionalOnProperty(name = "frete.leilao.barramento", havingValue = "redis")
+public class BarramentoEventosLeilaoRedis implements BarramentoEventosLeilao, MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(BarramentoEventosLeilaoRedis.class);
+
+    static final String CANAL = "frete:leilao:eventos";
+    private static final byte[] CANAL_BYTES = CANAL.getBytes(StandardCharsets.UTF_8);
+
+    private final StringRedisTemplate redisTemplate;
+    private final HubEventosLeilao hubEventos;
+    private final long idNo = new SecureRandom().nextLong();
+
+    private final ScheduledExecutorService agendador;
+    private final ThreadPoolExecutor publicador;
+    private final CoalescedorEventosLeilao coalescedor;
+    private final RedisMessageListenerContainer container;
+
+    private final Counter contadorDescartes;
+    private final Counter contadorFalhas;
+
+    public BarramentoEventosLeilaoRedis(
+            StringRedisTemplate redisTemplate,
+            HubEventosLeilao hubEventos,
+            MeterRegistry meterRegistry,
+            @Value("${frete.leilao.barramento.janela-ms:100}") long janelaMs,
+            @Value("${frete.leilao.barramento.fila-publicacao:10000}") int capacidadeFila) {
+        this.redisTemplate = redisTemplate;
+        this.hubEventos = hubEventos;
+        this.agendador = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "barramento-leilao");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.contadorDescartes = contador(meterRegistry, "descartado");
+        this.contadorFalhas = contador(meterRegistry, "falha");
+        this.publicador = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, capacidadeFila)), runnable -> {
+                    Thread thread = new Thread(runnable, "barramento-leilao-redis");
+                    thread.setDaemon(true);
+                    return thread;
+                }, (tarefa, executor) -> contadorDescartes.increment());
+        this.coalescedor = new CoalescedorEventosLeilao(janelaMs, this::difundir, agendador);
+
+        this.container = new RedisMessageListenerContainer();
+        this.container.setConnectionFactory(redisTemplate.getRequiredConnectionFactory());
+        this.container.addMessageListener(this, new ChannelTopic(CANAL));
+    }
+
+    // --- CICLO DE VIDA ---
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        container.afterPropertiesSet();
+        container.start();
+        log.info("Barramento de eventos de leilão (Redis) inscrito no canal {}.", CANAL);
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void encerrar() {
+        agendador.shutdownNow();
+        publicador.shutdownNow();
+        try {
+            container.stop();
+            container.destroy();
+        } catch (Exception e) {
+            log.warn("Falha ao encerrar a inscrição no canal {}: {}", CANAL, e.getMessage());
+        }
+    }
+
+    // --- PUBLICAÇÃO ---
+
+    @Override
+    public void publicar(EventoLeilao evento) {
+        coalescedor.publicar(evento);
+    }
+
+    private void difundir(EventoLeilao evento) {
+        hubEventos.publicar(evento);
+
+        byte[] mensagem = CodificadorEventoLeilao.codificar(evento, idNo);
+        // Fila cheia: a política de rejeição descarta e contabiliza.
+        publicador.execute(() -> publicarNoRedis(evento, mensagem));
+    }
+
+    private void publicarNoRedis(EventoLeilao evento, byte[] mensagem) {
+        try {
+            redisTemplate.execute((RedisCallback<Long>) conexao -> conexao.publish(CANAL_BYTES, mensagem));
+        } catch (DataAccessException e) {
+            contadorFalhas.increment();
+            log.warn("Evento {} do Frete #{} não publicado no Redis: {}", evento.tipo(), evento.freteId(),
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * Eventos aguardando publicação no Redis (diagnóstico e testes).
+     */
+    int getPublicacoesPendentes() {
+        return publicador.getQueue().size();
+    }
+
+    private static Counter contador(MeterRegistry registry, String resultado) {
+        return Counter.builder("frete.leilao.barramento.publicacoes")
+                .description("Eventos de leilão não publicados no Redis, por motivo")
+                .tag("resultado", resultado)
+                .register(registry);
+    }
+
+    // --- RECEPÇÃO ---
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            MensagemEvento recebida = CodificadorEventoLeilao.decodificar(message.getBody());
+            if (recebida.noOrigem() != idNo) {
+                hubEventos.publicar(recebida.evento());
+            }
+        } catch (IllegalArgumentException e) {
+            log.warn("Mensagem inválida no canal {} descartada: {}", CANAL, e.getMessage());
+        }
+    }
+}
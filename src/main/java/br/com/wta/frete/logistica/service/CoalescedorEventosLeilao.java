@@ -0,0 +1,97 @@
+// Caminho: src/main/java/br/com/wta/frete/logistica/service/CoalescedorEventosLeilao.java
+package br.com.wta.frete.logistica.service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import br.com.wta.frete.logistica.service.EventoLeilao.TipoEventoLeilao;
+
+/**
+ * Agrupa os eventos MELHOR_LANCE de um leilão: no máximo um por janela
+ * ({@code frete.leilao.barramento.janela-ms}). Em um leilão disputado, apenas o
+ * último melhor lance de cada janela é repassado. Os demais tipos passam direto;
+ * o ENCERRADO descarta o melhor lance pendente (ele já traz o valor final).
+ *
+ * O primeiro evento de uma janela sai na hora; os seguintes esperam o fim da
+ * janela. Uma janela sem eventos pendentes é descartada, então o mapa só guarda
+ * os leilões com lances nos últimos instantes.
+ */
+final class CoalescedorEventosLeilao {
+
+    /**
+     * Estado da janela de um leilão. Acessado apenas dentro de compute() do mapa.
+     */
+    private static final class Janela {
+        private EventoLeilao pendente;
+    }
+
+    private final ConcurrentHashMap<Long, Janela> janelas = new ConcurrentHashMap<>();
+    private final long janelaMs;
+    private final Consumer<EventoLeilao> destino;
+    private final ScheduledExecutorService agendador;
+
+    CoalescedorEventosLeilao(long janelaMs, Consumer<EventoLeilao> destino, ScheduledExecutorService agendador) {
+        this.janelaMs = janelaMs;
+        this.destino = destino;
+        this.agendador = agendador;
+    }
+
+    void publicar(EventoLeilao evento) {
+        Long freteId = evento.freteId();
+        if (janelaMs <= 0) {
+            destino.accept(evento);
+            return;
+        }
+        if (evento.tipo() != TipoEventoLeilao.MELHOR_LANCE) {
+            if (evento.isEncerramento()) {
+                janelas.remove(freteId);
+            }
+            destino.accept(evento);
+            return;
+        }
+
+        boolean[] enviarAgora = new boolean[1];
+        janelas.compute(freteId, (id, janela) -> {
+            if (janela == null) {
+                // Nenhum envio recente: envia e abre a janela.
+                enviarAgora[0] = true;
+                agendador.schedule(() -> fecharJanela(id), janelaMs, TimeUnit.MILLISECONDS);
+                return new Janela();
+            }
+            janela.pendente = evento;
+            return janela;
+        });
+        if (enviarAgora[0]) {
+            destino.accept(evento);
+        }
+    }
+
+    /**
+     * Fim da janela: envia o último evento pendente (abrindo nova janela) ou
+     * descarta a janela.
+     */
+    private void fecharJanela(Long freteId) {
+        EventoLeilao[] pendente = new EventoLeilao[1];
+        janelas.computeIfPresent(freteId, (id, janela) -> {
+            if (janela.pendente == null) {
+                return null;
+            }
+            pendente[0] = janela.pendente;
+            janela.pendente = null;
+            agendador.schedule(() -> fecharJanela(id), janelaMs, TimeUnit.MILLISECONDS);
+            return janela;
+        });
+        if (pendente[0] != null) {
+            destino.accept(pendente[0]);
+        }
+    }
+
+    /**
+     * Leilões com janela aberta (diagnóstico e testes).
+     */
+    int getJanelasAbertas() {
+        return janelas.size();
+    }
+}
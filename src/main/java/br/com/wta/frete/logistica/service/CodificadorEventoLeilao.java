@@ -0,0 +1,139 @@
+// Caminho: src/main/java/br/com/wta/frete/logistica/service/CodificadorEventoLeilao.java
+package br.com.wta.frete.logistica.service;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import br.com.wta.frete.logistica.service.EventoLeilao.TipoEventoLeilao;
+
+/**
+ * Formato binário compacto dos eventos de leilão trafegados pelo Redis.
+ *
+ * Layout (big-endian): versão (byte), nó de origem (long), tipo (byte),
+ * freteId (long), presença (byte: bit 0 = valor, bit 1 = transportador,
+ * bit 2 = prazo, bit 3 = status), valor (long sem escala + byte escala),
+ * transportadorId (long), prazo (long, epoch ms UTC), totalOfertas (int),
+ * segundosRestantes (long), status (short sem sinal com o tamanho + UTF-8). Campos ausentes
+ * não ocupam espaço; um MELHOR_LANCE típico tem menos de 80 bytes.
+ */
+public final class CodificadorEventoLeilao {
+
+    static final byte VERSAO = 1;
+
+    private static final int TEM_VALOR = 1;
+    private static final int TEM_TRANSPORTADOR = 1 << 1;
+    private static final int TEM_PRAZO = 1 << 2;
+    private static final int TEM_STATUS = 1 << 3;
+
+    // Tamanho do status gravado em um short sem sinal.
+    private static final int TAMANHO_MAXIMO_STATUS = 0xFFFF;
+
+    private static final TipoEventoLeilao[] TIPOS = TipoEventoLeilao.values();
+
+    private CodificadorEventoLeilao() {
+    }
+
+    /**
+     * Evento decodificado e o nó que o publicou.
+     */
+    public record MensagemEvento(long noOrigem, EventoLeilao evento) {
+    }
+
+    public static byte[] codificar(EventoLeilao evento, long noOrigem) {
+        byte[] status = evento.nomeStatus() != null ? evento.nomeStatus().getBytes(StandardCharsets.UTF_8) : null;
+        if (status != null && status.length > TAMANHO_MAXIMO_STATUS) {
+            throw new IllegalArgumentException("Status do leilão excede " + TAMANHO_MAXIMO_STATUS + " bytes.");
+        }
+        BigDecimal valor = evento.valorMelhorLance();
+
+        int presenca = (valor != null ? TEM_VALOR : 0)
+                | (evento.transportadorId() != null ? TEM_TRANSPORTADOR : 0)
+                | (evento.dataExpiracaoNegociacao() != null ? TEM_PRAZO : 0)
+                | (status != null ? TEM_STATUS : 0);
+
+        int tamanho = 1 + 8 + 1 + 8 + 1 + 4 + 8
+                + (valor != null ? 9 : 0)
+                + (evento.transportadorId() != null ? 8 : 0)
+                + (evento.dataExpiracaoNegociacao() != null ? 8 : 0)
+                + (status != null ? 2 + status.length : 0);
+
+        ByteBuffer buffer = ByteBuffer.allocate(tamanho);
+        buffer.put(VERSAO);
+        buffer.putLong(noOrigem);
+        buffer.put((byte) evento.tipo().ordinal());
+        buffer.putLong(evento.freteId());
+        buffer.put((byte) presenca);
+        if (valor != null) {
+            // Valores monetários (NUMERIC(12,2)) sempre cabem em um long sem escala.
+            buffer.putLong(valor.unscaledValue().longValueExact());
+            buffer.put((byte) valor.scale());
+        }
+        if (evento.transportadorId() != null) {
+            buffer.putLong(evento.transportadorId());
+        }
+        if (evento.dataExpiracaoNegociacao() != null) {
+            buffer.putLong(evento.dataExpiracaoNegociacao().toInstant(ZoneOffset.UTC).toEpochMilli());
+        }
+        buffer.putInt(evento.totalOfertas());
+        buffer.putLong(evento.segundosRestantes());
+        if (status != null) {
+            buffer.putShort((short) status.length);
+            buffer.put(status);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * @throws IllegalArgumentException Se a mensagem tiver versão desconhecida ou
+     *                                  estiver truncada.
+     */
+    public static MensagemEvento decodificar(byte[] mensagem) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(mensagem);
+            byte versao = buffer.get();
+            if (versao != VERSAO) {
+                throw new IllegalArgumentException("Versão de evento de leilão não suportada: " + versao);
+            }
+            long noOrigem = buffer.getLong();
+            TipoEventoLeilao tipo = TIPOS[buffer.get()];
+            long freteId = buffer.getLong();
+            int presenca = buffer.get();
+
+            BigDecimal valor = null;
+            if ((presenca & TEM_VALOR) != 0) {
+                long semEscala = buffer.getLong();
+                valor = new BigDecimal(BigInteger.valueOf(semEscala), buffer.get());
+            }
+            Long transportadorId = (presenca & TEM_TRANSPORTADOR) != 0 ? buffer.getLong() : null;
+            LocalDateTime prazo = (presenca & TEM_PRAZO) != 0
+                    ? LocalDateTime.ofInstant(Instant.ofEpochMilli(buffer.getLong()), ZoneOffset.UTC)
+                    : null;
+            int totalOfertas = buffer.getInt();
+            long segundosRestantes = buffer.getLong();
+            String status = null;
+            if ((presenca & TEM_STATUS) != 0) {
+                // Tamanho sem sinal, validado antes de alocar: um quadro corrompido
+                // não deve gerar tamanho negativo nem alocação desproporcional.
+                int tamanho = Short.toUnsignedInt(buffer.getShort());
+                if (tamanho > buffer.remaining()) {
+                    throw new IllegalArgumentException("Mensagem de evento de leilão inválida: status com "
+                            + tamanho + " byte(s), restam " + buffer.remaining() + ".");
+                }
+                byte[] bytes = new byte[tamanho];
+                buffer.get(bytes);
+                status = new String(bytes, StandardCharsets.UTF_8);
+            }
+
+            return new MensagemEvento(noOrigem, new EventoLeilao(tipo, freteId, status, valor, transportadorId,
+                    totalOfertas, prazo, segundosRestantes));
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Mensagem de evento de leilão inválida.", e);
+        }
+    }
+}
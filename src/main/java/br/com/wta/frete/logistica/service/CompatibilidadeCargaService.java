@@ -0,0 +1,149 @@
+// Caminho: src/main/java/br/com/wta/frete/logistica/service/CompatibilidadeCargaService.java
+package br.com.wta.frete.logistica.service;
+
+import java.math.BigDecimal;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.wta.frete.colaboradores.entity.enums.TipoVeiculo;
+import br.com.wta.frete.colaboradores.service.FrotaDisponivelService;
+import br.com.wta.frete.colaboradores.service.IndiceCapacidadeVeiculos.VeiculoCapacidade;
+import br.com.wta.frete.logistica.controller.dto.FreteAbertoResponse;
+import br.com.wta.frete.logistica.controller.dto.TransportadorCompativelResponse;
+import br.com.wta.frete.logistica.repository.FreteRepository;
+import br.com.wta.frete.logistica.repository.projection.CargaFreteProjection;
+import br.com.wta.frete.logistica.service.GradeFretesAbertos.FreteAberto;
+import br.com.wta.frete.shared.exception.InvalidDataException;
+import br.com.wta.frete.shared.exception.ResourceNotFoundException;
+import br.com.wta.frete.shared.util.ValorFixo;
+
+/**
+ * Compatibilidade entre a carga dos Fretes (peso e volume) e os veículos
+ * DISPONIVEL dos transportadores, nos dois sentidos:
+ * - Frete -> transportadores com algum veículo que comporta a carga
+ * (notificações e pré-filtro de lances);
+ * - Transportador -> leilões abertos que a sua frota comporta.
+ *
+ * Ambas as consultas são respondidas em memória: a frota pelo
+ * {@link FrotaDisponivelService} e os leilões abertos pela grade do
+ * {@link DescobertaFretesService}.
+ */
+@Service
+public class CompatibilidadeCargaService {
+
+    private static final int ESCALA_CAPACIDADE = 2;
+    private static final String CODIGO_ERRO = "FILTRO_COMPATIBILIDADE_INVALIDO";
+
+    public static final int LIMITE_PADRAO = 50;
+    public static final int LIMITE_MAXIMO = 500;
+
+    private final FrotaDisponivelService frotaDisponivelService;
+    private final DescobertaFretesService descobertaFretesService;
+    private final FreteRepository freteRepository;
+
+    public CompatibilidadeCargaService(
+            FrotaDisponivelService frotaDisponivelService,
+            DescobertaFretesService descobertaFretesService,
+            FreteRepository freteRepository) {
+        this.frotaDisponivelService = frotaDisponivelService;
+        this.descobertaFretesService = descobertaFretesService;
+        this.freteRepository = freteRepository;
+    }
+
+    /**
+     * Transportadores com veículo disponível que comporta o peso e o volume
+     * do Frete, cada um com o menor veículo compatível, do ajuste mais justo
+     * ao mais folgado.
+     *
+     * @param freteId      O ID do Frete.
+     * @param tiposVeiculo Nomes dos tipos de veículo aceitos (opcional).
+     * @param limite       Máximo de transportadores (padrão
+     *                     {@value #LIMITE_PADRAO}).
+     * @throws ResourceNotFoundException Se o Frete não existir.
+     */
+    @Transactional(readOnly = true)
+    public List<TransportadorCompativelResponse> buscarTransportadores(Long freteId, List<String> tiposVeiculo,
+            Integer limite) {
+        int quantidade = validarLimite(limite);
+        Set<TipoVeiculo> tipos = converterTipos(tiposVeiculo);
+
+        // Leilão aberto: carga já indexada neste nó; demais casos, uma leitura por PK.
+        long peso;
+        Long volume;
+        FreteAberto indexado = descobertaFretesService.buscarIndexado(freteId);
+        if (indexado != null && indexado.pesoCentesimosKg() != null) {
+            peso = indexado.pesoCentesimosKg();
+            volume = indexado.volumeCentesimosM3();
+        } else {
+            CargaFreteProjection carga = freteRepository.buscarCarga(freteId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Frete não encontrado com ID: " + freteId));
+            if (carga.pesoTotalKg() == null) {
+                throw new InvalidDataException("O Frete #" + freteId + " não possui peso total conhecido.",
+                        "PESO_FRETE_DESCONHECIDO");
+            }
+            peso = DescobertaFretesService.centesimosCarga(carga.pesoTotalKg());
+            volume = DescobertaFretesService.centesimosCarga(carga.volumeTotalM3());
+        }
+
+        return frotaDisponivelService.buscarTransportadores(peso, volume, tipos, quantidade).stream()
+                .map(CompatibilidadeCargaService::toResponse)
+                .toList();
+    }
+
+    /**
+     * Leilões abertos que algum veículo disponível do transportador comporta,
+     * do mais próximo do encerramento para o mais distante. Vazio se ele não
+     * tiver veículo disponível.
+     */
+    public List<FreteAbertoResponse> buscarFretes(Long transportadorId, Integer limite) {
+        int quantidade = validarLimite(limite);
+        List<VeiculoCapacidade> frota = frotaDisponivelService.frota(transportadorId);
+        if (frota.isEmpty()) {
+            return List.of();
+        }
+        return descobertaFretesService.buscarCompativeis(frota, quantidade);
+    }
+
+    private static int validarLimite(Integer limite) {
+        int quantidade = limite != null ? limite : LIMITE_PADRAO;
+        if (quantidade < 1 || quantidade > LIMITE_MAXIMO) {
+            throw new InvalidDataException("O limite deve estar entre 1 e " + LIMITE_MAXIMO + ".", CODIGO_ERRO,
+                    "limite");
+        }
+        return quantidade;
+    }
+
+    private static Set<TipoVeiculo> converterTipos(List<String> tiposVeiculo) {
+        Set<TipoVeiculo> tipos = EnumSet.noneOf(TipoVeiculo.class);
+        if (tiposVeiculo == null) {
+            return tipos;
+        }
+        for (String tipo : tiposVeiculo) {
+            if (tipo == null || tipo.isBlank()) {
+                continue;
+            }
+            try {
+                tipos.add(TipoVeiculo.valueOf(tipo.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidDataException("Tipo de veículo inválido: " + tipo, CODIGO_ERRO, "tiposVeiculo");
+            }
+        }
+        return tipos;
+    }
+
+    private static TransportadorCompativelResponse toResponse(VeiculoCapacidade veiculo) {
+        return new TransportadorCompativelResponse(
+                veiculo.transportadorId(),
+                veiculo.veiculoId(),
+                veiculo.tipoVeiculo(),
+                ValorFixo.paraBigDecimal(veiculo.pesoCentesimosKg(), ESCALA_CAPACIDADE),
+                veiculo.volumeCentesimosM3() != null
+                        ? ValorFixo.paraBigDecimal(veiculo.volumeCentesimosM3(), ESCALA_CAPACIDADE)
+                        : null);
+    }
+}
@@ -0,0 +1,295 @@
+// Caminho: src/main/java/br/com/wta/frete/logistica/service/CotacaoLoteService.java
+package br.com.wta.frete.logistica.service;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import br.com.wta.frete.logistica.controller.dto.CotacaoLoteRequest;
+import br.com.wta.frete.logistica.controller.dto.CotacaoRequest;
+import br.com.wta.frete.logistica.controller.dto.CotacaoResponse;
+import br.com.wta.frete.logistica.controller.dto.ItemCotacaoRequest;
+import br.com.wta.frete.logistica.entity.ModalidadeFrete;
+import br.com.wta.frete.logistica.repository.ModalidadeFreteRepository;
+import br.com.wta.frete.shared.exception.InvalidDataException;
+import br.com.wta.frete.shared.exception.ResourceNotFoundException;
+import br.com.wta.frete.shared.service.GeoService;
+import br.com.wta.frete.shared.util.ValorFixo;
+
+/**
+ * Cotação de frete em lote, somente leitura (nenhuma OS ou Frete é criado).
+ *
+ * Os dados mestres (modalidades), a tabela ANTT vigente e as métricas dos
+ * transportadores citados no lote (no {@link IndiceMetricasTransportador}) são
+ * carregados uma única vez por lote
+ * ({@link #prepararLote}); a precificação de cada entrada é então puramente em
+ * memória e roda em paralelo, em blocos, num pool limitado. Cada bloco é
+ * entregue na ordem original assim que termina, para que a resposta possa ser
+ * transmitida (NDJSON) sem acumular o lote inteiro.
+ */
+@Service
+public class CotacaoLoteService {
+
+    private static final Logger log = LoggerFactory.getLogger(CotacaoLoteService.class);
+
+    private static final String CODIGO_ERRO_INTERNO = "ERRO_INTERNO";
+
+    /**
+     * Dados carregados uma vez por lote e compartilhados (somente leitura) pelas
+     * threads de precificação.
+     */
+    public record ContextoCotacao(
+            TabelaAntt tabelaAntt,
+            Map<String, Integer> modalidadesPorNome) {
+    }
+
+    /**
+     * Destino dos blocos precificados (ex: a saída HTTP).
+     */
+    @FunctionalInterface
+    public interface SaidaCotacao {
+        void escrever(List<CotacaoResponse> bloco) throws IOException;
+    }
+
+    private final GeoService geoService;
+    private final AnttParametroService anttService;
+    private final MetricaTransportadorFreteService metricaService;
+    private final ModalidadeFreteRepository modalidadeRepository;
+
+    private final ThreadPoolExecutor executor;
+    private final int paralelismo;
+    private final int tamanhoMaximo;
+    private final int tamanhoBloco;
+
+    public CotacaoLoteService(
+            GeoService geoService,
+            AnttParametroService anttService,
+            MetricaTransportadorFreteService metricaService,
+            ModalidadeFreteRepository modalidadeRepository,
+            @Value("${frete.cotacao.lote.paralelismo:0}") int paralelismo,
+            @Value("${frete.cotacao.lote.tamanho-maximo:10000}") int tamanhoMaximo,
+            @Value("${frete.cotacao.lote.tamanho-bloco:500}") int tamanhoBloco) {
+        this.geoService = geoService;
+        this.anttService = anttService;
+        this.metricaService = metricaService;
+        this.modalidadeRepository = modalidadeRepository;
+        this.paralelismo = paralelismo > 0 ? paralelismo : Runtime.getRuntime().availableProcessors();
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.tamanhoBloco = Math.max(1, tamanhoBloco);
+
+        // Fila limitada + CallerRunsPolicy: com muitos lotes simultâneos, a thread
+        // da requisição passa a precificar a própria fatia.
+        AtomicInteger sequencia = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(this.paralelismo, this.paralelismo, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(this.paralelismo * 4), runnable -> {
+                    Thread thread = new Thread(runnable, "cotacao-lote-" + sequencia.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    // --- PREPARAÇÃO ---
+
+    /**
+     * Valida o tamanho do lote e carrega, uma única vez, tudo o que a
+     * precificação das entradas precisa do banco.
+     *
+     * @throws InvalidDataException Se o lote exceder
+     *                              {@code frete.cotacao.lote.tamanho-maximo}.
+     */
+    public ContextoCotacao prepararLote(CotacaoLoteRequest request) {
+        List<CotacaoRequest> cotacoes = request.cotacoes();
+        if (cotacoes.size() > tamanhoMaximo) {
+            throw new InvalidDataException(
+                    "O lote excede o limite de " + tamanhoMaximo + " cotações (recebidas: " + cotacoes.size() + ").",
+                    "LOTE_EXCEDIDO", "cotacoes");
+        }
+
+        TabelaAntt tabelaAntt = anttService.obterTabelaVigente();
+
+        Map<String, Integer> modalidadesPorNome = new HashMap<>();
+        for (ModalidadeFrete modalidade : modalidadeRepository.findAll()) {
+            modalidadesPorNome.put(modalidade.getNomeModalidade(), modalidade.getId());
+        }
+
+        Set<Long> transportadorIds = new LinkedHashSet<>();
+        for (CotacaoRequest cotacao : cotacoes) {
+            if (cotacao != null && cotacao.transportadorId() != null) {
+                transportadorIds.add(cotacao.transportadorId());
+            }
+        }
+        // Uma única consulta; a partir daqui as métricas vêm do índice em memória.
+        metricaService.precarregarMetricas(transportadorIds);
+
+        return new ContextoCotacao(tabelaAntt, Map.copyOf(modalidadesPorNome));
+    }
+
+    // --- PRECIFICAÇÃO ---
+
+    /**
+     * Precifica todas as entradas, bloco a bloco, entregando cada bloco na ordem
+     * original.
+     *
+     * @return Quantidade de entradas com erro.
+     */
+    public int cotarLote(List<CotacaoRequest> cotacoes, ContextoCotacao contexto, SaidaCotacao saida)
+            throws IOException {
+        long inicio = System.nanoTime();
+        int erros = 0;
+
+        for (int inicioBloco = 0; inicioBloco < cotacoes.size(); inicioBloco += tamanhoBloco) {
+            int fimBloco = Math.min(cotacoes.size(), inicioBloco + tamanhoBloco);
+            CotacaoResponse[] bloco = precificarBloco(cotacoes, inicioBloco, fimBloco, contexto);
+            for (CotacaoResponse resposta : bloco) {
+                if (CotacaoResponse.STATUS_ERRO.equals(resposta.status())) {
+                    erros++;
+                }
+            }
+            saida.escrever(Arrays.asList(bloco));
+        }
+
+        log.info("Lote de {} cotação(ões) precificado em {} ms ({} com erro).", cotacoes.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio), erros);
+        return erros;
+    }
+
+    /**
+     * Divide o bloco em fatias contíguas, uma por thread do pool, e aguarda todas.
+     */
+    private CotacaoResponse[] precificarBloco(List<CotacaoRequest> cotacoes, int inicio, int fim,
+            ContextoCotacao contexto) throws IOException {
+        CotacaoResponse[] bloco = new CotacaoResponse[fim - inicio];
+        int tamanhoFatia = Math.max(1, (bloco.length + paralelismo - 1) / paralelismo);
+
+        List<Callable<Void>> fatias = new ArrayList<>();
+        for (int de = 0; de < bloco.length; de += tamanhoFatia) {
+            int inicioFatia = de;
+            int fimFatia = Math.min(bloco.length, de + tamanhoFatia);
+            fatias.add(() -> {
+                for (int k = inicioFatia; k < fimFatia; k++) {
+                    bloco[k] = cotar(inicio + k, cotacoes.get(inicio + k), contexto);
+                }
+                return null;
+            });
+        }
+
+        List<Future<Void>> futuros = new ArrayList<>(fatias.size());
+        for (Callable<Void> fatia : fatias) {
+            futuros.add(executor.submit(fatia));
+        }
+        try {
+            for (Future<Void> futuro : futuros) {
+                futuro.get();
+            }
+        } catch (InterruptedException e) {
+            futuros.forEach(f -> f.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IOException("Cotação em lote interrompida.", e);
+        } catch (ExecutionException e) {
+            // cotar() não lança exceções; chegar aqui indica um erro grave (ex: OOM).
+            throw new IllegalStateException("Falha na cotação em lote.", e.getCause());
+        }
+        return bloco;
+    }
+
+    /**
+     * Precifica uma entrada (mesmas regras do FreteService na criação do Frete).
+     * Erros viram uma linha de erro; nunca interrompem o lote.
+     */
+    CotacaoResponse cotar(int indice, CotacaoRequest cotacao, ContextoCotacao contexto) {
+        String referencia = cotacao != null ? cotacao.referencia() : null;
+        try {
+            if (cotacao == null) {
+                throw new InvalidDataException("Entrada de cotação vazia.", "COTACAO_VAZIA");
+            }
+            Integer modalidadeId = resolverModalidade(cotacao.nomeModalidadeFrete(), contexto);
+            BigDecimal pesoTotalKg = calcularPesoTotal(cotacao.itens());
+
+            BigDecimal distanciaKm = geoService.calcularDistanciaRodoviaria(cotacao.cepColeta(),
+                    cotacao.cepDestino());
+            // Precificação em ponto fixo (centavos); o BigDecimal só volta na resposta.
+            long distanciaCentesimosKm = ValorFixo.escalar(distanciaKm, TabelaAntt.ESCALA_DISTANCIA);
+            long anttPisoMinimo = contexto.tabelaAntt().calcularPisoMinimoCentavos(distanciaCentesimosKm);
+
+            long precoSugerido;
+            if (cotacao.transportadorId() != null) {
+                try {
+                    precoSugerido = metricaService.calcularCustoPersonalizadoCentavos(cotacao.transportadorId(),
+                            modalidadeId, distanciaCentesimosKm);
+                } catch (ResourceNotFoundException e) {
+                    throw new InvalidDataException("O transportador " + cotacao.transportadorId()
+                            + " não possui parâmetros de precificação customizados (Métrica) para a modalidade "
+                            + cotacao.nomeModalidadeFrete(), "METRICA_NAO_ENCONTRADA", "transportadorId");
+                }
+            } else {
+                precoSugerido = FreteService.aplicarMargemMercado(anttPisoMinimo);
+            }
+
+            return new CotacaoResponse(indice, referencia, CotacaoResponse.STATUS_OK, distanciaKm, pesoTotalKg,
+                    ValorFixo.paraBigDecimal(anttPisoMinimo, ValorFixo.ESCALA_CENTAVOS),
+                    ValorFixo.paraBigDecimal(precoSugerido, ValorFixo.ESCALA_CENTAVOS), cotacao.transportadorId(),
+                    null, null, null);
+        } catch (InvalidDataException e) {
+            return CotacaoResponse.erro(indice, referencia, e.getReasonCode(), e.getField(), e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Falha inesperada na cotação #{} do lote: {}", indice, e.getMessage(), e);
+            return CotacaoResponse.erro(indice, referencia, CODIGO_ERRO_INTERNO, null,
+                    "Falha inesperada ao precificar a entrada.");
+        }
+    }
+
+    private static Integer resolverModalidade(String nomeModalidade, ContextoCotacao contexto) {
+        if (nomeModalidade == null || nomeModalidade.isBlank()) {
+            throw new InvalidDataException("A Modalidade de Frete é obrigatória.", "MODALIDADE_OBRIGATORIA",
+                    "nomeModalidadeFrete");
+        }
+        Integer modalidadeId = contexto.modalidadesPorNome().get(nomeModalidade);
+        if (modalidadeId == null) {
+            throw new InvalidDataException("Modalidade de Frete não encontrada: " + nomeModalidade,
+                    "MODALIDADE_NAO_ENCONTRADA", "nomeModalidadeFrete");
+        }
+        return modalidadeId;
+    }
+
+    private static BigDecimal calcularPesoTotal(List<ItemCotacaoRequest> itens) {
+        if (itens == null || itens.isEmpty()) {
+            throw new InvalidDataException("A cotação deve ter pelo menos um item.", "ITENS_OBRIGATORIOS", "itens");
+        }
+        BigDecimal total = BigDecimal.ZERO;
+        for (int k = 0; k < itens.size(); k++) {
+            ItemCotacaoRequest item = itens.get(k);
+            BigDecimal peso = item != null ? item.pesoEstimadoKg() : null;
+            if (peso == null || peso.signum() <= 0) {
+                throw new InvalidDataException("O peso do item deve ser positivo.", "PESO_INVALIDO",
+                        "itens[" + k + "].pesoEstimadoKg");
+            }
+            total = total.add(peso);
+        }
+        return total;
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,335 @@
+// Caminho: src/main/java/br/com/wta/frete/logistica/service/DescobertaFretesService.java
+package br.com.wta.frete.logistica.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.com.wta.frete.colaboradores.service.FrotaDisponivelService;
+import br.com.wta.frete.colaboradores.service.IndiceCapacidadeVeiculos.VeiculoCapacidade;
+import br.com.wta.frete.logistica.controller.dto.FreteAbertoResponse;
+import br.com.wta.frete.logistica.entity.Frete;
+import br.com.wta.frete.logistica.repository.FreteRepository;
+import br.com.wta.frete.logistica.repository.StatusLeilaoRepository;
+import br.com.wta.frete.logistica.repository.projection.FreteAbertoProjection;
+import br.com.wta.frete.logistica.service.GradeFretesAbertos.Consulta;
+import br.com.wta.frete.logistica.service.GradeFretesAbertos.FreteAberto;
+import br.com.wta.frete.logistica.service.GradeFretesAbertos.Resultado;
+import br.com.wta.frete.shared.exception.InvalidDataException;
+import br.com.wta.frete.shared.geo.MotorDistanciaCep;
+import br.com.wta.frete.shared.geo.PontoGeo;
+import br.com.wta.frete.shared.util.ValorFixo;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Descoberta de leilões abertos pelo transportador ("fretes perto de mim").
+ *
+ * A consulta é respondida pela {@link GradeFretesAbertos} (em memória), sem
+ * ler logistica.fretes:
+ * 1. A grade é carregada do banco na subida da aplicação.
+ * 2. O FreteService registra cada novo Frete e remove cada leilão encerrado,
+ * após o commit.
+ * 3. Uma ressincronização periódica reconstrói a grade, incorporando leilões
+ * criados ou encerrados por outros nós. As alterações deste nó que chegam
+ * durante a reconstrução são guardadas e reaplicadas na grade nova antes da
+ * troca: nenhuma se perde por ter sido confirmada depois da leitura do banco.
+ *
+ * Leilões com prazo vencido e encerramento pendente são ignorados na
+ * consulta.
+ */
+@Service
+public class DescobertaFretesService {
+
+    private static final Logger log = LoggerFactory.getLogger(DescobertaFretesService.class);
+
+    private static final String STATUS_ABERTO = "AGUARDANDO_LANCES";
+    private static final int ESCALA_CARGA = 2;
+    private static final String CODIGO_ERRO = "FILTRO_DESCOBERTA_INVALIDO";
+
+    public static final double RAIO_PADRAO_KM = 100;
+    public static final double RAIO_MAXIMO_KM = 1_000;
+    public static final int LIMITE_PADRAO = 50;
+    public static final int LIMITE_MAXIMO = 200;
+
+    private final FreteRepository freteRepository;
+    private final StatusLeilaoRepository statusLeilaoRepository;
+    private final FrotaDisponivelService frotaDisponivelService;
+    private final MotorDistanciaCep motorDistancia;
+    private final double grauCelula;
+
+    private volatile GradeFretesAbertos grade;
+    // Alterações recebidas durante uma recarga (nulo fora dela); guardado por this.
+    private List<Consumer<GradeFretesAbertos>> alteracoesDuranteRecarga;
+
+    public DescobertaFretesService(
+            FreteRepository freteRepository,
+            StatusLeilaoRepository statusLeilaoRepository,
+            FrotaDisponivelService frotaDisponivelService,
+            MotorDistanciaCep motorDistancia,
+            MeterRegistry meterRegistry,
+            @Value("${frete.leilao.descoberta.grau-celula:0.5}") double grauCelula) {
+        this.freteRepository = freteRepository;
+        this.statusLeilaoRepository = statusLeilaoRepository;
+        this.frotaDisponivelService = frotaDisponivelService;
+        this.motorDistancia = motorDistancia;
+        this.grauCelula = grauCelula;
+        this.grade = new GradeFretesAbertos(grauCelula);
+
+        Gauge.builder("frete.leilao.descoberta.indexados", this, servico -> servico.grade.tamanho())
+                .description("Leilões abertos na grade de descoberta de fretes deste nó")
+                .register(meterRegistry);
+    }
+
+    // --- CARGA ---
+
+    // Transacional no próprio listener: a chamada a recarregar() abaixo não
+    // passa pelo proxy.
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void carregar() {
+        recarregar();
+    }
+
+    /**
+     * Reconstrói a grade a partir do banco e a substitui de uma vez (as
+     * consultas nunca veem uma grade parcial). Registros e encerramentos
+     * confirmados durante a leitura são reaplicados na grade nova.
+     */
+    @Scheduled(fixedDelayString = "${frete.leilao.descoberta.ressincronizacao:300000}",
+            initialDelayString = "${frete.leilao.descoberta.ressincronizacao:300000}")
+    @Transactional(readOnly = true)
+    public void recarregar() {
+        statusLeilaoRepository.findByNomeStatus(STATUS_ABERTO).ifPresentOrElse(status -> {
+            List<Consumer<GradeFretesAbertos>> alteracoes = new ArrayList<>();
+            synchronized (this) {
+                alteracoesDuranteRecarga = alteracoes;
+            }
+            GradeFretesAbertos nova = new GradeFretesAbertos(grauCelula);
+            try {
+                List<FreteAbertoProjection> abertos = freteRepository.buscarAbertosParaDescoberta(status.getId());
+                for (FreteAbertoProjection aberto : abertos) {
+                    FreteAberto frete = montar(aberto.freteId(), aberto.nomeModalidade(), aberto.cepColeta(),
+                            aberto.cepDestino(), aberto.pesoTotalKg(), aberto.volumeTotalM3(),
+                            aberto.dataExpiracaoNegociacao());
+                    if (frete != null) {
+                        nova.registrar(frete);
+                    }
+                }
+            } catch (RuntimeException e) {
+                // Mantém a grade atual, que recebeu as alterações normalmente.
+                synchronized (this) {
+                    alteracoesDuranteRecarga = null;
+                }
+                throw e;
+            }
+            synchronized (this) {
+                // Idempotentes: reaplicar o que a leitura já viu não muda a grade.
+                alteracoes.forEach(alteracao -> alteracao.accept(nova));
+                grade = nova;
+                alteracoesDuranteRecarga = null;
+            }
+            log.debug("Grade de descoberta recarregada com {} leilão(ões) aberto(s) ({} alteração(ões) "
+                    + "reaplicada(s)).", nova.tamanho(), alteracoes.size());
+        }, () -> log.warn("Status '{}' não encontrado. Grade de descoberta não carregada.", STATUS_ABERTO));
+    }
+
+    // --- MANUTENÇÃO (após o commit do chamador) ---
+
+    /**
+     * Indexa o leilão recém-aberto de um Frete.
+     */
+    public void registrarAbertura(Frete frete, BigDecimal pesoTotalKg, BigDecimal volumeTotalM3) {
+        Long freteId = frete.getFreteId();
+        String modalidade = frete.getModalidade() != null ? frete.getModalidade().getNomeModalidade() : null;
+        String cepColeta = frete.getOrdemServico().getCepColeta();
+        String cepDestino = frete.getOrdemServico().getCepDestino();
+        LocalDateTime expiracao = frete.getDataExpiracaoNegociacao();
+
+        aposCommit(() -> {
+            FreteAberto aberto = montar(freteId, modalidade, cepColeta, cepDestino, pesoTotalKg, volumeTotalM3,
+                    expiracao);
+            if (aberto != null) {
+                alterar(destino -> destino.registrar(aberto));
+            }
+        });
+    }
+
+    /**
+     * Remove o leilão encerrado da grade.
+     */
+    public void registrarEncerramento(Long freteId) {
+        aposCommit(() -> alterar(destino -> destino.remover(freteId)));
+    }
+
+    // Aplica na grade atual e, durante uma recarga, guarda para a grade nova.
+    private synchronized void alterar(Consumer<GradeFretesAbertos> alteracao) {
+        alteracao.accept(grade);
+        if (alteracoesDuranteRecarga != null) {
+            alteracoesDuranteRecarga.add(alteracao);
+        }
+    }
+
+    // Entrada da grade, ou nulo se o leilão não pode ser indexado (sem prazo ou
+    // CEP de coleta fora da tabela de centroides).
+    private FreteAberto montar(Long freteId, String modalidade, String cepColeta, String cepDestino,
+            BigDecimal pesoTotalKg, BigDecimal volumeTotalM3, LocalDateTime expiracao) {
+        if (freteId == null || expiracao == null) {
+            return null;
+        }
+        PontoGeo coleta;
+        try {
+            coleta = motorDistancia.localizarPonto(cepColeta, "cepColeta");
+        } catch (InvalidDataException e) {
+            log.debug("Frete #{} fora da grade de descoberta: {}", freteId, e.getMessage());
+            return null;
+        }
+        return new FreteAberto(
+                freteId,
+                modalidade,
+                cepColeta,
+                cepDestino,
+                coleta,
+                centesimosCarga(pesoTotalKg),
+                centesimosCarga(volumeTotalM3),
+                expiracao,
+                expiracao.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    private static void aposCommit(Runnable acao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        } else {
+            acao.run();
+        }
+    }
+
+    // --- CONSULTA ---
+
+    /**
+     * Leilões abertos com coleta dentro do raio (linha reta) a partir do CEP
+     * informado, do mais próximo do encerramento para o mais distante.
+     *
+     * @param cep             CEP de referência do transportador.
+     * @param raioKm          Raio em km (padrão {@value #RAIO_PADRAO_KM}).
+     * @param modalidade      Nome da modalidade de frete, opcional.
+     * @param pesoMinKg       Peso total mínimo, opcional.
+     * @param pesoMaxKg       Peso total máximo, opcional.
+     * @param transportadorId Se informado, apenas fretes que algum veículo
+     *                        DISPONIVEL do transportador comporta (peso e
+     *                        volume).
+     * @param limite          Máximo de fretes (padrão {@value #LIMITE_PADRAO}).
+     */
+    @Transactional(readOnly = true)
+    public List<FreteAbertoResponse> buscarAbertos(String cep, Double raioKm, String modalidade,
+            BigDecimal pesoMinKg, BigDecimal pesoMaxKg, Long transportadorId, Integer limite) {
+
+        // 1. VALIDAÇÃO DOS FILTROS
+        double raio = raioKm != null ? raioKm : RAIO_PADRAO_KM;
+        if (!(raio > 0 && raio <= RAIO_MAXIMO_KM)) {
+            throw new InvalidDataException("O raio deve estar entre 0 e " + (int) RAIO_MAXIMO_KM + " km.",
+                    CODIGO_ERRO, "raioKm");
+        }
+        int quantidade = limite != null ? limite : LIMITE_PADRAO;
+        if (quantidade < 1 || quantidade > LIMITE_MAXIMO) {
+            throw new InvalidDataException("O limite deve estar entre 1 e " + LIMITE_MAXIMO + ".", CODIGO_ERRO,
+                    "limite");
+        }
+        if (pesoMinKg != null && pesoMaxKg != null && pesoMaxKg.compareTo(pesoMinKg) < 0) {
+            throw new InvalidDataException("O peso máximo deve ser igual ou maior que o peso mínimo.", CODIGO_ERRO,
+                    "pesoMaxKg");
+        }
+        PontoGeo origem = motorDistancia.localizarPonto(cep, "cep");
+
+        // 2. FROTA DO TRANSPORTADOR (índice em memória)
+        List<VeiculoCapacidade> frota = null;
+        if (transportadorId != null) {
+            frota = frotaDisponivelService.frota(transportadorId);
+            if (frota.isEmpty()) {
+                // Sem veículo disponível, nenhum frete cabe.
+                return List.of();
+            }
+        }
+
+        // 3. CONSULTA NA GRADE
+        long agora = System.currentTimeMillis();
+        Consulta consulta = new Consulta(origem, raio, blankParaNulo(modalidade), centesimosKg(pesoMinKg),
+                centesimosKg(pesoMaxKg), frota, quantidade, agora);
+        return grade.consultar(consulta).stream()
+                .map(resultado -> toResponse(resultado.frete(), resultado.distanciaKm(), agora))
+                .toList();
+    }
+
+    /**
+     * Leilões abertos, em qualquer região, que algum veículo da frota
+     * comporta, do mais próximo do encerramento para o mais distante.
+     */
+    public List<FreteAbertoResponse> buscarCompativeis(List<VeiculoCapacidade> frota, int limite) {
+        long agora = System.currentTimeMillis();
+        return grade.listarCompativeis(frota, limite, agora).stream()
+                .map(frete -> toResponse(frete, null, agora))
+                .toList();
+    }
+
+    /**
+     * Leilão aberto indexado neste nó, ou nulo.
+     */
+    public FreteAberto buscarIndexado(long freteId) {
+        return grade.buscar(freteId);
+    }
+
+    private static FreteAbertoResponse toResponse(FreteAberto frete, Double distanciaKm, long agoraMillis) {
+        return new FreteAbertoResponse(
+                frete.freteId(),
+                frete.modalidade(),
+                frete.cepColeta(),
+                frete.cepDestino(),
+                frete.pesoCentesimosKg() != null
+                        ? ValorFixo.paraBigDecimal(frete.pesoCentesimosKg(), ESCALA_CARGA)
+                        : null,
+                frete.volumeCentesimosM3() != null
+                        ? ValorFixo.paraBigDecimal(frete.volumeCentesimosM3(), ESCALA_CARGA)
+                        : null,
+                distanciaKm != null ? BigDecimal.valueOf(distanciaKm).setScale(1, RoundingMode.HALF_UP) : null,
+                frete.dataExpiracaoNegociacao(),
+                Math.max(0, (frete.expiraEmMillis() - agoraMillis) / 1000));
+    }
+
+    // Peso em centésimos de kg; o que passar da escala é truncado para baixo
+    // (filtros de kg informados com mais casas).
+    private static Long centesimosKg(BigDecimal kg) {
+        return kg != null ? kg.setScale(ESCALA_CARGA, RoundingMode.DOWN).unscaledValue().longValueExact() : null;
+    }
+
+    // Peso ou volume da carga em centésimos, arredondado para cima (a carga
+    // nunca parece menor do que é).
+    static Long centesimosCarga(BigDecimal valor) {
+        return valor != null
+                ? valor.setScale(ESCALA_CARGA, RoundingMode.CEILING).unscaledValue().longValueExact()
+                : null;
+    }
+
+    private static String blankParaNulo(String valor) {
+        return valor == null || valor.isBlank() ? null : valor.trim();
+    }
+}
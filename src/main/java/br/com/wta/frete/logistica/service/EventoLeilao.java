@@ -0,0 +1,91 @@
+// Caminho: src/main/java/br/com/wta/frete/logistica/service/EventoLeilao.java
+package br.com.wta.frete.logistica.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import br.com.wta.frete.logistica.service.LivroOfertasLeilao.OfertaTransportador;
+
+/**
+ * Evento de um leilão enviado aos assinantes do stream de lances (SSE).
+ *
+ * @param tipo                    Natureza do evento.
+ * @param freteId                 Leilão (Frete).
+ * @param nomeStatus              Status do leilão no momento do evento.
+ * @param valorMelhorLance        Melhor lance (ou valor final aceito, no
+ *                                encerramento); nulo se não houver lances.
+ * @param transportadorId         Dono do melhor lance (ou vencedor).
+ * @param totalOfertas            Transportadores com lance no leilão.
+ * @param dataExpiracaoNegociacao Prazo do leilão.
+ * @param segundosRestantes       Tempo restante no momento do evento (0 se
+ *                                vencido ou encerrado).
+ */
+public record EventoLeilao(
+        TipoEventoLeilao tipo,
+        Long freteId,
+        String nomeStatus,
+        BigDecimal valorMelhorLance,
+        Long transportadorId,
+        int totalOfertas,
+        LocalDateTime dataExpiracaoNegociacao,
+        long segundosRestantes) {
+
+    /**
+     * Tipos de evento (também usados como nome do evento SSE).
+     */
+    public enum TipoEventoLeilao {
+        // Estado do leilão no momento da assinatura.
+        ESTADO,
+        // O melhor lance mudou.
+        MELHOR_LANCE,
+        // Atualização periódica do tempo restante (heartbeat).
+        TEMPO_RESTANTE,
+        // O leilão foi encerrado; o stream é finalizado em seguida.
+        ENCERRADO
+    }
+
+    /**
+     * Evento montado a partir do livro de ofertas em memória.
+     */
+    public static EventoLeilao de(TipoEventoLeilao tipo, LivroOfertasLeilao livro) {
+        OfertaTransportador melhor = livro.getMelhorOferta();
+        return new EventoLeilao(
+                tipo,
+                livro.getFreteId(),
+                livro.getNomeStatus(),
+                melhor != null ? melhor.valorLance() : null,
+                melhor != null ? melhor.transportadorId() : null,
+                livro.getTotalOfertas(),
+                livro.getDataExpiracaoNegociacao(),
+                segundosAte(livro.getDataExpiracaoNegociacao()));
+    }
+
+    /**
+     * Evento de encerramento do leilão.
+     */
+    public static EventoLeilao encerrado(Long freteId, String nomeStatus, BigDecimal valorFinal,
+            Long transportadorVencedorId, LocalDateTime dataExpiracaoNegociacao) {
+        return new EventoLeilao(TipoEventoLeilao.ENCERRADO, freteId, nomeStatus, valorFinal,
+                transportadorVencedorId, 0, dataExpiracaoNegociacao, 0);
+    }
+
+    /**
+     * Cópia do evento como TEMPO_RESTANTE, com o tempo recalculado agora.
+     */
+    public EventoLeilao comTempoRestante() {
+        return new EventoLeilao(TipoEventoLeilao.TEMPO_RESTANTE, freteId, nomeStatus, valorMelhorLance,
+                transportadorId, totalOfertas, dataExpiracaoNegociacao, segundosAte(dataExpiracaoNegociacao));
+    }
+
+    public boolean isEncerramento() {
+        return tipo == TipoEventoLeilao.ENCERRADO;
+    }
+
+    private static long segundosAte(LocalDateTime prazo) {
+        if (prazo == null) {
+            return 0;
+        }
+        return Math.max(0, Duration.between(LocalDateTime.now(), prazo).toSeconds());
+    }
+}
@@ -2,18 +2,20 @@
 package br.com.wta.frete.logistica.service;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.context.annotation.Lazy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import br.com.wta.frete.logistica.controller.dto.FreteResponse;
 import br.com.wta.frete.logistica.controller.dto.ItemFreteRequest;
@@ -28,10 +30,18 @@ import br.com.wta.frete.logistica.repository.ItemFreteRepository;
 import br.com.wta.frete.logistica.repository.LanceRepository;
 import br.com.wta.frete.logistica.repository.ModalidadeFreteRepository;
 import br.com.wta.frete.logistica.repository.StatusLeilaoRepository;
+import br.com.wta.frete.logistica.repository.projection.PrazoLeilaoProjection;
+import br.com.wta.frete.logistica.service.ManipuladorLeilaoEncerrado.LeilaoEncerrado;
+import br.com.wta.frete.logistica.service.ProcessadorFinalizacaoLeiloes.ResumoLote;
 import br.com.wta.frete.logistica.service.mapper.FreteMapper;
 import br.com.wta.frete.logistica.service.mapper.ItemFreteMapper;
 import br.com.wta.frete.shared.exception.ResourceNotFoundException;
+import br.com.wta.frete.shared.lock.GerenciadorBloqueios;
+import br.com.wta.frete.shared.outbox.RegistroOutbox;
 import br.com.wta.frete.shared.service.GeoService;
+import br.com.wta.frete.shared.util.ValorFixo;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 /**
  * Serviço responsável por criar o objeto Frete a partir de uma Ordem de Serviço
@@ -43,6 +53,12 @@ public class FreteService {
 
         private static final Logger log = LoggerFactory.getLogger(FreteService.class);
 
+        // Preço sugerido de um leilão aberto: Piso ANTT + 20% de margem de mercado.
+        static final BigDecimal MARGEM_MERCADO_PADRAO = new BigDecimal("1.20");
+        private static final int ESCALA_MARGEM_MERCADO = 2;
+        private static final long MARGEM_MERCADO_PADRAO_ESCALADA = ValorFixo.escalar(MARGEM_MERCADO_PADRAO,
+                        ESCALA_MARGEM_MERCADO);
+
         private final FreteRepository freteRepository;
         private final FreteMapper freteMapper;
         private final ItemFreteRepository itemFreteRepository;
@@ -52,8 +68,21 @@ public class FreteService {
         private final StatusLeilaoRepository statusLeilaoRepository;
         private final ModalidadeFreteRepository modalidadeFreteRepository;
         private final LanceRepository lanceRepository;
-        private final LeilaoFinalizacaoService leilaoFinalizacaoService; // NOVO: Injete o novo serviço
+        private final RegistroOutbox registroOutbox;
         private final MetricaTransportadorFreteService metricaService;
+        private final LivroOfertasService livroOfertasService;
+        private final AgendadorEncerramentoLeiloes agendadorEncerramento;
+        private final BarramentoEventosLeilao barramentoEventos;
+        private final LeilaoEstadoService leilaoEstadoService;
+        private final DescobertaFretesService descobertaFretes;
+        private final MetricasLeilao metricasLeilao;
+        private final ProcessadorFinalizacaoLeiloes processadorFinalizacao;
+        private final GerenciadorBloqueios gerenciadorBloqueios;
+        private final TransactionTemplate transactionTemplate;
+        private final int tamanhoLoteFinalizacao;
+
+        private final Timer timerCriacaoFrete;
+        private final Timer timerParametrosIniciais;
 
         // Injeção de dependências via construtor
         public FreteService(
@@ -66,8 +95,19 @@ public class FreteService {
                         StatusLeilaoRepository statusLeilaoRepository,
                         ModalidadeFreteRepository modalidadeFreteRepository,
                         LanceRepository lanceRepository,
-                        @Lazy LeilaoFinalizacaoService leilaoFinalizacaoService,
-                        MetricaTransportadorFreteService metricaService) {
+                        RegistroOutbox registroOutbox,
+                        MetricaTransportadorFreteService metricaService,
+                        LivroOfertasService livroOfertasService,
+                        AgendadorEncerramentoLeiloes agendadorEncerramento,
+                        BarramentoEventosLeilao barramentoEventos,
+                        LeilaoEstadoService leilaoEstadoService,
+                        DescobertaFretesService descobertaFretes,
+                        MetricasLeilao metricasLeilao,
+                        MeterRegistry meterRegistry,
+                        ProcessadorFinalizacaoLeiloes processadorFinalizacao,
+                        GerenciadorBloqueios gerenciadorBloqueios,
+                        TransactionTemplate transactionTemplate,
+                        @Value("${frete.leilao.finalizacao.tamanho-lote:500}") int tamanhoLoteFinalizacao) {
                 this.freteRepository = freteRepository;
                 this.freteMapper = freteMapper;
                 this.itemFreteRepository = itemFreteRepository;
@@ -77,24 +117,52 @@ public class FreteService {
                 this.statusLeilaoRepository = statusLeilaoRepository;
                 this.modalidadeFreteRepository = modalidadeFreteRepository;
                 this.lanceRepository = lanceRepository;
-                this.leilaoFinalizacaoService = leilaoFinalizacaoService;
+                this.registroOutbox = registroOutbox;
                 this.metricaService = metricaService;
+                this.livroOfertasService = livroOfertasService;
+                this.agendadorEncerramento = agendadorEncerramento;
+                this.barramentoEventos = barramentoEventos;
+                this.leilaoEstadoService = leilaoEstadoService;
+                this.descobertaFretes = descobertaFretes;
+                this.metricasLeilao = metricasLeilao;
+                this.processadorFinalizacao = processadorFinalizacao;
+                this.gerenciadorBloqueios = gerenciadorBloqueios;
+                this.transactionTemplate = transactionTemplate;
+                this.tamanhoLoteFinalizacao = tamanhoLoteFinalizacao;
+
+                this.timerCriacaoFrete = Timer.builder("frete.frete.criacao")
+                                .description("Latência da criação de um Frete (cálculos, gravação e agendamento)")
+                                .publishPercentileHistogram()
+                                .register(meterRegistry);
+                this.timerParametrosIniciais = Timer.builder("frete.frete.parametros")
+                                .description("Latência do cálculo dos parâmetros iniciais do Frete")
+                                .publishPercentileHistogram()
+                                .register(meterRegistry);
         }
 
         /**
          * MÉTODO CENTRAL: Inicia o ciclo de leilão/cotação criando a entidade Frete.
+         * A latência é publicada no timer frete.frete.criacao.
          */
         @Transactional
         public FreteResponse criarFrete(
                         OrdemServico ordemServico,
                         List<ItemFreteRequest> itensFreteRequests,
                         String nomeModalidadeDesejada) {
+                return timerCriacaoFrete.record(
+                                () -> montarFrete(ordemServico, itensFreteRequests, nomeModalidadeDesejada));
+        }
+
+        private FreteResponse montarFrete(
+                        OrdemServico ordemServico,
+                        List<ItemFreteRequest> itensFreteRequests,
+                        String nomeModalidadeDesejada) {
 
                 // 1. CÁLCULO DE PARÂMETROS E INFERÊNCIA DE RECURSOS
-                FreteParametrosCalculados params = calcularParametrosIniciais(
+                FreteParametrosCalculados params = timerParametrosIniciais.record(() -> calcularParametrosIniciais(
                                 ordemServico,
                                 itensFreteRequests,
-                                nomeModalidadeDesejada);
+                                nomeModalidadeDesejada));
 
                 // 2. CRIAÇÃO DA ENTIDADE FRETE
                 Frete novoFrete = new Frete();
@@ -109,6 +177,7 @@ public class FreteService {
                 novoFrete.setModalidade(params.modalidade);
                 novoFrete.setStatusLeilao(params.statusInicial);
                 novoFrete.setDistanciaKm(params.distanciaKm);
+                novoFrete.setPesoTotalKg(params.pesoTotalKg);
                 novoFrete.setAnttPisoMinimo(params.anttPisoMinimo);
                 novoFrete.setPrecoSugerido(params.precoSugerido);
                 novoFrete.setCustoBaseMercado(params.custoBaseMercado);
@@ -123,6 +192,16 @@ public class FreteService {
                 // 3. CRIAÇÃO E ASSOCIAÇÃO DOS ITENS DE FRETE
                 salvarItensFrete(freteSalvo, itensFreteRequests);
 
+                // Modelo de leitura do leilão (leilao_estado), na mesma transação.
+                leilaoEstadoService.registrarAbertura(freteSalvo);
+
+                // 4. AGENDA O ENCERRAMENTO NO PRAZO EXATO (após o commit)
+                agendadorEncerramento.agendar(freteSalvo.getFreteId(), freteSalvo.getDataExpiracaoNegociacao());
+
+                // Índice de descoberta de fretes abertos (após o commit)
+                descobertaFretes.registrarAbertura(freteSalvo, params.pesoTotalKg,
+                                calcularVolumeTotal(itensFreteRequests));
+
                 return freteMapper.toResponse(freteSalvo);
         }
 
@@ -141,38 +220,107 @@ public class FreteService {
         // --- MÉTODOS DE FINALIZAÇÃO DE LEILÃO (@Scheduled) ---
 
         /**
-         * Verifica periodicamente (a cada 30 minutos) e processa todos os leilões de
+         * Verifica periodicamente (a cada 1 hora) e processa todos os leilões de
          * frete que já atingiram sua data de expiração.
+         *
+         * O encerramento no prazo é feito pelo AgendadorEncerramentoLeiloes; esta
+         * varredura é a rede de segurança (falhas do agendador, leilões criados
+         * por outro nó, prazos alterados direto no banco).
+         *
+         * A varredura é paginada por cursor (keyset) sobre o índice
+         * (status_leilao_id, data_expiracao_negociacao, frete_id), em lotes de
+         * tamanho fixo: apenas os IDs do lote ficam em memória e cada leilão é
+         * encerrado na sua própria transação de escrita, em paralelo no
+         * ProcessadorFinalizacaoLeiloes (o próximo lote só é lido após o término
+         * do atual). Não há transação aberta durante a varredura.
          */
-        @Scheduled(fixedRateString = "${frete.leilao.finalizacao.intervalo:1800000}") // Exemplo: a cada 30 minutos
-        @Transactional(readOnly = true)
+        @Scheduled(fixedRateString = "${frete.leilao.finalizacao.intervalo:3600000}") // Rede de segurança: a cada 1 hora
         public void finalizarLeiloesExpirados() {
                 log.info("Iniciando verificação de leilões expirados...");
 
-                // 1. Busca no Repositório todos os Fretes expirados e não finalizados
-                List<Frete> fretesExpirados = freteRepository.findByDataExpiracaoNegociacaoBeforeAndStatusLeilaoNomeStatus(
-                                LocalDateTime.now(), "AGUARDANDO_LANCES"); // Assumindo o método de busca correto
+                // O corte é fixo durante toda a varredura (leilões que expirarem depois
+                // ficam para a próxima execução).
+                LocalDateTime limite = LocalDateTime.now();
+                Integer statusAbertoId = buscarStatusLeilao("AGUARDANDO_LANCES").getId();
+                Limit tamanhoPagina = Limit.of(tamanhoLoteFinalizacao);
+
+                long inicioVarredura = System.nanoTime();
+                int numeroLote = 0;
+                int totalEncerrados = 0;
+                int totalIgnorados = 0;
+                int totalFalhas = 0;
+
+                // 1. Primeira página de Fretes expirados e não finalizados
+                List<PrazoLeilaoProjection> lote = freteRepository.buscarExpirados(statusAbertoId, limite,
+                                tamanhoPagina);
+
+                while (!lote.isEmpty()) {
+                        numeroLote++;
+                        long inicioLote = System.nanoTime();
+
+                        // 2. Cada leilão é encerrado isoladamente (em paralelo, no pool limitado):
+                        // uma falha não afeta os demais
+                        List<Long> freteIds = lote.stream().map(PrazoLeilaoProjection::freteId).toList();
+                        ResumoLote resumo = processadorFinalizacao.finalizarLote(freteIds, limite);
+
+                        long duracaoMs = Math.max(1, (System.nanoTime() - inicioLote) / 1_000_000);
+                        log.info("Lote #{}: {} leilão(ões) lido(s), {} encerrado(s), {} falha(s) em {} ms ({} leilões/s).",
+                                        numeroLote, lote.size(), resumo.finalizados(), resumo.falhas(), duracaoMs,
+                                        lote.size() * 1000L / duracaoMs);
+
+                        totalEncerrados += resumo.finalizados();
+                        totalFalhas += resumo.falhas();
+                        totalIgnorados += resumo.ignorados();
+
+                        if (lote.size() < tamanhoLoteFinalizacao) {
+                                break;
+                        }
+
+                        // 3. Próxima página a partir do último frete lido (cursor)
+                        PrazoLeilaoProjection ultimo = lote.get(lote.size() - 1);
+                        lote = freteRepository.buscarExpiradosApos(statusAbertoId, limite,
+                                        ultimo.dataExpiracaoNegociacao(), ultimo.freteId(), tamanhoPagina);
+                }
 
-                if (fretesExpirados.isEmpty()) {
+                if (numeroLote == 0) {
                         log.info("Nenhum leilão expirado encontrado.");
                         return;
                 }
 
-                log.info("{} leilão(ões) expirado(s) encontrado(s). Processando...", fretesExpirados.size());
-
-                // 2. Itera e chama o processador para cada um
-                for (Frete frete : fretesExpirados) {
-                        try {
-                                // Chama o método de processamento principal (que contém a lógica de seleção de
-                                // lance e transação)
-                                processarLeilaoExpirado(frete);
-                        } catch (Exception e) {
-                                // Loga a falha e continua para o próximo Frete
-                                log.error("Falha ao processar o Frete ID #{} durante a rotina agendada: {}",
-                                                frete.getFreteId(), e.getMessage(), e);
-                        }
-                }
-                log.info("Verificação de leilões expirados concluída.");
+                log.info("Verificação de leilões expirados concluída: {} encerrado(s), {} ignorado(s), {} falha(s) em {} lote(s) ({} ms).",
+                                totalEncerrados, totalIgnorados, totalFalhas, numeroLote,
+                                (System.nanoTime() - inicioVarredura) / 1_000_000);
+        }
+
+        /**
+         * Encerra um leilão expirado na sua própria transação, com o bloqueio do
+         * leilão mantido (nenhum lance é gravado durante o encerramento).
+         *
+         * O Frete é relido dentro da transação: se já foi encerrado (ex: por outro
+         * nó) ou teve o prazo alterado, é ignorado.
+         *
+         * @param freteId ID do Frete expirado.
+         * @param limite  Momento de corte da varredura.
+         * @return true se o leilão foi encerrado nesta chamada.
+         */
+        public boolean finalizarLeilaoPorId(Long freteId, LocalDateTime limite) {
+                return gerenciadorBloqueios.executar(freteId, () -> Boolean.TRUE.equals(
+                                transactionTemplate.execute(status -> {
+                                        Frete frete = freteRepository.findById(freteId).orElse(null);
+                                        if (frete == null || !estaExpiradoEAberto(frete, limite)) {
+                                                log.debug("Frete #{} não está mais aberto/expirado. Ignorando.", freteId);
+                                                return false;
+                                        }
+                                        processarLeilaoExpirado(frete);
+                                        return true;
+                                })));
+        }
+
+        private boolean estaExpiradoEAberto(Frete frete, LocalDateTime limite) {
+                return frete.getStatusLeilao() != null
+                                && "AGUARDANDO_LANCES".equals(frete.getStatusLeilao().getNomeStatus())
+                                && frete.getDataExpiracaoNegociacao() != null
+                                && frete.getDataExpiracaoNegociacao().isBefore(limite);
         }
 
         /**
@@ -183,6 +331,11 @@ public class FreteService {
          */
         @Transactional
         public void processarLeilaoExpirado(Frete frete) {
+                // O leilão deixa de aceitar lances: descarta o livro de ofertas em memória.
+                livroOfertasService.encerrar(frete.getFreteId());
+                // Encerrado pela varredura ou por outro gatilho: o prazo sai do agendador.
+                agendadorEncerramento.cancelar(frete.getFreteId());
+
                 Optional<Lance> optionalLanceVencedor = encontrarLanceVencedor(frete);
 
                 if (optionalLanceVencedor.isPresent()) {
@@ -197,10 +350,19 @@ public class FreteService {
                         frete.setValorFinalAceito(lanceVencedor.getValorLance());
                         freteRepository.save(frete);
 
-                        // 2. Delega a finalização do Lance e a confirmação da OS para o serviço
-                        // dedicado.
-                        // Esta chamada utiliza REQUIRES_NEW para transação separada.
-                        leilaoFinalizacaoService.finalizarLeilaoEConfirmarOS(frete, lanceVencedor);
+                        // 2. Finalização do Lance e confirmação da OS: evento no outbox, gravado
+                        // nesta transação e aplicado pelo ManipuladorLeilaoEncerrado após o commit.
+                        registrarEventoEncerramento(frete, lanceVencedor);
+
+                        leilaoEstadoService.registrarEncerramento(frete, lanceVencedor.getValorLance(),
+                                        lanceVencedor.getTransportador().getPessoaId());
+                        descobertaFretes.registrarEncerramento(frete.getFreteId());
+                        metricasLeilao.registrarEncerramento(lanceVencedor.getDataLance());
+
+                        barramentoEventos.publicarAposCommit(EventoLeilao.encerrado(frete.getFreteId(),
+                                        frete.getStatusLeilao().getNomeStatus(), lanceVencedor.getValorLance(),
+                                        lanceVencedor.getTransportador().getPessoaId(),
+                                        frete.getDataExpiracaoNegociacao()));
 
                 } else {
                         // Nenhum lance foi feito.
@@ -208,9 +370,29 @@ public class FreteService {
                         // Assumimos que a tabela logistica.status_leilao contém "ENCERRADO_SEM_LANCES"
                         frete.setStatusLeilao(buscarStatusLeilao("ENCERRADO_SEM_LANCES"));
                         freteRepository.save(frete);
+
+                        leilaoEstadoService.registrarEncerramento(frete, null, null);
+                        descobertaFretes.registrarEncerramento(frete.getFreteId());
+                        registrarEventoEncerramento(frete, null);
+
+                        barramentoEventos.publicarAposCommit(EventoLeilao.encerrado(frete.getFreteId(),
+                                        frete.getStatusLeilao().getNomeStatus(), null, null,
+                                        frete.getDataExpiracaoNegociacao()));
                 }
         }
 
+        private void registrarEventoEncerramento(Frete frete, Lance lanceVencedor) {
+                LeilaoEncerrado evento = new LeilaoEncerrado(
+                                frete.getFreteId(),
+                                frete.getOrdemServicoId(),
+                                frete.getStatusLeilao().getNomeStatus(),
+                                lanceVencedor != null ? lanceVencedor.getId() : null,
+                                lanceVencedor != null ? lanceVencedor.getValorLance() : null,
+                                lanceVencedor != null ? lanceVencedor.getTransportador().getPessoaId() : null);
+                registroOutbox.registrarEvento(ManipuladorLeilaoEncerrado.TIPO_EVENTO, frete.getFreteId(), evento,
+                                ManipuladorLeilaoEncerrado.chave(frete.getFreteId()));
+        }
+
         /**
          * Tenta encontrar o melhor lance (mais baixo) para um Frete expirado.
          *
@@ -253,17 +435,19 @@ public class FreteService {
                 BigDecimal distanciaKm = geoService.calcularDistanciaRodoviaria(
                                 ordemServico.getCepColeta(),
                                 ordemServico.getCepDestino());
+                // A precificação roda em ponto fixo (centavos); o BigDecimal só volta na entidade.
+                long distanciaCentesimosKm = ValorFixo.escalar(distanciaKm, TabelaAntt.ESCALA_DISTANCIA);
 
                 // 2. CÁLCULO DE PREÇOS BASE (LEGALIDADE)
                 // O Piso Mínimo ANTT é o teto INFERIOR (nunca se pode propor abaixo dele)
-                BigDecimal anttPisoMinimo = anttService.calcularPisoMinimo(distanciaKm, pesoTotalKg);
+                long anttPisoMinimo = anttService.calcularPisoMinimoCentavos(distanciaCentesimosKm, pesoTotalKg);
 
                 // 3. OBTENÇÃO DE ENTIDADES MESTRAS (Status e Modalidade)
                 StatusLeilao statusInicial = buscarStatusLeilao("AGUARDANDO_LANCES");
                 ModalidadeFrete modalidade = buscarModalidadeFrete(nomeModalidadeDesejada);
 
                 // 4. Lógica de Preço Sugerido (Mercado / Customizado)
-                BigDecimal custoBaseMercado;
+                long custoBaseMercado;
 
                 // ** NOVA LÓGICA DE PRECIFICAÇÃO CUSTOMIZADA **
                 if (ordemServico.getTransportadorDesignado() != null) {
@@ -271,27 +455,32 @@ public class FreteService {
                         Long transportadorId = ordemServico.getTransportadorDesignado().getPessoaId();
 
                         // O valor base é o custo calculado pelo próprio transportador.
-                        BigDecimal custoPersonalizado = metricaService.calcularCustoPersonalizado(
+                        long custoPersonalizado = metricaService.calcularCustoPersonalizadoCentavos(
                                         transportadorId,
                                         nomeModalidadeDesejada,
-                                        distanciaKm);
+                                        distanciaCentesimosKm);
 
                         // Garante que o custo não seja menor que o mínimo legal.
                         custoBaseMercado = custoPersonalizado;
 
-                        log.info("Cálculo customizado (Transportador ID: {}): R$ {}. Base de Mercado: R$ {}",
-                                        transportadorId, custoPersonalizado, custoBaseMercado);
+                        if (log.isInfoEnabled()) {
+                                log.info("Cálculo customizado (Transportador ID: {}): R$ {}. Base de Mercado: R$ {}",
+                                                transportadorId, emReais(custoPersonalizado),
+                                                emReais(custoBaseMercado));
+                        }
 
                 } else {
                         // CÁLCULO PADRÃO (Leilão Aberto)
                         // O preço sugerido é o ANTT + Margem de Mercado.
-                        BigDecimal margemPadrao = new BigDecimal("1.20"); // 20% acima do mínimo
-                        custoBaseMercado = anttPisoMinimo.multiply(margemPadrao).setScale(2, RoundingMode.HALF_UP);
-                        log.info("Cálculo padrão (Leilão Aberto). Base de Mercado: R$ {}", custoBaseMercado);
+                        custoBaseMercado = aplicarMargemMercado(anttPisoMinimo);
+                        if (log.isInfoEnabled()) {
+                                log.info("Cálculo padrão (Leilão Aberto). Base de Mercado: R$ {}",
+                                                emReais(custoBaseMercado));
+                        }
                 }
 
                 // O preço sugerido é o valor que o sistema espera que o frete seja negociado
-                BigDecimal precoSugerido = custoBaseMercado;
+                long precoSugerido = custoBaseMercado;
 
                 // 5. Define a data de expiração
                 LocalDateTime dataExpiracaoNegociacao = LocalDateTime.now().plusHours(48);
@@ -299,9 +488,9 @@ public class FreteService {
                 return new FreteParametrosCalculados(
                                 pesoTotalKg,
                                 distanciaKm,
-                                anttPisoMinimo,
-                                precoSugerido,
-                                custoBaseMercado,
+                                emReais(anttPisoMinimo),
+                                emReais(precoSugerido),
+                                emReais(custoBaseMercado),
                                 dataExpiracaoNegociacao,
                                 statusInicial,
                                 modalidade);
@@ -313,6 +502,31 @@ public class FreteService {
                                 .reduce(BigDecimal.ZERO, BigDecimal::add);
         }
 
+        /**
+         * Soma dos volumes informados nos itens (opcionais), ou nulo se nenhum
+         * item informou volume.
+         */
+        private BigDecimal calcularVolumeTotal(List<ItemFreteRequest> itens) {
+                return itens.stream()
+                                .map(ItemFreteRequest::volumeEstimadoM3)
+                                .filter(Objects::nonNull)
+                                .reduce(BigDecimal::add)
+                                .orElse(null);
+        }
+
+        /**
+         * Piso ANTT (em centavos) + margem de mercado padrão, arredondado HALF_UP
+         * para centavos.
+         */
+        static long aplicarMargemMercado(long pisoCentavos) {
+                return ValorFixo.arredondar(ValorFixo.multiplicar(pisoCentavos, MARGEM_MERCADO_PADRAO_ESCALADA),
+                                ESCALA_MARGEM_MERCADO);
+        }
+
+        private static BigDecimal emReais(long centavos) {
+                return ValorFixo.paraBigDecimal(centavos, ValorFixo.ESCALA_CENTAVOS);
+        }
+
         @SuppressWarnings("null")
         private void salvarItensFrete(Frete frete, List<ItemFreteRequest> itensFreteRequests) {
                 // Mapeia o DTO para a Entidade, associa o Frete, e salva.
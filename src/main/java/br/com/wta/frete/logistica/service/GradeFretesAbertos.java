@@ -0,0 +1,249 @@
+// Caminho: src/main/java/br/com/wta/frete/logistica/service/GradeFretesAbertos.java
+package br.com.wta.frete.logistica.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import br.com.wta.frete.colaboradores.service.IndiceCapacidadeVeiculos;
+import br.com.wta.frete.colaboradores.service.IndiceCapacidadeVeiculos.VeiculoCapacidade;
+import br.com.wta.frete.shared.geo.PontoGeo;
+
+/**
+ * Índice espacial em memória dos leilões (Fretes) abertos, por ponto de
+ * coleta.
+ *
+ * O território é dividido em uma grade de células de {@code grauCelula} graus
+ * (latitude x longitude). Uma consulta por raio visita apenas as células do
+ * retângulo que envolve o círculo e confirma a distância (linha reta) de cada
+ * frete encontrado: o custo depende dos fretes próximos, não do total de
+ * leilões abertos.
+ *
+ * Thread-safe: registros e remoções de um mesmo frete são serializados pela
+ * entrada do frete no índice por id, que só é liberada depois da atualização
+ * das células (ordem de bloqueio: id, depois célula). As consultas leem sem
+ * bloqueio (podem não ver uma alteração concorrente).
+ */
+public final class GradeFretesAbertos {
+
+    private static final double KM_POR_GRAU_LATITUDE = 111.32;
+
+    /**
+     * Leilão aberto indexado (imutável).
+     *
+     * @param pesoCentesimosKg   Peso total em centésimos de kg, ou nulo se
+     *                           desconhecido.
+     * @param volumeCentesimosM3 Volume total em centésimos de m3, ou nulo se
+     *                           não informado nos itens.
+     * @param expiraEmMillis     Prazo do leilão (epoch ms), usado na ordenação.
+     */
+    public record FreteAberto(
+            long freteId,
+            String modalidade,
+            String cepColeta,
+            String cepDestino,
+            PontoGeo coleta,
+            Long pesoCentesimosKg,
+            Long volumeCentesimosM3,
+            LocalDateTime dataExpiracaoNegociacao,
+            long expiraEmMillis) {
+    }
+
+    /**
+     * Filtros de uma consulta. Campos nulos não restringem o resultado; um
+     * frete de peso desconhecido só é retornado sem filtros de peso e frota.
+     *
+     * @param frota       Capacidades da frota do transportador: algum veículo
+     *                    deve comportar o peso e o volume do frete.
+     * @param agoraMillis Leilões com prazo até este instante são ignorados
+     *                    (encerramento pendente).
+     */
+    public record Consulta(
+            PontoGeo origem,
+            double raioKm,
+            String modalidade,
+            Long pesoMinimoCentesimosKg,
+            Long pesoMaximoCentesimosKg,
+            List<VeiculoCapacidade> frota,
+            int limite,
+            long agoraMillis) {
+    }
+
+    /**
+     * Frete encontrado e a distância (linha reta) da origem da consulta ao
+     * ponto de coleta.
+     */
+    public record Resultado(FreteAberto frete, double distanciaKm) {
+    }
+
+    private static final Comparator<Resultado> POR_ENCERRAMENTO = Comparator
+            .comparingLong((Resultado r) -> r.frete().expiraEmMillis())
+            .thenComparingLong(r -> r.frete().freteId());
+
+    private final double grauCelula;
+    private final Map<Long, FreteAberto> porId = new ConcurrentHashMap<>();
+    private final Map<Long, Map<Long, FreteAberto>> celulas = new ConcurrentHashMap<>();
+
+    public GradeFretesAbertos(double grauCelula) {
+        if (!(grauCelula > 0 && grauCelula <= 10)) {
+            throw new IllegalArgumentException("Tamanho de célula inválido: " + grauCelula);
+        }
+        this.grauCelula = grauCelula;
+    }
+
+    // --- MANUTENÇÃO ---
+
+    /**
+     * Indexa (ou atualiza) um leilão aberto.
+     */
+    public void registrar(FreteAberto frete) {
+        // A célula é atualizada dentro do compute: um remover() concorrente do
+        // mesmo frete espera e não deixa o leilão encerrado na grade.
+        porId.compute(frete.freteId(), (id, anterior) -> {
+            if (anterior != null) {
+                removerDaCelula(anterior);
+            }
+            celulas.compute(celula(frete.coleta()), (chave, fretes) -> {
+                Map<Long, FreteAberto> destino = fretes != null ? fretes : new ConcurrentHashMap<>();
+                destino.put(frete.freteId(), frete);
+                return destino;
+            });
+            return frete;
+        });
+    }
+
+    /**
+     * Remove um leilão (encerrado ou revertido). Sem efeito se não indexado.
+     */
+    public void remover(long freteId) {
+        porId.computeIfPresent(freteId, (id, anterior) -> {
+            removerDaCelula(anterior);
+            return null;
+        });
+    }
+
+    private void removerDaCelula(FreteAberto frete) {
+        celulas.computeIfPresent(celula(frete.coleta()), (chave, fretes) -> {
+            fretes.remove(frete.freteId(), frete);
+            return fretes.isEmpty() ? null : fretes;
+        });
+    }
+
+    public int tamanho() {
+        return porId.size();
+    }
+
+    /**
+     * Leilão indexado, ou nulo.
+     */
+    public FreteAberto buscar(long freteId) {
+        return porId.get(freteId);
+    }
+
+    // --- CONSULTA ---
+
+    /**
+     * Leilões abertos dentro do raio que atendem aos filtros, do mais próximo
+     * do encerramento para o mais distante.
+     */
+    public List<Resultado> consultar(Consulta consulta) {
+        PontoGeo origem = consulta.origem();
+        double raioKm = consulta.raioKm();
+
+        // Retângulo envolvente do círculo, em graus.
+        double deltaLatitude = raioKm / KM_POR_GRAU_LATITUDE;
+        double latitudeMinima = Math.max(-90, origem.latitude() - deltaLatitude);
+        double latitudeMaxima = Math.min(90, origem.latitude() + deltaLatitude);
+        double maiorLatitude = Math.max(Math.abs(latitudeMinima), Math.abs(latitudeMaxima));
+        double cosseno = Math.cos(Math.toRadians(maiorLatitude));
+        double deltaLongitude = cosseno > 1e-6 ? raioKm / (KM_POR_GRAU_LATITUDE * cosseno) : 360;
+        double longitudeMinima = Math.max(-180, origem.longitude() - deltaLongitude);
+        double longitudeMaxima = Math.min(180, origem.longitude() + deltaLongitude);
+
+        int linhaInicial = indice(latitudeMinima + 90);
+        int linhaFinal = indice(latitudeMaxima + 90);
+        int colunaInicial = indice(longitudeMinima + 180);
+        int colunaFinal = indice(longitudeMaxima + 180);
+
+        List<Resultado> encontrados = new ArrayList<>();
+        for (int linha = linhaInicial; linha <= linhaFinal; linha++) {
+            for (int coluna = colunaInicial; coluna <= colunaFinal; coluna++) {
+                Map<Long, FreteAberto> fretes = celulas.get(chave(linha, coluna));
+                if (fretes == null) {
+                    continue;
+                }
+                for (FreteAberto frete : fretes.values()) {
+                    if (!atende(frete, consulta)) {
+                        continue;
+                    }
+                    double distancia = origem.distanciaLinhaRetaKm(frete.coleta());
+                    if (distancia <= raioKm) {
+                        encontrados.add(new Resultado(frete, distancia));
+                    }
+                }
+            }
+        }
+
+        encontrados.sort(POR_ENCERRAMENTO);
+        return encontrados.size() > consulta.limite()
+                ? new ArrayList<>(encontrados.subList(0, consulta.limite()))
+                : encontrados;
+    }
+
+    /**
+     * Leilões abertos (em qualquer região) que algum veículo da frota
+     * comporta, do mais próximo do encerramento para o mais distante.
+     */
+    public List<FreteAberto> listarCompativeis(List<VeiculoCapacidade> frota, int limite, long agoraMillis) {
+        List<FreteAberto> encontrados = new ArrayList<>();
+        for (FreteAberto frete : porId.values()) {
+            if (frete.expiraEmMillis() > agoraMillis && comporta(frota, frete)) {
+                encontrados.add(frete);
+            }
+        }
+        encontrados.sort(Comparator.comparingLong(FreteAberto::expiraEmMillis)
+                .thenComparingLong(FreteAberto::freteId));
+        return encontrados.size() > limite ? new ArrayList<>(encontrados.subList(0, limite)) : encontrados;
+    }
+
+    private static boolean comporta(List<VeiculoCapacidade> frota, FreteAberto frete) {
+        return frete.pesoCentesimosKg() != null
+                && IndiceCapacidadeVeiculos.comporta(frota, frete.pesoCentesimosKg(), frete.volumeCentesimosM3());
+    }
+
+    private static boolean atende(FreteAberto frete, Consulta consulta) {
+        if (frete.expiraEmMillis() <= consulta.agoraMillis()) {
+            return false;
+        }
+        if (consulta.modalidade() != null && !consulta.modalidade().equalsIgnoreCase(frete.modalidade())) {
+            return false;
+        }
+        if (consulta.frota() != null && !comporta(consulta.frota(), frete)) {
+            return false;
+        }
+        if (consulta.pesoMinimoCentesimosKg() == null && consulta.pesoMaximoCentesimosKg() == null) {
+            return true;
+        }
+        Long peso = frete.pesoCentesimosKg();
+        return peso != null
+                && (consulta.pesoMinimoCentesimosKg() == null || peso >= consulta.pesoMinimoCentesimosKg())
+                && (consulta.pesoMaximoCentesimosKg() == null || peso <= consulta.pesoMaximoCentesimosKg());
+    }
+
+    // --- CÉLULAS ---
+
+    private long celula(PontoGeo ponto) {
+        return chave(indice(ponto.latitude() + 90), indice(ponto.longitude() + 180));
+    }
+
+    private int indice(double grausDeslocados) {
+        return (int) Math.floor(grausDeslocados / grauCelula);
+    }
+
+    private static long chave(int linha, int coluna) {
+        return ((long) linha << 32) | (coluna & 0xFFFFFFFFL);
+    }
+}
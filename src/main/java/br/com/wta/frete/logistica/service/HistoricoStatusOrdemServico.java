@@ -0,0 +1,84 @@
+// Caminho: src/main/java/br/com/wta/frete/logistica/service/HistoricoStatusOrdemServico.java
+package br.com.wta.frete.logistica.service;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import br.com.wta.frete.logistica.controller.dto.HistoricoStatusOrdemResponse;
+import br.com.wta.frete.logistica.service.OrdemServicoService.StatusOrdemAlterado;
+import br.com.wta.frete.shared.outbox.ManipuladorOutbox;
+import br.com.wta.frete.shared.outbox.RegistroOutbox;
+import br.com.wta.frete.shared.outbox.RegistroOutbox.ItemOutbox;
+
+/**
+ * Histórico de status das Ordens de Serviço, gravado a partir dos eventos
+ * {@value OrdemServicoService#EVENTO_STATUS_ALTERADO} do outbox.
+ *
+ * A data da mudança é a da gravação do evento (mesma transação da mudança),
+ * não a da entrega. O ID da linha do outbox é a chave do histórico: uma
+ * reentrega não duplica a mudança. Eventos de uma OS já excluída são
+ * descartados.
+ */
+@Component
+public class HistoricoStatusOrdemServico implements ManipuladorOutbox {
+
+    static final String SQL_INSERT = "INSERT INTO logistica.historico_status_ordens_servico "
+            + "(outbox_id, ordem_servico_id, status_anterior, status_novo, transportador_id, alterado_em) "
+            + "SELECT ?, ?, ?, ?, ?, ? WHERE EXISTS "
+            + "(SELECT 1 FROM logistica.ordens_servico WHERE ordem_id = ?) "
+            + "ON CONFLICT (outbox_id) DO NOTHING";
+
+    static final String SQL_LISTAR = "SELECT status_anterior, status_novo, transportador_id, alterado_em "
+            + "FROM logistica.historico_status_ordens_servico WHERE ordem_servico_id = ? "
+            + "ORDER BY alterado_em, outbox_id";
+
+    private static final RowMapper<HistoricoStatusOrdemResponse> MAPEADOR = (rs, i) -> new HistoricoStatusOrdemResponse(
+            rs.getString("status_anterior"),
+            rs.getString("status_novo"),
+            rs.getObject("transportador_id", Long.class),
+            rs.getObject("alterado_em", OffsetDateTime.class));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RegistroOutbox registroOutbox;
+
+    public HistoricoStatusOrdemServico(JdbcTemplate jdbcTemplate, RegistroOutbox registroOutbox) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.registroOutbox = registroOutbox;
+    }
+
+    @Override
+    public String nome() {
+        return "historico-status-os";
+    }
+
+    @Override
+    public Set<String> tipos() {
+        return Set.of(OrdemServicoService.EVENTO_STATUS_ALTERADO);
+    }
+
+    @Override
+    public void processar(ItemOutbox item) {
+        StatusOrdemAlterado evento = registroOutbox.lerPayload(item, StatusOrdemAlterado.class);
+        jdbcTemplate.update(SQL_INSERT,
+                item.outboxId(),
+                evento.ordemServicoId(),
+                evento.statusAnterior(),
+                evento.statusNovo(),
+                evento.transportadorId(),
+                item.criadoEm(),
+                evento.ordemServicoId());
+    }
+
+    /**
+     * Mudanças de status da OS, da mais antiga para a mais recente. Eventos
+     * ainda não entregues pelo relay não aparecem.
+     */
+    public List<HistoricoStatusOrdemResponse> listar(Long ordemServicoId) {
+        return jdbcTemplate.query(SQL_LISTAR, MAPEADOR, ordemServicoId);
+    }
+}
@@ -0,0 +1,408 @@
+// Caminho: src/main/java/br/com/wta/frete/logistica/service/HubEventosLeilao.java
+package br.com.wta.frete.logistica.service;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.wta.frete.logistica.service.EventoLeilao.TipoEventoLeilao;
+import br.com.wta.frete.shared.exception.InvalidDataException;
+
+/**
+ * Distribui os eventos dos leilões (melhor lance, tempo restante,
+ * encerramento) aos assinantes do stream SSE de cada Frete, neste nó.
+ *
+ * 1. Cada evento é serializado uma única vez: o quadro SSE pronto é enviado a
+ * todos os assinantes do leilão.
+ * 2. Quem publica (LanceService, dentro do bloqueio do leilão) apenas enfileira
+ * o evento. A thread de despacho o repassa à fila de cada assinante, sem
+ * enviar nada.
+ * 3. Cada assinante tem uma fila limitada
+ * ({@code frete.leilao.stream.fila-assinante}), esvaziada por um pool de envio
+ * ({@code frete.leilao.stream.threads-envio}), um envio por vez por assinante.
+ * Um cliente lento (janela TCP cheia) segura apenas a sua fila; quando ela
+ * enche, o assinante é desconectado e, ao reconectar, recebe o ESTADO atual.
+ * Assinantes desconectados são descartados na primeira falha de envio.
+ * 4. O último estado de cada leilão assistido é guardado para o heartbeat de
+ * tempo restante ({@code frete.leilao.stream.heartbeat-ms}).
+ * 5. Os encerramentos recentes ficam guardados por alguns segundos: uma
+ * assinatura que leu o livro ainda aberto, mas se registrou depois da difusão
+ * do ENCERRADO, recebe o encerramento e é finalizada em seguida.
+ */
+@Component
+public class HubEventosLeilao {
+
+    private static final Logger log = LoggerFactory.getLogger(HubEventosLeilao.class);
+
+    // Muito acima da janela entre a leitura do livro e o registro da assinatura.
+    static final long RETENCAO_ENCERRAMENTOS_MS = 60_000;
+
+    // Quadros enviados por vez antes de liberar a thread de envio para outro
+    // assinante.
+    private static final int LOTE_ENVIO = 16;
+
+    private record EncerramentoRecente(EventoLeilao evento, long difundidoEmMs) {
+    }
+
+    /**
+     * Quadro na fila de um assinante; {@code finalizar} encerra o stream após o
+     * envio.
+     */
+    private record Envio(Set<DataWithMediaType> quadro, boolean finalizar) {
+    }
+
+    private final Map<Long, Set<Assinante>> assinantes = new ConcurrentHashMap<>();
+    private final Map<Long, EventoLeilao> ultimoEstado = new ConcurrentHashMap<>();
+    private final Map<Long, EncerramentoRecente> encerramentosRecentes = new ConcurrentHashMap<>();
+    private final AtomicLong sequencia = new AtomicLong();
+    private final AtomicInteger totalAssinantes = new AtomicInteger();
+
+    private final LivroOfertasService livroOfertasService;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService despacho;
+    private final ExecutorService envio;
+    private final long timeoutMs;
+    private final int maxAssinantes;
+    private final int capacidadeFila;
+
+    public HubEventosLeilao(
+            LivroOfertasService livroOfertasService,
+            ObjectMapper objectMapper,
+            @Value("${frete.leilao.stream.timeout-ms:1800000}") long timeoutMs,
+            @Value("${frete.leilao.stream.max-assinantes:10000}") int maxAssinantes,
+            @Value("${frete.leilao.stream.threads-envio:4}") int threadsEnvio,
+            @Value("${frete.leilao.stream.fila-assinante:64}") int capacidadeFila) {
+        this.livroOfertasService = livroOfertasService;
+        this.objectMapper = objectMapper;
+        this.timeoutMs = timeoutMs;
+        this.maxAssinantes = maxAssinantes;
+        this.capacidadeFila = Math.max(1, capacidadeFila);
+        this.despacho = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "eventos-leilao");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger sequenciaEnvio = new AtomicInteger();
+        this.envio = Executors.newFixedThreadPool(Math.max(1, threadsEnvio), runnable -> {
+            Thread thread = new Thread(runnable, "eventos-leilao-envio-" + sequenciaEnvio.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // --- ASSINATURA ---
+
+    /**
+     * Abre o stream de eventos do leilão. O primeiro evento é o estado atual
+     * (ESTADO); para um leilão já encerrado, o stream é finalizado em seguida.
+     *
+     * @throws br.com.wta.frete.shared.exception.ResourceNotFoundException Se o
+     *                                                                     Frete
+     *                                                                     não
+     *                                                                     existir.
+     * @throws InvalidDataException Se o limite de assinantes do nó for atingido.
+     */
+    public SseEmitter assinar(Long freteId) {
+        LivroOfertasLeilao livro = livroOfertasService.obterLivro(freteId);
+        EventoLeilao estado = EventoLeilao.de(TipoEventoLeilao.ESTADO, livro);
+        boolean aberto = LivroOfertasLeilao.STATUS_ABERTO.equals(livro.getNomeStatus());
+
+        SseEmitter emissor = criarEmissor();
+        if (!aberto) {
+            enviar(emissor, quadro(estado));
+            emissor.complete();
+            return emissor;
+        }
+
+        if (totalAssinantes.incrementAndGet() > maxAssinantes) {
+            totalAssinantes.decrementAndGet();
+            throw new InvalidDataException("Limite de acompanhamentos simultâneos atingido. Tente novamente.",
+                    "STREAM_LOTADO");
+        }
+
+        Assinante assinante = new Assinante(freteId, emissor);
+        // compute() é atômico em relação à remoção do conjunto vazio em remover().
+        assinantes.compute(freteId, (id, atual) -> {
+            Set<Assinante> doLeilao = atual != null ? atual : new CopyOnWriteArraySet<>();
+            doLeilao.add(assinante);
+            return doLeilao;
+        });
+        ultimoEstado.putIfAbsent(freteId, estado);
+
+        Runnable remover = () -> {
+            assinante.desconectar();
+            remover(assinante);
+        };
+        emissor.onCompletion(remover);
+        emissor.onTimeout(remover);
+        emissor.onError(erro -> remover.run());
+
+        // Enfileirado pela thread de despacho: fica ordenado com os demais eventos.
+        Set<DataWithMediaType> quadroInicial = quadro(estado);
+        despacho.execute(() -> {
+            // O leilão pode ter sido encerrado entre a leitura do livro e o
+            // registro acima: se a difusão do ENCERRADO já passou sem este
+            // assinante, ele o recebe aqui e o stream é finalizado.
+            EncerramentoRecente encerramento = encerramentosRecentes.get(freteId);
+            if (encerramento != null) {
+                if (remover(assinante)) {
+                    assinante.enfileirar(quadro(encerramento.evento()), true);
+                }
+                return;
+            }
+            entregar(assinante, quadroInicial, false);
+        });
+        return emissor;
+    }
+
+    // --- PUBLICAÇÃO ---
+
+    /**
+     * Enfileira o evento para todos os assinantes do leilão neste nó. Quem publica
+     * um evento de negócio deve usar o {@link BarramentoEventosLeilao} (todos os
+     * nós); este método é a entrega local.
+     */
+    public void publicar(EventoLeilao evento) {
+        if (!evento.isEncerramento() && !assinantes.containsKey(evento.freteId())) {
+            return;
+        }
+        despacho.execute(() -> difundir(evento));
+    }
+
+    /**
+     * Heartbeat: envia o tempo restante de cada leilão com assinantes. Mantém a
+     * conexão viva através de proxies e detecta clientes desconectados.
+     */
+    @Scheduled(fixedDelayString = "${frete.leilao.stream.heartbeat-ms:15000}")
+    public void enviarTempoRestante() {
+        for (EventoLeilao estado : ultimoEstado.values()) {
+            publicar(estado.comTempoRestante());
+        }
+        long limite = System.currentTimeMillis() - RETENCAO_ENCERRAMENTOS_MS;
+        encerramentosRecentes.values().removeIf(encerramento -> encerramento.difundidoEmMs() < limite);
+    }
+
+    /**
+     * Assinantes conectados a um leilão neste nó (diagnóstico).
+     */
+    public int getAssinantes(Long freteId) {
+        Set<Assinante> doLeilao = assinantes.get(freteId);
+        return doLeilao != null ? doLeilao.size() : 0;
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void encerrar() {
+        despacho.shutdownNow();
+        envio.shutdownNow();
+        assinantes.values().forEach(doLeilao -> doLeilao.forEach(assinante -> assinante.emissor.complete()));
+        assinantes.clear();
+        ultimoEstado.clear();
+        encerramentosRecentes.clear();
+    }
+
+    SseEmitter criarEmissor() {
+        return new SseEmitter(timeoutMs);
+    }
+
+    // --- DIFUSÃO (thread de despacho) ---
+
+    private void difundir(EventoLeilao evento) {
+        Long freteId = evento.freteId();
+        Set<Assinante> doLeilao = evento.isEncerramento() ? assinantes.remove(freteId) : assinantes.get(freteId);
+        if (evento.isEncerramento()) {
+            ultimoEstado.remove(freteId);
+            encerramentosRecentes.put(freteId, new EncerramentoRecente(evento, System.currentTimeMillis()));
+        } else if (doLeilao != null && evento.tipo() != TipoEventoLeilao.TEMPO_RESTANTE) {
+            ultimoEstado.put(freteId, evento);
+        }
+        if (doLeilao == null || doLeilao.isEmpty()) {
+            return;
+        }
+
+        // Serializado uma única vez para todos os assinantes.
+        Set<DataWithMediaType> quadro = quadro(evento);
+        if (evento.isEncerramento()) {
+            totalAssinantes.addAndGet(-doLeilao.size());
+            for (Assinante assinante : doLeilao) {
+                if (!assinante.enfileirar(quadro, true)) {
+                    assinante.desconectar();
+                }
+            }
+            doLeilao.clear();
+            return;
+        }
+        for (Assinante assinante : doLeilao) {
+            entregar(assinante, quadro, false);
+        }
+    }
+
+    /**
+     * Enfileira o quadro para o assinante; com a fila cheia (cliente lento), o
+     * desconecta.
+     */
+    private void entregar(Assinante assinante, Set<DataWithMediaType> quadro, boolean finalizar) {
+        if (!assinante.enfileirar(quadro, finalizar)) {
+            log.debug("Assinante lento desconectado do stream do Frete #{}.", assinante.freteId);
+            assinante.desconectar();
+            remover(assinante);
+        }
+    }
+
+    private Set<DataWithMediaType> quadro(EventoLeilao evento) {
+        try {
+            String json = objectMapper.writeValueAsString(evento);
+            return SseEmitter.event()
+                    .id(Long.toString(sequencia.incrementAndGet()))
+                    .name(evento.tipo().name())
+                    .data(json, MediaType.APPLICATION_JSON)
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar o evento do leilão #" + evento.freteId(), e);
+        }
+    }
+
+    private static boolean enviar(SseEmitter emissor, Set<DataWithMediaType> quadro) {
+        try {
+            emissor.send(quadro);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // Cliente desconectado ou emissor já finalizado.
+            return false;
+        }
+    }
+
+    /**
+     * @return true se o assinante ainda estava registrado (e foi removido agora).
+     */
+    private boolean remover(Assinante assinante) {
+        Long freteId = assinante.freteId;
+        Set<Assinante> doLeilao = assinantes.get(freteId);
+        if (doLeilao != null && doLeilao.remove(assinante)) {
+            totalAssinantes.decrementAndGet();
+            if (doLeilao.isEmpty()) {
+                // Remove o conjunto apenas se continuar vazio (assinatura concorrente).
+                assinantes.computeIfPresent(freteId, (id, atual) -> atual.isEmpty() ? null : atual);
+                if (!assinantes.containsKey(freteId)) {
+                    ultimoEstado.remove(freteId);
+                }
+            }
+            log.debug("Assinante removido do stream do Frete #{}.", freteId);
+            return true;
+        }
+        return false;
+    }
+
+    // --- ENVIO (pool de envio) ---
+
+    /**
+     * Assinante do stream de um leilão, com a sua fila de quadros. Apenas uma
+     * thread de envio drena a fila por vez, o que mantém a ordem dos eventos.
+     */
+    private final class Assinante {
+
+        private final Long freteId;
+        private final SseEmitter emissor;
+        private final BlockingQueue<Envio> pendentes = new ArrayBlockingQueue<>(capacidadeFila);
+        private final AtomicBoolean agendado = new AtomicBoolean();
+        private volatile boolean desconectado;
+
+        Assinante(Long freteId, SseEmitter emissor) {
+            this.freteId = freteId;
+            this.emissor = emissor;
+        }
+
+        /**
+         * @return false se a fila estiver cheia ou o assinante desconectado.
+         */
+        boolean enfileirar(Set<DataWithMediaType> quadro, boolean finalizar) {
+            if (desconectado || !pendentes.offer(new Envio(quadro, finalizar))) {
+                return false;
+            }
+            agendarEnvio();
+            return true;
+        }
+
+        /**
+         * Marca o assinante para encerramento. O emissor é finalizado pela
+         * thread de envio: um envio travado mantém o lock do emissor e
+         * bloquearia quem o finalizasse aqui.
+         */
+        void desconectar() {
+            desconectado = true;
+            agendarEnvio();
+        }
+
+        private void agendarEnvio() {
+            if (agendado.compareAndSet(false, true)) {
+                try {
+                    envio.execute(this::drenar);
+                } catch (RejectedExecutionException e) {
+                    // Hub encerrado.
+                    agendado.set(false);
+                }
+            }
+        }
+
+        private void drenar() {
+            try {
+                for (int i = 0; i < LOTE_ENVIO; i++) {
+                    if (desconectado) {
+                        finalizar();
+                        return;
+                    }
+                    Envio proximo = pendentes.poll();
+                    if (proximo == null) {
+                        break;
+                    }
+                    if (!enviar(emissor, proximo.quadro())) {
+                        desconectado = true;
+                        remover(this);
+                        finalizar();
+                        return;
+                    }
+                    if (proximo.finalizar()) {
+                        desconectado = true;
+                        finalizar();
+                        return;
+                    }
+                }
+            } finally {
+                agendado.set(false);
+            }
+            // Quadros chegaram durante o lote (ou o lote acabou): volta ao fim da
+            // fila do pool para não monopolizar a thread.
+            if (desconectado || !pendentes.isEmpty()) {
+                agendarEnvio();
+            }
+        }
+
+        private void finalizar() {
+            pendentes.clear();
+            emissor.complete();
+        }
+    }
+}
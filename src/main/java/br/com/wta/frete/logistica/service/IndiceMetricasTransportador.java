@@ -0,0 +1,307 @@
+// Caminho: src/main/java/br/com/wta/frete/logistica/service/IndiceMetricasTransportador.java
+package br.com.wta.frete.logistica.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import br.com.wta.frete.colaboradores.entity.MetricaTransportadorFrete;
+import br.com.wta.frete.colaboradores.repository.MetricaTransportadorFreteRepository;
+import br.com.wta.frete.logistica.entity.ModalidadeFrete;
+import br.com.wta.frete.logistica.repository.ModalidadeFreteRepository;
+import br.com.wta.frete.shared.exception.ResourceNotFoundException;
+import br.com.wta.frete.shared.util.ValorFixo;
+
+/**
+ * Índice em memória das métricas de precificação, por (transportador,
+ * modalidade), usado por
+ * {@link MetricaTransportadorFreteService#calcularCustoPersonalizado}.
+ *
+ * 1. Cada entrada guarda os fatores da fórmula como longs em escala fixa (as
+ * mesmas escalas das colunas), além do ID e da versão (@Version) da métrica. A
+ * ausência de métrica também é guardada, para que a busca negativa não volte ao
+ * banco.
+ * 2. O nome da modalidade é resolvido para o ID e mantido pelo mesmo TTL das
+ * métricas (modalidade renomeada ou removida é percebida depois dele).
+ * 3. Transportadores pré-carregados ({@link #precarregar}) ficam marcados como
+ * completos: uma modalidade sem entrada é tratada como ausente sem consulta.
+ * 4. Invalidação: criar/atualizar/deletar uma métrica descarta, após o commit,
+ * as entradas do transportador. As entradas ficam agrupadas por transportador,
+ * e a invalidação remove só o grupo dele, sem percorrer o cache. Uma carga que
+ * começou antes da invalidação não
+ * é publicada (contador de gerações), e uma entrada nunca é substituída por
+ * uma versão mais antiga da mesma métrica.
+ * 5. Alterações feitas por outro nó ou direto no banco são percebidas após
+ * {@code frete.metricas.cache.ttl-ms}.
+ */
+@Component
+public class IndiceMetricasTransportador {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceMetricasTransportador.class);
+
+    static final int ESCALA_CUSTO_FIXO = 2;
+    static final int ESCALA_CUSTO_POR_KM = 4;
+    static final int ESCALA_FATOR_MARGEM = 4;
+    static final int ESCALA_DISTANCIA = 2;
+    // (custo fixo + custo por km * distância): escala 4 + 2; vezes a margem: + 4.
+    private static final int ESCALA_CUSTO_BASICO = ESCALA_CUSTO_POR_KM + ESCALA_DISTANCIA;
+    private static final int ESCALA_PRODUTO = ESCALA_CUSTO_BASICO + ESCALA_FATOR_MARGEM;
+
+    private static final int CASAS_DECIMAIS = 2;
+    private static final RoundingMode MODO_ARREDONDAMENTO = RoundingMode.HALF_UP;
+
+    /**
+     * Fatores pré-calculados de uma métrica (ou a ausência dela, quando
+     * {@code metricaId == 0}).
+     */
+    public record FatoresMetrica(
+            long metricaId,
+            int versao,
+            long custoFixoEscalado,
+            long custoPorKmEscalado,
+            long fatorMargemEscalado,
+            long carregadoEmNanos) {
+
+        public static FatoresMetrica de(MetricaTransportadorFrete metrica) {
+            BigDecimal margem = metrica.getMargemLucro() != null ? metrica.getMargemLucro() : BigDecimal.ZERO;
+            return new FatoresMetrica(
+                    metrica.getMetricaId() != null ? metrica.getMetricaId() : -1L,
+                    metrica.getVersao() != null ? metrica.getVersao() : 0,
+                    escalar(metrica.getCustoFixoViagem(), ESCALA_CUSTO_FIXO),
+                    escalar(metrica.getCustoPorKm(), ESCALA_CUSTO_POR_KM),
+                    escalar(BigDecimal.ONE.add(margem), ESCALA_FATOR_MARGEM),
+                    System.nanoTime());
+        }
+
+        static FatoresMetrica ausente() {
+            return new FatoresMetrica(0L, 0, 0L, 0L, 0L, System.nanoTime());
+        }
+
+        public boolean isAusente() {
+            return metricaId == 0L;
+        }
+
+        /**
+         * Custo Final = (Custo Fixo + Custo por Km * Distância) * (1 + Margem),
+         * arredondado para duas casas.
+         */
+        public BigDecimal calcularCusto(BigDecimal distanciaKm) {
+            if (distanciaKm.scale() <= ESCALA_DISTANCIA) {
+                try {
+                    return ValorFixo.paraBigDecimal(
+                            calcularCustoCentavos(ValorFixo.escalar(distanciaKm, ESCALA_DISTANCIA)), CASAS_DECIMAIS);
+                } catch (ArithmeticException e) {
+                    // Distância ou custo fora da faixa do long: segue pelo cálculo em BigDecimal.
+                }
+            }
+            return calcularCustoDecimal(distanciaKm);
+        }
+
+        /**
+         * Mesma fórmula em ponto fixo: distância em centésimos de km, resultado
+         * em centavos.
+         */
+        public long calcularCustoCentavos(long distanciaCentesimosKm) {
+            try {
+                long custoBasico = ValorFixo.somar(
+                        ValorFixo.reescalar(custoFixoEscalado, ESCALA_CUSTO_FIXO, ESCALA_CUSTO_BASICO),
+                        ValorFixo.multiplicar(custoPorKmEscalado, distanciaCentesimosKm));
+                return ValorFixo.arredondar(ValorFixo.multiplicar(custoBasico, fatorMargemEscalado),
+                        ESCALA_PRODUTO - CASAS_DECIMAIS);
+            } catch (ArithmeticException e) {
+                return ValorFixo.escalar(
+                        calcularCustoDecimal(ValorFixo.paraBigDecimal(distanciaCentesimosKm, ESCALA_DISTANCIA)),
+                        CASAS_DECIMAIS);
+            }
+        }
+
+        /**
+         * Fórmula de referência em BigDecimal (valores fora da faixa do ponto
+         * fixo).
+         */
+        BigDecimal calcularCustoDecimal(BigDecimal distanciaKm) {
+            BigDecimal custoBasico = BigDecimal.valueOf(custoFixoEscalado, ESCALA_CUSTO_FIXO)
+                    .add(BigDecimal.valueOf(custoPorKmEscalado, ESCALA_CUSTO_POR_KM).multiply(distanciaKm));
+            return custoBasico.multiply(BigDecimal.valueOf(fatorMargemEscalado, ESCALA_FATOR_MARGEM))
+                    .setScale(CASAS_DECIMAIS, MODO_ARREDONDAMENTO);
+        }
+
+        private static long escalar(BigDecimal valor, int escala) {
+            return (valor != null ? valor : BigDecimal.ZERO).setScale(escala, RoundingMode.HALF_UP)
+                    .unscaledValue().longValueExact();
+        }
+    }
+
+    private final MetricaTransportadorFreteRepository metricaRepository;
+    private final ModalidadeFreteRepository modalidadeRepository;
+    private final long ttlNanos;
+
+    /**
+     * ID da modalidade resolvido pelo nome e o instante (nanoTime) da consulta.
+     */
+    private record ModalidadeResolvida(Integer modalidadeId, long carregadoEmNanos) {
+    }
+
+    // Transportador -> (modalidade -> fatores).
+    private final ConcurrentHashMap<Long, ConcurrentHashMap<Integer, FatoresMetrica>> fatores =
+            new ConcurrentHashMap<>();
+    // Transportador -> instante (nanoTime) em que todas as suas métricas foram carregadas.
+    private final ConcurrentHashMap<Long, Long> transportadoresCompletos = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, ModalidadeResolvida> modalidadesPorNome = new ConcurrentHashMap<>();
+    private final AtomicLong geracao = new AtomicLong();
+
+    public IndiceMetricasTransportador(
+            MetricaTransportadorFreteRepository metricaRepository,
+            ModalidadeFreteRepository modalidadeRepository,
+            @Value("${frete.metricas.cache.ttl-ms:300000}") long ttlMs) {
+        this.metricaRepository = metricaRepository;
+        this.modalidadeRepository = modalidadeRepository;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+    }
+
+    // --- CONSULTA ---
+
+    /**
+     * ID da modalidade pelo nome (consulta o banco na primeira vez e depois de
+     * cada TTL).
+     *
+     * @throws ResourceNotFoundException Se a modalidade não existir.
+     */
+    public Integer resolverModalidade(String nomeModalidade) {
+        ModalidadeResolvida resolvida = modalidadesPorNome.get(nomeModalidade);
+        if (resolvida != null && !expirado(resolvida.carregadoEmNanos())) {
+            return resolvida.modalidadeId();
+        }
+        ModalidadeFrete modalidade = modalidadeRepository.findByNomeModalidade(nomeModalidade)
+                .orElseThrow(() -> {
+                    modalidadesPorNome.remove(nomeModalidade);
+                    return new ResourceNotFoundException("Modalidade de Frete não encontrada: " + nomeModalidade);
+                });
+        modalidadesPorNome.put(nomeModalidade, new ModalidadeResolvida(modalidade.getId(), System.nanoTime()));
+        return modalidade.getId();
+    }
+
+    /**
+     * Fatores da métrica do transportador para a modalidade. Em cache, não
+     * consulta o banco.
+     *
+     * @return Os fatores, ou {@code null} se o transportador não tiver métrica
+     *         para a modalidade.
+     */
+    public FatoresMetrica buscar(Long transportadorId, Integer modalidadeId) {
+        Map<Integer, FatoresMetrica> doTransportador = fatores.get(transportadorId);
+        FatoresMetrica atual = doTransportador != null ? doTransportador.get(modalidadeId) : null;
+        if (atual == null && isCompleto(transportadorId)) {
+            return null;
+        }
+        if (atual == null || expirado(atual.carregadoEmNanos())) {
+            long geracaoInicial = geracao.get();
+            MetricaTransportadorFrete metrica = metricaRepository
+                    .findFirstByTransportadorPessoaIdAndModalidadeFreteIdOrderByMetricaIdAsc(transportadorId,
+                            modalidadeId)
+                    .orElse(null);
+            atual = metrica != null ? FatoresMetrica.de(metrica) : FatoresMetrica.ausente();
+            publicar(transportadorId, Map.of(modalidadeId, atual), geracaoInicial);
+        }
+        return atual.isAusente() ? null : atual;
+    }
+
+    /**
+     * Carrega, em uma única consulta, todas as métricas dos transportadores
+     * informados que ainda não estão completos em cache (ex: antes de precificar
+     * um lote). Depois disso, {@link #buscar} não consulta o banco para eles.
+     */
+    public void precarregar(Collection<Long> transportadorIds) {
+        List<Long> pendentes = new ArrayList<>();
+        for (Long transportadorId : transportadorIds) {
+            if (!isCompleto(transportadorId)) {
+                pendentes.add(transportadorId);
+            }
+        }
+        if (pendentes.isEmpty()) {
+            return;
+        }
+
+        long geracaoInicial = geracao.get();
+        Map<Long, Map<Integer, FatoresMetrica>> carregados = new HashMap<>();
+        int entradas = 0;
+        for (MetricaTransportadorFrete metrica : metricaRepository
+                .buscarComModalidadePorTransportadores(pendentes)) {
+            // Ordenadas por ID: entre métricas da mesma modalidade, vale a primeira.
+            FatoresMetrica anterior = carregados
+                    .computeIfAbsent(metrica.getTransportador().getPessoaId(), id -> new HashMap<>())
+                    .putIfAbsent(metrica.getModalidadeFrete().getId(), FatoresMetrica.de(metrica));
+            if (anterior == null) {
+                entradas++;
+            }
+        }
+        if (geracao.get() != geracaoInicial) {
+            // Invalidação durante a carga: nada é publicado (buscar() recarrega).
+            return;
+        }
+        carregados.forEach((transportadorId, doTransportador) -> publicar(transportadorId, doTransportador,
+                geracaoInicial));
+        long agora = System.nanoTime();
+        pendentes.forEach(transportadorId -> transportadoresCompletos.put(transportadorId, agora));
+
+        log.debug("Métricas pré-carregadas para {} transportador(es): {} entrada(s).", pendentes.size(),
+                entradas);
+    }
+
+    // --- INVALIDAÇÃO ---
+
+    /**
+     * Descarta as entradas do transportador (todas as modalidades). Chamado após o
+     * commit de uma alteração de métrica.
+     *
+     * @param versao Versão (@Version) da métrica alterada, para o log.
+     */
+    public void invalidar(Long transportadorId, Integer versao) {
+        geracao.incrementAndGet();
+        transportadoresCompletos.remove(transportadorId);
+        fatores.remove(transportadorId);
+        log.debug("Métricas do transportador {} invalidadas (versão {}).", transportadorId, versao);
+    }
+
+    // --- AUXILIARES ---
+
+    private boolean expirado(long carregadoEmNanos) {
+        return System.nanoTime() - carregadoEmNanos > ttlNanos;
+    }
+
+    private boolean isCompleto(Long transportadorId) {
+        Long carregadoEm = transportadoresCompletos.get(transportadorId);
+        return carregadoEm != null && !expirado(carregadoEm);
+    }
+
+    /**
+     * Publica as entradas carregadas do transportador, exceto se houve
+     * invalidação durante a carga; uma entrada não substitui uma versão mais nova
+     * da mesma métrica. A verificação da geração ocorre dentro do compute da
+     * chave do transportador, serializado com o remove de {@link #invalidar}.
+     */
+    private void publicar(Long transportadorId, Map<Integer, FatoresMetrica> carregados, long geracaoInicial) {
+        fatores.compute(transportadorId, (id, atuais) -> {
+            if (geracao.get() != geracaoInicial) {
+                return atuais;
+            }
+            ConcurrentHashMap<Integer, FatoresMetrica> destino = atuais != null ? atuais : new ConcurrentHashMap<>();
+            carregados.forEach((modalidadeId, carregado) -> destino.merge(modalidadeId, carregado,
+                    (atual, novo) -> atual.metricaId() == novo.metricaId() && atual.versao() > novo.versao()
+                            && !expirado(atual.carregadoEmNanos()) ? atual : novo));
+            return destino;
+        });
+    }
+}
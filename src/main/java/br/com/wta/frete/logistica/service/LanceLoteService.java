@@ -0,0 +1,188 @@
+// Caminho: src/main/java/br/com/wta/frete/logistica/service/LanceLoteService.java
+package br.com.wta.frete.logistica.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import br.com.wta.frete.logistica.controller.dto.LanceLoteItemRequest;
+import br.com.wta.frete.logistica.controller.dto.LanceLoteRequest;
+import br.com.wta.frete.logistica.controller.dto.LanceLoteResponse;
+import br.com.wta.frete.logistica.controller.dto.LanceRequest;
+import br.com.wta.frete.logistica.controller.dto.ResultadoLanceResponse;
+import br.com.wta.frete.logistica.service.LanceService.ResultadoLance;
+import br.com.wta.frete.shared.exception.InvalidDataException;
+import br.com.wta.frete.shared.exception.ResourceNotFoundException;
+
+/**
+ * Envio de lances em lote (robôs de lance que atuam em muitos fretes).
+ *
+ * Os lances são agrupados por freteId, preservando a ordem do lote dentro de
+ * cada grupo. Cada grupo é processado pelo LanceService com um único bloqueio
+ * do leilão e uma única transação ({@link LanceService#criarLancesDoFrete});
+ * grupos de fretes diferentes rodam em paralelo num pool limitado. O pool usa,
+ * por padrão, metade do pool do Hikari, pois cada grupo mantém uma conexão
+ * durante a sua transação.
+ *
+ * O resultado de cada lance (aceito, ou rejeitado com o reasonCode da
+ * InvalidDataException) volta na ordem original do lote.
+ */
+@Service
+public class LanceLoteService {
+
+    private static final Logger log = LoggerFactory.getLogger(LanceLoteService.class);
+
+    private static final String CODIGO_ERRO_INTERNO = "ERRO_INTERNO";
+
+    private final LanceService lanceService;
+    private final ThreadPoolExecutor executor;
+    private final int tamanhoMaximo;
+
+    public LanceLoteService(
+            LanceService lanceService,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int tamanhoPoolConexoes,
+            @Value("${frete.lances.lote.paralelismo:0}") int paralelismo,
+            @Value("${frete.lances.lote.tamanho-maximo:1000}") int tamanhoMaximo) {
+        this.lanceService = lanceService;
+        this.tamanhoMaximo = tamanhoMaximo;
+
+        int tamanho = paralelismo > 0 ? paralelismo : Math.max(1, tamanhoPoolConexoes / 2);
+
+        // Fila limitada + CallerRunsPolicy: com muitos lotes simultâneos, a thread
+        // da requisição passa a processar os próprios grupos.
+        AtomicInteger sequencia = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(tamanho, tamanho, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(tamanho * 4), runnable -> {
+                    Thread thread = new Thread(runnable, "lance-lote-" + sequencia.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Processa o lote e devolve o resultado de cada lance.
+     *
+     * @throws InvalidDataException Se o lote exceder
+     *                              {@code frete.lances.lote.tamanho-maximo}.
+     */
+    public LanceLoteResponse processarLote(LanceLoteRequest request) {
+        List<LanceLoteItemRequest> lances = request.lances();
+        if (lances.size() > tamanhoMaximo) {
+            throw new InvalidDataException(
+                    "O lote excede o limite de " + tamanhoMaximo + " lances (recebidos: " + lances.size() + ").",
+                    "LOTE_EXCEDIDO", "lances");
+        }
+
+        long inicio = System.nanoTime();
+        ResultadoLanceResponse[] resultados = new ResultadoLanceResponse[lances.size()];
+
+        // 1. Agrupa por Frete (ordem do lote preservada dentro do grupo)
+        Map<Long, List<Integer>> indicesPorFrete = new LinkedHashMap<>();
+        for (int i = 0; i < lances.size(); i++) {
+            LanceLoteItemRequest lance = lances.get(i);
+            if (lance == null || lance.freteId() == null) {
+                resultados[i] = ResultadoLanceResponse.rejeitado(i, null,
+                        lance != null ? lance.transportadorId() : null, LanceService.CODIGO_LANCE_INVALIDO,
+                        "freteId", "O ID do Frete é obrigatório.");
+                continue;
+            }
+            indicesPorFrete.computeIfAbsent(lance.freteId(), id -> new ArrayList<>()).add(i);
+        }
+
+        // 2. Um grupo por tarefa, em paralelo
+        List<Future<?>> futuros = new ArrayList<>(indicesPorFrete.size());
+        for (Map.Entry<Long, List<Integer>> grupo : indicesPorFrete.entrySet()) {
+            futuros.add(executor.submit(
+                    () -> processarGrupo(grupo.getKey(), grupo.getValue(), lances, resultados)));
+        }
+        aguardar(futuros);
+
+        int aceitos = 0;
+        for (ResultadoLanceResponse resultado : resultados) {
+            if (ResultadoLanceResponse.STATUS_ACEITO.equals(resultado.status())) {
+                aceitos++;
+            }
+        }
+
+        log.info("Lote de {} lance(s) em {} frete(s) processado em {} ms ({} aceito(s)).", lances.size(),
+                indicesPorFrete.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio), aceitos);
+        return new LanceLoteResponse(lances.size(), aceitos, lances.size() - aceitos, List.of(resultados));
+    }
+
+    /**
+     * Processa os lances de um Frete. Falhas que atingem o grupo inteiro
+     * (Frete inexistente, leilão ocupado, erro na transação) rejeitam todos os
+     * lances do grupo: nenhum deles foi confirmado.
+     */
+    void processarGrupo(Long freteId, List<Integer> indices, List<LanceLoteItemRequest> lances,
+            ResultadoLanceResponse[] resultados) {
+        List<LanceRequest> requests = new ArrayList<>(indices.size());
+        for (int indice : indices) {
+            LanceLoteItemRequest lance = lances.get(indice);
+            requests.add(new LanceRequest(lance.transportadorId(), lance.valorLance()));
+        }
+
+        try {
+            List<ResultadoLance> processados = lanceService.criarLancesDoFrete(freteId, requests);
+            for (int k = 0; k < indices.size(); k++) {
+                int indice = indices.get(k);
+                ResultadoLance resultado = processados.get(k);
+                resultados[indice] = resultado.isAceito()
+                        ? ResultadoLanceResponse.aceito(indice, resultado.lance())
+                        : ResultadoLanceResponse.rejeitado(indice, freteId, lances.get(indice).transportadorId(),
+                                resultado.codigoErro(), resultado.campo(), resultado.mensagemErro());
+            }
+        } catch (InvalidDataException e) {
+            rejeitarGrupo(freteId, indices, lances, resultados, e.getReasonCode(), e.getField(), e.getMessage());
+        } catch (ResourceNotFoundException e) {
+            rejeitarGrupo(freteId, indices, lances, resultados, LanceService.CODIGO_NAO_ENCONTRADO, "freteId",
+                    e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Falha inesperada nos lances do Frete #{} no lote: {}", freteId, e.getMessage(), e);
+            rejeitarGrupo(freteId, indices, lances, resultados, CODIGO_ERRO_INTERNO, null,
+                    "Falha inesperada ao processar os lances deste frete.");
+        }
+    }
+
+    private static void rejeitarGrupo(Long freteId, List<Integer> indices, List<LanceLoteItemRequest> lances,
+            ResultadoLanceResponse[] resultados, String codigoErro, String campo, String mensagemErro) {
+        for (int indice : indices) {
+            resultados[indice] = ResultadoLanceResponse.rejeitado(indice, freteId,
+                    lances.get(indice).transportadorId(), codigoErro, campo, mensagemErro);
+        }
+    }
+
+    private static void aguardar(List<Future<?>> futuros) {
+        try {
+            for (Future<?> futuro : futuros) {
+                futuro.get();
+            }
+        } catch (InterruptedException e) {
+            futuros.forEach(f -> f.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Processamento do lote de lances interrompido.", e);
+        } catch (ExecutionException e) {
+            // processarGrupo() não lança exceções; chegar aqui indica um erro grave.
+            throw new IllegalStateException("Falha no processamento do lote de lances.", e.getCause());
+        }
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+}
@@ -3,195 +3,447 @@ package br.com.wta.frete.logistica.service;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.Optional;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import br.com.wta.frete.colaboradores.entity.Transportador;
 import br.com.wta.frete.colaboradores.repository.TransportadorRepository;
+import br.com.wta.frete.logistica.controller.dto.LanceAutomaticoRequest;
+import br.com.wta.frete.logistica.controller.dto.LanceAutomaticoResponse;
 import br.com.wta.frete.logistica.controller.dto.LanceRequest;
 import br.com.wta.frete.logistica.controller.dto.LanceResponse;
-import br.com.wta.frete.logistica.entity.Frete;
 import br.com.wta.frete.logistica.entity.Lance;
+import br.com.wta.frete.logistica.entity.LanceAutomatico;
 import br.com.wta.frete.logistica.repository.FreteRepository;
+import br.com.wta.frete.logistica.repository.LanceAutomaticoRepository;
 import br.com.wta.frete.logistica.repository.LanceRepository;
+import br.com.wta.frete.logistica.service.EventoLeilao.TipoEventoLeilao;
+import br.com.wta.frete.logistica.service.LivroOfertasLeilao.ContraLance;
+import br.com.wta.frete.logistica.service.LivroOfertasLeilao.LanceAutomaticoAtivo;
+import br.com.wta.frete.logistica.service.LivroOfertasLeilao.OfertaTransportador;
+import br.com.wta.frete.logistica.service.RegistroEventosLance.EventoLance;
+import br.com.wta.frete.logistica.service.RegistroEventosLance.OrigemLance;
 import br.com.wta.frete.logistica.service.mapper.LanceMapper;
 import br.com.wta.frete.shared.exception.InvalidDataException;
 import br.com.wta.frete.shared.exception.ResourceNotFoundException;
+import br.com.wta.frete.shared.lock.GerenciadorBloqueios;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 
 /**
  * Serviço responsável por gerenciar Lances (Leilão Reverso Dinâmico Avançado).
  * Regras: Bloqueio/Desbloqueio por Frete, Decremento Mínimo de R$ 5,00.
+ *
+ * As validações são feitas contra o livro de ofertas em memória
+ * ({@link LivroOfertasService}); o banco recebe apenas a escrita do lance
+ * (INSERT no primeiro lance, UPDATE no re-bid) e o evento do histórico
+ * append-only ({@link RegistroEventosLance}), inserido em lote no commit.
+ *
+ * Lances do mesmo Frete são serializados pelo {@link GerenciadorBloqueios}
+ * (um bloqueio por freteId); a transação é confirmada antes da liberação do
+ * bloqueio, de modo que o próximo lance sempre enxerga o anterior. Lances em
+ * fretes diferentes seguem em paralelo.
+ *
+ * O modelo de leitura do leilão ({@link LeilaoEstadoService}) é atualizado na
+ * mesma transação do lance.
+ *
+ * Lances automáticos (proxy bidding): após cada lance, a disputa entre os
+ * lances automáticos do leilão é resolvida em memória pelo livro de ofertas e
+ * apenas o resultado final é gravado, respeitando o DECREMENTO_MINIMO, o valor
+ * mínimo de cada transportador e o piso ANTT do Frete.
+ *
+ * Latência e resultado (aceito/rejeitado, por reasonCode) de cada lance são
+ * publicados pelo {@link MetricasLeilao}.
  */
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class LanceService {
 
-    // --- REGRA DE NEGÓCIO: Decremento Mínimo Competitivo ---
-    // Diferença mínima exigida para que um novo lance seja válido em relação ao
-    // melhor lance atual.
-    private static final BigDecimal DECREMENTO_MINIMO = new BigDecimal("5.00");
-    // Código de erro genérico para a exceção de dados inválidos (CORREÇÃO)
-    private static final String CODIGO_ERRO_VALIDACAO = "VALIDACAO_LANCE";
+    static final String CODIGO_LANCE_INVALIDO = "LANCE_INVALIDO";
+    static final String CODIGO_NAO_ENCONTRADO = "RECURSO_NAO_ENCONTRADO";
+    static final String CODIGO_ABAIXO_PISO_ANTT = "ABAIXO_PISO_ANTT";
+
+    /**
+     * Resultado de um lance processado em grupo: o lance gravado (aceito) ou o
+     * motivo da rejeição.
+     */
+    public record ResultadoLance(LanceResponse lance, String codigoErro, String campo, String mensagemErro) {
+
+        static ResultadoLance aceito(LanceResponse lance) {
+            return new ResultadoLance(lance, null, null, null);
+        }
+
+        static ResultadoLance rejeitado(String codigoErro, String campo, String mensagemErro) {
+            return new ResultadoLance(null, codigoErro, campo, mensagemErro);
+        }
+
+        public boolean isAceito() {
+            return lance != null;
+        }
+    }
 
     private final LanceRepository lanceRepository;
     private final FreteRepository freteRepository;
     private final TransportadorRepository transportadorRepository;
     private final LanceMapper lanceMapper;
+    private final LivroOfertasService livroOfertasService;
+    private final GerenciadorBloqueios gerenciadorBloqueios;
+    private final TransactionTemplate transactionTemplate;
+    private final BarramentoEventosLeilao barramentoEventos;
+    private final LeilaoEstadoService leilaoEstadoService;
+    private final LanceAutomaticoRepository lanceAutomaticoRepository;
+    private final RegistroEventosLance registroEventos;
+    private final MetricasLeilao metricasLeilao;
 
     /**
      * Processa a submissão de um novo lance, com validações avançadas de
      * competição.
+     *
+     * NOT_SUPPORTED: a transação é aberta pelo TransactionTemplate DENTRO do
+     * bloqueio, garantindo o commit antes da liberação.
      */
-    @SuppressWarnings("null")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public LanceResponse criarLance(Long freteId, LanceRequest request) {
+        Timer.Sample amostra = metricasLeilao.iniciarAmostra();
+        try {
+            LanceResponse response = executarLance(freteId, request);
+            metricasLeilao.registrarLance(amostra, MetricasLeilao.RESULTADO_ACEITO, null);
+            return response;
+        } catch (InvalidDataException e) {
+            metricasLeilao.registrarLance(amostra, MetricasLeilao.RESULTADO_REJEITADO, e.getReasonCode());
+            throw e;
+        } catch (ResourceNotFoundException e) {
+            metricasLeilao.registrarLance(amostra, MetricasLeilao.RESULTADO_REJEITADO, CODIGO_NAO_ENCONTRADO);
+            throw e;
+        } catch (RuntimeException e) {
+            metricasLeilao.registrarLance(amostra, MetricasLeilao.RESULTADO_ERRO, null);
+            throw e;
+        }
+    }
 
-        // ResourceNotFoundException, assumimos que o construtor de 1 String é válido
-        Frete frete = freteRepository.findById(freteId)
-                .orElseThrow(() -> new ResourceNotFoundException("Frete não encontrado com ID: " + freteId));
+    private LanceResponse executarLance(Long freteId, LanceRequest request) {
+        return gerenciadorBloqueios.executar(freteId, () -> {
+            long geracao = gerenciadorBloqueios.geracao(freteId);
 
-        // Validações de Pré-requisito
-        validarStatusFreteParaLance(frete);
-        validarTransportadorExistente(request.transportadorId());
+            LanceResponse response = transactionTemplate.execute(status -> processarLance(freteId, geracao, request));
+
+            // Commit confirmado: sinaliza aos demais nós que o livro mudou.
+            livroOfertasService.atualizarGeracao(freteId, gerenciadorBloqueios.avancarGeracao(freteId));
+            return response;
+        });
+    }
+
+    /**
+     * Processa, na ordem informada, vários lances do mesmo Frete com um único
+     * bloqueio e uma única transação. Um lance rejeitado pelas regras do leilão
+     * não afeta os demais (as validações ocorrem antes de qualquer escrita).
+     *
+     * @return O resultado de cada lance, na mesma ordem.
+     * @throws ResourceNotFoundException Se o Frete não existir (grupo inteiro).
+     * @throws InvalidDataException      Se o bloqueio do leilão não for obtido
+     *                                   (LEILAO_OCUPADO, grupo inteiro).
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<ResultadoLance> criarLancesDoFrete(Long freteId, List<LanceRequest> requests) {
+        return gerenciadorBloqueios.executar(freteId, () -> {
+            long geracao = gerenciadorBloqueios.geracao(freteId);
+
+            // Frete inexistente rejeita o grupo antes de abrir a transação de escrita.
+            livroOfertasService.obterLivro(freteId, geracao);
+
+            List<ResultadoLance> resultados = transactionTemplate.execute(status -> {
+                List<ResultadoLance> processados = new ArrayList<>(requests.size());
+                for (LanceRequest request : requests) {
+                    processados.add(processarLanceDoGrupo(freteId, geracao, request));
+                }
+                return processados;
+            });
+
+            if (resultados.stream().anyMatch(ResultadoLance::isAceito)) {
+                livroOfertasService.atualizarGeracao(freteId, gerenciadorBloqueios.avancarGeracao(freteId));
+            }
+            return resultados;
+        });
+    }
 
-        Transportador transportador = transportadorRepository.findById(request.transportadorId())
-                .orElseThrow(() -> new ResourceNotFoundException("Transportador não encontrado."));
+    private ResultadoLance processarLanceDoGrupo(Long freteId, long geracao, LanceRequest request) {
+        try {
+            if (request.transportadorId() == null) {
+                throw new InvalidDataException("O ID do Transportador é obrigatório.", CODIGO_LANCE_INVALIDO,
+                        "transportadorId");
+            }
+            if (request.valorLance() == null) {
+                throw new InvalidDataException("O valor do lance é obrigatório.", CODIGO_LANCE_INVALIDO,
+                        "valorLance");
+            }
+            ResultadoLance aceito = ResultadoLance.aceito(processarLance(freteId, geracao, request));
+            metricasLeilao.contarLance(MetricasLeilao.ORIGEM_LOTE, MetricasLeilao.RESULTADO_ACEITO, null);
+            return aceito;
+        } catch (InvalidDataException e) {
+            metricasLeilao.contarLance(MetricasLeilao.ORIGEM_LOTE, MetricasLeilao.RESULTADO_REJEITADO,
+                    e.getReasonCode());
+            return ResultadoLance.rejeitado(e.getReasonCode(), e.getField(), e.getMessage());
+        } catch (ResourceNotFoundException e) {
+            metricasLeilao.contarLance(MetricasLeilao.ORIGEM_LOTE, MetricasLeilao.RESULTADO_REJEITADO,
+                    CODIGO_NAO_ENCONTRADO);
+            // Único recurso consultado por lance: o transportador.
+            return ResultadoLance.rejeitado(CODIGO_NAO_ENCONTRADO, "transportadorId", e.getMessage());
+        }
+    }
+
+    private LanceResponse processarLance(Long freteId, long geracao, LanceRequest request) {
 
-        // Busca o lance anterior do transportador neste frete
-        Optional<Lance> optionalLanceExistente = lanceRepository
-                .findByFreteFreteIdAndTransportadorPessoaId(freteId, request.transportadorId());
+        // Livro de ofertas do leilão (carregado do banco apenas no primeiro acesso)
+        LivroOfertasLeilao livro = livroOfertasService.obterLivro(freteId, geracao);
+        LocalDateTime agora = LocalDateTime.now();
 
-        Lance lanceSalvo;
+        // Validações de Pré-requisito
+        livro.validarStatusParaLance(agora);
 
-        if (optionalLanceExistente.isPresent()) {
+        // Lance anterior do transportador neste frete (em memória)
+        OfertaTransportador ofertaAnterior = livro.ofertaDe(request.transportadorId());
+
+        OfertaTransportador ofertaSalva;
+
+        if (ofertaAnterior != null) {
             // Se já tem lance: verifica se o transportador foi superado e se o novo lance é
             // válido (atualização).
-            lanceSalvo = atualizarLanceExistente(frete, optionalLanceExistente.get(), request.valorLance());
+            ofertaSalva = atualizarLanceExistente(livro, ofertaAnterior, request.valorLance(), agora);
         } else {
             // Se for o primeiro lance do transportador: valida e cria.
-            lanceSalvo = criarPrimeiroLance(frete, transportador, request.valorLance());
+            ofertaSalva = criarPrimeiroLance(livro, request.transportadorId(), request.valorLance(), agora);
         }
 
-        return lanceMapper.toResponse(lanceSalvo);
-    }
+        registrarEvento(freteId, ofertaSalva, ofertaAnterior, OrigemLance.MANUAL);
 
-    // --- LÓGICA DE CRIAÇÃO E RE-BIDDING ---
+        // Write-through: o livro só é atualizado após a escrita no banco.
+        OfertaTransportador melhorAnterior = livro.getMelhorOferta();
+        int totalAnterior = livro.getTotalOfertas();
+        livro.registrar(ofertaSalva);
+        livroOfertasService.invalidarSeRollback(freteId);
 
-    @SuppressWarnings("null")
-    private Lance criarPrimeiroLance(Frete frete, Transportador transportador, BigDecimal valorProposto) {
+        // Lances automáticos cobrem o novo lance (disputa resolvida em memória).
+        aplicarLancesAutomaticos(livro, agora);
 
-        // Valida o valor proposto contra o melhor lance atual (se houver).
-        // Para o primeiro lance, o 'lanceAnterior' é nulo.
-        validarValorDoLance(frete, null, valorProposto);
+        publicarAlteracao(livro, melhorAnterior, totalAnterior);
 
-        Lance novoLance = Lance.builder()
-                .frete(frete)
-                .transportador(transportador)
-                .valorLance(valorProposto)
-                .dataLance(LocalDateTime.now())
-                .vencedor(false)
-                .build();
+        return lanceMapper.toResponse(freteId, ofertaSalva);
+    }
+
+    /**
+     * Atualiza o modelo de leitura e notifica os assinantes se o melhor lance ou
+     * a quantidade de lances mudou.
+     */
+    private void publicarAlteracao(LivroOfertasLeilao livro, OfertaTransportador melhorAnterior,
+            int totalAnterior) {
+        boolean melhorMudou = !Objects.equals(melhorAnterior, livro.getMelhorOferta());
+
+        // Modelo de leitura (leilao_estado) na mesma transação do lance; só muda
+        // (e muda de versão) se o melhor lance ou a quantidade de lances mudou.
+        if (melhorMudou || totalAnterior != livro.getTotalOfertas()) {
+            leilaoEstadoService.registrarLance(livro);
+        }
 
-        return lanceRepository.save(novoLance);
+        // Assinantes do stream (SSE) recebem o novo melhor lance após o commit.
+        if (melhorMudou) {
+            barramentoEventos.publicarAposCommit(EventoLeilao.de(TipoEventoLeilao.MELHOR_LANCE, livro));
+        }
     }
 
-    private Lance atualizarLanceExistente(Frete frete, Lance lanceExistente, BigDecimal novoValorProposto) {
+    // --- LANCES AUTOMÁTICOS (PROXY BIDDING) ---
 
-        // 1. REGRAS DE VALIDAÇÃO UNIFICADAS
-        // O método agora recebe o lance anterior do próprio transportador para aplicar
-        // todas as regras.
-        validarValorDoLance(frete, lanceExistente, novoValorProposto);
+    /**
+     * Registra (ou altera) o lance automático de um transportador: o menor valor
+     * que ele aceita receber. Se já puder superar o melhor lance, o contra-lance
+     * é gravado imediatamente.
+     *
+     * @throws InvalidDataException      Se o leilão não aceitar lances ou o valor
+     *                                   mínimo for inferior ao piso ANTT.
+     * @throws ResourceNotFoundException Se o Frete ou o Transportador não
+     *                                   existirem.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public LanceAutomaticoResponse registrarLanceAutomatico(Long freteId, LanceAutomaticoRequest request) {
+        return gerenciadorBloqueios.executar(freteId, () -> {
+            long geracao = gerenciadorBloqueios.geracao(freteId);
 
-        // 4. ATUALIZAÇÃO
-        lanceExistente.setValorLance(novoValorProposto);
-        lanceExistente.setDataLance(LocalDateTime.now());
+            LanceAutomaticoResponse response = transactionTemplate
+                    .execute(status -> processarLanceAutomatico(freteId, geracao, request));
 
-        return lanceRepository.save(lanceExistente);
+            livroOfertasService.atualizarGeracao(freteId, gerenciadorBloqueios.avancarGeracao(freteId));
+            return response;
+        });
     }
 
-    // --- MÉTODOS AUXILIARES DE VALIDAÇÃO ---
+    /**
+     * Cancela o lance automático do transportador. Os lances já gravados em seu
+     * nome permanecem.
+     *
+     * @throws ResourceNotFoundException Se não houver lance automático ativo.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void cancelarLanceAutomatico(Long freteId, Long transportadorId) {
+        gerenciadorBloqueios.executar(freteId, () -> {
+            transactionTemplate.executeWithoutResult(status -> {
+                LanceAutomatico automatico = lanceAutomaticoRepository
+                        .findByFreteFreteIdAndTransportadorPessoaId(freteId, transportadorId)
+                        .filter(LanceAutomatico::isAtivo)
+                        .orElseThrow(() -> new ResourceNotFoundException("Lance automático ativo não encontrado para "
+                                + "o Transportador " + transportadorId + " no Frete " + freteId));
+                automatico.setAtivo(false);
+                lanceAutomaticoRepository.save(automatico);
+                // O livro é recarregado no próximo acesso, já sem o lance automático.
+                livroOfertasService.invalidar(freteId);
+            });
+            livroOfertasService.atualizarGeracao(freteId, gerenciadorBloqueios.avancarGeracao(freteId));
+            return null;
+        });
+    }
 
-    private void validarStatusFreteParaLance(Frete frete) {
-        // Validação de Status
-        if (frete.getStatusLeilao() == null || !frete.getStatusLeilao().getNomeStatus().equals("AGUARDANDO_LANCES")) {
-            // CORREÇÃO: Usando construtor com 2 Strings
-            throw new InvalidDataException(
-                    "Não é permitido enviar lances. O frete está no status: " + frete.getStatusLeilao().getNomeStatus(),
-                    CODIGO_ERRO_VALIDACAO);
+    @SuppressWarnings("null")
+    private LanceAutomaticoResponse processarLanceAutomatico(Long freteId, long geracao,
+            LanceAutomaticoRequest request) {
+        LivroOfertasLeilao livro = livroOfertasService.obterLivro(freteId, geracao);
+        LocalDateTime agora = LocalDateTime.now();
+
+        livro.validarStatusParaLance(agora);
+
+        BigDecimal piso = livro.getAnttPisoMinimo();
+        if (piso != null && request.valorMinimo().compareTo(piso) < 0) {
+            throw new InvalidDataException("O valor mínimo (R$ " + request.valorMinimo().toPlainString()
+                    + ") não pode ser inferior ao Piso Mínimo ANTT do frete (R$ " + piso.toPlainString() + ").",
+                    CODIGO_ABAIXO_PISO_ANTT, "valorMinimo");
         }
 
-        // Validação de Tempo
-        if (frete.getDataExpiracaoNegociacao() != null
-                && frete.getDataExpiracaoNegociacao().isBefore(LocalDateTime.now())) {
-            // CORREÇÃO: Usando construtor com 2 Strings
-            throw new InvalidDataException("O período de negociação para este Frete expirou.", CODIGO_ERRO_VALIDACAO);
-        }
+        LanceAutomatico automatico = lanceAutomaticoRepository
+                .findByFreteFreteIdAndTransportadorPessoaId(freteId, request.transportadorId())
+                .orElseGet(() -> {
+                    if (!transportadorRepository.existsById(request.transportadorId())) {
+                        throw new ResourceNotFoundException(
+                                "Transportador não encontrado com ID: " + request.transportadorId());
+                    }
+                    return LanceAutomatico.builder()
+                            .frete(freteRepository.getReferenceById(freteId))
+                            .transportador(transportadorRepository.getReferenceById(request.transportadorId()))
+                            .build();
+                });
+        automatico.setValorMinimo(request.valorMinimo());
+        automatico.setAtivo(true);
+        automatico.setDataRegistro(agora);
+        LanceAutomatico salvo = lanceAutomaticoRepository.save(automatico);
+
+        OfertaTransportador melhorAnterior = livro.getMelhorOferta();
+        int totalAnterior = livro.getTotalOfertas();
+        livro.registrarLanceAutomatico(new LanceAutomaticoAtivo(salvo.getId(), request.transportadorId(),
+                salvo.getValorMinimo()));
+        livroOfertasService.invalidarSeRollback(freteId);
+
+        aplicarLancesAutomaticos(livro, agora);
+        publicarAlteracao(livro, melhorAnterior, totalAnterior);
+
+        OfertaTransportador oferta = livro.ofertaDe(request.transportadorId());
+        OfertaTransportador melhor = livro.getMelhorOferta();
+        return new LanceAutomaticoResponse(salvo.getId(), freteId, request.transportadorId(),
+                salvo.getValorMinimo(), salvo.isAtivo(), oferta != null ? oferta.valorLance() : null,
+                melhor != null && melhor.transportadorId().equals(request.transportadorId()));
     }
 
-    @SuppressWarnings("null")
-    private void validarTransportadorExistente(Long transportadorId) {
-        // ResourceNotFoundException, assumimos que o construtor de 1 String é válido
-        if (!transportadorRepository.existsById(transportadorId)) {
-            throw new ResourceNotFoundException("Transportador não encontrado com ID: " + transportadorId);
+    /**
+     * Grava os contra-lances dos lances automáticos. A disputa é resolvida pelo
+     * livro em um único passo: no máximo dois lances são gravados (o segundo
+     * colocado e o vencedor), qualquer que seja o número de lances automáticos.
+     */
+    private void aplicarLancesAutomaticos(LivroOfertasLeilao livro, LocalDateTime agora) {
+        for (ContraLance contraLance : livro.resolverLancesAutomaticos()) {
+            OfertaTransportador anterior = livro.ofertaDe(contraLance.transportadorId());
+            OfertaTransportador gravada;
+            if (anterior != null) {
+                lanceRepository.atualizarValorLance(anterior.lanceId(), contraLance.valorLance(), agora);
+                gravada = new OfertaTransportador(anterior.lanceId(), anterior.transportadorId(),
+                        anterior.nomeTransportador(), contraLance.valorLance(), agora);
+            } else {
+                gravada = inserirLance(livro.getFreteId(), contraLance.transportadorId(), contraLance.valorLance(),
+                        agora);
+            }
+            registrarEvento(livro.getFreteId(), gravada, anterior, OrigemLance.AUTOMATICO);
+            livro.registrar(gravada);
+            metricasLeilao.contarLance(MetricasLeilao.ORIGEM_AUTOMATICO, MetricasLeilao.RESULTADO_ACEITO, null);
         }
     }
 
     /**
-     * Unifica todas as regras de validação de valor para um novo lance ou um
-     * re-bid.
+     * Histórico append-only (lance_eventos): inserido em lote no commit.
      */
-    private void validarValorDoLance(Frete frete, Lance lanceAnterior, BigDecimal novoValor) {
-        // Busca o melhor lance atual no leilão para comparar.
-        Optional<Lance> melhorLanceAtualOpt = lanceRepository
-                .findTopByFrete_OrdemServico_IdOrderByValorLanceAsc(frete.getOrdemServicoId());
-
-        // Regra 1: O valor do lance deve ser positivo.
-        if (novoValor.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new InvalidDataException("O valor do lance deve ser positivo.", CODIGO_ERRO_VALIDACAO);
-        }
+    private void registrarEvento(Long freteId, OfertaTransportador gravada, OfertaTransportador anterior,
+            OrigemLance origem) {
+        registroEventos.registrar(new EventoLance(freteId, gravada.lanceId(), gravada.transportadorId(),
+                gravada.valorLance(), anterior != null ? anterior.valorLance() : null, origem,
+                gravada.dataLance()));
+    }
 
-        // Regra 2: Se o transportador já tem um lance, o novo deve ser menor.
-        if (lanceAnterior != null && novoValor.compareTo(lanceAnterior.getValorLance()) >= 0) {
-            throw new InvalidDataException(
-                    "O novo lance (R$ " + novoValor.toPlainString()
-                            + ") deve ser estritamente menor que o seu lance anterior (R$ "
-                            + lanceAnterior.getValorLance().toPlainString() + ").",
-                    CODIGO_ERRO_VALIDACAO);
-        }
+    // --- LÓGICA DE CRIAÇÃO E RE-BIDDING ---
 
-        if (melhorLanceAtualOpt.isPresent()) {
-            Lance melhorLanceAtual = melhorLanceAtualOpt.get();
+    @SuppressWarnings("null")
+    private OfertaTransportador criarPrimeiroLance(LivroOfertasLeilao livro, Long transportadorId,
+            BigDecimal valorProposto, LocalDateTime agora) {
 
-            // Regra 3: O transportador não pode dar um novo lance se já possui o melhor.
-            if (lanceAnterior != null && melhorLanceAtual.getId().equals(lanceAnterior.getId())) {
-                throw new InvalidDataException(
-                        "Você já possui o melhor lance (R$ " + melhorLanceAtual.getValorLance().toPlainString()
-                                + ") neste leilão. Aguarde a competição para poder superá-lo.",
-                        CODIGO_ERRO_VALIDACAO);
-            }
+        // Uma única consulta valida a existência do transportador e traz o nome.
+        String nomeTransportador = transportadorRepository.buscarNomePorId(transportadorId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Transportador não encontrado com ID: " + transportadorId));
 
-            // Regra 4: O novo lance deve ser competitivamente menor que o melhor lance
-            // atual.
-            BigDecimal valorMaximoPermitido = melhorLanceAtual.getValorLance().subtract(DECREMENTO_MINIMO);
-            if (novoValor.compareTo(valorMaximoPermitido) > 0) {
-                throw new InvalidDataException(
-                        "O lance deve ser de pelo menos R$ " + DECREMENTO_MINIMO.toPlainString()
-                                + " inferior ao melhor lance atual (R$ "
-                                + melhorLanceAtual.getValorLance().toPlainString()
-                                + "). Valor máximo permitido: R$ " + valorMaximoPermitido.toPlainString(),
-                        CODIGO_ERRO_VALIDACAO);
-            }
-        } else {
-            // Se não há melhor lance, este é o primeiro lance do leilão.
-            // A validação de valor positivo (Regra 1) já é suficiente.
-            if (lanceAnterior != null) {
-                // Cenário de erro de consistência de dados.
-                throw new IllegalStateException("Erro de lógica do leilão: Lance anterior encontrado, mas nenhum melhor lance geral existe.");
-            }
-        }
+        // Valida o valor proposto contra o melhor lance atual (se houver).
+        // Para o primeiro lance, o 'lanceAnterior' é nulo.
+        livro.validarValorDoLance(null, valorProposto);
+
+        return gravarNovoLance(livro.getFreteId(), transportadorId, nomeTransportador, valorProposto, agora);
+    }
+
+    /**
+     * Primeiro lance gravado em nome de um lance automático (sem validação: o
+     * valor já foi resolvido pelo livro).
+     */
+    private OfertaTransportador inserirLance(Long freteId, Long transportadorId, BigDecimal valor,
+            LocalDateTime agora) {
+        String nomeTransportador = transportadorRepository.buscarNomePorId(transportadorId)
+                .orElseThrow(() -> new IllegalStateException(
+                        "Transportador do lance automático não encontrado: " + transportadorId));
+        return gravarNovoLance(freteId, transportadorId, nomeTransportador, valor, agora);
+    }
+
+    @SuppressWarnings("null")
+    private OfertaTransportador gravarNovoLance(Long freteId, Long transportadorId, String nomeTransportador,
+            BigDecimal valor, LocalDateTime agora) {
+        // Referências (proxies) evitam SELECTs extras: apenas o INSERT é executado.
+        Lance novoLance = Lance.builder()
+                .frete(freteRepository.getReferenceById(freteId))
+                .transportador(transportadorRepository.getReferenceById(transportadorId))
+                .valorLance(valor)
+                .dataLance(agora)
+                .vencedor(false)
+                .build();
+
+        Lance lanceSalvo = lanceRepository.save(novoLance);
+
+        return new OfertaTransportador(lanceSalvo.getId(), transportadorId, nomeTransportador, valor, agora);
     }
 
-}
\ No newline at end of file
+    private OfertaTransportador atualizarLanceExistente(LivroOfertasLeilao livro, OfertaTransportador ofertaAnterior,
+            BigDecimal novoValorProposto, LocalDateTime agora) {
+
+        // 1. REGRAS DE VALIDAÇÃO UNIFICADAS (em memória)
+        livro.validarValorDoLance(ofertaAnterior, novoValorProposto);
+
+        // 2. ATUALIZAÇÃO (UPDATE direto, sem carregar a entidade)
+        lanceRepository.atualizarValorLance(ofertaAnterior.lanceId(), novoValorProposto, agora);
+
+        return new OfertaTransportador(ofertaAnterior.lanceId(), ofertaAnterior.transportadorId(),
+                ofertaAnterior.nomeTransportador(), novoValorProposto, agora);
+    }
+}
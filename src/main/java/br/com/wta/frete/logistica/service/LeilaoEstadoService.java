@@ -0,0 +1,158 @@
+// Caminho: src/main/java/br/com/wta/frete/logistica/service/LeilaoEstadoService.java
+package br.com.wta.frete.logistica.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.wta.frete.logistica.controller.dto.LeilaoEstadoResponse;
+import br.com.wta.frete.logistica.entity.Frete;
+import br.com.wta.frete.logistica.entity.LeilaoEstado;
+import br.com.wta.frete.logistica.repository.LeilaoEstadoRepository;
+import br.com.wta.frete.logistica.service.LivroOfertasLeilao.OfertaTransportador;
+import br.com.wta.frete.shared.exception.ResourceNotFoundException;
+
+/**
+ * Mantém o modelo de leitura logistica.leilao_estado: uma linha por Frete com o
+ * melhor lance, o líder, a quantidade de lances, o status e o prazo do leilão.
+ *
+ * As escritas participam obrigatoriamente da transação de quem altera o leilão
+ * (criação do Frete, lance, encerramento): o modelo nunca fica à frente nem
+ * atrás do estado confirmado. Cada alteração incrementa a versão, usada como
+ * ETag na consulta. Uma linha recriada (ausente no lance ou no encerramento)
+ * recomeça do instante atual em ms, e não de 1: a versão nunca repete um valor
+ * já entregue como ETag, e um If-None-Match antigo não recebe 304.
+ */
+@Service
+public class LeilaoEstadoService {
+
+    private static final Logger log = LoggerFactory.getLogger(LeilaoEstadoService.class);
+
+    private final LeilaoEstadoRepository leilaoEstadoRepository;
+
+    public LeilaoEstadoService(LeilaoEstadoRepository leilaoEstadoRepository) {
+        this.leilaoEstadoRepository = leilaoEstadoRepository;
+    }
+
+    // --- CONSULTA ---
+
+    /**
+     * Estado atual do leilão (uma leitura por chave primária).
+     *
+     * @throws ResourceNotFoundException Se o Frete não existir.
+     */
+    @Transactional(readOnly = true)
+    public LeilaoEstadoResponse buscar(Long freteId) {
+        LeilaoEstado estado = leilaoEstadoRepository.findById(freteId)
+                .orElseThrow(() -> new ResourceNotFoundException("Frete não encontrado com ID: " + freteId));
+        return toResponse(estado, LocalDateTime.now());
+    }
+
+    // --- MANUTENÇÃO (na transação do chamador) ---
+
+    /**
+     * Registra o leilão recém-aberto de um Frete.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarAbertura(Frete frete) {
+        leilaoEstadoRepository.save(LeilaoEstado.builder()
+                .freteId(frete.getFreteId())
+                .nomeStatus(frete.getStatusLeilao().getNomeStatus())
+                .totalLances(0)
+                .dataExpiracaoNegociacao(frete.getDataExpiracaoNegociacao())
+                .versao(1)
+                .atualizadoEm(LocalDateTime.now())
+                .build());
+    }
+
+    /**
+     * Registra o melhor lance e a quantidade de lances após um lance gravado
+     * (livro de ofertas já atualizado).
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarLance(LivroOfertasLeilao livro) {
+        OfertaTransportador melhor = livro.getMelhorOferta();
+        LocalDateTime agora = LocalDateTime.now();
+
+        int atualizados = leilaoEstadoRepository.atualizarLances(livro.getFreteId(),
+                melhor != null ? melhor.valorLance() : null,
+                melhor != null ? melhor.transportadorId() : null,
+                livro.getTotalOfertas(), agora);
+
+        if (atualizados == 0) {
+            // Linha ausente (ex: removida manualmente): recria a partir do livro.
+            log.warn("Estado do leilão do Frete #{} não encontrado. Recriando a partir do livro de ofertas.",
+                    livro.getFreteId());
+            leilaoEstadoRepository.save(LeilaoEstado.builder()
+                    .freteId(livro.getFreteId())
+                    .nomeStatus(livro.getNomeStatus())
+                    .valorMelhorLance(melhor != null ? melhor.valorLance() : null)
+                    .transportadorLiderId(melhor != null ? melhor.transportadorId() : null)
+                    .totalLances(livro.getTotalOfertas())
+                    .dataExpiracaoNegociacao(livro.getDataExpiracaoNegociacao())
+                    .versao(versaoRecriada())
+                    .atualizadoEm(agora)
+                    .build());
+        }
+    }
+
+    /**
+     * Registra o encerramento do leilão.
+     *
+     * @param valorFinal              Valor final aceito (nulo sem vencedor).
+     * @param transportadorVencedorId Vencedor (nulo sem vencedor).
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarEncerramento(Frete frete, BigDecimal valorFinal, Long transportadorVencedorId) {
+        int atualizados = leilaoEstadoRepository.atualizarEncerramento(frete.getFreteId(),
+                frete.getStatusLeilao().getNomeStatus(), valorFinal, transportadorVencedorId, LocalDateTime.now());
+
+        if (atualizados == 0) {
+            log.warn("Estado do leilão do Frete #{} não encontrado no encerramento. Recriando.", frete.getFreteId());
+            leilaoEstadoRepository.save(LeilaoEstado.builder()
+                    .freteId(frete.getFreteId())
+                    .nomeStatus(frete.getStatusLeilao().getNomeStatus())
+                    .valorMelhorLance(valorFinal)
+                    .transportadorLiderId(transportadorVencedorId)
+                    .dataExpiracaoNegociacao(frete.getDataExpiracaoNegociacao())
+                    .versao(versaoRecriada())
+                    .atualizadoEm(LocalDateTime.now())
+                    .build());
+        }
+    }
+
+    /**
+     * Versão inicial de uma linha recriada: maior que qualquer versão anterior
+     * da linha removida, que partiu de 1 (ou de uma recriação mais antiga) e
+     * avança uma unidade por alteração.
+     */
+    static long versaoRecriada() {
+        return System.currentTimeMillis();
+    }
+
+    // --- CONVERSÃO ---
+
+    static LeilaoEstadoResponse toResponse(LeilaoEstado estado, LocalDateTime agora) {
+        LocalDateTime prazo = estado.getDataExpiracaoNegociacao();
+        long segundosRestantes = prazo == null || !LivroOfertasLeilao.STATUS_ABERTO.equals(estado.getNomeStatus())
+                ? 0
+                : Math.max(0, Duration.between(agora, prazo).toSeconds());
+
+        return new LeilaoEstadoResponse(
+                estado.getFreteId(),
+                estado.getNomeStatus(),
+                estado.getValorMelhorLance(),
+                estado.getTransportadorLiderId(),
+                estado.getTotalLances(),
+                prazo,
+                segundosRestantes,
+                estado.getVersao(),
+                estado.getAtualizadoEm());
+    }
+}
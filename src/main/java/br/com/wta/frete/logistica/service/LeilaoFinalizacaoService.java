@@ -5,10 +5,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Lazy; // Importação correta do Spring
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import br.com.wta.frete.logistica.entity.Frete;
 import br.com.wta.frete.logistica.entity.Lance;
 import br.com.wta.frete.logistica.repository.LanceRepository;
 import br.com.wta.frete.shared.exception.ResourceNotFoundException;
@@ -19,10 +17,10 @@ import lombok.RequiredArgsConstructor;
  * confirmação da Ordem de Serviço (OS), quebrando a dependência circular
  * entre FreteService e OrdemServicoService.
  *
- * Utiliza @Transactional(propagation = Propagation.REQUIRES_NEW) para garantir
- * que a confirmação da OS seja atômica e independente da transação de
- * encerramento
- * do Frete.
+ * Acionado pelo ManipuladorLeilaoEncerrado, a partir do evento
+ * LEILAO_ENCERRADO gravado no outbox pela transação de encerramento do Frete:
+ * a confirmação da OS só ocorre se o encerramento for confirmado, e é repetida
+ * pelo relay em caso de falha.
  */
 @Service
 @RequiredArgsConstructor
@@ -39,33 +37,38 @@ public class LeilaoFinalizacaoService {
 
     /**
      * Finaliza o leilão com um lance vencedor e confirma a Ordem de Serviço (OS).
+     * Participa da transação do relay, que também registra o consumo do evento.
      *
-     * @param frete         A entidade Frete (já atualizada com status e valor
-     *                      aceito).
-     * @param lanceVencedor O Lance vencedor.
+     * @param ordemServicoId  ID da OS do Frete encerrado.
+     * @param lanceVencedorId ID do Lance vencedor.
      */
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void finalizarLeilaoEConfirmarOS(Frete frete, Lance lanceVencedor) {
+    @Transactional
+    public void finalizarLeilaoEConfirmarOS(Long ordemServicoId, Long lanceVencedorId) {
 
         try {
             // 1. Atualiza o Lance como vencedor
+            @SuppressWarnings("null")
+            Lance lanceVencedor = lanceRepository.findById(lanceVencedorId)
+                    .orElseThrow(() -> new ResourceNotFoundException(
+                            "Lance vencedor não encontrado com ID: " + lanceVencedorId));
             lanceVencedor.setVencedor(true);
             lanceRepository.save(lanceVencedor);
 
             // 2. Confirma a Ordem de Serviço (OS)
             ordemServicoService.confirmarOsComLanceVencedor(
-                    frete.getOrdemServico().getId(), // ID da OS
+                    ordemServicoId, // ID da OS
                     lanceVencedor); // O Service usa o Lance para buscar o Transportador e o Valor
 
             log.info("OS #{} confirmada com sucesso pelo lance vencedor (R$ {}).",
-                    frete.getOrdemServico().getId(),
+                    ordemServicoId,
                     lanceVencedor.getValorLance());
 
         } catch (ResourceNotFoundException e) {
             log.error("Erro ao confirmar OS #{} após leilão. Detalhe: {}",
-                    frete.getOrdemServico().getId(), e.getMessage());
-            // A falha aqui não reverá o status ENCERRADO_COM_VENCEDOR no Frete.
-            throw new RuntimeException("Falha ao confirmar OS #" + frete.getOrdemServico().getId(), e);
+                    ordemServicoId, e.getMessage());
+            // A falha aqui não reverte o status ENCERRADO_COM_VENCEDOR no Frete: o
+            // evento fica em FALHA no outbox para análise.
+            throw e;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,342 @@
+// Caminho: src/main/java/br/com/wta/frete/logistica/service/LivroOfertasLeilao.java
+package br.com.wta.frete.logistica.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import br.com.wta.frete.shared.exception.InvalidDataException;
+
+/**
+ * Livro de ofertas em memória de UM leilão (Frete) aberto.
+ * Mantém o melhor lance, o lance atual de cada transportador e a data de
+ * expiração, permitindo validar as regras de lance sem consultar o banco.
+ *
+ * Também mantém os lances automáticos (proxy bidding) ativos do leilão e
+ * resolve, em um único passo, a disputa entre eles
+ * ({@link #resolverLancesAutomaticos}).
+ *
+ * Os métodos são sincronizados na própria instância: o livro é compartilhado
+ * entre todas as requisições de lance do mesmo Frete.
+ */
+public final class LivroOfertasLeilao {
+
+    // Diferença mínima exigida em relação ao melhor lance atual (Regra 4).
+    public static final BigDecimal DECREMENTO_MINIMO = new BigDecimal("5.00");
+    // Único status em que o leilão aceita lances.
+    public static final String STATUS_ABERTO = "AGUARDANDO_LANCES";
+    // Código de erro genérico para a exceção de dados inválidos.
+    public static final String CODIGO_ERRO_VALIDACAO = "VALIDACAO_LANCE";
+
+    /**
+     * Lance vigente de um transportador neste leilão (imutável).
+     */
+    public record OfertaTransportador(
+            Long lanceId,
+            Long transportadorId,
+            String nomeTransportador,
+            BigDecimal valorLance,
+            LocalDateTime dataLance) {
+    }
+
+    /**
+     * Lance automático ativo de um transportador: o menor valor que ele aceita.
+     */
+    public record LanceAutomaticoAtivo(
+            Long lanceAutomaticoId,
+            Long transportadorId,
+            BigDecimal valorMinimo) {
+    }
+
+    /**
+     * Lance que o leilão deve gravar em nome de um lance automático.
+     */
+    public record ContraLance(Long transportadorId, BigDecimal valorLance) {
+    }
+
+    private final Long freteId;
+    private final Long ordemServicoId;
+    private final String nomeStatus;
+    private final LocalDateTime dataExpiracaoNegociacao;
+    // Piso Mínimo ANTT do Frete: nenhum lance automático desce abaixo dele.
+    private final BigDecimal anttPisoMinimo;
+
+    // Lance atual de cada transportador (chave: transportadorId).
+    private final Map<Long, OfertaTransportador> ofertasPorTransportador = new HashMap<>();
+    private OfertaTransportador melhorOferta;
+    // Lances automáticos ativos (chave: transportadorId), em ordem de registro.
+    private final Map<Long, LanceAutomaticoAtivo> lancesAutomaticos = new LinkedHashMap<>();
+
+    // Geração do GerenciadorBloqueios em que o livro foi carregado/atualizado.
+    private volatile long geracao;
+
+    public LivroOfertasLeilao(Long freteId, Long ordemServicoId, String nomeStatus,
+            LocalDateTime dataExpiracaoNegociacao) {
+        this(freteId, ordemServicoId, nomeStatus, dataExpiracaoNegociacao, null);
+    }
+
+    public LivroOfertasLeilao(Long freteId, Long ordemServicoId, String nomeStatus,
+            LocalDateTime dataExpiracaoNegociacao, BigDecimal anttPisoMinimo) {
+        this.freteId = freteId;
+        this.ordemServicoId = ordemServicoId;
+        this.nomeStatus = nomeStatus;
+        this.dataExpiracaoNegociacao = dataExpiracaoNegociacao;
+        this.anttPisoMinimo = anttPisoMinimo;
+    }
+
+    // --- CONSULTAS ---
+
+    public Long getFreteId() {
+        return freteId;
+    }
+
+    public Long getOrdemServicoId() {
+        return ordemServicoId;
+    }
+
+    public String getNomeStatus() {
+        return nomeStatus;
+    }
+
+    public LocalDateTime getDataExpiracaoNegociacao() {
+        return dataExpiracaoNegociacao;
+    }
+
+    public BigDecimal getAnttPisoMinimo() {
+        return anttPisoMinimo;
+    }
+
+    public long getGeracao() {
+        return geracao;
+    }
+
+    public void setGeracao(long geracao) {
+        this.geracao = geracao;
+    }
+
+    public synchronized OfertaTransportador getMelhorOferta() {
+        return melhorOferta;
+    }
+
+    public synchronized OfertaTransportador ofertaDe(Long transportadorId) {
+        return ofertasPorTransportador.get(transportadorId);
+    }
+
+    public synchronized int getTotalOfertas() {
+        return ofertasPorTransportador.size();
+    }
+
+    public synchronized LanceAutomaticoAtivo lanceAutomaticoDe(Long transportadorId) {
+        return lancesAutomaticos.get(transportadorId);
+    }
+
+    // --- VALIDAÇÕES (mesmas regras do LanceService, agora em memória) ---
+
+    /**
+     * Valida se o leilão ainda aceita lances (status e prazo).
+     */
+    public void validarStatusParaLance(LocalDateTime agora) {
+        if (!STATUS_ABERTO.equals(nomeStatus)) {
+            throw new InvalidDataException(
+                    "Não é permitido enviar lances. O frete está no status: " + nomeStatus,
+                    CODIGO_ERRO_VALIDACAO);
+        }
+
+        if (dataExpiracaoNegociacao != null && dataExpiracaoNegociacao.isBefore(agora)) {
+            throw new InvalidDataException("O período de negociação para este Frete expirou.", CODIGO_ERRO_VALIDACAO);
+        }
+    }
+
+    /**
+     * Aplica as Regras 1 a 4 de valor para um novo lance ou um re-bid.
+     *
+     * @param lanceAnterior Lance atual do próprio transportador (null no primeiro
+     *                      lance).
+     * @param novoValor     Valor proposto.
+     */
+    public synchronized void validarValorDoLance(OfertaTransportador lanceAnterior, BigDecimal novoValor) {
+
+        // Regra 1: O valor do lance deve ser positivo.
+        if (novoValor.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new InvalidDataException("O valor do lance deve ser positivo.", CODIGO_ERRO_VALIDACAO);
+        }
+
+        // Regra 2: Se o transportador já tem um lance, o novo deve ser menor.
+        if (lanceAnterior != null && novoValor.compareTo(lanceAnterior.valorLance()) >= 0) {
+            throw new InvalidDataException(
+                    "O novo lance (R$ " + novoValor.toPlainString()
+                            + ") deve ser estritamente menor que o seu lance anterior (R$ "
+                            + lanceAnterior.valorLance().toPlainString() + ").",
+                    CODIGO_ERRO_VALIDACAO);
+        }
+
+        if (melhorOferta == null) {
+            // Primeiro lance do leilão: a Regra 1 já é suficiente.
+            if (lanceAnterior != null) {
+                throw new IllegalStateException(
+                        "Erro de lógica do leilão: Lance anterior encontrado, mas nenhum melhor lance geral existe.");
+            }
+            return;
+        }
+
+        // Regra 3: O transportador não pode dar um novo lance se já possui o melhor.
+        if (lanceAnterior != null && melhorOferta.transportadorId().equals(lanceAnterior.transportadorId())) {
+            throw new InvalidDataException(
+                    "Você já possui o melhor lance (R$ " + melhorOferta.valorLance().toPlainString()
+                            + ") neste leilão. Aguarde a competição para poder superá-lo.",
+                    CODIGO_ERRO_VALIDACAO);
+        }
+
+        // Regra 4: O novo lance deve ser competitivamente menor que o melhor lance.
+        BigDecimal valorMaximoPermitido = melhorOferta.valorLance().subtract(DECREMENTO_MINIMO);
+        if (novoValor.compareTo(valorMaximoPermitido) > 0) {
+            throw new InvalidDataException(
+                    "O lance deve ser de pelo menos R$ " + DECREMENTO_MINIMO.toPlainString()
+                            + " inferior ao melhor lance atual (R$ "
+                            + melhorOferta.valorLance().toPlainString()
+                            + "). Valor máximo permitido: R$ " + valorMaximoPermitido.toPlainString(),
+                    CODIGO_ERRO_VALIDACAO);
+        }
+    }
+
+    // --- ATUALIZAÇÃO ---
+
+    /**
+     * Registra (ou substitui) o lance de um transportador e recalcula o melhor
+     * lance. Deve ser chamado somente após a escrita no banco.
+     */
+    public synchronized void registrar(OfertaTransportador oferta) {
+        ofertasPorTransportador.put(oferta.transportadorId(), oferta);
+
+        if (melhorOferta == null || superaMelhorOferta(oferta)) {
+            melhorOferta = oferta;
+        } else if (melhorOferta.transportadorId().equals(oferta.transportadorId())) {
+            // O próprio líder alterou o lance: recalcula a partir de todos os lances.
+            recalcularMelhorOferta();
+        }
+    }
+
+    private boolean superaMelhorOferta(OfertaTransportador oferta) {
+        int comparacao = oferta.valorLance().compareTo(melhorOferta.valorLance());
+        // Empate (só ocorre com dados legados): vence o lance mais antigo (menor ID).
+        return comparacao < 0 || (comparacao == 0 && oferta.lanceId() < melhorOferta.lanceId());
+    }
+
+    private void recalcularMelhorOferta() {
+        melhorOferta = null;
+        for (OfertaTransportador oferta : ofertasPorTransportador.values()) {
+            if (melhorOferta == null || superaMelhorOferta(oferta)) {
+                melhorOferta = oferta;
+            }
+        }
+    }
+
+    // --- LANCES AUTOMÁTICOS ---
+
+    /**
+     * Registra (ou substitui) o lance automático de um transportador. Deve ser
+     * chamado somente após a escrita no banco.
+     */
+    public synchronized void registrarLanceAutomatico(LanceAutomaticoAtivo lanceAutomatico) {
+        lancesAutomaticos.put(lanceAutomatico.transportadorId(), lanceAutomatico);
+    }
+
+    public synchronized void removerLanceAutomatico(Long transportadorId) {
+        lancesAutomaticos.remove(transportadorId);
+    }
+
+    /**
+     * Resolve a disputa entre os lances automáticos em um único passo, sem
+     * simular o pingue-pongue de decrementos.
+     *
+     * Cada participante tem um alcance (o menor valor a que pode chegar): o líder
+     * fica no lance atual, ou desce até o próprio mínimo se tiver lance
+     * automático; os demais lances automáticos chegam ao seu mínimo (nunca abaixo
+     * do piso ANTT). Vence o menor alcance (empate: o líder, depois o lance
+     * automático mais antigo), com o menor lance que ainda fica
+     * {@link #DECREMENTO_MINIMO} abaixo do segundo colocado; o segundo colocado,
+     * se automático, fica exatamente um decremento acima do vencedor.
+     *
+     * O resultado é um ponto fixo: aplicados os contra-lances, nenhum lance
+     * automático consegue mais superar o líder.
+     *
+     * @return Os contra-lances a gravar, na ordem (o vencedor por último); vazio
+     *         se nenhum lance automático puder superar o melhor lance atual.
+     */
+    public synchronized List<ContraLance> resolverLancesAutomaticos() {
+        if (melhorOferta == null || lancesAutomaticos.isEmpty()) {
+            // Sem lance a cobrir: os lances automáticos apenas reagem a lances.
+            return List.of();
+        }
+
+        BigDecimal melhorValor = melhorOferta.valorLance();
+        Long liderId = melhorOferta.transportadorId();
+        BigDecimal limiteParaSuperar = melhorValor.subtract(DECREMENTO_MINIMO);
+
+        List<Participante> participantes = new ArrayList<>();
+        LanceAutomaticoAtivo automaticoLider = lancesAutomaticos.get(liderId);
+        participantes.add(new Participante(liderId,
+                automaticoLider != null ? melhorValor.min(valorMinimoEfetivo(automaticoLider)) : melhorValor,
+                Long.MIN_VALUE, automaticoLider != null));
+
+        for (LanceAutomaticoAtivo automatico : lancesAutomaticos.values()) {
+            if (automatico.transportadorId().equals(liderId)) {
+                continue;
+            }
+            BigDecimal alcance = valorMinimoEfetivo(automatico);
+            OfertaTransportador atual = ofertasPorTransportador.get(automatico.transportadorId());
+            if (atual != null) {
+                alcance = alcance.min(atual.valorLance());
+            }
+            if (alcance.compareTo(limiteParaSuperar) <= 0) {
+                participantes.add(new Participante(automatico.transportadorId(), alcance,
+                        automatico.lanceAutomaticoId(), true));
+            }
+        }
+
+        if (participantes.size() < 2) {
+            return List.of();
+        }
+
+        participantes.sort(Comparator.comparing(Participante::alcance).thenComparingLong(Participante::ordem));
+        Participante vencedor = participantes.get(0);
+        Participante segundo = participantes.get(1);
+
+        BigDecimal valorVencedor = vencedor.alcance().max(segundo.alcance().subtract(DECREMENTO_MINIMO))
+                .setScale(2, RoundingMode.HALF_UP);
+        BigDecimal valorSegundo = valorVencedor.add(DECREMENTO_MINIMO);
+
+        List<ContraLance> contraLances = new ArrayList<>(2);
+        if (segundo.automatico() && reduzLance(segundo.transportadorId(), valorSegundo)) {
+            contraLances.add(new ContraLance(segundo.transportadorId(), valorSegundo));
+        }
+        if (reduzLance(vencedor.transportadorId(), valorVencedor)) {
+            contraLances.add(new ContraLance(vencedor.transportadorId(), valorVencedor));
+        }
+        return contraLances;
+    }
+
+    /**
+     * Participante da disputa de lances automáticos.
+     *
+     * @param ordem Desempate: o líder primeiro, depois o lance automático mais
+     *              antigo.
+     */
+    private record Participante(Long transportadorId, BigDecimal alcance, long ordem, boolean automatico) {
+    }
+
+    private BigDecimal valorMinimoEfetivo(LanceAutomaticoAtivo automatico) {
+        return anttPisoMinimo != null ? automatico.valorMinimo().max(anttPisoMinimo) : automatico.valorMinimo();
+    }
+
+    private boolean reduzLance(Long transportadorId, BigDecimal valor) {
+        OfertaTransportador atual = ofertasPorTransportador.get(transportadorId);
+        return atual == null || valor.compareTo(atual.valorLance()) < 0;
+    }
+}
@@ -0,0 +1,190 @@
+// Caminho: src/main/java/br/com/wta/frete/logistica/service/LivroOfertasService.java
+package br.com.wta.frete.logistica.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.com.wta.frete.logistica.entity.Frete;
+import br.com.wta.frete.logistica.entity.Lance;
+import br.com.wta.frete.logistica.entity.LanceAutomatico;
+import br.com.wta.frete.logistica.repository.FreteRepository;
+import br.com.wta.frete.logistica.repository.LanceAutomaticoRepository;
+import br.com.wta.frete.logistica.repository.LanceRepository;
+import br.com.wta.frete.logistica.service.LivroOfertasLeilao.LanceAutomaticoAtivo;
+import br.com.wta.frete.logistica.service.LivroOfertasLeilao.OfertaTransportador;
+import br.com.wta.frete.shared.exception.ResourceNotFoundException;
+
+/**
+ * Mantém os livros de ofertas (order books) em memória dos leilões abertos,
+ * indexados por freteId.
+ *
+ * O livro é carregado do banco no primeiro acesso (warm-up) e, a partir daí,
+ * atualizado pelo LanceService a cada lance gravado (write-through). Leilões
+ * encerrados são removidos; leilões que não aceitam lances não são mantidos.
+ */
+@Service
+public class LivroOfertasService {
+
+    private static final Logger log = LoggerFactory.getLogger(LivroOfertasService.class);
+
+    private final Map<Long, LivroOfertasLeilao> livros = new ConcurrentHashMap<>();
+
+    private final FreteRepository freteRepository;
+    private final LanceRepository lanceRepository;
+    private final LanceAutomaticoRepository lanceAutomaticoRepository;
+
+    public LivroOfertasService(FreteRepository freteRepository, LanceRepository lanceRepository,
+            LanceAutomaticoRepository lanceAutomaticoRepository) {
+        this.freteRepository = freteRepository;
+        this.lanceRepository = lanceRepository;
+        this.lanceAutomaticoRepository = lanceAutomaticoRepository;
+    }
+
+    /**
+     * Retorna o livro de ofertas do Frete, carregando-o do banco se necessário.
+     *
+     * @throws ResourceNotFoundException Se o Frete não existir.
+     */
+    @Transactional(readOnly = true)
+    public LivroOfertasLeilao obterLivro(Long freteId) {
+        LivroOfertasLeilao livro = livros.get(freteId);
+        if (livro != null) {
+            return livro;
+        }
+
+        LivroOfertasLeilao carregado = carregarLivro(freteId);
+
+        // Leilões fechados não ficam em memória: a validação de status rejeita o
+        // lance e o livro seria descartado de qualquer forma.
+        if (!LivroOfertasLeilao.STATUS_ABERTO.equals(carregado.getNomeStatus())) {
+            return carregado;
+        }
+
+        // Em caso de carga concorrente, prevalece o primeiro livro publicado.
+        LivroOfertasLeilao existente = livros.putIfAbsent(freteId, carregado);
+        return existente != null ? existente : carregado;
+    }
+
+    /**
+     * Retorna o livro de ofertas do Frete, recarregando-o se a geração em memória
+     * for diferente da geração compartilhada (alteração feita por outro nó).
+     * Deve ser chamado com o bloqueio do leilão mantido.
+     *
+     * @param geracao Geração atual informada pelo GerenciadorBloqueios.
+     */
+    @Transactional(readOnly = true)
+    public LivroOfertasLeilao obterLivro(Long freteId, long geracao) {
+        LivroOfertasLeilao livro = livros.get(freteId);
+        if (livro != null && livro.getGeracao() != geracao) {
+            log.debug("Livro de ofertas do Frete #{} desatualizado (geração {} != {}). Recarregando.",
+                    freteId, livro.getGeracao(), geracao);
+            livros.remove(freteId, livro);
+        }
+
+        livro = obterLivro(freteId);
+        livro.setGeracao(geracao);
+        return livro;
+    }
+
+    /**
+     * Atualiza a geração do livro em memória (se houver) após um lance confirmado.
+     */
+    public void atualizarGeracao(Long freteId, long geracao) {
+        LivroOfertasLeilao livro = livros.get(freteId);
+        if (livro != null) {
+            livro.setGeracao(geracao);
+        }
+    }
+
+    /**
+     * Descarta o livro em memória (será recarregado no próximo acesso).
+     */
+    public void invalidar(Long freteId) {
+        livros.remove(freteId);
+    }
+
+    /**
+     * Remove o livro de um leilão encerrado. Dentro de uma transação, a remoção é
+     * repetida após o término, descartando um livro recarregado (ainda aberto)
+     * por um lance concorrente antes do commit do encerramento.
+     */
+    public void encerrar(Long freteId) {
+        if (livros.remove(freteId) != null) {
+            log.debug("Livro de ofertas do Frete #{} removido da memória (leilão encerrado).", freteId);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidar(freteId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Invalida o livro se a transação corrente sofrer rollback, evitando que a
+     * memória fique com um lance que não chegou ao banco.
+     */
+    public void invalidarSeRollback(Long freteId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    invalidar(freteId);
+                }
+            }
+        });
+    }
+
+    // --- CARGA (WARM-UP) ---
+
+    @SuppressWarnings("null")
+    private LivroOfertasLeilao carregarLivro(Long freteId) {
+        Frete frete = freteRepository.findById(freteId)
+                .orElseThrow(() -> new ResourceNotFoundException("Frete não encontrado com ID: " + freteId));
+
+        String nomeStatus = frete.getStatusLeilao() != null ? frete.getStatusLeilao().getNomeStatus() : null;
+
+        LivroOfertasLeilao livro = new LivroOfertasLeilao(
+                frete.getFreteId(),
+                frete.getOrdemServicoId(),
+                nomeStatus,
+                frete.getDataExpiracaoNegociacao(),
+                frete.getAnttPisoMinimo());
+
+        List<Lance> lances = lanceRepository.buscarPorFreteComTransportador(freteId);
+        for (Lance lance : lances) {
+            livro.registrar(new OfertaTransportador(
+                    lance.getId(),
+                    lance.getTransportador().getPessoaId(),
+                    lance.getTransportador().getPessoa() != null ? lance.getTransportador().getPessoa().getNome()
+                            : null,
+                    lance.getValorLance(),
+                    lance.getDataLance()));
+        }
+
+        List<LanceAutomatico> automaticos = lanceAutomaticoRepository.buscarAtivosPorFrete(freteId);
+        for (LanceAutomatico automatico : automaticos) {
+            livro.registrarLanceAutomatico(new LanceAutomaticoAtivo(
+                    automatico.getId(),
+                    automatico.getTransportador().getPessoaId(),
+                    automatico.getValorMinimo()));
+        }
+
+        log.debug("Livro de ofertas do Frete #{} carregado com {} lance(s) e {} lance(s) automático(s).", freteId,
+                lances.size(), automaticos.size());
+        return livro;
+    }
+}
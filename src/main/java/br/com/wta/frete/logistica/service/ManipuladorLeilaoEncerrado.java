@@ -0,0 +1,73 @@
+// Caminho: src/main/java/br/com/wta/frete/logistica/service/ManipuladorLeilaoEncerrado.java
+package br.com.wta.frete.logistica.service;
+
+import java.math.BigDecimal;
+import java.util.Set;
+
+import org.springframework.stereotype.Component;
+
+import br.com.wta.frete.shared.outbox.ManipuladorOutbox;
+import br.com.wta.frete.shared.outbox.RegistroOutbox;
+import br.com.wta.frete.shared.outbox.RegistroOutbox.ItemOutbox;
+
+/**
+ * Confirmação da Ordem de Serviço após o encerramento do leilão, a partir do
+ * evento LEILAO_ENCERRADO do outbox (gravado por
+ * {@link FreteService#processarLeilaoExpirado}).
+ *
+ * Leilões encerrados sem lances não têm efeito interno: o evento segue apenas
+ * para os consumidores externos (Redis).
+ */
+@Component
+public class ManipuladorLeilaoEncerrado implements ManipuladorOutbox {
+
+    public static final String TIPO_EVENTO = "LEILAO_ENCERRADO";
+
+    /**
+     * Payload do evento. Os campos do vencedor são nulos em um leilão sem
+     * lances.
+     */
+    public record LeilaoEncerrado(
+            Long freteId,
+            Long ordemServicoId,
+            String statusLeilao,
+            Long lanceVencedorId,
+            BigDecimal valorFinal,
+            Long transportadorId) {
+    }
+
+    private final RegistroOutbox registroOutbox;
+    private final LeilaoFinalizacaoService leilaoFinalizacaoService;
+
+    public ManipuladorLeilaoEncerrado(RegistroOutbox registroOutbox,
+            LeilaoFinalizacaoService leilaoFinalizacaoService) {
+        this.registroOutbox = registroOutbox;
+        this.leilaoFinalizacaoService = leilaoFinalizacaoService;
+    }
+
+    /**
+     * Chave de idempotência do evento: um Frete é encerrado uma única vez.
+     */
+    public static String chave(Long freteId) {
+        return TIPO_EVENTO + ":" + freteId;
+    }
+
+    @Override
+    public String nome() {
+        return "confirmacao-os-leilao";
+    }
+
+    @Override
+    public Set<String> tipos() {
+        return Set.of(TIPO_EVENTO);
+    }
+
+    @Override
+    public void processar(ItemOutbox item) {
+        LeilaoEncerrado evento = registroOutbox.lerPayload(item, LeilaoEncerrado.class);
+        if (evento.lanceVencedorId() == null) {
+            return;
+        }
+        leilaoFinalizacaoService.finalizarLeilaoEConfirmarOS(evento.ordemServicoId(), evento.lanceVencedorId());
+    }
+}
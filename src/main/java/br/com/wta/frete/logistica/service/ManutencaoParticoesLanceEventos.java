@@ -0,0 +1,136 @@
+// Caminho: src/main/java/br/com/wta/frete/logistica/service/ManutencaoParticoesLanceEventos.java
+package br.com.wta.frete.logistica.service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mantém as partições mensais de logistica.lance_eventos.
+ *
+ * 1. Criação: garante, na subida e diariamente, as partições do mês corrente
+ * e dos próximos {@code frete.lances.eventos.meses-antecedencia} meses (os
+ * eventos nunca devem cair na partição DEFAULT). Se a DEFAULT já tiver
+ * linhas de um mês, o PostgreSQL recusa a partição desse mês: a falha é
+ * registrada e os demais meses seguem sendo criados.
+ * 2. Retenção: com {@code frete.lances.eventos.retencao-meses} > 0, partições
+ * inteiramente mais antigas que a retenção são desanexadas (DETACH
+ * PARTITION): a operação só altera o catálogo, sem DELETE nem VACUUM. A tabela
+ * desanexada continua no schema para arquivamento ou DROP manual.
+ */
+@Component
+public class ManutencaoParticoesLanceEventos {
+
+    private static final Logger log = LoggerFactory.getLogger(ManutencaoParticoesLanceEventos.class);
+
+    static final String PREFIXO_PARTICAO = "lance_eventos_";
+    private static final DateTimeFormatter FORMATO_SUFIXO = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final String SQL_PARTICOES = "SELECT c.relname FROM pg_inherits i "
+            + "JOIN pg_class c ON c.oid = i.inhrelid "
+            + "JOIN pg_class p ON p.oid = i.inhparent "
+            + "JOIN pg_namespace n ON n.oid = p.relnamespace "
+            + "WHERE n.nspname = 'logistica' AND p.relname = 'lance_eventos'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int mesesAntecedencia;
+    private final int retencaoMeses;
+
+    public ManutencaoParticoesLanceEventos(
+            JdbcTemplate jdbcTemplate,
+            @Value("${frete.lances.eventos.meses-antecedencia:3}") int mesesAntecedencia,
+            @Value("${frete.lances.eventos.retencao-meses:0}") int retencaoMeses) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.mesesAntecedencia = Math.max(1, mesesAntecedencia);
+        this.retencaoMeses = retencaoMeses;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        manter();
+    }
+
+    @Scheduled(cron = "${frete.lances.eventos.manutencao.cron:0 30 3 * * *}")
+    public void manter() {
+        try {
+            criarParticoes(YearMonth.now());
+            if (retencaoMeses > 0) {
+                desanexarAntigas(YearMonth.now().minusMonths(retencaoMeses));
+            }
+        } catch (DataAccessException e) {
+            // Sem partição, o evento cai na DEFAULT: a escrita de lances não para.
+            log.error("Falha na manutenção das partições de lance_eventos: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Cria (se não existirem) as partições do mês informado em diante.
+     *
+     * @return Meses cuja partição não pôde ser criada.
+     */
+    List<YearMonth> criarParticoes(YearMonth inicio) {
+        List<YearMonth> falhas = new ArrayList<>();
+        for (int i = 0; i <= mesesAntecedencia; i++) {
+            YearMonth mes = inicio.plusMonths(i);
+            LocalDate de = mes.atDay(1);
+            LocalDate ate = mes.plusMonths(1).atDay(1);
+            try {
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS logistica." + nomeParticao(mes)
+                        + " PARTITION OF logistica.lance_eventos FOR VALUES FROM ('" + de + "') TO ('" + ate
+                        + "')");
+            } catch (DataAccessException e) {
+                // Ex: linhas do mês já na DEFAULT. Exige mover as linhas manualmente;
+                // os eventos do mês continuam indo para a DEFAULT.
+                log.error("Falha ao criar a partição {} de lance_eventos: {}", nomeParticao(mes), e.getMessage(), e);
+                falhas.add(mes);
+            }
+        }
+        return falhas;
+    }
+
+    /**
+     * Desanexa as partições mensais anteriores ao mês de corte.
+     */
+    void desanexarAntigas(YearMonth corte) {
+        List<String> particoes = jdbcTemplate.queryForList(SQL_PARTICOES, String.class);
+        for (String particao : particoes) {
+            YearMonth mes = mesDaParticao(particao);
+            if (mes != null && mes.isBefore(corte)) {
+                jdbcTemplate.execute("ALTER TABLE logistica.lance_eventos DETACH PARTITION logistica." + particao);
+                log.info("Partição {} desanexada de lance_eventos (retenção de {} mês(es)).", particao,
+                        retencaoMeses);
+            }
+        }
+    }
+
+    static String nomeParticao(YearMonth mes) {
+        return PREFIXO_PARTICAO + mes.format(FORMATO_SUFIXO);
+    }
+
+    /**
+     * Mês de uma partição mensal pelo nome; nulo para a DEFAULT ou nomes fora do
+     * padrão.
+     */
+    static YearMonth mesDaParticao(String particao) {
+        if (!particao.startsWith(PREFIXO_PARTICAO)) {
+            return null;
+        }
+        String sufixo = particao.substring(PREFIXO_PARTICAO.length());
+        if (sufixo.length() != 6 || !sufixo.chars().allMatch(Character::isDigit)) {
+            return null;
+        }
+        return YearMonth.parse(sufixo, FORMATO_SUFIXO);
+    }
+}
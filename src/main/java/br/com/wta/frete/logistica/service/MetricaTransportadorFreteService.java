@@ -2,13 +2,15 @@
 package br.com.wta.frete.logistica.service;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import br.com.wta.frete.colaboradores.controller.dto.MetricaTransportadorFreteRequest;
 import br.com.wta.frete.colaboradores.controller.dto.MetricaTransportadorFreteResponse;
@@ -19,6 +21,7 @@ import br.com.wta.frete.colaboradores.repository.TransportadorRepository;
 import br.com.wta.frete.colaboradores.service.mapper.MetricaTransportadorFreteMapper;
 import br.com.wta.frete.logistica.entity.ModalidadeFrete;
 import br.com.wta.frete.logistica.repository.ModalidadeFreteRepository;
+import br.com.wta.frete.logistica.service.IndiceMetricasTransportador.FatoresMetrica;
 import br.com.wta.frete.shared.exception.InvalidDataException;
 import br.com.wta.frete.shared.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
@@ -36,46 +39,68 @@ public class MetricaTransportadorFreteService {
     private final ModalidadeFreteRepository modalidadeRepository;
     private final TransportadorRepository transportadorRepository;
     private final MetricaTransportadorFreteMapper metricaMapper;
-
-    private static final int CASAS_DECIMAIS = 2;
-    private static final RoundingMode MODO_ARREDONDAMENTO = RoundingMode.HALF_UP;
+    private final IndiceMetricasTransportador indiceMetricas;
 
     // --------------------------------------------------------------------------
     // MÉTODOS DE CÁLCULO (Lógica de Custo)
     // --------------------------------------------------------------------------
 
-    @Transactional(readOnly = true)
+    /**
+     * Custo personalizado do transportador para a modalidade. Os fatores da
+     * métrica vêm do {@link IndiceMetricasTransportador}: em cache, o cálculo não
+     * consulta o banco.
+     *
+     * @throws ResourceNotFoundException Se a modalidade não existir ou se o
+     *                                   transportador não tiver métrica para ela.
+     */
     public BigDecimal calcularCustoPersonalizado(Long transportadorId, String nomeModalidade, BigDecimal distanciaKm) {
 
-        // 1. OBTÉM A MODALIDADE ID
-        ModalidadeFrete modalidade = modalidadeRepository.findByNomeModalidade(nomeModalidade)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Modalidade de Frete não encontrada: " + nomeModalidade));
+        // 1. OBTÉM A MODALIDADE ID (resolvida uma única vez)
+        Integer modalidadeId = indiceMetricas.resolverModalidade(nomeModalidade);
 
-        // CORREÇÃO 1: Usar getId() para a entidade ModalidadeFrete
-        Integer modalidadeId = modalidade.getId();
+        // 2. BUSCA OS FATORES DA MÉTRICA E APLICA A FÓRMULA
+        return obterFatores(transportadorId, modalidadeId, nomeModalidade).calcularCusto(distanciaKm);
+    }
 
-        // 2. BUSCA A MÉTRICA CUSTOMIZADA
-        // CORREÇÃO 2: Mudar a convenção de nome do método JPA
-        MetricaTransportadorFrete metrica = metricaRepository
-                .findByTransportadorPessoaIdAndModalidadeFreteId(transportadorId, modalidadeId)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "O transportador " + transportadorId
-                                + " não possui parâmetros de precificação customizados (Métrica) para a modalidade "
-                                + nomeModalidade));
+    /**
+     * Mesma fórmula, com a modalidade já resolvida (ex: precificação em lote).
+     */
+    public BigDecimal calcularCustoPersonalizado(Long transportadorId, Integer modalidadeId, BigDecimal distanciaKm) {
+        return obterFatores(transportadorId, modalidadeId, "#" + modalidadeId).calcularCusto(distanciaKm);
+    }
 
-        // 3. APLICA A FÓRMULA DE CUSTO PERSONALIZADO
-        BigDecimal custoFixo = metrica.getCustoFixoViagem();
-        BigDecimal custoPorKm = metrica.getCustoPorKm();
-        BigDecimal margemLucro = metrica.getMargemLucro();
+    /**
+     * Mesma fórmula em ponto fixo: distância em centésimos de km, resultado em
+     * centavos.
+     */
+    public long calcularCustoPersonalizadoCentavos(Long transportadorId, String nomeModalidade,
+            long distanciaCentesimosKm) {
+        Integer modalidadeId = indiceMetricas.resolverModalidade(nomeModalidade);
+        return obterFatores(transportadorId, modalidadeId, nomeModalidade).calcularCustoCentavos(distanciaCentesimosKm);
+    }
 
-        BigDecimal custoVariavel = custoPorKm.multiply(distanciaKm);
-        BigDecimal custoBasico = custoFixo.add(custoVariavel);
-        BigDecimal fatorMargem = BigDecimal.ONE.add(margemLucro);
-        BigDecimal custoFinal = custoBasico.multiply(fatorMargem);
+    public long calcularCustoPersonalizadoCentavos(Long transportadorId, Integer modalidadeId,
+            long distanciaCentesimosKm) {
+        return obterFatores(transportadorId, modalidadeId, "#" + modalidadeId)
+                .calcularCustoCentavos(distanciaCentesimosKm);
+    }
 
-        // 4. RETORNO (Arredondado)
-        return custoFinal.setScale(CASAS_DECIMAIS, MODO_ARREDONDAMENTO);
+    /**
+     * Carrega de uma vez as métricas dos transportadores no índice em memória,
+     * para que os cálculos seguintes não consultem o banco.
+     */
+    public void precarregarMetricas(Collection<Long> transportadorIds) {
+        indiceMetricas.precarregar(transportadorIds);
+    }
+
+    private FatoresMetrica obterFatores(Long transportadorId, Integer modalidadeId, String descricaoModalidade) {
+        FatoresMetrica fatores = indiceMetricas.buscar(transportadorId, modalidadeId);
+        if (fatores == null) {
+            throw new ResourceNotFoundException("O transportador " + transportadorId
+                    + " não possui parâmetros de precificação customizados (Métrica) para a modalidade "
+                    + descricaoModalidade);
+        }
+        return fatores;
     }
 
     // --------------------------------------------------------------------------
@@ -96,6 +121,7 @@ public class MetricaTransportadorFreteService {
         novaMetrica.setModalidadeFrete(modalidade);
 
         MetricaTransportadorFrete metricaSalva = metricaRepository.save(novaMetrica);
+        invalidarIndiceAposCommit(request.transportadorPessoaId(), metricaSalva);
 
         return metricaMapper.toResponse(metricaSalva);
     }
@@ -122,6 +148,7 @@ public class MetricaTransportadorFreteService {
     public MetricaTransportadorFreteResponse atualizarMetrica(Long id, MetricaTransportadorFreteRequest request) {
 
         MetricaTransportadorFrete metricaExistente = buscarMetricaPorId(id);
+        Long transportadorAnteriorId = metricaExistente.getTransportador().getPessoaId();
 
         validarUnicidade(request.transportadorPessoaId(), request.nomeMetrica(), id);
 
@@ -132,6 +159,10 @@ public class MetricaTransportadorFreteService {
         metricaMapper.updateEntityFromRequest(request, metricaExistente);
 
         MetricaTransportadorFrete metricaAtualizada = metricaRepository.save(metricaExistente);
+        invalidarIndiceAposCommit(transportadorAnteriorId, metricaAtualizada);
+        if (!transportadorAnteriorId.equals(request.transportadorPessoaId())) {
+            invalidarIndiceAposCommit(request.transportadorPessoaId(), metricaAtualizada);
+        }
 
         return metricaMapper.toResponse(metricaAtualizada);
     }
@@ -140,13 +171,32 @@ public class MetricaTransportadorFreteService {
     @Transactional
     public void deletarMetrica(Long id) {
         MetricaTransportadorFrete metrica = buscarMetricaPorId(id);
+        Long transportadorId = metrica.getTransportador().getPessoaId();
         metricaRepository.delete(metrica);
+        invalidarIndiceAposCommit(transportadorId, metrica);
     }
 
     // --------------------------------------------------------------------------
     // MÉTODOS AUXILIARES PRIVADOS
     // --------------------------------------------------------------------------
 
+    /**
+     * Descarta as métricas do transportador do índice em memória após o commit
+     * (a versão lida no afterCommit já é a gravada).
+     */
+    private void invalidarIndiceAposCommit(Long transportadorId, MetricaTransportadorFrete metrica) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            indiceMetricas.invalidar(transportadorId, metrica.getVersao());
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                indiceMetricas.invalidar(transportadorId, metrica.getVersao());
+            }
+        });
+    }
+
     private MetricaTransportadorFrete buscarMetricaPorId(Long id) {
         return metricaRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Métrica de Frete não encontrada com ID: " + id));
@@ -0,0 +1,138 @@
+// Caminho: src/main/java/br/com/wta/frete/logistica/service/MetricasLeilao.java
+package br.com.wta.frete.logistica.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import br.com.wta.frete.logistica.repository.FreteRepository;
+import br.com.wta.frete.logistica.repository.StatusLeilaoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Métricas (Micrometer) do caminho de lances e leilões, expostas em
+ * /actuator/prometheus.
+ *
+ * 1. frete.lance.criacao: latência de LanceService.criarLance, por resultado
+ * (aceito/rejeitado/erro) e motivo (reasonCode da rejeição).
+ * 2. frete.lances: lances processados, por origem (individual, lote,
+ * automatico), resultado e motivo.
+ * 3. frete.leilao.abertos: leilões abertos (contagem no banco, atualizada
+ * periodicamente; a coleta nunca consulta o banco).
+ * 4. frete.leilao.lance-ate-encerramento: tempo entre o lance vencedor e o
+ * encerramento do leilão.
+ *
+ * Os timers publicam histograma de percentis (p99 calculável no Prometheus).
+ */
+@Component
+public class MetricasLeilao {
+
+    private static final Logger log = LoggerFactory.getLogger(MetricasLeilao.class);
+
+    public static final String RESULTADO_ACEITO = "aceito";
+    public static final String RESULTADO_REJEITADO = "rejeitado";
+    public static final String RESULTADO_ERRO = "erro";
+    public static final String ORIGEM_INDIVIDUAL = "individual";
+    public static final String ORIGEM_LOTE = "lote";
+    public static final String ORIGEM_AUTOMATICO = "automatico";
+    // Motivo dos lances aceitos e dos erros inesperados (sem reasonCode).
+    private static final String SEM_MOTIVO = "nenhum";
+
+    private final MeterRegistry meterRegistry;
+    private final FreteRepository freteRepository;
+    private final StatusLeilaoRepository statusLeilaoRepository;
+
+    private final AtomicLong leiloesAbertos = new AtomicLong();
+    private final Timer lanceAteEncerramento;
+
+    public MetricasLeilao(MeterRegistry meterRegistry, FreteRepository freteRepository,
+            StatusLeilaoRepository statusLeilaoRepository) {
+        this.meterRegistry = meterRegistry;
+        this.freteRepository = freteRepository;
+        this.statusLeilaoRepository = statusLeilaoRepository;
+
+        Gauge.builder("frete.leilao.abertos", leiloesAbertos, AtomicLong::get)
+                .description("Leilões com status AGUARDANDO_LANCES")
+                .register(meterRegistry);
+        this.lanceAteEncerramento = Timer.builder("frete.leilao.lance-ate-encerramento")
+                .description("Tempo entre o lance vencedor e o encerramento do leilão")
+                .publishPercentileHistogram()
+                .maximumExpectedValue(Duration.ofDays(30))
+                .register(meterRegistry);
+    }
+
+    // --- LANCES ---
+
+    /**
+     * Inicia a medição de um lance (relógio do registro).
+     */
+    public Timer.Sample iniciarAmostra() {
+        return Timer.start(meterRegistry);
+    }
+
+    /**
+     * Registra a latência e o resultado de um lance individual.
+     *
+     * @param motivo reasonCode da rejeição (nulo se aceito ou erro inesperado).
+     */
+    public void registrarLance(Timer.Sample amostra, String resultado, String motivo) {
+        amostra.stop(Timer.builder("frete.lance.criacao")
+                .description("Latência do processamento de um lance")
+                .tag("resultado", resultado)
+                .tag("motivo", motivo != null ? motivo : SEM_MOTIVO)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+        contarLance(ORIGEM_INDIVIDUAL, resultado, motivo);
+    }
+
+    /**
+     * Conta um lance processado fora de criarLance (lote ou lance automático).
+     */
+    public void contarLance(String origem, String resultado, String motivo) {
+        Counter.builder("frete.lances")
+                .description("Lances processados, por origem e resultado")
+                .tag("origem", origem)
+                .tag("resultado", resultado)
+                .tag("motivo", motivo != null ? motivo : SEM_MOTIVO)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    // --- LEILÕES ---
+
+    /**
+     * Registra o encerramento de um leilão com vencedor.
+     */
+    public void registrarEncerramento(LocalDateTime dataLanceVencedor) {
+        if (dataLanceVencedor != null) {
+            lanceAteEncerramento.record(Duration.between(dataLanceVencedor, LocalDateTime.now()));
+        }
+    }
+
+    /**
+     * Atualiza a contagem de leilões abertos (gauge).
+     */
+    @Scheduled(fixedDelayString = "${frete.metricas.leiloes-abertos.intervalo-ms:60000}")
+    public void atualizarLeiloesAbertos() {
+        try {
+            statusLeilaoRepository.findByNomeStatus(LivroOfertasLeilao.STATUS_ABERTO)
+                    .ifPresent(status -> leiloesAbertos.set(freteRepository.countByStatusLeilaoId(status.getId())));
+        } catch (DataAccessException e) {
+            // Mantém o último valor; a próxima execução tenta de novo.
+            log.warn("Falha ao atualizar a métrica de leilões abertos: {}", e.getMessage());
+        }
+    }
+
+    public long getLeiloesAbertos() {
+        return leiloesAbertos.get();
+    }
+}
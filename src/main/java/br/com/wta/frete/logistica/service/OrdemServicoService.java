@@ -1,8 +1,11 @@
 package br.com.wta.frete.logistica.service;
 
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -11,24 +14,54 @@ import br.com.wta.frete.clientes.repository.DetalheClienteRepository;
 import br.com.wta.frete.colaboradores.entity.Transportador;
 import br.com.wta.frete.colaboradores.repository.TransportadorRepository;
 import br.com.wta.frete.core.entity.enums.StatusServico;
+import br.com.wta.frete.logistica.controller.dto.HistoricoStatusOrdemResponse;
 import br.com.wta.frete.logistica.controller.dto.OrdemServicoRequest;
 import br.com.wta.frete.logistica.controller.dto.OrdemServicoResponse;
+import br.com.wta.frete.logistica.controller.dto.PaginaOrdensServicoResponse;
+import br.com.wta.frete.logistica.controller.dto.PrecificacaoOrdemResponse;
 import br.com.wta.frete.logistica.entity.Lance;
 import br.com.wta.frete.logistica.entity.OrdemServico;
+import br.com.wta.frete.logistica.repository.FreteRepository;
 import br.com.wta.frete.logistica.repository.OrdemServicoRepository;
+import br.com.wta.frete.logistica.repository.projection.FiltroOrdensServico;
+import br.com.wta.frete.logistica.repository.projection.OrdemServicoResumoProjection;
 import br.com.wta.frete.logistica.service.mapper.OrdemServicoMapper;
+import br.com.wta.frete.shared.exception.InvalidDataException;
 import br.com.wta.frete.shared.exception.ResourceNotFoundException;
+import br.com.wta.frete.shared.outbox.RegistroOutbox;
+import br.com.wta.frete.shared.outbox.RegistroOutbox.SituacaoOutbox;
 import lombok.RequiredArgsConstructor;
 
 /**
  * Serviço responsável por gerenciar o ciclo de vida da Ordem de Serviço (OS).
  * Orquestra a criação da OS e o subsequente processo de precificação do Frete.
+ *
+ * Com {@code frete.ordens-servico.precificacao-assincrona=true}, a OS é
+ * gravada com uma tarefa de precificação no outbox e o Frete é criado pelo
+ * {@link ProcessadorPrecificacaoOrdens}, fora da requisição.
+ *
+ * Toda mudança de status grava um evento {@value #EVENTO_STATUS_ALTERADO} no
+ * outbox, na mesma transação (entregue pelo RelayOutbox ao
+ * {@link HistoricoStatusOrdemServico} e, se habilitado, ao Redis).
  */
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class OrdemServicoService {
 
+        public static final String EVENTO_STATUS_ALTERADO = "ORDEM_SERVICO_STATUS_ALTERADO";
+
+        // Listagem paginada (GET /ordens-servico)
+        public static final int TAMANHO_PAGINA_PADRAO = 50;
+        public static final int TAMANHO_PAGINA_MAXIMO = 200;
+
+        /**
+         * Payload do evento de mudança de status.
+         */
+        public record StatusOrdemAlterado(Long ordemServicoId, String statusAnterior, String statusNovo,
+                        Long transportadorId) {
+        }
+
         // Dependências injetadas pelo Spring
         private final OrdemServicoRepository ordemServicoRepository;
         private final OrdemServicoMapper ordemServicoMapper;
@@ -38,12 +71,25 @@ public class OrdemServicoService {
         private final DetalheClienteRepository detalheClienteRepository;
         private final TransportadorRepository transportadorRepository;
 
+        // Precificação assíncrona (outbox + workers)
+        private final ProcessadorPrecificacaoOrdens processadorPrecificacao;
+        private final RegistroOutbox registroOutbox;
+        private final FreteRepository freteRepository;
+
+        // Histórico de status (consumidor dos eventos de mudança de status)
+        private final HistoricoStatusOrdemServico historicoStatus;
+
+        @Value("${frete.ordens-servico.precificacao-assincrona:false}")
+        private boolean precificacaoAssincrona;
+
         /**
          * FLUXO CENTRAL: Cria uma nova Ordem de Serviço e, em seguida, inicia o
          * processo
          * de criação e precificação do Frete, usando a modalidade desejada do Request.
          * <p>
          * Todo o processo ocorre sob uma única transação {@code @Transactional}.
+         * No modo assíncrono, a transação grava apenas a OS e a tarefa de
+         * precificação (ver {@link #buscarPrecificacao}).
          * </p>
          *
          * @param request O DTO de requisição da OS, incluindo o nome da Modalidade de
@@ -82,11 +128,19 @@ public class OrdemServicoService {
                 OrdemServico ordemSalva = ordemServicoRepository.save(ordemServico);
 
                 // 4. ORQUESTRAÇÃO: CRIAÇÃO DO FRETE (Usa o FreteService refatorado)
-                freteService.criarFrete(
-                                ordemSalva,
-                                request.itensFrete(),
-                                request.nomeModalidadeFrete() // O CAMPO FLEXÍVEL É PASSADO AQUI
-                );
+                if (precificacaoAssincrona) {
+                        // A tarefa é confirmada junto com a OS; o Frete é criado pelos workers.
+                        processadorPrecificacao.enfileirar(
+                                        ordemSalva.getId(),
+                                        request.nomeModalidadeFrete(),
+                                        request.itensFrete());
+                } else {
+                        freteService.criarFrete(
+                                        ordemSalva,
+                                        request.itensFrete(),
+                                        request.nomeModalidadeFrete() // O CAMPO FLEXÍVEL É PASSADO AQUI
+                        );
+                }
 
                 // 5. RETORNO
                 return ordemServicoMapper.toResponse(ordemSalva);
@@ -108,17 +162,111 @@ public class OrdemServicoService {
         }
 
         /**
-         * Busca todas as Ordens de Serviço.
+         * Situação da precificação da OS: CONCLUIDA quando o Frete já existe;
+         * caso contrário, a situação da tarefa no outbox.
+         *
+         * @throws ResourceNotFoundException Se a OS não existir.
          */
         @Transactional(readOnly = true)
-        public List<OrdemServicoResponse> buscarTodas() {
-                // 1. Busca todas as entidades
-                List<OrdemServico> ordens = ordemServicoRepository.findAll();
+        public PrecificacaoOrdemResponse buscarPrecificacao(Long id) {
+                if (!ordemServicoRepository.existsById(id)) {
+                        throw new ResourceNotFoundException("Ordem de Serviço não encontrada com ID: " + id);
+                }
+
+                List<Long> freteIds = freteRepository.buscarIdsPorOrdemServico(id);
+                SituacaoOutbox tarefa = registroOutbox
+                                .buscarSituacao(ProcessadorPrecificacaoOrdens.TIPO_TAREFA, id)
+                                .orElse(null);
+                int tentativas = tarefa != null ? tarefa.tentativas() : 0;
 
-                // 2. Converte a lista de Entidades para uma lista de Response DTOs
-                return ordens.stream()
-                                .map(ordemServicoMapper::toResponse)
+                if (!freteIds.isEmpty()) {
+                        return new PrecificacaoOrdemResponse(id, PrecificacaoOrdemResponse.SITUACAO_CONCLUIDA,
+                                        freteIds.get(0), tentativas, null);
+                }
+                if (tarefa != null && RegistroOutbox.STATUS_FALHA.equals(tarefa.status())) {
+                        return new PrecificacaoOrdemResponse(id, PrecificacaoOrdemResponse.SITUACAO_FALHA, null,
+                                        tentativas, tarefa.ultimoErro());
+                }
+                return new PrecificacaoOrdemResponse(id, PrecificacaoOrdemResponse.SITUACAO_PENDENTE, null,
+                                tentativas, tarefa != null ? tarefa.ultimoErro() : null);
+        }
+
+        /**
+         * Mudanças de status da Ordem de Serviço, da mais antiga para a mais
+         * recente. Reflete os eventos já entregues pelo relay do outbox.
+         *
+         * @param id ID da Ordem de Serviço.
+         * @throws ResourceNotFoundException Se a OS não existir.
+         */
+        @Transactional(readOnly = true)
+        public List<HistoricoStatusOrdemResponse> buscarHistoricoStatus(Long id) {
+                if (!ordemServicoRepository.existsById(id)) {
+                        throw new ResourceNotFoundException("Ordem de Serviço não encontrada com ID: " + id);
+                }
+                return historicoStatus.listar(id);
+        }
+
+        /**
+         * Lista as Ordens de Serviço, da mais recente para a mais antiga, em
+         * páginas de tamanho fixo (cursor = ID da última OS da página anterior).
+         * <p>
+         * Lê apenas as colunas do Response (projeção), com um índice por filtro:
+         * o custo e a memória de uma página não dependem do total de OSs.
+         * </p>
+         *
+         * @param status          Status (nome ou descrição), opcional.
+         * @param clienteId       Cliente solicitante, opcional.
+         * @param transportadorId Transportador designado, opcional.
+         * @param dataInicio      Primeiro dia da solicitação (inclusivo), opcional.
+         * @param dataFim         Último dia da solicitação (inclusivo), opcional.
+         * @param cursor          Valor de 'proximoCursor' da página anterior.
+         * @param tamanho         Tamanho da página (padrão
+         *                        {@value #TAMANHO_PAGINA_PADRAO}, máximo
+         *                        {@value #TAMANHO_PAGINA_MAXIMO}).
+         */
+        @Transactional(readOnly = true)
+        public PaginaOrdensServicoResponse listar(String status, Long clienteId, Long transportadorId,
+                        LocalDate dataInicio, LocalDate dataFim, Long cursor, Integer tamanho) {
+
+                // 1. VALIDAÇÃO DOS FILTROS
+                StatusServico statusFiltro = null;
+                if (status != null && !status.isBlank()) {
+                        statusFiltro = ordemServicoMapper.stringToStatusServico(status);
+                        if (statusFiltro == null) {
+                                throw new InvalidDataException("Status inválido ou não reconhecido: " + status,
+                                                "STATUS_INVALIDO", "status");
+                        }
+                }
+                if (dataInicio != null && dataFim != null && dataFim.isBefore(dataInicio)) {
+                        throw new InvalidDataException("A data final deve ser igual ou posterior à data inicial.",
+                                        "PERIODO_INVALIDO", "dataFim");
+                }
+                int tamanhoPagina = tamanho != null ? tamanho : TAMANHO_PAGINA_PADRAO;
+                if (tamanhoPagina < 1 || tamanhoPagina > TAMANHO_PAGINA_MAXIMO) {
+                        throw new InvalidDataException("O tamanho da página deve estar entre 1 e "
+                                        + TAMANHO_PAGINA_MAXIMO + ".", "TAMANHO_PAGINA_INVALIDO", "tamanho");
+                }
+
+                // 2. CONSULTA (uma linha a mais indica que há próxima página)
+                // data_solicitacao é gravada no fuso da JVM (TIMESTAMP WITHOUT TIME ZONE).
+                ZoneId fuso = ZoneId.systemDefault();
+                FiltroOrdensServico filtro = new FiltroOrdensServico(
+                                statusFiltro,
+                                clienteId,
+                                transportadorId,
+                                dataInicio != null ? dataInicio.atStartOfDay(fuso) : null,
+                                dataFim != null ? dataFim.plusDays(1).atStartOfDay(fuso) : null);
+                List<OrdemServicoResumoProjection> resumos = ordemServicoRepository.listarResumos(filtro, cursor,
+                                tamanhoPagina + 1);
+
+                // 3. MONTAGEM DA PÁGINA
+                boolean haMais = resumos.size() > tamanhoPagina;
+                List<OrdemServicoResponse> itens = resumos.stream()
+                                .limit(tamanhoPagina)
+                                .map(ordemServicoMapper::resumoToResponse)
                                 .collect(Collectors.toList());
+                Long proximoCursor = haMais ? itens.get(itens.size() - 1).ordemServicoId() : null;
+                return new PaginaOrdensServicoResponse(itens, proximoCursor);
         }
 
         /**
@@ -160,12 +308,14 @@ public class OrdemServicoService {
                 }
 
                 // 3. ATUALIZAÇÃO DO STATUS
+                StatusServico statusAnterior = ordem.getStatus();
                 ordem.setStatus(novoStatusEnum);
 
                 // 4. PERSISTÊNCIA (A transação garante o 'flush', mas o 'save' é explícito)
                 // O save aqui é opcional, pois o objeto é 'managed' (rastreado) pela JPA
                 // dentro da transação, mas o salvamos para clareza.
                 OrdemServico ordemAtualizada = ordemServicoRepository.save(ordem);
+                registrarMudancaStatus(ordemAtualizada, statusAnterior);
 
                 // 5. RETORNO
                 return ordemServicoMapper.toResponse(ordemAtualizada);
@@ -175,7 +325,8 @@ public class OrdemServicoService {
          * Documentação: Confirma a Ordem de Serviço (OS) com os dados do lance
          * vencedor.
          * <p>
-         * Fluxo: Utilizado pelo FreteService (@Scheduled) após o leilão ser finalizado.
+         * Fluxo: Utilizado pelo LeilaoFinalizacaoService (evento LEILAO_ENCERRADO do
+         * outbox) após o leilão ser finalizado.
          * Atualiza o Transportador Designado, o valor final negociado e o Status da OS
          * para CONFIRMADO.
          * </p>
@@ -212,12 +363,29 @@ public class OrdemServicoService {
                 ordem.setTransportadorDesignado(transportadorVencedor);
 
                 // Status: De PENDENTE (pré-leilão) para CONFIRMADO (pós-leilão)
+                StatusServico statusAnterior = ordem.getStatus();
                 ordem.setStatus(StatusServico.CONFIRMADO);
 
                 // 4. PERSISTÊNCIA
                 OrdemServico ordemAtualizada = ordemServicoRepository.save(ordem);
+                registrarMudancaStatus(ordemAtualizada, statusAnterior);
 
                 // 5. RETORNO
                 return ordemServicoMapper.toResponse(ordemAtualizada);
         }
-}
\ No newline at end of file
+
+        private void registrarMudancaStatus(OrdemServico ordem, StatusServico statusAnterior) {
+                if (statusAnterior == ordem.getStatus()) {
+                        return;
+                }
+                Long transportadorId = ordem.getTransportadorDesignado() != null
+                                ? ordem.getTransportadorDesignado().getPessoaId()
+                                : null;
+                // Sem chave natural: o mesmo status pode ser atingido mais de uma vez.
+                registroOutbox.registrarEvento(EVENTO_STATUS_ALTERADO, ordem.getId(),
+                                new StatusOrdemAlterado(ordem.getId(),
+                                                statusAnterior != null ? statusAnterior.name() : null,
+                                                ordem.getStatus().name(), transportadorId),
+                                null);
+        }
+}
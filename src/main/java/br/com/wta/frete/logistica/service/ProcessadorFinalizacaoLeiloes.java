@@ -0,0 +1,341 @@
+// Caminho: src/main/java/br/com/wta/frete/logistica/service/ProcessadorFinalizacaoLeiloes.java
+package br.com.wta.frete.logistica.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+
+import br.com.wta.frete.shared.exception.InvalidDataException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Pool limitado de threads que encerra leilões expirados em paralelo, cada um
+ * isolado na sua própria transação ({@link FreteService#finalizarLeilaoPorId}).
+ *
+ * 1. Tamanho: {@code frete.leilao.finalizacao.workers}; por padrão, metade do
+ * pool do Hikari. Cada encerramento ocupa uma única conexão (a transação do
+ * Frete, que também grava o evento LEILAO_ENCERRADO; a confirmação da OS roda
+ * depois, no relay do outbox), e o bloqueio do leilão é obtido antes de abrir
+ * a transação. A outra metade fica para as requisições e para os workers do
+ * relay e da precificação, que disputam o mesmo pool: uma rajada de
+ * encerramentos não esgota as conexões do caminho dos lances.
+ * 2. Backpressure: fila limitada. Quando cheia, a varredura
+ * ({@link #finalizarLote}) executa a tarefa na própria thread, freando-se; o
+ * agendador ({@link #tentarSubmeter}) desiste e deixa o leilão para a
+ * varredura, sem bloquear a sua fila de prazos.
+ * 3. Timeout: a tarefa é cancelada (interrompida) se exceder
+ * {@code frete.leilao.finalizacao.timeout-ms}, contados do início da execução
+ * (o tempo na fila não conta).
+ * 4. Retentativa: falhas de concorrência/transitórias do banco e bloqueio do
+ * leilão ocupado são repetidas com backoff exponencial e jitter.
+ */
+@Component
+public class ProcessadorFinalizacaoLeiloes {
+
+    private static final Logger log = LoggerFactory.getLogger(ProcessadorFinalizacaoLeiloes.class);
+
+    private static final long BACKOFF_BASE_MS = 100;
+    private static final String CODIGO_LEILAO_OCUPADO = "LEILAO_OCUPADO";
+
+    /**
+     * Resultado do encerramento de um leilão.
+     */
+    public enum ResultadoFinalizacao {
+        FINALIZADO, IGNORADO, FALHA
+    }
+
+    /**
+     * Totais de um lote submetido por {@link #finalizarLote}.
+     */
+    public record ResumoLote(int finalizados, int ignorados, int falhas) {
+    }
+
+    private final FreteService freteService;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService vigia;
+    private final long timeoutMs;
+    private final int maxTentativas;
+
+    private final Counter contadorFinalizados;
+    private final Counter contadorIgnorados;
+    private final Counter contadorFalhas;
+    private final Counter contadorRetentativas;
+
+    public ProcessadorFinalizacaoLeiloes(
+            @Lazy FreteService freteService,
+            MeterRegistry meterRegistry,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int tamanhoPoolConexoes,
+            @Value("${frete.leilao.finalizacao.workers:0}") int workers,
+            @Value("${frete.leilao.finalizacao.timeout-ms:30000}") long timeoutMs,
+            @Value("${frete.leilao.finalizacao.tentativas:3}") int maxTentativas) {
+        this.freteService = freteService;
+        this.timeoutMs = timeoutMs;
+        this.maxTentativas = Math.max(1, maxTentativas);
+
+        int tamanho = workers > 0 ? workers : Math.max(1, tamanhoPoolConexoes / 2);
+        this.executor = new ThreadPoolExecutor(tamanho, tamanho, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(tamanho * 4), fabricaThreads("finalizacao-leilao-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.vigia = Executors.newSingleThreadScheduledExecutor(fabricaThreads("finalizacao-leilao-vigia-"));
+
+        this.contadorFinalizados = contador(meterRegistry, "finalizado");
+        this.contadorIgnorados = contador(meterRegistry, "ignorado");
+        this.contadorFalhas = contador(meterRegistry, "falha");
+        this.contadorRetentativas = Counter.builder("frete.leilao.finalizacao.retentativas")
+                .description("Retentativas de encerramento de leilão após falha transitória")
+                .register(meterRegistry);
+
+        log.info("Processador de finalização de leilões iniciado com {} worker(s).", tamanho);
+    }
+
+    // --- SUBMISSÃO ---
+
+    /**
+     * Submete o encerramento de um leilão sem nunca executá-lo na thread
+     * chamadora.
+     *
+     * @return false se a fila estiver cheia (ou o processador desligado): o
+     *         leilão não foi submetido.
+     */
+    public boolean tentarSubmeter(Long freteId, LocalDateTime limite) {
+        return enfileirar(freteId, limite, false) != null;
+    }
+
+    /**
+     * Encerra um lote de leilões em paralelo e aguarda a conclusão de todos.
+     */
+    public ResumoLote finalizarLote(List<Long> freteIds, LocalDateTime limite) {
+        List<TarefaFinalizacao> tarefas = new ArrayList<>(freteIds.size());
+        for (Long freteId : freteIds) {
+            tarefas.add(enfileirar(freteId, limite, true));
+        }
+
+        int finalizados = 0;
+        int ignorados = 0;
+        int falhas = 0;
+        for (TarefaFinalizacao tarefa : tarefas) {
+            switch (aguardar(tarefa)) {
+                case FINALIZADO -> finalizados++;
+                case IGNORADO -> ignorados++;
+                case FALHA -> falhas++;
+            }
+        }
+        return new ResumoLote(finalizados, ignorados, falhas);
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void encerrar() {
+        vigia.shutdownNow();
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // --- EXECUÇÃO ---
+
+    /**
+     * @param executarSeCheia Com a fila cheia, executa na thread chamadora (em vez
+     *                        de desistir).
+     * @return A tarefa, ou null se recusada.
+     */
+    private TarefaFinalizacao enfileirar(Long freteId, LocalDateTime limite, boolean executarSeCheia) {
+        TarefaFinalizacao tarefa = new TarefaFinalizacao(freteId, limite);
+        try {
+            executor.execute(tarefa);
+        } catch (RejectedExecutionException e) {
+            if (!executarSeCheia) {
+                return null;
+            }
+            if (executor.isShutdown()) {
+                // Desligando: aguardar() a conta como falha.
+                tarefa.cancel(false);
+            } else {
+                tarefa.run();
+            }
+        }
+        return tarefa;
+    }
+
+    /**
+     * Encerramento de um leilão cujo timeout é agendado quando a execução
+     * começa: uma tarefa que esperou na fila atrás de outras tem o prazo
+     * inteiro.
+     */
+    private final class TarefaFinalizacao extends FutureTask<ResultadoFinalizacao> {
+
+        private final Long freteId;
+        private volatile boolean iniciada;
+
+        TarefaFinalizacao(Long freteId, LocalDateTime limite) {
+            super(() -> finalizarComRetentativa(freteId, limite));
+            this.freteId = freteId;
+        }
+
+        @Override
+        public void run() {
+            iniciada = true;
+            ScheduledFuture<?> timeout = agendarTimeout();
+            try {
+                super.run();
+            } finally {
+                if (timeout != null) {
+                    timeout.cancel(false);
+                }
+                if (isCancelled()) {
+                    // Com a fila cheia a thread é a da varredura: não deixa a
+                    // interrupção do cancelamento vazar para ela.
+                    Thread.interrupted();
+                }
+            }
+        }
+
+        boolean isIniciada() {
+            return iniciada;
+        }
+
+        private ScheduledFuture<?> agendarTimeout() {
+            try {
+                return vigia.schedule(() -> {
+                    if (cancel(true)) {
+                        contadorFalhas.increment();
+                        log.warn("Encerramento do Frete #{} cancelado por timeout ({} ms).", freteId, timeoutMs);
+                    }
+                }, timeoutMs, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // Vigia já desligado (encerramento da aplicação).
+                return null;
+            }
+        }
+    }
+
+    private ResultadoFinalizacao finalizarComRetentativa(Long freteId, LocalDateTime limite) {
+        for (int tentativa = 1;; tentativa++) {
+            try {
+                boolean finalizado = freteService.finalizarLeilaoPorId(freteId, limite);
+                (finalizado ? contadorFinalizados : contadorIgnorados).increment();
+                return finalizado ? ResultadoFinalizacao.FINALIZADO : ResultadoFinalizacao.IGNORADO;
+            } catch (RuntimeException e) {
+                if (!isRetentavel(e) || tentativa >= maxTentativas || Thread.currentThread().isInterrupted()) {
+                    contadorFalhas.increment();
+                    log.error("Falha ao encerrar o Frete #{} (tentativa {}/{}): {}",
+                            freteId, tentativa, maxTentativas, e.getMessage(), e);
+                    return ResultadoFinalizacao.FALHA;
+                }
+                contadorRetentativas.increment();
+                long espera = calcularBackoff(tentativa);
+                log.warn("Falha transitória ao encerrar o Frete #{} (tentativa {}/{}). Nova tentativa em {} ms: {}",
+                        freteId, tentativa, maxTentativas, espera, e.getMessage());
+                if (!dormir(espera)) {
+                    contadorFalhas.increment();
+                    return ResultadoFinalizacao.FALHA;
+                }
+            }
+        }
+    }
+
+    private ResultadoFinalizacao aguardar(TarefaFinalizacao futuro) {
+        try {
+            // Na fila, a tarefa ainda não corre prazo: aguarda enquanto o
+            // executor estiver ativo.
+            while (!futuro.isIniciada() && !executor.isShutdown()) {
+                try {
+                    return futuro.get(timeoutMs, TimeUnit.MILLISECONDS);
+                } catch (TimeoutException e) {
+                    // Continua aguardando o início.
+                }
+            }
+            // Iniciada, o vigia a cancela no timeout; o prazo extra cobre tarefas
+            // que nunca chegaram a executar (ex: descartadas no desligamento).
+            return futuro.get(timeoutMs * 2, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (futuro.cancel(true)) {
+                contadorFalhas.increment();
+            }
+            return ResultadoFinalizacao.FALHA;
+        } catch (CancellationException e) {
+            // Cancelada pelo vigia (já contabilizada como falha).
+            return ResultadoFinalizacao.FALHA;
+        } catch (ExecutionException e) {
+            contadorFalhas.increment();
+            log.error("Erro inesperado no encerramento de leilão: {}", e.getCause().getMessage(), e.getCause());
+            return ResultadoFinalizacao.FALHA;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futuro.cancel(true);
+            return ResultadoFinalizacao.FALHA;
+        }
+    }
+
+    static boolean isRetentavel(Throwable e) {
+        if (e instanceof ConcurrencyFailureException || e instanceof TransientDataAccessException) {
+            return true;
+        }
+        return e instanceof InvalidDataException ide && CODIGO_LEILAO_OCUPADO.equals(ide.getReasonCode());
+    }
+
+    /**
+     * Backoff exponencial com jitter: aleatório entre a metade e o teto
+     * base * 2^(n-1), para que tarefas que falharam juntas não colidam de novo.
+     */
+    private static long calcularBackoff(int tentativa) {
+        long teto = BACKOFF_BASE_MS << Math.min(tentativa - 1, 6);
+        return ThreadLocalRandom.current().nextLong(teto / 2, teto + 1);
+    }
+
+    private static boolean dormir(long ms) {
+        try {
+            Thread.sleep(ms);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static Counter contador(MeterRegistry registry, String resultado) {
+        return Counter.builder("frete.leilao.finalizacao")
+                .description("Leilões processados pela finalização, por resultado")
+                .tag("resultado", resultado)
+                .register(registry);
+    }
+
+    private static ThreadFactory fabricaThreads(String prefixo) {
+        AtomicInteger sequencia = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefixo + sequencia.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
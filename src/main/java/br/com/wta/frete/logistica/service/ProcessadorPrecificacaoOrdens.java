@@ -0,0 +1,293 @@
+// Caminho: src/main/java/br/com/wta/frete/logistica/service/ProcessadorPrecificacaoOrdens.java
+package br.com.wta.frete.logistica.service;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.wta.frete.logistica.controller.dto.ItemFreteRequest;
+import br.com.wta.frete.logistica.entity.OrdemServico;
+import br.com.wta.frete.logistica.repository.FreteRepository;
+import br.com.wta.frete.logistica.repository.OrdemServicoRepository;
+import br.com.wta.frete.shared.exception.InvalidDataException;
+import br.com.wta.frete.shared.exception.ResourceNotFoundException;
+import br.com.wta.frete.shared.outbox.ConsumidorDedicadoOutbox;
+import br.com.wta.frete.shared.outbox.RegistroOutbox;
+import br.com.wta.frete.shared.outbox.RegistroOutbox.ItemOutbox;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Precificação assíncrona da Ordem de Serviço (modo
+ * {@code frete.ordens-servico.precificacao-assincrona}).
+ *
+ * 1. O OrdemServicoService grava a OS e uma tarefa PRECIFICACAO_ORDEM_SERVICO
+ * no outbox (core.outbox), na mesma transação.
+ * 2. Um pool de workers reserva as tarefas com SKIP LOCKED e cria o Frete
+ * ({@link FreteService#criarFrete}) na mesma transação que marca a tarefa como
+ * processada: o Frete é criado uma única vez, mesmo com vários workers ou
+ * nós.
+ * 3. Falhas transitórias (banco, geo) são repetidas com backoff exponencial;
+ * erros de negócio (modalidade inexistente, métrica ausente) e tentativas
+ * esgotadas encerram a tarefa como FALHA, visível em
+ * GET /ordens-servico/{id}/precificacao.
+ * 4. Os workers acordam após o commit de uma nova tarefa e, sem sinal,
+ * consultam o outbox a cada {@code frete.ordens-servico.precificacao.intervalo-ms}.
+ */
+@Component
+public class ProcessadorPrecificacaoOrdens implements ConsumidorDedicadoOutbox {
+
+    private static final Logger log = LoggerFactory.getLogger(ProcessadorPrecificacaoOrdens.class);
+
+    public static final String TIPO_TAREFA = "PRECIFICACAO_ORDEM_SERVICO";
+
+    private static final long BACKOFF_BASE_MS = 1_000;
+
+    /**
+     * Dados da requisição necessários para precificar a OS (payload da tarefa).
+     */
+    public record PedidoPrecificacao(String nomeModalidadeFrete, List<ItemFreteRequest> itensFrete) {
+    }
+
+    private final RegistroOutbox registroOutbox;
+    private final FreteService freteService;
+    private final OrdemServicoRepository ordemServicoRepository;
+    private final FreteRepository freteRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int workers;
+    private final long intervaloMs;
+    private final int maxTentativas;
+
+    private final Counter contadorConcluidas;
+    private final Counter contadorRetentativas;
+    private final Counter contadorFalhas;
+    private final Timer timerEspera;
+
+    private final Object sinal = new Object();
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean executando;
+
+    public ProcessadorPrecificacaoOrdens(
+            RegistroOutbox registroOutbox,
+            @Lazy FreteService freteService,
+            OrdemServicoRepository ordemServicoRepository,
+            FreteRepository freteRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${frete.ordens-servico.precificacao.workers:2}") int workers,
+            @Value("${frete.ordens-servico.precificacao.intervalo-ms:1000}") long intervaloMs,
+            @Value("${frete.ordens-servico.precificacao.tentativas:5}") int maxTentativas) {
+        this.registroOutbox = registroOutbox;
+        this.freteService = freteService;
+        this.ordemServicoRepository = ordemServicoRepository;
+        this.freteRepository = freteRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.workers = workers;
+        this.intervaloMs = Math.max(10, intervaloMs);
+        this.maxTentativas = Math.max(1, maxTentativas);
+
+        this.contadorConcluidas = contador(meterRegistry, "concluida");
+        this.contadorRetentativas = contador(meterRegistry, "retentativa");
+        this.contadorFalhas = contador(meterRegistry, "falha");
+        this.timerEspera = Timer.builder("frete.ordens-servico.precificacao.espera")
+                .description("Tempo entre o registro da OS e a criação do Frete (precificação assíncrona)")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String tipoDedicado() {
+        return TIPO_TAREFA;
+    }
+
+    // --- ENFILEIRAMENTO ---
+
+    /**
+     * Registra a tarefa de precificação na transação corrente. Os workers são
+     * acordados após o commit.
+     */
+    public void enfileirar(Long ordemServicoId, String nomeModalidadeFrete, List<ItemFreteRequest> itensFrete) {
+        registroOutbox.registrar(TIPO_TAREFA, ordemServicoId, new PedidoPrecificacao(nomeModalidadeFrete, itensFrete));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    sinalizar();
+                }
+            });
+        } else {
+            sinalizar();
+        }
+    }
+
+    // --- CICLO DE VIDA ---
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void iniciar() {
+        if (workers <= 0) {
+            log.info("Workers de precificação assíncrona desabilitados (frete.ordens-servico.precificacao.workers=0).");
+            return;
+        }
+        executando = true;
+        for (int i = 1; i <= workers; i++) {
+            Thread thread = new Thread(this::executar, "precificacao-os-" + i);
+            thread.setDaemon(true);
+            threads.add(thread);
+            thread.start();
+        }
+        log.info("Precificação assíncrona de Ordens de Serviço iniciada com {} worker(s).", workers);
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public synchronized void parar() {
+        executando = false;
+        threads.forEach(Thread::interrupt);
+        threads.clear();
+    }
+
+    // --- PROCESSAMENTO ---
+
+    private void executar() {
+        while (executando && !Thread.currentThread().isInterrupted()) {
+            boolean processou;
+            try {
+                processou = processarProxima();
+            } catch (RuntimeException e) {
+                // Falha ao acessar o outbox (ex: banco indisponível): aguarda o próximo ciclo.
+                log.error("Falha no worker de precificação: {}", e.getMessage(), e);
+                processou = false;
+            }
+            if (!processou && !aguardarSinal()) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Reserva e processa uma tarefa.
+     *
+     * @return false se não havia tarefa disponível.
+     */
+    boolean processarProxima() {
+        ItemOutbox[] reservado = new ItemOutbox[1];
+        try {
+            Boolean processou = transactionTemplate.execute(status -> {
+                Optional<ItemOutbox> item = registroOutbox.reservarProximo(TIPO_TAREFA);
+                if (item.isEmpty()) {
+                    return false;
+                }
+                reservado[0] = item.get();
+                precificar(item.get());
+                registroOutbox.concluir(item.get().outboxId());
+                return true;
+            });
+            if (Boolean.TRUE.equals(processou)) {
+                contadorConcluidas.increment();
+                registrarEspera(reservado[0].criadoEm());
+                return true;
+            }
+            return false;
+        } catch (RuntimeException e) {
+            if (reservado[0] == null) {
+                throw e;
+            }
+            registrarFalha(reservado[0], e);
+            return true;
+        }
+    }
+
+    private void precificar(ItemOutbox item) {
+        Long ordemServicoId = item.agregadoId();
+        if (!freteRepository.buscarIdsPorOrdemServico(ordemServicoId).isEmpty()) {
+            // Tarefa reenfileirada de uma OS que já tem Frete: nada a fazer.
+            log.info("Ordem de Serviço #{} já possui Frete. Tarefa {} descartada.", ordemServicoId, item.outboxId());
+            return;
+        }
+
+        @SuppressWarnings("null")
+        OrdemServico ordemServico = ordemServicoRepository.findById(ordemServicoId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Ordem de Serviço não encontrada com ID: " + ordemServicoId));
+        PedidoPrecificacao pedido = registroOutbox.lerPayload(item, PedidoPrecificacao.class);
+
+        freteService.criarFrete(ordemServico, pedido.itensFrete(), pedido.nomeModalidadeFrete());
+    }
+
+    private void registrarFalha(ItemOutbox item, RuntimeException e) {
+        boolean definitiva = e instanceof InvalidDataException || e instanceof ResourceNotFoundException;
+        long espera = calcularBackoff(item.tentativas() + 1);
+        Boolean esgotada = transactionTemplate.execute(status -> registroOutbox.registrarFalha(
+                item.outboxId(), e.getMessage(), definitiva, maxTentativas, espera));
+
+        if (Boolean.TRUE.equals(esgotada)) {
+            contadorFalhas.increment();
+            log.error("Precificação da Ordem de Serviço #{} falhou definitivamente (tentativa {}): {}",
+                    item.agregadoId(), item.tentativas() + 1, e.getMessage(), e);
+        } else {
+            contadorRetentativas.increment();
+            log.warn("Falha ao precificar a Ordem de Serviço #{} (tentativa {}/{}). Nova tentativa em {} ms: {}",
+                    item.agregadoId(), item.tentativas() + 1, maxTentativas, espera, e.getMessage());
+        }
+    }
+
+    private void registrarEspera(OffsetDateTime criadoEm) {
+        if (criadoEm != null) {
+            timerEspera.record(Duration.between(criadoEm, OffsetDateTime.now()));
+        }
+    }
+
+    // --- SINALIZAÇÃO ---
+
+    private void sinalizar() {
+        synchronized (sinal) {
+            sinal.notifyAll();
+        }
+    }
+
+    private boolean aguardarSinal() {
+        synchronized (sinal) {
+            try {
+                sinal.wait(intervaloMs);
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Backoff exponencial com jitter (mesma regra do
+     * ProcessadorFinalizacaoLeiloes, com base maior: a dependência lenta
+     * costuma ser externa).
+     */
+    static long calcularBackoff(int tentativa) {
+        long teto = BACKOFF_BASE_MS << Math.min(Math.max(tentativa, 1) - 1, 8);
+        return ThreadLocalRandom.current().nextLong(teto / 2, teto + 1);
+    }
+
+    private static Counter contador(MeterRegistry registry, String resultado) {
+        return Counter.builder("frete.ordens-servico.precificacao")
+                .description("Tarefas de precificação assíncrona processadas, por resultado")
+                .tag("resultado", resultado)
+                .register(registry);
+    }
+}
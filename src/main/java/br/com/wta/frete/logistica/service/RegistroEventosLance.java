@@ -0,0 +1,124 @@
+// Caminho: src/main/java/br/com/wta/frete/logistica/service/RegistroEventosLance.java
+package br.com.wta.frete.logistica.service;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Grava o histórico append-only de lances (logistica.lance_eventos,
+ * particionada por mês).
+ *
+ * Os eventos de uma transação são acumulados e inseridos de uma só vez, em
+ * lote (JDBC batch), imediatamente antes do commit e na mesma conexão: o
+ * histórico é confirmado ou revertido junto com os lances. Um lote de lances
+ * (ou uma disputa de lances automáticos) gera um único round-trip de INSERT.
+ * Fora de uma transação, o evento é inserido imediatamente. Cada transação
+ * física tem o seu lote: os eventos de uma transação interna (REQUIRES_NEW)
+ * são inseridos no commit dela, não no da externa.
+ */
+@Component
+public class RegistroEventosLance {
+
+    static final String SQL_INSERT = "INSERT INTO logistica.lance_eventos "
+            + "(frete_id, lance_id, transportador_id, valor_lance, valor_anterior, origem, data_evento) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    /**
+     * Origem do lance gravado.
+     */
+    public enum OrigemLance {
+        MANUAL, AUTOMATICO
+    }
+
+    /**
+     * Um lance gravado (linha de logistica.lance_eventos).
+     *
+     * @param valorAnterior Lance anterior do mesmo transportador (nulo no
+     *                      primeiro lance).
+     */
+    public record EventoLance(
+            Long freteId,
+            Long lanceId,
+            Long transportadorId,
+            BigDecimal valorLance,
+            BigDecimal valorAnterior,
+            OrigemLance origem,
+            LocalDateTime dataEvento) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int tamanhoLote;
+
+    public RegistroEventosLance(JdbcTemplate jdbcTemplate,
+            @Value("${frete.lances.eventos.tamanho-lote:500}") int tamanhoLote) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tamanhoLote = Math.max(1, tamanhoLote);
+    }
+
+    /**
+     * Registra o evento na transação corrente (inserido no commit).
+     */
+    public void registrar(EventoLance evento) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            inserir(List.of(evento));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<EventoLance> pendentes = (List<EventoLance>) TransactionSynchronizationManager.getResource(this);
+        if (pendentes == null) {
+            List<EventoLance> novos = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, novos);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                // Uma transação interna (REQUIRES_NEW) acumula os seus próprios
+                // eventos: a lista desta transação sai de cena enquanto ela está
+                // suspensa.
+                @Override
+                public void suspend() {
+                    TransactionSynchronizationManager.unbindResource(RegistroEventosLance.this);
+                }
+
+                @Override
+                public void resume() {
+                    TransactionSynchronizationManager.bindResource(RegistroEventosLance.this, novos);
+                }
+
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    inserir(novos);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(RegistroEventosLance.this);
+                }
+            });
+            pendentes = novos;
+        }
+        pendentes.add(evento);
+    }
+
+    void inserir(List<EventoLance> eventos) {
+        if (eventos.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(SQL_INSERT, eventos, tamanhoLote, (ps, evento) -> {
+            ps.setLong(1, evento.freteId());
+            ps.setLong(2, evento.lanceId());
+            ps.setLong(3, evento.transportadorId());
+            ps.setBigDecimal(4, evento.valorLance());
+            ps.setBigDecimal(5, evento.valorAnterior());
+            ps.setString(6, evento.origem().name());
+            ps.setTimestamp(7, Timestamp.valueOf(evento.dataEvento()));
+        });
+    }
+}
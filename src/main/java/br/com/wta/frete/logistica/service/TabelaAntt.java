@@ -0,0 +1,210 @@
+// Caminho: src/main/java/br/com/wta/frete/logistica/service/TabelaAntt.java
+package br.com.wta.frete.logistica.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import br.com.wta.frete.shared.util.ValorFixo;
+
+/**
+ * Fotografia imutável dos parâmetros ANTT vigentes em uma data de referência.
+ *
+ * Para cada chave, vale a versão mais recente com data_vigencia menor ou igual
+ * à data de referência. Os fatores do cálculo do Piso Mínimo são resolvidos uma
+ * única vez na construção; a instância pode ser compartilhada entre threads sem
+ * sincronização.
+ *
+ * O cálculo roda em ponto fixo ({@link ValorFixo}): os fatores ficam como longs
+ * na escala das colunas (NUMERIC(10,4)) e a distância em centésimos de km. O
+ * BigDecimal só é usado quando algum valor não cabe nessa representação, com o
+ * mesmo resultado.
+ */
+public final class TabelaAntt {
+
+    public static final String CUSTO_FIXO_VIAGEM = "CUSTO_FIXO_VIAGEM";
+    public static final String COEFICIENTE_POR_KM = "COEFICIENTE_POR_KM";
+    public static final String TAXA_ADMINISTRATIVA = "TAXA_ADMINISTRATIVA";
+
+    // Valores default seguros, usados quando a chave não existe na tabela.
+    static final BigDecimal CUSTO_FIXO_PADRAO = new BigDecimal("100.00");
+    static final BigDecimal COEFICIENTE_POR_KM_PADRAO = new BigDecimal("0.50");
+    static final BigDecimal TAXA_ADMINISTRATIVA_PADRAO = new BigDecimal("0.05");
+
+    // Constante para arredondamento (2 casas decimais, padrão financeiro)
+    private static final int CASAS_DECIMAIS = 2;
+    private static final RoundingMode MODO_ARREDONDAMENTO = RoundingMode.HALF_UP;
+
+    // Escala dos parâmetros (coluna valor NUMERIC(10,4)) e da distância (centésimos de km).
+    static final int ESCALA_PARAMETRO = 4;
+    static final int ESCALA_DISTANCIA = 2;
+    // (custo fixo + distância * coeficiente): escala 2 + 4; vezes o fator: + 4.
+    private static final int ESCALA_CUSTO_BASICO = ESCALA_DISTANCIA + ESCALA_PARAMETRO;
+    private static final int ESCALA_PRODUTO = ESCALA_CUSTO_BASICO + ESCALA_PARAMETRO;
+
+    /**
+     * Uma versão (linha) de um parâmetro ANTT.
+     */
+    public record VersaoParametro(
+            Integer anttParametroId,
+            String chave,
+            BigDecimal valor,
+            String descricao,
+            LocalDate dataVigencia) {
+    }
+
+    private final LocalDate dataReferencia;
+    private final String checksum;
+    private final Map<String, VersaoParametro> vigentes;
+
+    private final BigDecimal custoFixo;
+    private final BigDecimal coeficientePorKm;
+    // (1 + Taxa Administrativa), pré-calculado.
+    private final BigDecimal fatorTaxaAdministrativa;
+
+    // Os mesmos fatores em ponto fixo (ESCALA_PARAMETRO), quando representáveis.
+    private final boolean pontoFixo;
+    private final long custoFixoEscalado;
+    private final long coeficientePorKmEscalado;
+    private final long fatorTaxaEscalado;
+
+    private TabelaAntt(LocalDate dataReferencia, String checksum, Map<String, VersaoParametro> vigentes) {
+        this.dataReferencia = dataReferencia;
+        this.checksum = checksum;
+        this.vigentes = Map.copyOf(vigentes);
+        this.custoFixo = valorOuPadrao(CUSTO_FIXO_VIAGEM, CUSTO_FIXO_PADRAO);
+        this.coeficientePorKm = valorOuPadrao(COEFICIENTE_POR_KM, COEFICIENTE_POR_KM_PADRAO);
+        this.fatorTaxaAdministrativa = BigDecimal.ONE.add(valorOuPadrao(TAXA_ADMINISTRATIVA, TAXA_ADMINISTRATIVA_PADRAO));
+
+        long[] escalados = escalarFatores(custoFixo, coeficientePorKm, fatorTaxaAdministrativa);
+        this.pontoFixo = escalados != null;
+        this.custoFixoEscalado = pontoFixo ? escalados[0] : 0L;
+        this.coeficientePorKmEscalado = pontoFixo ? escalados[1] : 0L;
+        this.fatorTaxaEscalado = pontoFixo ? escalados[2] : 0L;
+    }
+
+    /**
+     * Fatores na escala fixa, ou null se algum tiver mais casas que a coluna
+     * (ex: parâmetro montado fora do banco).
+     */
+    private static long[] escalarFatores(BigDecimal... fatores) {
+        long[] escalados = new long[fatores.length];
+        try {
+            for (int i = 0; i < fatores.length; i++) {
+                escalados[i] = ValorFixo.escalar(fatores[i], ESCALA_PARAMETRO);
+            }
+            return escalados;
+        } catch (ArithmeticException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Monta a tabela vigente na data de referência a partir de todas as versões.
+     *
+     * @param versoes        Todas as versões de todos os parâmetros.
+     * @param dataReferencia Data em que a tabela deve valer.
+     * @param checksum       Identificação do conteúdo do banco que originou as
+     *                       versões.
+     */
+    public static TabelaAntt vigenteEm(Collection<VersaoParametro> versoes, LocalDate dataReferencia,
+            String checksum) {
+        Map<String, VersaoParametro> vigentes = new HashMap<>();
+        for (VersaoParametro versao : versoes) {
+            if (versao.dataVigencia().isAfter(dataReferencia)) {
+                continue;
+            }
+            vigentes.merge(versao.chave(), versao,
+                    (atual, nova) -> nova.dataVigencia().isAfter(atual.dataVigencia()) ? nova : atual);
+        }
+        return new TabelaAntt(dataReferencia, checksum, vigentes);
+    }
+
+    /**
+     * Calcula o Piso Mínimo de Frete (PMF) em Reais (BRL), seguindo a estrutura
+     * básica da tabela da ANTT (custo fixo + custo variável + margem).
+     *
+     * @param distanciaKm Distância rodoviária em quilômetros.
+     * @return O valor do Piso Mínimo em BRL, arredondado para duas casas decimais.
+     */
+    public BigDecimal calcularPisoMinimo(BigDecimal distanciaKm) {
+        if (pontoFixo && distanciaKm.scale() <= ESCALA_DISTANCIA) {
+            try {
+                long centavos = calcularPisoMinimoCentavos(ValorFixo.escalar(distanciaKm, ESCALA_DISTANCIA));
+                return ValorFixo.paraBigDecimal(centavos, CASAS_DECIMAIS);
+            } catch (ArithmeticException e) {
+                // Estouro do long: segue pelo cálculo em BigDecimal.
+            }
+        }
+        return calcularPisoMinimoDecimal(distanciaKm);
+    }
+
+    /**
+     * Mesmo cálculo em ponto fixo.
+     *
+     * @param distanciaCentesimosKm Distância em centésimos de km (escala 2).
+     * @return O Piso Mínimo em centavos.
+     */
+    public long calcularPisoMinimoCentavos(long distanciaCentesimosKm) {
+        if (pontoFixo) {
+            try {
+                // Valor Final = (Custo Fixo + Distância * Coeficiente) * (1 + Taxa Administrativa)
+                long custoTotalBasico = ValorFixo.somar(
+                        ValorFixo.reescalar(custoFixoEscalado, ESCALA_PARAMETRO, ESCALA_CUSTO_BASICO),
+                        ValorFixo.multiplicar(distanciaCentesimosKm, coeficientePorKmEscalado));
+                return ValorFixo.arredondar(ValorFixo.multiplicar(custoTotalBasico, fatorTaxaEscalado),
+                        ESCALA_PRODUTO - CASAS_DECIMAIS);
+            } catch (ArithmeticException e) {
+                // Estouro do long: segue pelo cálculo em BigDecimal.
+            }
+        }
+        return ValorFixo.escalar(
+                calcularPisoMinimoDecimal(ValorFixo.paraBigDecimal(distanciaCentesimosKm, ESCALA_DISTANCIA)),
+                CASAS_DECIMAIS);
+    }
+
+    /**
+     * Fórmula de referência em BigDecimal (valores fora da faixa do ponto fixo).
+     */
+    BigDecimal calcularPisoMinimoDecimal(BigDecimal distanciaKm) {
+        BigDecimal custoTotalBasico = custoFixo.add(distanciaKm.multiply(coeficientePorKm));
+        return custoTotalBasico.multiply(fatorTaxaAdministrativa).setScale(CASAS_DECIMAIS, MODO_ARREDONDAMENTO);
+    }
+
+    private BigDecimal valorOuPadrao(String chave, BigDecimal padrao) {
+        VersaoParametro versao = vigentes.get(chave);
+        return versao != null ? versao.valor() : padrao;
+    }
+
+    // --- CONSULTAS ---
+
+    public LocalDate getDataReferencia() {
+        return dataReferencia;
+    }
+
+    public String getChecksum() {
+        return checksum;
+    }
+
+    /**
+     * Versões vigentes na data de referência (mapa imutável, chave -> versão).
+     */
+    public Map<String, VersaoParametro> getVigentes() {
+        return vigentes;
+    }
+
+    public BigDecimal getCustoFixo() {
+        return custoFixo;
+    }
+
+    public BigDecimal getCoeficientePorKm() {
+        return coeficientePorKm;
+    }
+
+    public BigDecimal getFatorTaxaAdministrativa() {
+        return fatorTaxaAdministrativa;
+    }
+}
@@ -7,6 +7,7 @@ import org.mapstruct.Mappings;
 import br.com.wta.frete.logistica.controller.dto.LanceRequest;
 import br.com.wta.frete.logistica.controller.dto.LanceResponse;
 import br.com.wta.frete.logistica.entity.Lance;
+import br.com.wta.frete.logistica.service.LivroOfertasLeilao.OfertaTransportador;
 
 /**
  * Mapeador MapStruct para conversão entre DTOs e a entidade Lance.
@@ -49,4 +50,20 @@ public interface LanceMapper {
 			@Mapping(target = "nomeTransportador", expression = "java(entity.getTransportador() != null && entity.getTransportador().getPessoa() != null ? entity.getTransportador().getPessoa().getNome() : \"Desconhecido\")")
 	})
 	LanceResponse toResponse(Lance entity);
-}
\ No newline at end of file
+
+	/**
+	 * Converte a oferta vigente do livro de ofertas (memória) para o DTO de
+	 * Resposta, sem precisar recarregar a entidade Lance.
+	 */
+	default LanceResponse toResponse(Long freteId, OfertaTransportador oferta) {
+		return new LanceResponse(
+				oferta.lanceId(),
+				freteId,
+				oferta.transportadorId(),
+				oferta.nomeTransportador() != null ? oferta.nomeTransportador() : "Desconhecido",
+				oferta.valorLance(),
+				oferta.dataLance(),
+				false,
+				null);
+	}
+}
@@ -11,6 +11,7 @@ import br.com.wta.frete.core.entity.enums.StatusServico;
 import br.com.wta.frete.logistica.controller.dto.OrdemServicoRequest;
 import br.com.wta.frete.logistica.controller.dto.OrdemServicoResponse;
 import br.com.wta.frete.logistica.entity.OrdemServico;
+import br.com.wta.frete.logistica.repository.projection.OrdemServicoResumoProjection;
 
 /**
  * Interface Mapper para converter entre a Entidade OrdemServico e seus DTOs.
@@ -30,6 +31,13 @@ public interface OrdemServicoMapper {
 	@Mapping(source = "status", target = "status", qualifiedByName = "statusServicoToString")
 	OrdemServicoResponse toResponse(OrdemServico entity);
 
+	/**
+	 * Mapeamento da projeção da listagem paginada para Response DTO (mesmos
+	 * nomes de campo; apenas o Status é convertido).
+	 */
+	@Mapping(source = "status", target = "status", qualifiedByName = "statusServicoToString")
+	OrdemServicoResponse resumoToResponse(OrdemServicoResumoProjection projecao);
+
 	/**
 	 * Mapeamento de Request DTO (com String) para Entidade (com Enum).
 	 * O Service fará a busca e associação das Entidades de FK (Cliente,
@@ -0,0 +1,100 @@
+package br.com.wta.frete.shared.geo;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Converte o CSV de centroides de CEP (src/main/resources/geo/cep-centroides.csv)
+ * no arquivo binário lido pela {@link TabelaCentroidesCep}.
+ *
+ * Executado no build (exec-maven-plugin, fase process-classes) e, como
+ * fallback, em tempo de execução pelo {@link MotorDistanciaCep} quando o
+ * binário não estiver disponível.
+ *
+ * Uso: CompiladorCentroidesCep &lt;entrada.csv&gt; &lt;saida.bin&gt;
+ */
+public final class CompiladorCentroidesCep {
+
+    private CompiladorCentroidesCep() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Uso: CompiladorCentroidesCep <entrada.csv> <saida.bin>");
+        }
+        Path entrada = Path.of(args[0]);
+        Path saida = Path.of(args[1]);
+
+        ByteBuffer binario;
+        try (InputStream csv = Files.newInputStream(entrada)) {
+            binario = compilar(csv);
+        }
+        Files.createDirectories(saida.toAbsolutePath().getParent());
+        Files.write(saida, binario.array());
+        System.out.printf("Centroides de CEP compilados: %d registro(s) -> %s%n",
+                (binario.capacity() - TabelaCentroidesCep.TAMANHO_CABECALHO)
+                        / TabelaCentroidesCep.TAMANHO_REGISTRO,
+                saida);
+    }
+
+    /**
+     * Lê o CSV (prefixo,uf,latitude,longitude,fator_circuidade,referencia) e
+     * gera o conteúdo binário. Linhas vazias ou iniciadas por '#' são ignoradas.
+     *
+     * @throws IllegalArgumentException Se uma linha for inválida ou um prefixo
+     *                                  estiver duplicado.
+     */
+    public static ByteBuffer compilar(InputStream csv) throws IOException {
+        Map<Integer, float[]> registros = new TreeMap<>();
+
+        try (BufferedReader leitor = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+            String linha;
+            int numero = 0;
+            while ((linha = leitor.readLine()) != null) {
+                numero++;
+                linha = linha.strip();
+                if (linha.isEmpty() || linha.startsWith("#")) {
+                    continue;
+                }
+                String[] campos = linha.split(",", -1);
+                if (campos.length < 5) {
+                    throw new IllegalArgumentException("Linha " + numero + " inválida: " + linha);
+                }
+                String prefixo = campos[0].strip();
+                if (prefixo.isEmpty() || prefixo.length() > TabelaCentroidesCep.MAX_DIGITOS_PREFIXO
+                        || !prefixo.chars().allMatch(Character::isDigit)) {
+                    throw new IllegalArgumentException("Linha " + numero + ": prefixo inválido '" + prefixo + "'.");
+                }
+                int chave = TabelaCentroidesCep.chave(prefixo.length(), Integer.parseInt(prefixo));
+                float[] valores = {
+                        Float.parseFloat(campos[2].strip()),
+                        Float.parseFloat(campos[3].strip()),
+                        Float.parseFloat(campos[4].strip()) };
+                if (registros.put(chave, valores) != null) {
+                    throw new IllegalArgumentException("Linha " + numero + ": prefixo duplicado '" + prefixo + "'.");
+                }
+            }
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(TabelaCentroidesCep.TAMANHO_CABECALHO
+                + registros.size() * TabelaCentroidesCep.TAMANHO_REGISTRO).order(ByteOrder.BIG_ENDIAN);
+        buffer.putInt(TabelaCentroidesCep.MAGICO)
+                .putInt(TabelaCentroidesCep.VERSAO)
+                .putInt(registros.size());
+        registros.forEach((chave, valores) -> buffer.putInt(chave)
+                .putFloat(valores[0])
+                .putFloat(valores[1])
+                .putFloat(valores[2]));
+        buffer.flip();
+        return buffer;
+    }
+}
@@ -0,0 +1,141 @@
+package br.com.wta.frete.shared.geo;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converte os CSVs da malha rodoviária (geo/malha-nos.csv e
+ * geo/malha-arestas.csv) no binário CSR lido pelo {@link GrafoRodoviario}.
+ *
+ * Executado no build (exec-maven-plugin, fase process-classes) e, como
+ * fallback, na subida da aplicação pelo {@link RoteadorGrafoRodoviario}.
+ *
+ * Uso: CompiladorMalhaRodoviaria &lt;nos.csv&gt; &lt;arestas.csv&gt;
+ * &lt;saida.bin&gt;
+ */
+public final class CompiladorMalhaRodoviaria {
+
+    private CompiladorMalhaRodoviaria() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            throw new IllegalArgumentException(
+                    "Uso: CompiladorMalhaRodoviaria <nos.csv> <arestas.csv> <saida.bin>");
+        }
+        Path saida = Path.of(args[2]);
+
+        ByteBuffer binario;
+        try (InputStream nos = Files.newInputStream(Path.of(args[0]));
+                InputStream arestas = Files.newInputStream(Path.of(args[1]))) {
+            binario = compilar(nos, arestas);
+        }
+        Files.createDirectories(saida.toAbsolutePath().getParent());
+        Files.write(saida, binario.array());
+
+        GrafoRodoviario grafo = new GrafoRodoviario(binario);
+        System.out.printf("Malha rodoviária compilada: %d nó(s), %d aresta(s) -> %s%n",
+                grafo.getQuantidadeNos(), grafo.getQuantidadeArestas(), saida);
+    }
+
+    /**
+     * Lê nós (id,uf,latitude,longitude) e trechos bidirecionais
+     * (origem,destino,km,rodovia) e gera o binário CSR. O peso de cada trecho
+     * nunca é menor que a distância em linha reta entre os nós, mantendo a
+     * heurística do A* admissível.
+     *
+     * @throws IllegalArgumentException Se uma linha for inválida ou referenciar um
+     *                                  nó inexistente.
+     */
+    public static ByteBuffer compilar(InputStream csvNos, InputStream csvArestas) throws IOException {
+        Map<String, Integer> indices = new LinkedHashMap<>();
+        List<float[]> coordenadas = new ArrayList<>();
+        for (String[] campos : ler(csvNos, 4)) {
+            if (indices.putIfAbsent(campos[0], indices.size()) != null) {
+                throw new IllegalArgumentException("Nó duplicado na malha: " + campos[0]);
+            }
+            coordenadas.add(new float[] { Float.parseFloat(campos[2]), Float.parseFloat(campos[3]) });
+        }
+
+        int n = indices.size();
+        List<List<float[]>> adjacencias = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            adjacencias.add(new ArrayList<>());
+        }
+
+        int totalArestas = 0;
+        for (String[] campos : ler(csvArestas, 3)) {
+            int origem = indice(indices, campos[0]);
+            int destino = indice(indices, campos[1]);
+            float[] a = coordenadas.get(origem);
+            float[] b = coordenadas.get(destino);
+            double linhaReta = PontoGeo.haversineKm(a[0], a[1], b[0], b[1]);
+            float peso = (float) Math.max(Double.parseDouble(campos[2]), linhaReta);
+
+            adjacencias.get(origem).add(new float[] { destino, peso });
+            adjacencias.get(destino).add(new float[] { origem, peso });
+            totalArestas += 2;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(16 + n * 8 + (n + 1) * 4 + totalArestas * 8)
+                .order(ByteOrder.BIG_ENDIAN);
+        buffer.putInt(GrafoRodoviario.MAGICO).putInt(GrafoRodoviario.VERSAO).putInt(n).putInt(totalArestas);
+        coordenadas.forEach(c -> buffer.putFloat(c[0]));
+        coordenadas.forEach(c -> buffer.putFloat(c[1]));
+
+        int inicio = 0;
+        for (List<float[]> adjacentes : adjacencias) {
+            buffer.putInt(inicio);
+            inicio += adjacentes.size();
+        }
+        buffer.putInt(inicio);
+        adjacencias.forEach(lista -> lista.forEach(aresta -> buffer.putInt((int) aresta[0])));
+        adjacencias.forEach(lista -> lista.forEach(aresta -> buffer.putFloat(aresta[1])));
+
+        buffer.flip();
+        return buffer;
+    }
+
+    private static int indice(Map<String, Integer> indices, String id) {
+        Integer indice = indices.get(id);
+        if (indice == null) {
+            throw new IllegalArgumentException("Trecho referencia nó inexistente: " + id);
+        }
+        return indice;
+    }
+
+    private static List<String[]> ler(InputStream csv, int camposMinimos) throws IOException {
+        List<String[]> linhas = new ArrayList<>();
+        try (BufferedReader leitor = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+            String linha;
+            int numero = 0;
+            while ((linha = leitor.readLine()) != null) {
+                numero++;
+                linha = linha.strip();
+                if (linha.isEmpty() || linha.startsWith("#")) {
+                    continue;
+                }
+                String[] campos = linha.split(",", -1);
+                if (campos.length < camposMinimos) {
+                    throw new IllegalArgumentException("Linha " + numero + " inválida: " + linha);
+                }
+                for (int i = 0; i < campos.length; i++) {
+                    campos[i] = campos[i].strip();
+                }
+                linhas.add(campos);
+            }
+        }
+        return linhas;
+    }
+}
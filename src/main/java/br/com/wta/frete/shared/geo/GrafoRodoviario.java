@@ -0,0 +1,204 @@
+package br.com.wta.frete.shared.geo;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Malha rodoviária simplificada em formato CSR (Compressed Sparse Row), apenas
+ * com arrays primitivos: as arestas que saem do nó {@code v} ocupam as posições
+ * {@code [inicioArestas[v], inicioArestas[v + 1])} de {@code destinos} e
+ * {@code pesosKm}.
+ *
+ * Formato binário (big-endian), gerado pelo {@link CompiladorMalhaRodoviaria}:
+ * int MAGICO ("MALH"), int VERSAO, int nós, int arestas; float latitude[nós],
+ * float longitude[nós], int inicioArestas[nós + 1], int destinos[arestas],
+ * float pesosKm[arestas].
+ *
+ * O menor caminho usa A* com a distância em linha reta como heurística
+ * (admissível: o compilador garante peso >= linha reta em toda aresta).
+ */
+public final class GrafoRodoviario {
+
+    static final int MAGICO = 0x4D414C48; // "MALH"
+    static final int VERSAO = 1;
+
+    private final float[] latitudes;
+    private final float[] longitudes;
+    private final int[] inicioArestas;
+    private final int[] destinos;
+    private final float[] pesosKm;
+
+    /**
+     * @throws IllegalStateException Se o conteúdo não estiver no formato esperado.
+     */
+    public GrafoRodoviario(ByteBuffer conteudo) {
+        ByteBuffer buffer = conteudo.duplicate().order(ByteOrder.BIG_ENDIAN);
+        buffer.rewind();
+        if (buffer.remaining() < 16 || buffer.getInt() != MAGICO) {
+            throw new IllegalStateException("Arquivo da malha rodoviária inválido (cabeçalho).");
+        }
+        int versao = buffer.getInt();
+        if (versao != VERSAO) {
+            throw new IllegalStateException("Versão do arquivo da malha rodoviária não suportada: " + versao);
+        }
+        int nos = buffer.getInt();
+        int arestas = buffer.getInt();
+
+        this.latitudes = new float[nos];
+        this.longitudes = new float[nos];
+        this.inicioArestas = new int[nos + 1];
+        this.destinos = new int[arestas];
+        this.pesosKm = new float[arestas];
+
+        buffer.asFloatBuffer().get(latitudes);
+        buffer.position(buffer.position() + nos * 4);
+        buffer.asFloatBuffer().get(longitudes);
+        buffer.position(buffer.position() + nos * 4);
+        buffer.asIntBuffer().get(inicioArestas);
+        buffer.position(buffer.position() + (nos + 1) * 4);
+        buffer.asIntBuffer().get(destinos);
+        buffer.position(buffer.position() + arestas * 4);
+        buffer.asFloatBuffer().get(pesosKm);
+    }
+
+    public int getQuantidadeNos() {
+        return latitudes.length;
+    }
+
+    public int getQuantidadeArestas() {
+        return destinos.length;
+    }
+
+    public double latitude(int no) {
+        return latitudes[no];
+    }
+
+    public double longitude(int no) {
+        return longitudes[no];
+    }
+
+    /**
+     * Nó mais próximo (linha reta) do ponto. Varredura linear: a malha tem poucas
+     * dezenas de nós.
+     */
+    public int noMaisProximo(double latitude, double longitude) {
+        int melhor = -1;
+        double menorDistancia = Double.MAX_VALUE;
+        for (int v = 0; v < latitudes.length; v++) {
+            double d = PontoGeo.haversineKm(latitude, longitude, latitudes[v], longitudes[v]);
+            if (d < menorDistancia) {
+                menorDistancia = d;
+                melhor = v;
+            }
+        }
+        return melhor;
+    }
+
+    /**
+     * Menor distância rodoviária entre dois nós (A*).
+     *
+     * @return Distância em km, ou {@link Double#POSITIVE_INFINITY} se não houver
+     *         caminho (ex: malha desconexa).
+     */
+    public double menorCaminhoKm(int origem, int destino) {
+        if (origem == destino) {
+            return 0.0;
+        }
+
+        int n = latitudes.length;
+        double[] custo = new double[n];
+        Arrays.fill(custo, Double.POSITIVE_INFINITY);
+        boolean[] fechado = new boolean[n];
+        double latDestino = latitudes[destino];
+        double lonDestino = longitudes[destino];
+
+        // Heap binário de (prioridade, nó) em arrays primitivos, com remoção
+        // preguiçosa: entradas obsoletas são descartadas ao sair do heap.
+        HeapMinimo abertos = new HeapMinimo(destinos.length + 1);
+        custo[origem] = 0.0;
+        abertos.inserir(PontoGeo.haversineKm(latitudes[origem], longitudes[origem], latDestino, lonDestino), origem);
+
+        while (!abertos.vazio()) {
+            int v = abertos.removerMinimo();
+            if (fechado[v]) {
+                continue;
+            }
+            if (v == destino) {
+                return custo[v];
+            }
+            fechado[v] = true;
+
+            for (int a = inicioArestas[v]; a < inicioArestas[v + 1]; a++) {
+                int w = destinos[a];
+                double novoCusto = custo[v] + pesosKm[a];
+                if (!fechado[w] && novoCusto < custo[w]) {
+                    custo[w] = novoCusto;
+                    double estimativa = PontoGeo.haversineKm(latitudes[w], longitudes[w], latDestino, lonDestino);
+                    abertos.inserir(novoCusto + estimativa, w);
+                }
+            }
+        }
+        return Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Heap binário mínimo de capacidade fixa (sem objetos por entrada).
+     */
+    private static final class HeapMinimo {
+
+        private final double[] prioridades;
+        private final int[] nos;
+        private int tamanho;
+
+        HeapMinimo(int capacidade) {
+            this.prioridades = new double[capacidade];
+            this.nos = new int[capacidade];
+        }
+
+        boolean vazio() {
+            return tamanho == 0;
+        }
+
+        void inserir(double prioridade, int no) {
+            int i = tamanho++;
+            while (i > 0) {
+                int pai = (i - 1) >>> 1;
+                if (prioridades[pai] <= prioridade) {
+                    break;
+                }
+                prioridades[i] = prioridades[pai];
+                nos[i] = nos[pai];
+                i = pai;
+            }
+            prioridades[i] = prioridade;
+            nos[i] = no;
+        }
+
+        int removerMinimo() {
+            int minimo = nos[0];
+            tamanho--;
+            double prioridade = prioridades[tamanho];
+            int no = nos[tamanho];
+            int i = 0;
+            while (true) {
+                int filho = 2 * i + 1;
+                if (filho >= tamanho) {
+                    break;
+                }
+                if (filho + 1 < tamanho && prioridades[filho + 1] < prioridades[filho]) {
+                    filho++;
+                }
+                if (prioridade <= prioridades[filho]) {
+                    break;
+                }
+                prioridades[i] = prioridades[filho];
+                nos[i] = nos[filho];
+                i = filho;
+            }
+            prioridades[i] = prioridade;
+            nos[i] = no;
+            return minimo;
+        }
+    }
+}
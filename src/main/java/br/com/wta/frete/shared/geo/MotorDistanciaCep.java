@@ -0,0 +1,238 @@
+package br.com.wta.frete.shared.geo;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import br.com.wta.frete.shared.exception.InvalidDataException;
+
+/**
+ * Motor offline de distância rodoviária estimada entre dois CEPs.
+ *
+ * Cada CEP é associado ao centroide do seu prefixo mais longo conhecido
+ * ({@link TabelaCentroidesCep}); a distância entre os centroides é calculada
+ * pelo {@link RoteadorRodoviario} configurado (malha rodoviária ou linha reta
+ * x fator de circuidade). O resultado é determinístico e não depende de API
+ * externa. Pares consultados com frequência ficam em um cache LRU segmentado:
+ * cada segmento tem o seu próprio lock, e as cotações em lote paralelas só
+ * disputam quando caem no mesmo segmento.
+ *
+ * Origem da tabela: arquivo externo ({@code frete.geo.centroides.arquivo}) ou o
+ * binário gerado no build (classpath geo/cep-centroides.bin), mapeado em
+ * memória quando possível; na ausência do binário, o CSV é compilado na subida.
+ */
+@Component
+public class MotorDistanciaCep {
+
+    private static final Logger log = LoggerFactory.getLogger(MotorDistanciaCep.class);
+
+    static final String RECURSO_BINARIO = "geo/cep-centroides.bin";
+    static final String RECURSO_CSV = "geo/cep-centroides.csv";
+
+    // Distância mínima cobrada (mesmo CEP ou mesmo centroide): coleta urbana.
+    static final double DISTANCIA_MINIMA_KM = 5.0;
+    private static final String CODIGO_ERRO_CEP = "CEP_INVALIDO";
+    // Potência de 2: o segmento sai dos bits altos do hash da chave.
+    static final int SEGMENTOS_CACHE = 16;
+
+    private final TabelaCentroidesCep tabela;
+    private final RoteadorRodoviario roteador;
+    private final SegmentoCache[] cache;
+
+    @Autowired
+    public MotorDistanciaCep(
+            RoteadorRodoviario roteador,
+            @Value("${frete.geo.centroides.arquivo:}") String arquivoExterno,
+            @Value("${frete.geo.cache.tamanho:10000}") int tamanhoCache) {
+        this(carregarTabela(arquivoExterno), roteador, tamanhoCache);
+    }
+
+    MotorDistanciaCep(TabelaCentroidesCep tabela, RoteadorRodoviario roteador, int tamanhoCache) {
+        this.tabela = tabela;
+        this.roteador = roteador;
+        // LRU por segmento: a capacidade total é dividida igualmente.
+        int capacidadeSegmento = Math.max(16, tamanhoCache) / SEGMENTOS_CACHE + 1;
+        this.cache = new SegmentoCache[SEGMENTOS_CACHE];
+        for (int k = 0; k < SEGMENTOS_CACHE; k++) {
+            cache[k] = new SegmentoCache(capacidadeSegmento);
+        }
+    }
+
+    /**
+     * Distância rodoviária estimada, em km.
+     *
+     * @throws InvalidDataException Se algum CEP não tiver 8 dígitos ou não
+     *                              pertencer a uma região conhecida.
+     */
+    public double distanciaKm(String cepOrigem, String cepDestino) {
+        String origem = normalizar(cepOrigem, "cepColeta");
+        String destino = normalizar(cepDestino, "cepDestino");
+
+        if (origem.equals(destino)) {
+            return DISTANCIA_MINIMA_KM;
+        }
+
+        // A distância é simétrica: (A, B) e (B, A) compartilham a entrada.
+        long a = Long.parseLong(origem);
+        long b = Long.parseLong(destino);
+        long chave = Math.min(a, b) * 100_000_000L + Math.max(a, b);
+
+        SegmentoCache segmento = segmento(chave);
+        synchronized (segmento) {
+            Double emCache = segmento.get(chave);
+            if (emCache != null) {
+                return emCache;
+            }
+        }
+
+        double distancia = calcular(origem, destino);
+        synchronized (segmento) {
+            segmento.put(chave, distancia);
+        }
+        return distancia;
+    }
+
+    private SegmentoCache segmento(long chave) {
+        // Espalha a chave (CEPs concatenados, pouco aleatória) antes de escolher.
+        return cache[(int) ((chave * 0x9E3779B97F4A7C15L) >>> (64 - Integer.numberOfTrailingZeros(SEGMENTOS_CACHE)))];
+    }
+
+    /**
+     * Pares em cache (diagnóstico e testes).
+     */
+    int getTamanhoCache() {
+        int total = 0;
+        for (SegmentoCache segmento : cache) {
+            synchronized (segmento) {
+                total += segmento.size();
+            }
+        }
+        return total;
+    }
+
+    private double calcular(String origem, String destino) {
+        int i = localizar(origem, "cepColeta");
+        int j = localizar(destino, "cepDestino");
+        if (i == j) {
+            return DISTANCIA_MINIMA_KM;
+        }
+
+        return Math.max(DISTANCIA_MINIMA_KM, roteador.distanciaKm(ponto(i), ponto(j)));
+    }
+
+    private PontoGeo ponto(int indice) {
+        return new PontoGeo(tabela.latitude(indice), tabela.longitude(indice), tabela.fatorCircuidade(indice));
+    }
+
+    /**
+     * Centroide da região do CEP (ex: origem de uma busca por raio).
+     *
+     * @throws InvalidDataException Se o CEP não tiver 8 dígitos ou não
+     *                              pertencer a uma região conhecida.
+     */
+    public PontoGeo localizarPonto(String cep, String campo) {
+        return ponto(localizar(normalizar(cep, campo), campo));
+    }
+
+    /**
+     * Índice do centroide do CEP na tabela.
+     *
+     * @throws InvalidDataException Se nenhuma região conhecida corresponder.
+     */
+    public int localizar(String cepNormalizado, String campo) {
+        int indice = tabela.buscar(cepNormalizado);
+        if (indice < 0) {
+            throw new InvalidDataException("CEP fora das regiões conhecidas: " + cepNormalizado, CODIGO_ERRO_CEP,
+                    campo);
+        }
+        return indice;
+    }
+
+    /**
+     * Remove a formatação (hífen, ponto, espaços) e valida os 8 dígitos.
+     */
+    public static String normalizar(String cep, String campo) {
+        if (cep == null) {
+            throw new InvalidDataException("CEP não informado.", CODIGO_ERRO_CEP, campo);
+        }
+        StringBuilder digitos = new StringBuilder(8);
+        for (int k = 0; k < cep.length(); k++) {
+            char c = cep.charAt(k);
+            if (c >= '0' && c <= '9') {
+                digitos.append(c);
+            } else if (c != '-' && c != '.' && c != ' ') {
+                throw new InvalidDataException("CEP inválido: " + cep, CODIGO_ERRO_CEP, campo);
+            }
+        }
+        if (digitos.length() != 8) {
+            throw new InvalidDataException("CEP deve conter 8 dígitos: " + cep, CODIGO_ERRO_CEP, campo);
+        }
+        return digitos.toString();
+    }
+
+    public TabelaCentroidesCep getTabela() {
+        return tabela;
+    }
+
+    /**
+     * Segmento do cache: LinkedHashMap em ordem de acesso, limitado à sua
+     * capacidade. Acesso sempre sincronizado no próprio segmento.
+     */
+    private static final class SegmentoCache extends LinkedHashMap<Long, Double> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int capacidade;
+
+        SegmentoCache(int capacidade) {
+            super(capacidade * 4 / 3 + 1, 0.75f, true);
+            this.capacidade = capacidade;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Double> maisAntigo) {
+            return size() > capacidade;
+        }
+    }
+
+    // --- CARGA DA TABELA ---
+
+    static TabelaCentroidesCep carregarTabela(String arquivoExterno) {
+        try {
+            if (arquivoExterno != null && !arquivoExterno.isBlank()) {
+                log.info("Centroides de CEP carregados do arquivo externo {}.", arquivoExterno);
+                return new TabelaCentroidesCep(RecursosGeo.mapear(Path.of(arquivoExterno)));
+            }
+
+            ClassLoader classLoader = MotorDistanciaCep.class.getClassLoader();
+            URL binario = classLoader.getResource(RECURSO_BINARIO);
+            if (binario != null) {
+                TabelaCentroidesCep tabela = new TabelaCentroidesCep(RecursosGeo.ler(binario));
+                log.info("Centroides de CEP carregados: {} prefixo(s).", tabela.getQuantidade());
+                return tabela;
+            }
+
+            // Fallback: binário não gerado (ex: execução pela IDE sem o build Maven).
+            log.warn("{} não encontrado no classpath. Compilando {} em tempo de execução.", RECURSO_BINARIO,
+                    RECURSO_CSV);
+            try (InputStream csv = classLoader.getResourceAsStream(RECURSO_CSV)) {
+                if (csv == null) {
+                    throw new IllegalStateException("Tabela de centroides de CEP não encontrada: " + RECURSO_CSV);
+                }
+                return new TabelaCentroidesCep(CompiladorCentroidesCep.compilar(csv));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao carregar a tabela de centroides de CEP.", e);
+        }
+    }
+}
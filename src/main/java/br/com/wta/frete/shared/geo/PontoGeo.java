@@ -0,0 +1,26 @@
+package br.com.wta.frete.shared.geo;
+
+/**
+ * Ponto geográfico (centroide de um prefixo de CEP) com o fator de circuidade
+ * rodoviária da sua região.
+ */
+public record PontoGeo(double latitude, double longitude, double fatorCircuidade) {
+
+    private static final double RAIO_TERRA_KM = 6371.0088;
+
+    /**
+     * Distância em linha reta (haversine) até o outro ponto, em km.
+     */
+    public double distanciaLinhaRetaKm(PontoGeo outro) {
+        return haversineKm(latitude, longitude, outro.latitude, outro.longitude);
+    }
+
+    static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double h = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                        * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * RAIO_TERRA_KM * Math.asin(Math.min(1.0, Math.sqrt(h)));
+    }
+}
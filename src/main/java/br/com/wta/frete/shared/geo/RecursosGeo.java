@@ -0,0 +1,44 @@
+package br.com.wta.frete.shared.geo;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Leitura dos arquivos binários de geografia (centroides de CEP e malha
+ * rodoviária) gerados no build.
+ */
+final class RecursosGeo {
+
+    private RecursosGeo() {
+    }
+
+    /**
+     * Mapeia o arquivo em memória quando ele está no sistema de arquivos; dentro
+     * de um JAR, o conteúdo é lido para um buffer direto.
+     */
+    static ByteBuffer ler(URL recurso) throws IOException {
+        if ("file".equals(recurso.getProtocol())) {
+            try {
+                return mapear(Path.of(recurso.toURI()));
+            } catch (URISyntaxException e) {
+                throw new IOException(e);
+            }
+        }
+        try (InputStream entrada = recurso.openStream()) {
+            byte[] bytes = entrada.readAllBytes();
+            return ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+        }
+    }
+
+    static ByteBuffer mapear(Path arquivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            return canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+        }
+    }
+}
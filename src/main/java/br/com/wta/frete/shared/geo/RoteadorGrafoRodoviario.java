@@ -0,0 +1,108 @@
+package br.com.wta.frete.shared.geo;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URL;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Roteamento pela malha rodoviária simplificada ({@link GrafoRodoviario}).
+ *
+ * A distância é: acesso da origem ao nó mais próximo + menor caminho na malha
+ * (A*) + acesso do nó mais próximo ao destino. Os trechos de acesso usam a
+ * estimativa por linha reta. Viagens curtas (abaixo de
+ * {@code frete.geo.roteador.distancia-minima-km}), pontos que caem no mesmo nó
+ * ou sem caminho na malha também usam a estimativa por linha reta, pois a
+ * malha só contém os grandes eixos.
+ */
+@Component
+@ConditionalOnProperty(name = "frete.geo.roteador", havingValue = "grafo", matchIfMissing = true)
+public class RoteadorGrafoRodoviario implements RoteadorRodoviario {
+
+    private static final Logger log = LoggerFactory.getLogger(RoteadorGrafoRodoviario.class);
+
+    static final String RECURSO_BINARIO = "geo/malha-rodoviaria.bin";
+    static final String RECURSO_NOS = "geo/malha-nos.csv";
+    static final String RECURSO_ARESTAS = "geo/malha-arestas.csv";
+
+    private final GrafoRodoviario grafo;
+    private final double distanciaMinimaKm;
+
+    @Autowired
+    public RoteadorGrafoRodoviario(
+            @Value("${frete.geo.roteador.distancia-minima-km:150}") double distanciaMinimaKm) {
+        this(carregarGrafo(), distanciaMinimaKm);
+    }
+
+    RoteadorGrafoRodoviario(GrafoRodoviario grafo, double distanciaMinimaKm) {
+        this.grafo = grafo;
+        this.distanciaMinimaKm = distanciaMinimaKm;
+    }
+
+    @Override
+    public double distanciaKm(PontoGeo origem, PontoGeo destino) {
+        double linhaReta = origem.distanciaLinhaRetaKm(destino);
+        double estimativa = RoteadorLinhaReta.estimar(origem, destino);
+        if (linhaReta < distanciaMinimaKm) {
+            return estimativa;
+        }
+
+        int noOrigem = grafo.noMaisProximo(origem.latitude(), origem.longitude());
+        int noDestino = grafo.noMaisProximo(destino.latitude(), destino.longitude());
+        if (noOrigem == noDestino) {
+            return estimativa;
+        }
+
+        double malha = grafo.menorCaminhoKm(noOrigem, noDestino);
+        if (Double.isInfinite(malha)) {
+            return estimativa;
+        }
+
+        double acessoOrigem = acesso(origem, noOrigem);
+        double acessoDestino = acesso(destino, noDestino);
+        return Math.max(linhaReta, acessoOrigem + malha + acessoDestino);
+    }
+
+    private double acesso(PontoGeo ponto, int no) {
+        return PontoGeo.haversineKm(ponto.latitude(), ponto.longitude(), grafo.latitude(no), grafo.longitude(no))
+                * ponto.fatorCircuidade();
+    }
+
+    public GrafoRodoviario getGrafo() {
+        return grafo;
+    }
+
+    static GrafoRodoviario carregarGrafo() {
+        ClassLoader classLoader = RoteadorGrafoRodoviario.class.getClassLoader();
+        try {
+            URL binario = classLoader.getResource(RECURSO_BINARIO);
+            GrafoRodoviario grafo;
+            if (binario != null) {
+                grafo = new GrafoRodoviario(RecursosGeo.ler(binario));
+            } else {
+                // Fallback: binário não gerado (ex: execução pela IDE sem o build Maven).
+                log.warn("{} não encontrado no classpath. Compilando a malha em tempo de execução.",
+                        RECURSO_BINARIO);
+                try (InputStream nos = classLoader.getResourceAsStream(RECURSO_NOS);
+                        InputStream arestas = classLoader.getResourceAsStream(RECURSO_ARESTAS)) {
+                    if (nos == null || arestas == null) {
+                        throw new IllegalStateException("Malha rodoviária não encontrada no classpath (geo/).");
+                    }
+                    grafo = new GrafoRodoviario(CompiladorMalhaRodoviaria.compilar(nos, arestas));
+                }
+            }
+            log.info("Malha rodoviária carregada: {} nó(s), {} aresta(s).", grafo.getQuantidadeNos(),
+                    grafo.getQuantidadeArestas());
+            return grafo;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao carregar a malha rodoviária.", e);
+        }
+    }
+}
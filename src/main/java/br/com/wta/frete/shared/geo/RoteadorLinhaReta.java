@@ -0,0 +1,23 @@
+package br.com.wta.frete.shared.geo;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Estimativa por linha reta: haversine entre os pontos multiplicada pelo fator
+ * de circuidade médio das duas regiões (estradas não são linhas retas).
+ */
+@Component
+@ConditionalOnProperty(name = "frete.geo.roteador", havingValue = "linha-reta")
+public class RoteadorLinhaReta implements RoteadorRodoviario {
+
+    @Override
+    public double distanciaKm(PontoGeo origem, PontoGeo destino) {
+        return estimar(origem, destino);
+    }
+
+    static double estimar(PontoGeo origem, PontoGeo destino) {
+        double fator = (origem.fatorCircuidade() + destino.fatorCircuidade()) / 2.0;
+        return origem.distanciaLinhaRetaKm(destino) * fator;
+    }
+}
@@ -0,0 +1,19 @@
+package br.com.wta.frete.shared.geo;
+
+/**
+ * Backend de roteamento usado pelo {@link MotorDistanciaCep} para estimar a
+ * distância rodoviária entre dois centroides de CEP.
+ *
+ * Implementações (propriedade {@code frete.geo.roteador}):
+ * 1. {@link RoteadorGrafoRodoviario} ("grafo", padrão): menor caminho na malha
+ * rodoviária simplificada.
+ * 2. {@link RoteadorLinhaReta} ("linha-reta"): haversine x fator de
+ * circuidade.
+ */
+public interface RoteadorRodoviario {
+
+    /**
+     * Distância rodoviária estimada entre os pontos, em km.
+     */
+    double distanciaKm(PontoGeo origem, PontoGeo destino);
+}
@@ -0,0 +1,108 @@
+package br.com.wta.frete.shared.geo;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Tabela binária (somente leitura) de centroides por prefixo de CEP.
+ *
+ * Formato (big-endian), gerado pelo {@link CompiladorCentroidesCep}:
+ * 1. Cabeçalho: int MAGICO ("CEPC"), int VERSAO, int quantidade.
+ * 2. Registros de 16 bytes ordenados pela chave: int chave, float latitude,
+ * float longitude, float fator de circuidade.
+ *
+ * A chave combina tamanho e valor do prefixo (tamanho * 1000 + valor), então
+ * "1", "01" e "001" não colidem. A busca tenta o prefixo mais longo (3, 2 e 1
+ * dígitos), cada tentativa com busca binária sobre o buffer, sem alocação.
+ */
+public final class TabelaCentroidesCep {
+
+    static final int MAGICO = 0x43455043; // "CEPC"
+    static final int VERSAO = 1;
+    static final int TAMANHO_CABECALHO = 12;
+    static final int TAMANHO_REGISTRO = 16;
+    static final int MAX_DIGITOS_PREFIXO = 3;
+
+    private final ByteBuffer buffer;
+    private final int quantidade;
+
+    /**
+     * @param buffer Conteúdo do arquivo binário (ex: mapeado em memória).
+     * @throws IllegalStateException Se o conteúdo não estiver no formato esperado.
+     */
+    public TabelaCentroidesCep(ByteBuffer buffer) {
+        this.buffer = buffer.asReadOnlyBuffer().order(ByteOrder.BIG_ENDIAN);
+        if (this.buffer.capacity() < TAMANHO_CABECALHO || this.buffer.getInt(0) != MAGICO) {
+            throw new IllegalStateException("Arquivo de centroides de CEP inválido (cabeçalho).");
+        }
+        if (this.buffer.getInt(4) != VERSAO) {
+            throw new IllegalStateException("Versão do arquivo de centroides de CEP não suportada: "
+                    + this.buffer.getInt(4));
+        }
+        this.quantidade = this.buffer.getInt(8);
+        if (this.buffer.capacity() < TAMANHO_CABECALHO + (long) quantidade * TAMANHO_REGISTRO) {
+            throw new IllegalStateException("Arquivo de centroides de CEP truncado.");
+        }
+    }
+
+    static int chave(int digitos, int valor) {
+        return digitos * 1000 + valor;
+    }
+
+    /**
+     * Localiza o centroide do prefixo mais longo do CEP.
+     *
+     * @param cep CEP normalizado (8 dígitos).
+     * @return Índice do registro, ou -1 se nenhum prefixo for conhecido.
+     */
+    public int buscar(String cep) {
+        int prefixo = 0;
+        for (int i = 0; i < MAX_DIGITOS_PREFIXO; i++) {
+            prefixo = prefixo * 10 + (cep.charAt(i) - '0');
+        }
+        for (int digitos = MAX_DIGITOS_PREFIXO; digitos >= 1; digitos--, prefixo /= 10) {
+            int indice = buscarChave(chave(digitos, prefixo));
+            if (indice >= 0) {
+                return indice;
+            }
+        }
+        return -1;
+    }
+
+    private int buscarChave(int chave) {
+        int inicio = 0;
+        int fim = quantidade - 1;
+        while (inicio <= fim) {
+            int meio = (inicio + fim) >>> 1;
+            int atual = buffer.getInt(posicao(meio));
+            if (atual < chave) {
+                inicio = meio + 1;
+            } else if (atual > chave) {
+                fim = meio - 1;
+            } else {
+                return meio;
+            }
+        }
+        return -1;
+    }
+
+    private static int posicao(int indice) {
+        return TAMANHO_CABECALHO + indice * TAMANHO_REGISTRO;
+    }
+
+    public double latitude(int indice) {
+        return buffer.getFloat(posicao(indice) + 4);
+    }
+
+    public double longitude(int indice) {
+        return buffer.getFloat(posicao(indice) + 8);
+    }
+
+    public double fatorCircuidade(int indice) {
+        return buffer.getFloat(posicao(indice) + 12);
+    }
+
+    public int getQuantidade() {
+        return quantidade;
+    }
+}
@@ -0,0 +1,48 @@
+package br.com.wta.frete.shared.lock;
+
+import java.util.function.Supplier;
+
+/**
+ * Contrato para serializar operações concorrentes sobre a mesma chave (ex:
+ * freteId), sem bloquear operações sobre chaves diferentes.
+ *
+ * Implementações:
+ * 1. {@link GerenciadorBloqueiosLocal}: bloqueio dentro da JVM (padrão).
+ * 2. {@link GerenciadorBloqueiosRedis}: bloqueio distribuído entre nós da
+ * aplicação ({@code frete.leilao.bloqueio.modo=redis}).
+ */
+public interface GerenciadorBloqueios {
+
+	/**
+	 * Executa a ação com o bloqueio exclusivo da chave.
+	 *
+	 * @param chave Chave a ser bloqueada (ex: ID do Frete).
+	 * @param acao  Ação executada enquanto o bloqueio é mantido.
+	 * @return O resultado da ação.
+	 * @throws br.com.wta.frete.shared.exception.InvalidDataException Se o bloqueio
+	 *                                                                não for obtido
+	 *                                                                dentro do
+	 *                                                                tempo limite.
+	 */
+	<T> T executar(Long chave, Supplier<T> acao);
+
+	/**
+	 * Geração atual do estado protegido pela chave, compartilhada entre os nós.
+	 * Permite que caches locais (ex: livro de ofertas) detectem alterações feitas
+	 * por outro nó. No modo local, o cache da JVM é a única fonte e a geração é
+	 * sempre 0.
+	 */
+	default long geracao(Long chave) {
+		return 0L;
+	}
+
+	/**
+	 * Avança a geração da chave após uma alteração confirmada (commit). Deve ser
+	 * chamado com o bloqueio ainda mantido.
+	 *
+	 * @return A nova geração.
+	 */
+	default long avancarGeracao(Long chave) {
+		return 0L;
+	}
+}
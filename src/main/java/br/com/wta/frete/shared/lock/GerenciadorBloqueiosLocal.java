@@ -0,0 +1,87 @@
+package br.com.wta.frete.shared.lock;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import br.com.wta.frete.shared.exception.InvalidDataException;
+
+/**
+ * Gerenciador de bloqueios dentro da JVM, com um {@link ReentrantLock} por
+ * chave.
+ *
+ * Diferente de um array fixo de "stripes" (onde chaves distintas podem cair no
+ * mesmo lock), cada chave ativa recebe o seu próprio lock, criado sob demanda e
+ * removido quando não há mais threads usando-o (contagem de referências).
+ * Assim, lances em fretes diferentes nunca disputam o mesmo lock e a memória
+ * fica limitada às chaves em uso.
+ */
+@Component
+@ConditionalOnProperty(name = "frete.leilao.bloqueio.modo", havingValue = "local", matchIfMissing = true)
+public class GerenciadorBloqueiosLocal implements GerenciadorBloqueios {
+
+	static final String CODIGO_ERRO_BLOQUEIO = "LEILAO_OCUPADO";
+
+	/**
+	 * Lock de uma chave e a quantidade de threads que o utilizam (ou aguardam).
+	 * O contador só é alterado dentro de compute/computeIfPresent do mapa.
+	 */
+	private static final class EntradaBloqueio {
+		private final ReentrantLock lock = new ReentrantLock();
+		private int usuarios;
+	}
+
+	private final Map<Long, EntradaBloqueio> bloqueios = new ConcurrentHashMap<>();
+	private final long timeoutMs;
+
+	public GerenciadorBloqueiosLocal(@Value("${frete.leilao.bloqueio.timeout-ms:5000}") long timeoutMs) {
+		this.timeoutMs = timeoutMs;
+	}
+
+	@Override
+	public <T> T executar(Long chave, Supplier<T> acao) {
+		EntradaBloqueio entrada = bloqueios.compute(chave, (k, existente) -> {
+			EntradaBloqueio e = existente != null ? existente : new EntradaBloqueio();
+			e.usuarios++;
+			return e;
+		});
+
+		try {
+			if (!adquirir(entrada.lock)) {
+				throw new InvalidDataException(
+						"O leilão está processando outra operação. Tente novamente em instantes.",
+						CODIGO_ERRO_BLOQUEIO);
+			}
+			try {
+				return acao.get();
+			} finally {
+				entrada.lock.unlock();
+			}
+		} finally {
+			// Libera a entrada quando a última thread deixa de usá-la.
+			bloqueios.computeIfPresent(chave, (k, e) -> --e.usuarios == 0 ? null : e);
+		}
+	}
+
+	private boolean adquirir(ReentrantLock lock) {
+		try {
+			return lock.tryLock(timeoutMs, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	/**
+	 * Quantidade de chaves com lock alocado (diagnóstico/testes).
+	 */
+	int getChavesAtivas() {
+		return bloqueios.size();
+	}
+}
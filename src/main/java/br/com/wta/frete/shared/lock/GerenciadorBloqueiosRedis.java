@@ -0,0 +1,114 @@
+package br.com.wta.frete.shared.lock;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import br.com.wta.frete.shared.exception.InvalidDataException;
+
+/**
+ * Gerenciador de bloqueios distribuído (vários nós da aplicação) usando o
+ * Redis já presente no projeto.
+ *
+ * Fluxo: 1. Serializa as threads do próprio nó com o bloqueio local (apenas uma
+ * thread por chave disputa o Redis). 2. Adquire a chave no Redis com SET NX PX
+ * e um token único. 3. Libera com um script Lua que só apaga a chave se o token
+ * ainda for o deste nó (evita liberar o bloqueio de outro nó após expiração).
+ */
+@Component
+@ConditionalOnProperty(name = "frete.leilao.bloqueio.modo", havingValue = "redis")
+public class GerenciadorBloqueiosRedis implements GerenciadorBloqueios {
+
+	private static final Logger log = LoggerFactory.getLogger(GerenciadorBloqueiosRedis.class);
+
+	private static final String PREFIXO_BLOQUEIO = "frete:leilao:bloqueio:";
+	private static final String PREFIXO_GERACAO = "frete:leilao:geracao:";
+
+	private static final RedisScript<Long> SCRIPT_LIBERAR = new DefaultRedisScript<>(
+			"if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+			Long.class);
+
+	private final StringRedisTemplate redisTemplate;
+	private final GerenciadorBloqueiosLocal bloqueioLocal;
+	private final long timeoutMs;
+	private final Duration ttl;
+
+	public GerenciadorBloqueiosRedis(
+			StringRedisTemplate redisTemplate,
+			@Value("${frete.leilao.bloqueio.timeout-ms:5000}") long timeoutMs,
+			@Value("${frete.leilao.bloqueio.redis.ttl-ms:10000}") long ttlMs) {
+		this.redisTemplate = redisTemplate;
+		this.bloqueioLocal = new GerenciadorBloqueiosLocal(timeoutMs);
+		this.timeoutMs = timeoutMs;
+		this.ttl = Duration.ofMillis(ttlMs);
+	}
+
+	@Override
+	public <T> T executar(Long chave, Supplier<T> acao) {
+		return bloqueioLocal.executar(chave, () -> executarComBloqueioRedis(chave, acao));
+	}
+
+	@Override
+	public long geracao(Long chave) {
+		String valor = redisTemplate.opsForValue().get(PREFIXO_GERACAO + chave);
+		return valor != null ? Long.parseLong(valor) : 0L;
+	}
+
+	@Override
+	public long avancarGeracao(Long chave) {
+		Long nova = redisTemplate.opsForValue().increment(PREFIXO_GERACAO + chave);
+		return nova != null ? nova : 0L;
+	}
+
+	private <T> T executarComBloqueioRedis(Long chave, Supplier<T> acao) {
+		String chaveRedis = PREFIXO_BLOQUEIO + chave;
+		String token = UUID.randomUUID().toString();
+
+		adquirir(chaveRedis, token);
+		try {
+			return acao.get();
+		} finally {
+			Long liberado = redisTemplate.execute(SCRIPT_LIBERAR, List.of(chaveRedis), token);
+			if (liberado == null || liberado == 0L) {
+				log.warn("Bloqueio Redis '{}' expirou antes da liberação (TTL {} ms).", chaveRedis, ttl.toMillis());
+			}
+		}
+	}
+
+	private void adquirir(String chaveRedis, String token) {
+		long prazo = System.currentTimeMillis() + timeoutMs;
+		long espera = 2;
+
+		while (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(chaveRedis, token, ttl))) {
+			if (System.currentTimeMillis() >= prazo) {
+				throw new InvalidDataException(
+						"O leilão está processando outra operação. Tente novamente em instantes.",
+						GerenciadorBloqueiosLocal.CODIGO_ERRO_BLOQUEIO);
+			}
+			// Backoff exponencial com jitter (máx. 50 ms) para não martelar o Redis.
+			dormir(espera + ThreadLocalRandom.current().nextLong(espera + 1));
+			espera = Math.min(espera * 2, 25);
+		}
+	}
+
+	private void dormir(long ms) {
+		try {
+			Thread.sleep(ms);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InvalidDataException("Aquisição do bloqueio do leilão interrompida.",
+					GerenciadorBloqueiosLocal.CODIGO_ERRO_BLOQUEIO);
+		}
+	}
+}
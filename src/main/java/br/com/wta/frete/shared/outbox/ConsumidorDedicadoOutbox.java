@@ -0,0 +1,12 @@
+// Caminho: src/main/java/br/com/wta/frete/shared/outbox/ConsumidorDedicadoOutbox.java
+package br.com.wta.frete.shared.outbox;
+
+/**
+ * Consumidor com workers próprios para um tipo de linha do outbox (ex:
+ * precificação assíncrona da OS). O {@link RelayOutbox} não reserva linhas
+ * desse tipo.
+ */
+public interface ConsumidorDedicadoOutbox {
+
+    String tipoDedicado();
+}
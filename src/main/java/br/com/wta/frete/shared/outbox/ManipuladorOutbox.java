@@ -0,0 +1,38 @@
+// Caminho: src/main/java/br/com/wta/frete/shared/outbox/ManipuladorOutbox.java
+package br.com.wta.frete.shared.outbox;
+
+import java.util.Set;
+
+import br.com.wta.frete.shared.outbox.RegistroOutbox.ItemOutbox;
+
+/**
+ * Consumidor de eventos do outbox, acionado pelo {@link RelayOutbox}.
+ *
+ * A entrega é pelo menos uma vez: o relay chama {@link #processar} dentro de
+ * uma transação que também grava a chave de idempotência do evento para este
+ * manipulador (core.outbox_consumo). Um efeito no banco é aplicado uma única
+ * vez; um efeito externo (e-mail, Redis) pode se repetir se a transação falhar
+ * depois dele.
+ */
+public interface ManipuladorOutbox {
+
+    /** Tipos aceitos por qualquer evento ({@link #tipos()}). */
+    String TODOS_OS_TIPOS = "*";
+
+    /**
+     * Nome estável do consumidor (chave do registro de consumo).
+     */
+    String nome();
+
+    /**
+     * Tipos de evento tratados, ou {@link #TODOS_OS_TIPOS}.
+     */
+    Set<String> tipos();
+
+    /**
+     * Aplica o efeito do evento. Uma exceção reverte a transação e agenda nova
+     * tentativa; InvalidDataException e ResourceNotFoundException encerram o
+     * evento como FALHA.
+     */
+    void processar(ItemOutbox item);
+}
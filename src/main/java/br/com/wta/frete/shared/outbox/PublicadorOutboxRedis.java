@@ -0,0 +1,76 @@
+// Caminho: src/main/java/br/com/wta/frete/shared/outbox/PublicadorOutboxRedis.java
+package br.com.wta.frete.shared.outbox;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.wta.frete.shared.outbox.RegistroOutbox.ItemOutbox;
+
+/**
+ * Publica os eventos do outbox no pub/sub do Redis, no canal
+ * {@code frete:outbox:<tipo>}, para consumidores fora da aplicação.
+ *
+ * A mensagem é um envelope JSON com a chave de idempotência: a entrega é pelo
+ * menos uma vez (uma falha após o PUBLISH repete a publicação), então o
+ * consumidor deve descartar chaves já vistas. Uma falha do Redis agenda nova
+ * tentativa pelo relay.
+ */
+@Component
+@ConditionalOnProperty(name = "frete.outbox.redis.habilitado", havingValue = "true")
+public class PublicadorOutboxRedis implements ManipuladorOutbox {
+
+    static final String PREFIXO_CANAL = "frete:outbox:";
+
+    /**
+     * Mensagem publicada no canal.
+     */
+    record Envelope(long outboxId, String chave, String tipo, long agregadoId, JsonNode payload) {
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Set<String> tipos;
+
+    public PublicadorOutboxRedis(
+            StringRedisTemplate redisTemplate,
+            ObjectMapper objectMapper,
+            @Value("${frete.outbox.redis.tipos:*}") String tipos) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.tipos = Arrays.stream(tipos.split(","))
+                .map(String::trim)
+                .filter(tipo -> !tipo.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    @Override
+    public String nome() {
+        return "redis";
+    }
+
+    @Override
+    public Set<String> tipos() {
+        return tipos;
+    }
+
+    @Override
+    public void processar(ItemOutbox item) {
+        try {
+            String mensagem = objectMapper.writeValueAsString(new Envelope(item.outboxId(), item.chaveIdempotencia(),
+                    item.tipo(), item.agregadoId(), objectMapper.readTree(item.payload())));
+            redisTemplate.convertAndSend(PREFIXO_CANAL + item.tipo(), mensagem);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Payload inválido na linha " + item.outboxId() + " do outbox.", e);
+        }
+    }
+}
@@ -0,0 +1,295 @@
+// Caminho: src/main/java/br/com/wta/frete/shared/outbox/RegistroOutbox.java
+package br.com.wta.frete.shared.outbox;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Acesso à tabela core.outbox (outbox transacional).
+ *
+ * 1. {@link #registrar} e {@link #registrarEvento} gravam na transação
+ * corrente: a linha só existe se a alteração de negócio for confirmada. Um
+ * evento com chave de idempotência já registrada é descartado na gravação.
+ * 2. {@link #reservarProximo} reserva a próxima linha pendente de um tipo com
+ * FOR UPDATE SKIP LOCKED; a reserva dura até o fim da transação do consumidor,
+ * que deve chamar {@link #concluir} nessa mesma transação (consumidores
+ * dedicados, ex: precificação da OS).
+ * 3. {@link #reservarLote} reserva um lote por um prazo (lease): as linhas
+ * ficam invisíveis aos demais relays até o prazo vencer, sem manter a
+ * transação aberta durante a entrega (RelayOutbox).
+ * 4. {@link #registrarFalha} agenda uma nova tentativa (backoff) ou encerra a
+ * linha como FALHA.
+ * 5. {@link #registrarConsumo} grava a chave de idempotência por consumidor
+ * (core.outbox_consumo): uma nova entrega do mesmo evento não repete o efeito.
+ */
+@Component
+public class RegistroOutbox {
+
+    public static final String STATUS_PENDENTE = "PENDENTE";
+    public static final String STATUS_PROCESSADO = "PROCESSADO";
+    public static final String STATUS_FALHA = "FALHA";
+
+    private static final int TAMANHO_MAXIMO_ERRO = 1000;
+
+    private static final String COLUNAS = "outbox_id, tipo, agregado_id, chave_idempotencia, payload, tentativas, "
+            + "criado_em";
+
+    static final String SQL_INSERT = "INSERT INTO core.outbox (tipo, agregado_id, payload, chave_idempotencia) "
+            + "VALUES (?, ?, CAST(? AS JSONB), ?) ON CONFLICT (chave_idempotencia) DO NOTHING RETURNING outbox_id";
+
+    static final String SQL_RESERVAR = "SELECT " + COLUNAS + " "
+            + "FROM core.outbox WHERE tipo = ? AND status = 'PENDENTE' AND disponivel_em <= CURRENT_TIMESTAMP "
+            + "ORDER BY disponivel_em, outbox_id LIMIT 1 FOR UPDATE SKIP LOCKED";
+
+    static final String SQL_CONCLUIR = "UPDATE core.outbox SET status = 'PROCESSADO', "
+            + "processado_em = CURRENT_TIMESTAMP, ultimo_erro = NULL WHERE outbox_id = ?";
+
+    static final String SQL_FALHA = "UPDATE core.outbox SET tentativas = tentativas + 1, ultimo_erro = ?, "
+            + "status = CASE WHEN ? OR tentativas + 1 >= ? THEN 'FALHA' ELSE 'PENDENTE' END, "
+            + "disponivel_em = CURRENT_TIMESTAMP + INTERVAL '1 millisecond' * CAST(? AS DOUBLE PRECISION) "
+            + "WHERE outbox_id = ? AND status = 'PENDENTE' RETURNING status";
+
+    static final String SQL_RESERVAR_LOTE = "UPDATE core.outbox o "
+            + "SET disponivel_em = CURRENT_TIMESTAMP + INTERVAL '1 millisecond' * CAST(? AS DOUBLE PRECISION) "
+            + "FROM (SELECT outbox_id FROM core.outbox WHERE status = 'PENDENTE' "
+            + "AND disponivel_em <= CURRENT_TIMESTAMP%s ORDER BY disponivel_em, outbox_id LIMIT ? "
+            + "FOR UPDATE SKIP LOCKED) r WHERE o.outbox_id = r.outbox_id RETURNING "
+            + "o.outbox_id, o.tipo, o.agregado_id, o.chave_idempotencia, o.payload, o.tentativas, o.criado_em";
+
+    static final String SQL_CONSUMO = "INSERT INTO core.outbox_consumo (chave_idempotencia, consumidor) "
+            + "VALUES (?, ?) ON CONFLICT DO NOTHING";
+
+    static final String SQL_LIMPAR_PROCESSADOS = "DELETE FROM core.outbox WHERE outbox_id IN ("
+            + "SELECT outbox_id FROM core.outbox WHERE status = 'PROCESSADO' "
+            + "AND processado_em < CURRENT_TIMESTAMP - INTERVAL '1 day' * ? LIMIT ?)";
+
+    static final String SQL_LIMPAR_CONSUMO = "DELETE FROM core.outbox_consumo WHERE ctid IN ("
+            + "SELECT ctid FROM core.outbox_consumo "
+            + "WHERE consumido_em < CURRENT_TIMESTAMP - INTERVAL '1 day' * ? LIMIT ?)";
+
+    static final String SQL_SITUACAO = "SELECT outbox_id, status, tentativas, ultimo_erro FROM core.outbox "
+            + "WHERE agregado_id = ? AND tipo = ? ORDER BY outbox_id DESC LIMIT 1";
+
+    /**
+     * Linha reservada para processamento.
+     *
+     * @param chaveIdempotencia Identifica o evento entre entregas (repassada aos
+     *                          consumidores externos).
+     */
+    public record ItemOutbox(long outboxId, String tipo, long agregadoId, String chaveIdempotencia,
+            String payload, int tentativas, OffsetDateTime criadoEm) {
+    }
+
+    private static final RowMapper<ItemOutbox> MAPEADOR_ITEM = (rs, i) -> new ItemOutbox(
+            rs.getLong("outbox_id"),
+            rs.getString("tipo"),
+            rs.getLong("agregado_id"),
+            rs.getString("chave_idempotencia"),
+            rs.getString("payload"),
+            rs.getInt("tentativas"),
+            rs.getObject("criado_em", OffsetDateTime.class));
+
+    /**
+     * Situação da linha mais recente de um agregado.
+     */
+    public record SituacaoOutbox(long outboxId, String status, int tentativas, String ultimoErro) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    // Acorda os relays após o commit de um novo evento.
+    private final Object sinal = new Object();
+
+    public RegistroOutbox(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Grava uma tarefa na transação corrente.
+     *
+     * @return O ID da linha gravada.
+     */
+    public long registrar(String tipo, long agregadoId, Object payload) {
+        Long outboxId = jdbcTemplate.queryForObject(SQL_INSERT, Long.class, tipo, agregadoId, serializar(tipo, payload),
+                null);
+        return outboxId != null ? outboxId : -1L;
+    }
+
+    /**
+     * Grava um evento de domínio na transação corrente, para entrega pelo
+     * RelayOutbox após o commit.
+     *
+     * @param chaveIdempotencia Chave natural do evento (ex:
+     *                          "LEILAO_ENCERRADO:42"); nula gera uma chave
+     *                          única. Um evento com chave já registrada é
+     *                          descartado.
+     * @return true se o evento foi gravado.
+     */
+    public boolean registrarEvento(String tipo, long agregadoId, Object payload, String chaveIdempotencia) {
+        String chave = chaveIdempotencia != null ? chaveIdempotencia
+                : tipo + ":" + agregadoId + ":" + UUID.randomUUID();
+        List<Long> ids = jdbcTemplate.queryForList(SQL_INSERT, Long.class, tipo, agregadoId,
+                serializar(tipo, payload), chave);
+        if (ids.isEmpty()) {
+            return false;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    sinalizar();
+                }
+            });
+        } else {
+            sinalizar();
+        }
+        return true;
+    }
+
+    /**
+     * Reserva a próxima linha pendente do tipo (deve ser chamado dentro de uma
+     * transação). Linhas reservadas por outra transação são puladas.
+     */
+    public Optional<ItemOutbox> reservarProximo(String tipo) {
+        return jdbcTemplate.query(SQL_RESERVAR, MAPEADOR_ITEM, tipo).stream().findFirst();
+    }
+
+    /**
+     * Reserva até {@code limite} linhas pendentes (de qualquer tipo, exceto os
+     * excluídos) por {@code leaseMs}, em ordem de disponibilidade.
+     */
+    public List<ItemOutbox> reservarLote(Collection<String> tiposExcluidos, int limite, long leaseMs) {
+        String filtro = tiposExcluidos.isEmpty() ? ""
+                : " AND tipo NOT IN (" + String.join(", ", tiposExcluidos.stream().map(t -> "?").toList()) + ")";
+        List<Object> parametros = new ArrayList<>(tiposExcluidos.size() + 2);
+        parametros.add(leaseMs);
+        parametros.addAll(tiposExcluidos);
+        parametros.add(limite);
+
+        List<ItemOutbox> itens = new ArrayList<>(
+                jdbcTemplate.query(SQL_RESERVAR_LOTE.formatted(filtro), MAPEADOR_ITEM, parametros.toArray()));
+        // RETURNING não preserva a ordem da subconsulta.
+        itens.sort(Comparator.comparingLong(ItemOutbox::outboxId));
+        return itens;
+    }
+
+    /**
+     * Registra o consumo do evento pelo consumidor, na transação corrente.
+     *
+     * @return false se o consumidor já processou o evento.
+     */
+    public boolean registrarConsumo(String chaveIdempotencia, String consumidor) {
+        return jdbcTemplate.update(SQL_CONSUMO, chaveIdempotencia, consumidor) > 0;
+    }
+
+    public void concluir(long outboxId) {
+        jdbcTemplate.update(SQL_CONCLUIR, outboxId);
+    }
+
+    /**
+     * Registra a falha de uma tentativa.
+     *
+     * @param definitiva    Erro que não se resolve com nova tentativa.
+     * @param maxTentativas Tentativas permitidas antes de encerrar como FALHA.
+     * @param esperaMs      Espera até a próxima tentativa.
+     * @return true se a linha foi encerrada como FALHA.
+     */
+    public boolean registrarFalha(long outboxId, String erro, boolean definitiva, int maxTentativas, long esperaMs) {
+        String mensagem = erro != null && erro.length() > TAMANHO_MAXIMO_ERRO
+                ? erro.substring(0, TAMANHO_MAXIMO_ERRO)
+                : erro;
+        List<String> status = jdbcTemplate.queryForList(SQL_FALHA, String.class, mensagem, definitiva,
+                maxTentativas, esperaMs, outboxId);
+        return !status.isEmpty() && STATUS_FALHA.equals(status.get(0));
+    }
+
+    /**
+     * Situação da linha mais recente do agregado para o tipo informado.
+     */
+    public Optional<SituacaoOutbox> buscarSituacao(String tipo, long agregadoId) {
+        List<SituacaoOutbox> situacoes = jdbcTemplate.query(SQL_SITUACAO, (rs, i) -> new SituacaoOutbox(
+                rs.getLong("outbox_id"),
+                rs.getString("status"),
+                rs.getInt("tentativas"),
+                rs.getString("ultimo_erro")), agregadoId, tipo);
+        return situacoes.stream().findFirst();
+    }
+
+    /**
+     * Remove, em lotes, as linhas processadas e os registros de consumo mais
+     * antigos que a retenção.
+     *
+     * @return Quantidade de linhas removidas.
+     */
+    public int limpar(int retencaoDias, int tamanhoLote) {
+        int removidas = 0;
+        int lote;
+        do {
+            lote = jdbcTemplate.update(SQL_LIMPAR_PROCESSADOS, retencaoDias, tamanhoLote);
+            removidas += lote;
+        } while (lote >= tamanhoLote);
+        do {
+            lote = jdbcTemplate.update(SQL_LIMPAR_CONSUMO, retencaoDias, tamanhoLote);
+            removidas += lote;
+        } while (lote >= tamanhoLote);
+        return removidas;
+    }
+
+    // --- SINALIZAÇÃO ---
+
+    /**
+     * Aguarda um novo evento confirmado ou o fim do prazo.
+     *
+     * @return false se a thread foi interrompida.
+     */
+    public boolean aguardarEvento(long timeoutMs) {
+        synchronized (sinal) {
+            try {
+                sinal.wait(timeoutMs);
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+
+    private void sinalizar() {
+        synchronized (sinal) {
+            sinal.notifyAll();
+        }
+    }
+
+    private String serializar(String tipo, Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Payload do outbox não serializável (" + tipo + ").", e);
+        }
+    }
+
+    public <T> T lerPayload(ItemOutbox item, Class<T> tipo) {
+        try {
+            return objectMapper.readValue(item.payload(), tipo);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Payload inválido na linha " + item.outboxId() + " do outbox.", e);
+        }
+    }
+}
@@ -0,0 +1,270 @@
+// Caminho: src/main/java/br/com/wta/frete/shared/outbox/RelayOutbox.java
+package br.com.wta.frete.shared.outbox;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.wta.frete.shared.exception.InvalidDataException;
+import br.com.wta.frete.shared.exception.ResourceNotFoundException;
+import br.com.wta.frete.shared.outbox.RegistroOutbox.ItemOutbox;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Relay dos eventos de domínio gravados no outbox (core.outbox).
+ *
+ * 1. Os serviços gravam o evento na mesma transação da alteração de negócio
+ * ({@link RegistroOutbox#registrarEvento}).
+ * 2. Cada worker reserva um lote de eventos pendentes com SKIP LOCKED e um
+ * prazo ({@code frete.outbox.relay.lease-ms}): vários workers ou nós dividem
+ * os eventos sem manter a transação aberta durante a entrega.
+ * 3. O evento é entregue a cada {@link ManipuladorOutbox} do seu tipo, um por
+ * transação, junto com o registro de consumo da chave de idempotência: um
+ * manipulador que já aplicou o evento não o recebe de novo.
+ * 4. Com todos os manipuladores concluídos, o evento é marcado como
+ * PROCESSADO. Uma falha agenda nova tentativa com backoff; erros de negócio e
+ * tentativas esgotadas encerram o evento como FALHA. Um worker que cai no meio
+ * da entrega libera o lote quando o prazo vence (entrega pelo menos uma vez).
+ *
+ * Tipos com workers próprios ({@link ConsumidorDedicadoOutbox}) não são
+ * reservados pelo relay.
+ */
+@Component
+public class RelayOutbox {
+
+    private static final Logger log = LoggerFactory.getLogger(RelayOutbox.class);
+
+    private static final long BACKOFF_BASE_MS = 1_000;
+    private static final int LOTE_LIMPEZA = 1_000;
+
+    private final RegistroOutbox registroOutbox;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<String, List<ManipuladorOutbox>> manipuladoresPorTipo = new HashMap<>();
+    private final List<ManipuladorOutbox> manipuladoresGerais = new ArrayList<>();
+    private final List<String> tiposDedicados;
+    private final int workers;
+    private final long intervaloMs;
+    private final int tamanhoLote;
+    private final long leaseMs;
+    private final int maxTentativas;
+    private final int retencaoDias;
+
+    private final Counter contadorEntregues;
+    private final Counter contadorRetentativas;
+    private final Counter contadorFalhas;
+    private final Timer timerEspera;
+
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean executando;
+
+    public RelayOutbox(
+            RegistroOutbox registroOutbox,
+            List<ManipuladorOutbox> manipuladores,
+            List<ConsumidorDedicadoOutbox> consumidoresDedicados,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${frete.outbox.relay.workers:1}") int workers,
+            @Value("${frete.outbox.relay.intervalo-ms:1000}") long intervaloMs,
+            @Value("${frete.outbox.relay.lote:100}") int tamanhoLote,
+            @Value("${frete.outbox.relay.lease-ms:60000}") long leaseMs,
+            @Value("${frete.outbox.relay.tentativas:10}") int maxTentativas,
+            @Value("${frete.outbox.retencao-dias:7}") int retencaoDias) {
+        this.registroOutbox = registroOutbox;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tiposDedicados = consumidoresDedicados.stream().map(ConsumidorDedicadoOutbox::tipoDedicado).toList();
+        this.workers = workers;
+        this.intervaloMs = Math.max(10, intervaloMs);
+        this.tamanhoLote = Math.max(1, tamanhoLote);
+        this.leaseMs = Math.max(1_000, leaseMs);
+        this.maxTentativas = Math.max(1, maxTentativas);
+        this.retencaoDias = Math.max(1, retencaoDias);
+
+        for (ManipuladorOutbox manipulador : manipuladores) {
+            for (String tipo : manipulador.tipos()) {
+                if (ManipuladorOutbox.TODOS_OS_TIPOS.equals(tipo)) {
+                    manipuladoresGerais.add(manipulador);
+                } else {
+                    manipuladoresPorTipo.computeIfAbsent(tipo, t -> new ArrayList<>()).add(manipulador);
+                }
+            }
+        }
+
+        this.contadorEntregues = contador(meterRegistry, "entregue");
+        this.contadorRetentativas = contador(meterRegistry, "retentativa");
+        this.contadorFalhas = contador(meterRegistry, "falha");
+        this.timerEspera = Timer.builder("frete.outbox.eventos.espera")
+                .description("Tempo entre a gravação do evento no outbox e a entrega a todos os manipuladores")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    // --- CICLO DE VIDA ---
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void iniciar() {
+        if (workers <= 0) {
+            log.info("Relay do outbox desabilitado (frete.outbox.relay.workers=0).");
+            return;
+        }
+        executando = true;
+        for (int i = 1; i <= workers; i++) {
+            Thread thread = new Thread(this::executar, "relay-outbox-" + i);
+            thread.setDaemon(true);
+            threads.add(thread);
+            thread.start();
+        }
+        log.info("Relay do outbox iniciado com {} worker(s) e {} manipulador(es). Tipos dedicados ignorados: {}.",
+                workers, manipuladoresGerais.size() + manipuladoresPorTipo.values().stream().mapToInt(List::size).sum(),
+                tiposDedicados);
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public synchronized void parar() {
+        executando = false;
+        threads.forEach(Thread::interrupt);
+        threads.clear();
+    }
+
+    // --- PROCESSAMENTO ---
+
+    private void executar() {
+        while (executando && !Thread.currentThread().isInterrupted()) {
+            int processados;
+            try {
+                processados = processarLote();
+            } catch (RuntimeException e) {
+                // Falha ao acessar o outbox (ex: banco indisponível): aguarda o próximo ciclo.
+                log.error("Falha no relay do outbox: {}", e.getMessage(), e);
+                processados = 0;
+            }
+            // Lote cheio: provavelmente há mais eventos, segue sem esperar.
+            if (processados < tamanhoLote && !registroOutbox.aguardarEvento(intervaloMs)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Reserva e entrega um lote de eventos.
+     *
+     * @return Quantidade de eventos reservados.
+     */
+    int processarLote() {
+        List<ItemOutbox> lote = transactionTemplate
+                .execute(status -> registroOutbox.reservarLote(tiposDedicados, tamanhoLote, leaseMs));
+        if (lote == null) {
+            return 0;
+        }
+        for (ItemOutbox item : lote) {
+            entregar(item);
+        }
+        return lote.size();
+    }
+
+    private void entregar(ItemOutbox item) {
+        // Linhas gravadas sem chave (registrar) usam o próprio ID.
+        String chave = item.chaveIdempotencia() != null ? item.chaveIdempotencia() : "outbox:" + item.outboxId();
+        try {
+            for (ManipuladorOutbox manipulador : manipuladores(item.tipo())) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    if (registroOutbox.registrarConsumo(chave, manipulador.nome())) {
+                        manipulador.processar(item);
+                    } else {
+                        log.debug("Evento {} já consumido por {}.", chave, manipulador.nome());
+                    }
+                });
+            }
+            transactionTemplate.executeWithoutResult(status -> registroOutbox.concluir(item.outboxId()));
+            contadorEntregues.increment();
+            registrarEspera(item.criadoEm());
+        } catch (RuntimeException e) {
+            registrarFalha(item, e);
+        }
+    }
+
+    private List<ManipuladorOutbox> manipuladores(String tipo) {
+        List<ManipuladorOutbox> especificos = manipuladoresPorTipo.getOrDefault(tipo, List.of());
+        if (manipuladoresGerais.isEmpty()) {
+            return especificos;
+        }
+        List<ManipuladorOutbox> todos = new ArrayList<>(especificos);
+        todos.addAll(manipuladoresGerais);
+        return todos;
+    }
+
+    private void registrarFalha(ItemOutbox item, RuntimeException e) {
+        boolean definitiva = e instanceof InvalidDataException || e instanceof ResourceNotFoundException;
+        long espera = calcularBackoff(item.tentativas() + 1);
+        Boolean esgotada = transactionTemplate.execute(status -> registroOutbox.registrarFalha(
+                item.outboxId(), e.getMessage(), definitiva, maxTentativas, espera));
+
+        if (Boolean.TRUE.equals(esgotada)) {
+            contadorFalhas.increment();
+            log.error("Evento {} #{} (agregado {}) falhou definitivamente (tentativa {}): {}",
+                    item.tipo(), item.outboxId(), item.agregadoId(), item.tentativas() + 1, e.getMessage(), e);
+        } else {
+            contadorRetentativas.increment();
+            log.warn("Falha ao entregar o evento {} #{} (tentativa {}/{}). Nova tentativa em {} ms: {}",
+                    item.tipo(), item.outboxId(), item.tentativas() + 1, maxTentativas, espera, e.getMessage());
+        }
+    }
+
+    private void registrarEspera(OffsetDateTime criadoEm) {
+        if (criadoEm != null) {
+            timerEspera.record(Duration.between(criadoEm, OffsetDateTime.now()));
+        }
+    }
+
+    // --- LIMPEZA ---
+
+    /**
+     * Remove os eventos processados e os registros de consumo mais antigos que
+     * {@code frete.outbox.retencao-dias}. Eventos em FALHA são mantidos para
+     * análise.
+     */
+    @Scheduled(fixedDelayString = "${frete.outbox.limpeza.intervalo:3600000}",
+            initialDelayString = "${frete.outbox.limpeza.intervalo:3600000}")
+    public void limpar() {
+        try {
+            int removidas = registroOutbox.limpar(retencaoDias, LOTE_LIMPEZA);
+            if (removidas > 0) {
+                log.info("Limpeza do outbox: {} linha(s) removida(s) (retenção de {} dias).", removidas, retencaoDias);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Falha na limpeza do outbox: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Backoff exponencial com jitter (mesma regra da precificação assíncrona da
+     * OS).
+     */
+    static long calcularBackoff(int tentativa) {
+        long teto = BACKOFF_BASE_MS << Math.min(Math.max(tentativa, 1) - 1, 8);
+        return ThreadLocalRandom.current().nextLong(teto / 2, teto + 1);
+    }
+
+    private static Counter contador(MeterRegistry registry, String resultado) {
+        return Counter.builder("frete.outbox.eventos")
+                .description("Eventos do outbox entregues pelo relay, por resultado")
+                .tag("resultado", resultado)
+                .register(registry);
+    }
+}
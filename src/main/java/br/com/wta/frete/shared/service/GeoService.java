@@ -2,37 +2,47 @@ package br.com.wta.frete.shared.service;
 
 import org.springframework.stereotype.Service;
 
+import br.com.wta.frete.shared.geo.MotorDistanciaCep;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 
 /**
- * Serviço dedicado à comunicação com APIs de Geolocalização.
- * Retorna valores MOCK durante o desenvolvimento para simular a distância.
+ * Serviço dedicado ao cálculo de distâncias entre CEPs.
+ * Delega ao {@link MotorDistanciaCep} (tabela local de centroides por prefixo
+ * de CEP + fator de circuidade rodoviária), sem chamadas a APIs externas: o
+ * mesmo par de CEPs sempre resulta na mesma distância.
+ *
+ * A latência do cálculo é publicada no timer frete.geo.distancia.
  */
 @Service
 public class GeoService {
 
+    private final MotorDistanciaCep motorDistancia;
+    private final Timer timerDistancia;
+
+    public GeoService(MotorDistanciaCep motorDistancia, MeterRegistry meterRegistry) {
+        this.motorDistancia = motorDistancia;
+        this.timerDistancia = Timer.builder("frete.geo.distancia")
+                .description("Latência do cálculo de distância entre CEPs")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
     /**
-     * Calcula a distância rodoviária entre dois CEPs (MOCK).
+     * Calcula a distância rodoviária estimada entre dois CEPs.
      * 
      * @param cepOrigem  CEP de partida.
      * @param cepDestino CEP de chegada.
-     * @return A distância em quilômetros (BigDecimal).
+     * @return A distância em quilômetros (BigDecimal, 2 casas decimais).
+     * @throws br.com.wta.frete.shared.exception.InvalidDataException Se algum CEP
+     *                                                                for inválido
+     *                                                                (CEP_INVALIDO).
      */
     public BigDecimal calcularDistanciaRodoviaria(String cepOrigem, String cepDestino) {
-
-        // =========================================================================
-        // 🚧 LÓGICA MOCK PARA DESENVOLVIMENTO 🚧
-        // Em produção, aqui ocorreria a chamada HTTP à API externa.
-        // =========================================================================
-
-        if (cepOrigem.equals(cepDestino)) {
-            return new BigDecimal("5.00");
-        }
-
-        // Simulação: Retorna uma distância aleatória (entre 100 e 500 km)
-        double distancia = 100 + Math.random() * 400;
-
-        return new BigDecimal(distancia).setScale(2, RoundingMode.HALF_UP);
+        double distancia = timerDistancia.record(() -> motorDistancia.distanciaKm(cepOrigem, cepDestino));
+        return BigDecimal.valueOf(distancia).setScale(2, RoundingMode.HALF_UP);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,97 @@
+// Caminho: src/main/java/br/com/wta/frete/shared/util/ValorFixo.java
+package br.com.wta.frete.shared.util;
+
+import java.math.BigDecimal;
+
+/**
+ * Aritmética de ponto fixo sobre longs: um valor é o par (long escalado,
+ * escala), ex: R$ 12,34 = (1234, 2) e 0,5000 = (5000, 4).
+ *
+ * Os métodos são estáticos e não alocam objetos; a conversão para BigDecimal
+ * fica restrita à fronteira (entidade/DTO). Estouro de long lança
+ * {@link ArithmeticException} (nunca há perda silenciosa de precisão), e o
+ * arredondamento é HALF_UP (metade se afasta do zero), o mesmo de
+ * {@link java.math.RoundingMode#HALF_UP}.
+ */
+public final class ValorFixo {
+
+    /**
+     * Escala de valores monetários em Reais (centavos).
+     */
+    public static final int ESCALA_CENTAVOS = 2;
+
+    private static final long[] POTENCIAS_DE_DEZ = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L,
+            1_000_000_000L, 10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L, 10_000_000_000_000L,
+            100_000_000_000_000L, 1_000_000_000_000_000L, 10_000_000_000_000_000L,
+            100_000_000_000_000_000L, 1_000_000_000_000_000_000L };
+
+    private ValorFixo() {
+    }
+
+    // --- CONVERSÃO ---
+
+    /**
+     * Valor escalado exato de um BigDecimal (sem arredondamento).
+     *
+     * @throws ArithmeticException Se o valor tiver mais casas que a escala ou
+     *                             não couber em um long.
+     */
+    public static long escalar(BigDecimal valor, int escala) {
+        return valor.setScale(escala).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal paraBigDecimal(long valorEscalado, int escala) {
+        return BigDecimal.valueOf(valorEscalado, escala);
+    }
+
+    // --- OPERAÇÕES ---
+
+    /**
+     * Soma de dois valores na mesma escala.
+     */
+    public static long somar(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    /**
+     * Produto de dois valores; a escala do resultado é a soma das escalas.
+     */
+    public static long multiplicar(long a, long b) {
+        return Math.multiplyExact(a, b);
+    }
+
+    /**
+     * Muda a escala do valor. Ao reduzir a escala, arredonda HALF_UP.
+     */
+    public static long reescalar(long valorEscalado, int escalaOrigem, int escalaDestino) {
+        if (escalaDestino >= escalaOrigem) {
+            return Math.multiplyExact(valorEscalado, potenciaDeDez(escalaDestino - escalaOrigem));
+        }
+        return arredondar(valorEscalado, escalaOrigem - escalaDestino);
+    }
+
+    /**
+     * Remove as últimas {@code casas} casas decimais, arredondando HALF_UP.
+     */
+    public static long arredondar(long valorEscalado, int casas) {
+        if (casas == 0) {
+            return valorEscalado;
+        }
+        long divisor = potenciaDeDez(casas);
+        long quociente = valorEscalado / divisor;
+        long resto = valorEscalado % divisor;
+        // |resto| < divisor <= 10^18: o dobro ainda cabe em um long.
+        if (Math.abs(resto) * 2 >= divisor) {
+            quociente += Long.signum(valorEscalado);
+        }
+        return quociente;
+    }
+
+    private static long potenciaDeDez(int expoente) {
+        if (expoente < 0 || expoente >= POTENCIAS_DE_DEZ.length) {
+            throw new ArithmeticException("Escala fora do intervalo suportado: " + expoente);
+        }
+        return POTENCIAS_DE_DEZ[expoente];
+    }
+}
@@ -0,0 +1,27 @@
+-- ######################################################################
+-- V10: ÍNDICES DA LISTAGEM PAGINADA DE ORDENS DE SERVIÇO
+-- ######################################################################
+
+-- A listagem (GET /ordens-servico) é ordenada por ordem_id DESC e paginada por
+-- cursor (ordem_id < último ID da página). Cada filtro tem um índice composto
+-- terminado em ordem_id: a página é lida em ordem direto do índice, sem
+-- ordenar o conjunto filtrado.
+
+-- Ordens de um cliente (com ou sem filtro de status).
+CREATE INDEX IF NOT EXISTS idx_ordens_servico_cliente
+    ON logistica.ordens_servico (cliente_solicitante_id, status, ordem_id DESC);
+CREATE INDEX IF NOT EXISTS idx_ordens_servico_cliente_id
+    ON logistica.ordens_servico (cliente_solicitante_id, ordem_id DESC);
+
+-- Ordens de um transportador (OSs sem transportador ficam fora do índice).
+CREATE INDEX IF NOT EXISTS idx_ordens_servico_transportador
+    ON logistica.ordens_servico (transportador_designado_id, ordem_id DESC)
+    WHERE transportador_designado_id IS NOT NULL;
+
+-- Ordens por status (ex: todas as PENDENTES).
+CREATE INDEX IF NOT EXISTS idx_ordens_servico_status
+    ON logistica.ordens_servico (status, ordem_id DESC);
+
+-- Intervalo de datas de solicitação.
+CREATE INDEX IF NOT EXISTS idx_ordens_servico_data_solicitacao
+    ON logistica.ordens_servico (data_solicitacao, ordem_id);
@@ -0,0 +1,20 @@
+-- ######################################################################
+-- V11: HISTÓRICO DE STATUS DAS ORDENS DE SERVIÇO
+-- ######################################################################
+
+-- Cada evento ORDEM_SERVICO_STATUS_ALTERADO do outbox vira uma linha do
+-- histórico (GET /ordens-servico/{id}/historico-status). A linha do outbox é
+-- a chave: uma reentrega do mesmo evento não duplica o histórico.
+CREATE TABLE logistica.historico_status_ordens_servico (
+    outbox_id BIGINT PRIMARY KEY,
+    ordem_servico_id BIGINT NOT NULL,
+    status_anterior VARCHAR(50),
+    status_novo VARCHAR(50) NOT NULL,
+    transportador_id BIGINT,
+    alterado_em TIMESTAMP WITH TIME ZONE NOT NULL,
+    CONSTRAINT fk_historico_status_ordem
+        FOREIGN KEY (ordem_servico_id) REFERENCES logistica.ordens_servico(ordem_id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_historico_status_ordem
+    ON logistica.historico_status_ordens_servico (ordem_servico_id, alterado_em, outbox_id);
@@ -0,0 +1,10 @@
+-- ######################################################################
+-- V2: ÍNDICE PARA A VARREDURA DE LEILÕES EXPIRADOS
+-- ######################################################################
+
+-- A rotina agendada do FreteService percorre os leilões abertos (status_leilao_id)
+-- já expirados em ordem de (data_expiracao_negociacao, frete_id), página a página
+-- (keyset). O frete_id no final do índice desempata expirações iguais e permite
+-- que cada página seja lida diretamente do índice, sem ordenação.
+CREATE INDEX IF NOT EXISTS idx_fretes_status_expiracao
+    ON logistica.fretes (status_leilao_id, data_expiracao_negociacao, frete_id);
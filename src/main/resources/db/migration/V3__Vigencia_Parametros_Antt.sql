@@ -0,0 +1,20 @@
+-- ######################################################################
+-- V3: HISTÓRICO DE VIGÊNCIA DOS PARÂMETROS ANTT
+-- ######################################################################
+
+-- Cada parâmetro (chave) passa a ter uma linha por data de vigência, em vez de
+-- ser sobrescrito. O AnttParametroService usa, para cada chave, a versão mais
+-- recente com data_vigencia <= data de referência, o que permite recalcular
+-- cotações antigas com a tabela que valia na época.
+
+-- Parâmetros sem vigência passam a valer desde sempre.
+UPDATE logistica.antt_parametros SET data_vigencia = DATE '1970-01-01' WHERE data_vigencia IS NULL;
+
+ALTER TABLE logistica.antt_parametros
+    ALTER COLUMN data_vigencia SET DEFAULT CURRENT_DATE,
+    ALTER COLUMN data_vigencia SET NOT NULL;
+
+-- A chave deixa de ser única sozinha: a unicidade é (chave, data_vigencia).
+ALTER TABLE logistica.antt_parametros DROP CONSTRAINT IF EXISTS antt_parametros_chave_key;
+ALTER TABLE logistica.antt_parametros
+    ADD CONSTRAINT uk_antt_parametros_chave_vigencia UNIQUE (chave, data_vigencia);
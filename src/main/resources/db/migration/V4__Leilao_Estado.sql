@@ -0,0 +1,40 @@
+-- ######################################################################
+-- V4: MODELO DE LEITURA DO ESTADO DOS LEILÕES
+-- ######################################################################
+
+-- Uma linha por Frete com o estado atual do leilão (melhor lance, líder,
+-- quantidade de lances, status e prazo), desnormalizada para leitura por
+-- chave primária. Mantida pelo LanceService e pelo FreteService na mesma
+-- transação da alteração; a coluna versao é incrementada a cada mudança e
+-- identifica o estado (ETag do GET /fretes/{id}/estado).
+
+CREATE TABLE logistica.leilao_estado (
+    frete_id INTEGER PRIMARY KEY REFERENCES logistica.fretes (frete_id) ON DELETE CASCADE,
+    nome_status VARCHAR(50) NOT NULL,
+    valor_melhor_lance NUMERIC(10, 2),
+    transportador_lider_id BIGINT,
+    total_lances INTEGER NOT NULL DEFAULT 0,
+    data_expiracao_negociacao TIMESTAMP WITH TIME ZONE,
+    versao BIGINT NOT NULL DEFAULT 1,
+    atualizado_em TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Carga inicial a partir dos fretes existentes. No encerramento com vencedor,
+-- o valor exibido é o valor final aceito.
+INSERT INTO logistica.leilao_estado (frete_id, nome_status, valor_melhor_lance, transportador_lider_id,
+    total_lances, data_expiracao_negociacao)
+SELECT f.frete_id,
+       s.nome_status,
+       COALESCE(f.valor_final_aceito, melhor.valor_lance),
+       COALESCE(f.transportador_selecionado_id, melhor.transportador_id),
+       (SELECT COUNT(*) FROM logistica.lances l WHERE l.frete_id = f.frete_id),
+       f.data_expiracao_negociacao
+FROM logistica.fretes f
+JOIN logistica.status_leilao s ON s.status_id = f.status_leilao_id
+LEFT JOIN LATERAL (
+    SELECT l.valor_lance, l.transportador_id
+    FROM logistica.lances l
+    WHERE l.frete_id = f.frete_id
+    ORDER BY l.valor_lance, l.data_lance, l.lance_id
+    LIMIT 1
+) melhor ON TRUE;
@@ -0,0 +1,22 @@
+-- ######################################################################
+-- V5: LANCES AUTOMÁTICOS (PROXY BIDDING)
+-- ######################################################################
+
+-- O transportador registra o menor valor que aceita receber por um Frete; o
+-- LanceService cobre automaticamente (com o decremento mínimo) qualquer lance
+-- que o supere, sem descer abaixo desse valor nem do piso ANTT do Frete.
+-- Um lance automático ativo por (frete, transportador).
+
+CREATE TABLE logistica.lances_automaticos (
+    lance_automatico_id SERIAL PRIMARY KEY,
+    frete_id INTEGER NOT NULL REFERENCES logistica.fretes (frete_id) ON DELETE CASCADE,
+    transportador_id BIGINT NOT NULL REFERENCES colaboradores.transportadores (pessoa_id) ON DELETE CASCADE,
+    valor_minimo NUMERIC(10, 2) NOT NULL CHECK (valor_minimo > 0),
+    is_ativo BOOLEAN NOT NULL DEFAULT TRUE,
+    data_registro TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_lances_automaticos_frete_transportador UNIQUE (frete_id, transportador_id)
+);
+
+-- Carga do livro de ofertas: apenas os lances automáticos ativos do Frete.
+CREATE INDEX idx_lances_automaticos_frete_ativos
+    ON logistica.lances_automaticos (frete_id) WHERE is_ativo;
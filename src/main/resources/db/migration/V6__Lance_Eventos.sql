@@ -0,0 +1,58 @@
+-- ######################################################################
+-- V6: HISTÓRICO DE LANCES (APPEND-ONLY, PARTICIONADO POR MÊS)
+-- ######################################################################
+
+-- logistica.lances guarda apenas o lance vigente de cada transportador (o
+-- re-bid sobrescreve valor_lance). Cada lance gravado passa a gerar também um
+-- evento nesta tabela, somente com INSERT (em lote, no commit da transação do
+-- lance): o histórico completo fica preservado e logistica.lances passa a ser
+-- a projeção do estado atual.
+--
+-- Particionamento por intervalo mensal de data_evento: o volume de inserção
+-- não depende do tamanho do histórico (só a partição do mês corrente recebe
+-- escrita) e meses antigos podem ser removidos com DETACH PARTITION, sem
+-- DELETE. As partições futuras são criadas pela aplicação
+-- (ManutencaoParticoesLanceEventos); a partição DEFAULT é apenas uma rede de
+-- segurança e deve permanecer vazia.
+
+CREATE TABLE logistica.lance_eventos (
+    evento_id BIGSERIAL NOT NULL,
+    frete_id INTEGER NOT NULL,
+    lance_id BIGINT NOT NULL,
+    transportador_id BIGINT NOT NULL,
+    valor_lance NUMERIC(10, 2) NOT NULL,
+    -- Lance anterior do mesmo transportador (nulo no primeiro lance)
+    valor_anterior NUMERIC(10, 2),
+    -- MANUAL, AUTOMATICO (proxy bidding) ou CARGA_INICIAL
+    origem VARCHAR(20) NOT NULL,
+    data_evento TIMESTAMP WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (evento_id, data_evento)
+) PARTITION BY RANGE (data_evento);
+
+-- Consulta do histórico de um leilão (propagado para cada partição).
+CREATE INDEX idx_lance_eventos_frete ON logistica.lance_eventos (frete_id, data_evento);
+
+CREATE TABLE logistica.lance_eventos_padrao PARTITION OF logistica.lance_eventos DEFAULT;
+
+-- Partições mensais: do mês do lance mais antigo até três meses à frente.
+DO $$
+DECLARE
+    mes DATE := date_trunc('month', COALESCE(
+        (SELECT MIN(data_lance) FROM logistica.lances), CURRENT_TIMESTAMP))::DATE;
+    ultimo DATE := (date_trunc('month', CURRENT_TIMESTAMP) + INTERVAL '3 months')::DATE;
+BEGIN
+    WHILE mes <= ultimo LOOP
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS logistica.%I PARTITION OF logistica.lance_eventos '
+                || 'FOR VALUES FROM (%L) TO (%L)',
+            'lance_eventos_' || to_char(mes, 'YYYYMM'), mes, (mes + INTERVAL '1 month')::DATE);
+        mes := (mes + INTERVAL '1 month')::DATE;
+    END LOOP;
+END $$;
+
+-- Carga inicial: o lance vigente de cada transportador (o histórico anterior
+-- a esta migração não existe mais).
+INSERT INTO logistica.lance_eventos (frete_id, lance_id, transportador_id, valor_lance, origem, data_evento)
+SELECT l.frete_id, l.lance_id, l.transportador_id, l.valor_lance, 'CARGA_INICIAL',
+       COALESCE(l.data_lance, CURRENT_TIMESTAMP)
+FROM logistica.lances l;
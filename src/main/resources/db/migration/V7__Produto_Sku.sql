@@ -0,0 +1,17 @@
+-- ######################################################################
+-- V7: SKU DOS PRODUTOS DO MARKETPLACE
+-- ######################################################################
+
+-- A entidade Produto mapeia a coluna sku (obrigatória, única por lojista),
+-- mas ela nunca foi criada pelas migrações: toda leitura de produtos falhava
+-- com "column sku does not exist". Produtos existentes recebem um SKU
+-- derivado do ID.
+
+ALTER TABLE marketplace.produtos ADD COLUMN sku VARCHAR(50);
+
+UPDATE marketplace.produtos SET sku = 'PROD-' || produto_id WHERE sku IS NULL;
+
+ALTER TABLE marketplace.produtos ALTER COLUMN sku SET NOT NULL;
+
+ALTER TABLE marketplace.produtos
+    ADD CONSTRAINT uk_produtos_sku_vendedor UNIQUE (sku, vendedor_id);
@@ -0,0 +1,37 @@
+-- ######################################################################
+-- V8: OUTBOX TRANSACIONAL
+-- ######################################################################
+
+-- Tarefas e eventos gravados na mesma transação da alteração de negócio que
+-- os originou: se a transação for revertida, a linha também é. Um consumidor
+-- reserva as linhas pendentes com FOR UPDATE SKIP LOCKED (vários workers, ou
+-- vários nós, sem disputar a mesma linha) e marca a linha como processada na
+-- mesma transação do efeito colateral.
+--
+-- Primeiro uso: precificação assíncrona da Ordem de Serviço (tipo
+-- PRECIFICACAO_ORDEM_SERVICO, agregado_id = ordem_id).
+
+CREATE TABLE core.outbox (
+    outbox_id BIGSERIAL PRIMARY KEY,
+    tipo VARCHAR(100) NOT NULL,
+    agregado_id BIGINT NOT NULL,
+    payload JSONB NOT NULL,
+    -- PENDENTE, PROCESSADO ou FALHA (tentativas esgotadas / erro definitivo)
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDENTE',
+    tentativas INTEGER NOT NULL DEFAULT 0,
+    -- Próxima tentativa (backoff após falha)
+    disponivel_em TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    criado_em TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    processado_em TIMESTAMP WITH TIME ZONE,
+    ultimo_erro TEXT
+);
+
+-- Reserva das próximas linhas de um tipo: só as pendentes ficam no índice.
+CREATE INDEX idx_outbox_pendentes
+    ON core.outbox (tipo, disponivel_em, outbox_id) WHERE status = 'PENDENTE';
+
+-- Consulta da situação por agregado (ex: GET /ordens-servico/{id}/precificacao).
+CREATE INDEX idx_outbox_agregado ON core.outbox (agregado_id, tipo);
+
+-- Busca do Frete de uma Ordem de Serviço.
+CREATE INDEX IF NOT EXISTS idx_fretes_ordem_servico ON logistica.fretes (ordem_servico_id);
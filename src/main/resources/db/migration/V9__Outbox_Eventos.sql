@@ -0,0 +1,34 @@
+-- ######################################################################
+-- V9: OUTBOX DE EVENTOS DE DOMÍNIO
+-- ######################################################################
+
+-- O core.outbox passa a carregar também os eventos de domínio (e-mail de
+-- ativação, encerramento de leilão, mudança de status da OS). Um relay
+-- reserva lotes de qualquer tipo e entrega cada evento aos manipuladores
+-- internos e ao Redis, com entrega pelo menos uma vez.
+
+-- Chave natural do evento (ex: LEILAO_ENCERRADO:42). Um segundo registro com a
+-- mesma chave é descartado na gravação; nula para as tarefas dedicadas.
+ALTER TABLE core.outbox ADD COLUMN chave_idempotencia VARCHAR(200);
+
+CREATE UNIQUE INDEX uk_outbox_chave_idempotencia ON core.outbox (chave_idempotencia);
+
+-- Reserva em lote pelo relay (todos os tipos, em ordem de disponibilidade).
+CREATE INDEX idx_outbox_pendentes_relay
+    ON core.outbox (disponivel_em, outbox_id) WHERE status = 'PENDENTE';
+
+-- Limpeza das linhas processadas após a retenção.
+CREATE INDEX idx_outbox_processados
+    ON core.outbox (processado_em) WHERE status = 'PROCESSADO';
+
+-- Eventos já aplicados por consumidor: uma reentrega (lease vencido, falha
+-- após o efeito) não repete o efeito colateral. Gravado na mesma transação
+-- do efeito.
+CREATE TABLE core.outbox_consumo (
+    chave_idempotencia VARCHAR(200) NOT NULL,
+    consumidor VARCHAR(100) NOT NULL,
+    consumido_em TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (chave_idempotencia, consumidor)
+);
+
+CREATE INDEX idx_outbox_consumo_data ON core.outbox_consumo (consumido_em);
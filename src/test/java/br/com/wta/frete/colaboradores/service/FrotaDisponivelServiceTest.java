@@ -0,0 +1,92 @@
+package br.com.wta.frete.colaboradores.service;
+
+import br.com.wta.frete.colaboradores.entity.Transportador;
+import br.com.wta.frete.colaboradores.entity.Veiculo;
+import br.com.wta.frete.colaboradores.entity.enums.StatusVeiculo;
+import br.com.wta.frete.colaboradores.entity.enums.TipoVeiculo;
+import br.com.wta.frete.colaboradores.repository.VeiculoRepository;
+import br.com.wta.frete.colaboradores.repository.projection.VeiculoCapacidadeProjection;
+import br.com.wta.frete.colaboradores.service.IndiceCapacidadeVeiculos.VeiculoCapacidade;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários da manutenção da frota disponível, em especial dos
+ * cadastros que chegam durante uma recarga.
+ */
+public class FrotaDisponivelServiceTest {
+
+    private VeiculoRepository veiculoRepository;
+    private FrotaDisponivelService service;
+
+    @BeforeEach
+    void setUp() {
+        veiculoRepository = mock(VeiculoRepository.class);
+        service = new FrotaDisponivelService(veiculoRepository, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Cadastros confirmados durante a recarga devem sobreviver à troca do índice")
+    void recarregar_CadastrosDuranteALeitura_DevemSerReaplicados() {
+        service.registrarVeiculo(veiculo(2, 20L, StatusVeiculo.DISPONIVEL, "8000", null));
+        when(veiculoRepository.buscarCapacidades(StatusVeiculo.DISPONIVEL)).thenAnswer(inv -> {
+            // Confirmados depois da leitura do banco, antes da troca.
+            service.registrarVeiculo(veiculo(3, 30L, StatusVeiculo.DISPONIVEL, "5000.129", "25.5"));
+            service.registrarVeiculo(veiculo(2, 20L, StatusVeiculo.EM_MANUTENCAO, "8000", null));
+            return List.of(projecao(1, 10L, "12000"), projecao(2, 20L, "8000"));
+        });
+
+        service.recarregar();
+
+        assertEquals(1, service.frota(10L).size());
+        assertTrue(service.frota(20L).isEmpty());
+        // Capacidade em centésimos, truncada para baixo.
+        VeiculoCapacidade cadastrado = service.frota(30L).get(0);
+        assertEquals(500_012L, cadastrado.pesoCentesimosKg());
+        assertEquals(2_550L, cadastrado.volumeCentesimosM3());
+    }
+
+    @Test
+    @DisplayName("Falha na recarga deve manter a frota atual com os cadastros recebidos")
+    void recarregar_Falha_DeveManterFrotaAtual() {
+        service.registrarVeiculo(veiculo(1, 10L, StatusVeiculo.DISPONIVEL, "12000", null));
+        when(veiculoRepository.buscarCapacidades(StatusVeiculo.DISPONIVEL)).thenAnswer(inv -> {
+            service.registrarVeiculo(veiculo(2, 20L, StatusVeiculo.DISPONIVEL, "8000", null));
+            throw new QueryTimeoutException("timeout");
+        });
+
+        assertThrows(QueryTimeoutException.class, () -> service.recarregar());
+        service.registrarVeiculo(veiculo(1, 10L, StatusVeiculo.INATIVO, "12000", null));
+
+        assertTrue(service.frota(10L).isEmpty());
+        assertEquals(1, service.frota(20L).size());
+    }
+
+    private static Veiculo veiculo(Integer id, Long transportadorId, StatusVeiculo status, String capacidadeKg,
+            String capacidadeM3) {
+        Transportador transportador = new Transportador();
+        transportador.setPessoaId(transportadorId);
+        Veiculo veiculo = new Veiculo();
+        veiculo.setId(id);
+        veiculo.setTransportador(transportador);
+        veiculo.setTipoVeiculo(TipoVeiculo.TRUCK_3_EIXOS);
+        veiculo.setCapacidadeKg(new BigDecimal(capacidadeKg));
+        veiculo.setCapacidadeM3(capacidadeM3 != null ? new BigDecimal(capacidadeM3) : null);
+        veiculo.setStatusVeiculo(status);
+        return veiculo;
+    }
+
+    private static VeiculoCapacidadeProjection projecao(Integer veiculoId, Long transportadorId, String capacidadeKg) {
+        return new VeiculoCapacidadeProjection(veiculoId, transportadorId, TipoVeiculo.TRUCK_3_EIXOS,
+                new BigDecimal(capacidadeKg), null);
+    }
+}
@@ -0,0 +1,109 @@
+package br.com.wta.frete.colaboradores.service;
+
+import br.com.wta.frete.colaboradores.entity.enums.TipoVeiculo;
+import br.com.wta.frete.colaboradores.service.IndiceCapacidadeVeiculos.VeiculoCapacidade;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários do índice de capacidade (peso x volume) dos veículos
+ * disponíveis.
+ */
+public class IndiceCapacidadeVeiculosTest {
+
+    @Test
+    @DisplayName("Deve retornar cada transportador com o menor veículo que comporta peso e volume")
+    void buscarTransportadores_DeveRetornarMenorVeiculoCompativel() {
+        IndiceCapacidadeVeiculos indice = new IndiceCapacidadeVeiculos(List.of(
+                veiculo(1, 10, TipoVeiculo.VUC, 3_000_00L, 20_00L),
+                veiculo(2, 10, TipoVeiculo.TRUCK_3_EIXOS, 14_000_00L, 50_00L),
+                veiculo(3, 20, TipoVeiculo.TRUCK_3_EIXOS, 12_000_00L, 45_00L),
+                veiculo(4, 30, TipoVeiculo.GRANELEIRO, 30_000_00L, null),
+                veiculo(5, 40, TipoVeiculo.FURGAO, 1_500_00L, 10_00L)));
+
+        assertEquals(List.of(1, 3, 4), veiculoIds(indice.buscarTransportadores(2_000_00L, null, null, 10)));
+        // Volume exigido: o graneleiro sem volume cadastrado deixa de servir.
+        assertEquals(List.of(1, 3), veiculoIds(indice.buscarTransportadores(2_000_00L, 15_00L, null, 10)));
+        assertEquals(List.of(2), veiculoIds(indice.buscarTransportadores(2_000_00L, 48_00L, null, 10)));
+        assertEquals(List.of(3, 2), veiculoIds(indice.buscarTransportadores(2_000_00L, 15_00L,
+                EnumSet.of(TipoVeiculo.TRUCK_3_EIXOS), 10)));
+        assertEquals(List.of(1), veiculoIds(indice.buscarTransportadores(2_000_00L, null, null, 1)));
+        assertTrue(indice.buscarTransportadores(40_000_00L, null, null, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("A frota do transportador deve conter apenas os veículos não dominados")
+    void frota_DeveDescartarVeiculosDominados() {
+        IndiceCapacidadeVeiculos indice = new IndiceCapacidadeVeiculos(List.of(
+                veiculo(1, 10, TipoVeiculo.VUC, 3_000_00L, 20_00L),
+                veiculo(2, 10, TipoVeiculo.TRUCK_3_EIXOS, 14_000_00L, 50_00L),
+                veiculo(3, 10, TipoVeiculo.FURGAO, 1_500_00L, 60_00L),
+                veiculo(4, 10, TipoVeiculo.TOCO_2_EIXOS, 8_000_00L, null)));
+
+        List<VeiculoCapacidade> frota = indice.frota(10);
+
+        assertEquals(List.of(2, 3), veiculoIds(frota));
+        assertFalse(IndiceCapacidadeVeiculos.comporta(frota, 10_000_00L, 55_00L));
+        assertTrue(IndiceCapacidadeVeiculos.comporta(frota, 1_000_00L, 55_00L));
+        assertTrue(indice.frota(99).isEmpty());
+    }
+
+    @Test
+    @DisplayName("O índice deve retornar o mesmo que uma varredura completa da frota")
+    void buscarTransportadores_DeveEquivalerAVarreduraCompleta() {
+        Random random = new Random(7);
+        TipoVeiculo[] tipos = TipoVeiculo.values();
+        List<VeiculoCapacidade> veiculos = new ArrayList<>();
+        for (int id = 1; id <= 20_000; id++) {
+            Long volume = random.nextInt(10) == 0 ? null : (long) random.nextInt(100_00);
+            veiculos.add(veiculo(id, random.nextInt(5_000), tipos[random.nextInt(tipos.length)],
+                    random.nextInt(40_000_00), volume));
+        }
+        IndiceCapacidadeVeiculos indice = new IndiceCapacidadeVeiculos(veiculos);
+
+        for (int consulta = 0; consulta < 50; consulta++) {
+            long peso = random.nextInt(40_000_00);
+            Long volume = random.nextBoolean() ? null : (long) random.nextInt(100_00);
+            Set<TipoVeiculo> aceitos = consulta % 2 == 0 ? null
+                    : EnumSet.of(tipos[random.nextInt(tipos.length)], tipos[random.nextInt(tipos.length)]);
+
+            assertEquals(varredura(veiculos, peso, volume, aceitos),
+                    veiculoIds(indice.buscarTransportadores(peso, volume, aceitos, Integer.MAX_VALUE)),
+                    "peso " + peso + ", volume " + volume);
+        }
+    }
+
+    private static List<Integer> varredura(List<VeiculoCapacidade> veiculos, long peso, Long volume,
+            Set<TipoVeiculo> tipos) {
+        Comparator<VeiculoCapacidade> ajuste = Comparator.comparingLong(VeiculoCapacidade::pesoCentesimosKg)
+                .thenComparingLong(v -> v.volumeCentesimosM3() != null ? v.volumeCentesimosM3() : -1)
+                .thenComparingInt(VeiculoCapacidade::veiculoId);
+        Map<Long, VeiculoCapacidade> menor = new HashMap<>();
+        for (VeiculoCapacidade veiculo : veiculos) {
+            if ((tipos == null || tipos.contains(veiculo.tipoVeiculo())) && veiculo.comporta(peso, volume)) {
+                menor.merge(veiculo.transportadorId(), veiculo, (a, b) -> ajuste.compare(a, b) <= 0 ? a : b);
+            }
+        }
+        return menor.values().stream().sorted(ajuste).map(VeiculoCapacidade::veiculoId).toList();
+    }
+
+    private static VeiculoCapacidade veiculo(int id, long transportadorId, TipoVeiculo tipo, long peso,
+            Long volume) {
+        return new VeiculoCapacidade(id, transportadorId, tipo, peso, volume);
+    }
+
+    private static List<Integer> veiculoIds(List<VeiculoCapacidade> veiculos) {
+        return veiculos.stream().map(VeiculoCapacidade::veiculoId).toList();
+    }
+}
@@ -0,0 +1,105 @@
+package br.com.wta.frete.logistica.controller;
+
+import br.com.wta.frete.logistica.entity.LeilaoEstado;
+import br.com.wta.frete.logistica.repository.LeilaoEstadoRepository;
+import br.com.wta.frete.logistica.service.CompatibilidadeCargaService;
+import br.com.wta.frete.logistica.service.DescobertaFretesService;
+import br.com.wta.frete.logistica.service.LeilaoEstadoService;
+import br.com.wta.frete.logistica.service.LivroOfertasLeilao;
+import br.com.wta.frete.logistica.service.LivroOfertasLeilao.OfertaTransportador;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes da consulta do estado do leilão (GET /fretes/{freteId}/estado) com
+ * requisições condicionais (ETag / If-None-Match).
+ */
+public class FreteControllerTest {
+
+    private static final String URL_ESTADO = "/api/v1/logistica/fretes/7/estado";
+    private static final LocalDateTime PRAZO = LocalDateTime.now().plusHours(2);
+
+    private LeilaoEstado estado;
+    private LeilaoEstadoService leilaoEstadoService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        estado = LeilaoEstado.builder()
+                .freteId(7L)
+                .nomeStatus(LivroOfertasLeilao.STATUS_ABERTO)
+                .totalLances(0)
+                .dataExpiracaoNegociacao(PRAZO)
+                .versao(1)
+                .atualizadoEm(LocalDateTime.now())
+                .build();
+
+        // Repositório em memória: cada lance incrementa a versão, como o UPDATE real.
+        LeilaoEstadoRepository repository = mock(LeilaoEstadoRepository.class);
+        when(repository.findById(7L)).thenAnswer(inv -> Optional.of(estado));
+        when(repository.atualizarLances(eq(7L), any(), any(), anyInt(), any())).thenAnswer(inv -> {
+            estado.setValorMelhorLance(inv.getArgument(1));
+            estado.setTransportadorLiderId(inv.getArgument(2));
+            estado.setTotalLances(inv.getArgument(3));
+            estado.setVersao(estado.getVersao() + 1);
+            estado.setAtualizadoEm(inv.getArgument(4));
+            return 1;
+        });
+
+        leilaoEstadoService = new LeilaoEstadoService(repository);
+        mockMvc = MockMvcBuilders.standaloneSetup(new FreteController(leilaoEstadoService,
+                mock(DescobertaFretesService.class), mock(CompatibilidadeCargaService.class))).build();
+    }
+
+    @Test
+    @DisplayName("Deve responder 304 sem corpo quando o If-None-Match corresponde à versão atual")
+    void buscarEstado_MesmoETag_DeveRetornar304() throws Exception {
+        String etag = mockMvc.perform(get(URL_ESTADO))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.totalLances").value(0))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get(URL_ESTADO).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("Um novo lance deve mudar o ETag e o If-None-Match antigo deve receber o estado novo")
+    void buscarEstado_AposNovoLance_DeveMudarETag() throws Exception {
+        String etagAntigo = mockMvc.perform(get(URL_ESTADO))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        LivroOfertasLeilao livro = new LivroOfertasLeilao(7L, 70L, LivroOfertasLeilao.STATUS_ABERTO, PRAZO);
+        livro.registrar(new OfertaTransportador(1L, 20L, "Transportador 20", new BigDecimal("850.00"),
+                LocalDateTime.now()));
+        leilaoEstadoService.registrarLance(livro);
+
+        String etagNovo = mockMvc.perform(get(URL_ESTADO).header(HttpHeaders.IF_NONE_MATCH, etagAntigo))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalLances").value(1))
+                .andExpect(jsonPath("$.transportadorLiderId").value(20))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertNotEquals(etagAntigo, etagNovo);
+        assertEquals("\"2\"", etagNovo);
+        mockMvc.perform(get(URL_ESTADO).header(HttpHeaders.IF_NONE_MATCH, etagNovo))
+                .andExpect(status().isNotModified());
+    }
+}
@@ -0,0 +1,122 @@
+package br.com.wta.frete.logistica.service;
+
+import br.com.wta.frete.logistica.repository.FreteRepository;
+import br.com.wta.frete.logistica.repository.StatusLeilaoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários do agendador de encerramento no prazo: reagendamento e
+ * cancelamento.
+ */
+public class AgendadorEncerramentoLeiloesTest {
+
+    private ProcessadorFinalizacaoLeiloes processadorFinalizacao;
+    private AgendadorEncerramentoLeiloes agendador;
+    // Instante (ms) em que cada Frete foi submetido ao processador.
+    private final Map<Long, Long> submetidos = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        processadorFinalizacao = mock(ProcessadorFinalizacaoLeiloes.class);
+        when(processadorFinalizacao.tentarSubmeter(anyLong(), any())).thenAnswer(inv -> {
+            submetidos.put(inv.getArgument(0), System.currentTimeMillis());
+            return true;
+        });
+        StatusLeilaoRepository statusLeilaoRepository = mock(StatusLeilaoRepository.class);
+        when(statusLeilaoRepository.findByNomeStatus(anyString())).thenReturn(Optional.empty());
+
+        agendador = new AgendadorEncerramentoLeiloes(processadorFinalizacao, mock(FreteRepository.class),
+                statusLeilaoRepository, true);
+        agendador.iniciar();
+    }
+
+    @AfterEach
+    void tearDown() {
+        agendador.parar();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Prazo prorrogado deve substituir o anterior e encerrar apenas no novo prazo")
+    void agendar_PrazoProrrogado_DeveEncerrarNoNovoPrazo() {
+        agendador.agendar(1L, LocalDateTime.now().plusNanos(150_000_000));
+        LocalDateTime novoPrazo = LocalDateTime.now().plusNanos(600_000_000);
+        agendador.agendar(1L, novoPrazo);
+
+        assertEquals(1, agendador.getPendentes());
+        verify(processadorFinalizacao, timeout(3_000)).tentarSubmeter(eq(1L), any());
+        assertTrue(submetidos.get(1L) >= millis(novoPrazo));
+        verify(processadorFinalizacao, after(300).times(1)).tentarSubmeter(eq(1L), any());
+        assertEquals(0, agendador.getPendentes());
+    }
+
+    @Test
+    @DisplayName("Prazo antecipado deve encerrar no novo prazo e retirar o anterior")
+    void agendar_PrazoAntecipado_DeveEncerrarNoNovoPrazo() {
+        agendador.agendar(2L, LocalDateTime.now().plusHours(1));
+        agendador.agendar(2L, LocalDateTime.now().plusNanos(100_000_000));
+
+        verify(processadorFinalizacao, timeout(3_000)).tentarSubmeter(eq(2L), any());
+        assertEquals(0, agendador.getPendentes());
+    }
+
+    @Test
+    @DisplayName("Leilão encerrado antes do prazo deve sair do agendador")
+    void cancelar_DeveRetirarOPrazo() {
+        agendador.agendar(3L, LocalDateTime.now().plusNanos(150_000_000));
+        agendador.agendar(4L, LocalDateTime.now().plusNanos(150_000_000));
+
+        agendador.cancelar(3L);
+
+        assertEquals(1, agendador.getPendentes());
+        verify(processadorFinalizacao, timeout(3_000)).tentarSubmeter(eq(4L), any());
+        verify(processadorFinalizacao, after(300).never()).tentarSubmeter(eq(3L), any());
+    }
+
+    @Test
+    @DisplayName("Dentro de uma transação, o cancelamento só deve valer após o commit")
+    void cancelar_EmTransacao_DeveAguardarOCommit() {
+        agendador.agendar(5L, LocalDateTime.now().plusHours(1));
+        TransactionSynchronizationManager.initSynchronization();
+
+        agendador.cancelar(5L);
+        assertEquals(1, agendador.getPendentes());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(0, agendador.getPendentes());
+    }
+
+    @Test
+    @DisplayName("Pool saturado não deve bloquear o despacho dos prazos seguintes")
+    void despachar_PoolSaturado_DeveSeguirParaOsProximosPrazos() {
+        when(processadorFinalizacao.tentarSubmeter(eq(6L), any())).thenReturn(false);
+        agendador.agendar(6L, LocalDateTime.now().plusNanos(50_000_000));
+        agendador.agendar(7L, LocalDateTime.now().plusNanos(100_000_000));
+
+        verify(processadorFinalizacao, timeout(3_000)).tentarSubmeter(eq(7L), any());
+        // O recusado fica para a varredura periódica (sem nova tentativa aqui).
+        verify(processadorFinalizacao, times(1)).tentarSubmeter(eq(6L), any());
+        assertEquals(0, agendador.getPendentes());
+    }
+
+    private static long millis(LocalDateTime data) {
+        return data.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
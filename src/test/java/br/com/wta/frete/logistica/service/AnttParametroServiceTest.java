@@ -0,0 +1,100 @@
+package br.com.wta.frete.logistica.service;
+
+import br.com.wta.frete.logistica.entity.AnttParametro;
+import br.com.wta.frete.logistica.repository.AnttParametroRepository;
+import br.com.wta.frete.logistica.service.mapper.AnttParametroMapper;
+import br.com.wta.frete.shared.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários da tabela ANTT em memória: vigência por data e recarga
+ * pelo checksum.
+ */
+public class AnttParametroServiceTest {
+
+    private static final BigDecimal CEM_KM = new BigDecimal("100");
+
+    private AnttParametroRepository anttRepository;
+    private AnttParametroService service;
+    private List<AnttParametro> parametros;
+
+    @BeforeEach
+    void setUp() {
+        parametros = new ArrayList<>(List.of(
+                parametro(1, TabelaAntt.CUSTO_FIXO_VIAGEM, "100.0000", LocalDate.of(2024, 1, 1)),
+                parametro(2, TabelaAntt.CUSTO_FIXO_VIAGEM, "150.0000", LocalDate.of(2025, 1, 1)),
+                parametro(3, TabelaAntt.CUSTO_FIXO_VIAGEM, "999.0000", LocalDate.now().plusDays(30)),
+                parametro(4, TabelaAntt.COEFICIENTE_POR_KM, "1.0000", LocalDate.of(2024, 1, 1)),
+                parametro(5, TabelaAntt.TAXA_ADMINISTRATIVA, "0.1000", LocalDate.of(2024, 6, 1))));
+        anttRepository = mock(AnttParametroRepository.class);
+        when(anttRepository.calcularChecksum()).thenReturn("a");
+        when(anttRepository.findAll()).thenAnswer(inv -> List.copyOf(parametros));
+        service = new AnttParametroService(anttRepository, mock(AnttParametroMapper.class),
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Cada chave deve usar a versão mais recente com vigência até a data de referência")
+    void obterTabela_DeveUsarAVersaoVigenteNaData() {
+        // (100 + 100 km * 1,00) * 1,10
+        assertEquals(new BigDecimal("220.00"),
+                service.calcularPisoMinimo(CEM_KM, BigDecimal.ONE, LocalDate.of(2024, 12, 31)));
+        // A versão que começa exatamente na data já vale: (150 + 100) * 1,10.
+        assertEquals(new BigDecimal("275.00"),
+                service.calcularPisoMinimo(CEM_KM, BigDecimal.ONE, LocalDate.of(2025, 1, 1)));
+
+        // Hoje: a vigência futura ainda não vale.
+        TabelaAntt vigente = service.obterTabelaVigente();
+        assertEquals(LocalDate.now(), vigente.getDataReferencia());
+        assertEquals(new BigDecimal("150.0000"), vigente.getCustoFixo());
+        assertEquals(2, vigente.getVigentes().get(TabelaAntt.CUSTO_FIXO_VIAGEM).anttParametroId());
+    }
+
+    @Test
+    @DisplayName("Antes da primeira versão o cálculo deve falhar; chave ainda sem versão usa o default")
+    void obterTabela_DataAnteriorAPrimeiraVersao() {
+        assertThrows(ResourceNotFoundException.class,
+                () -> service.calcularPisoMinimo(CEM_KM, BigDecimal.ONE, LocalDate.of(2023, 12, 31)));
+
+        // Taxa administrativa só vigora a partir de 2024-06-01: default de 5%.
+        TabelaAntt tabela = service.obterTabela(LocalDate.of(2024, 3, 1));
+        assertFalse(tabela.getVigentes().containsKey(TabelaAntt.TAXA_ADMINISTRATIVA));
+        assertEquals(new BigDecimal("210.00"), tabela.calcularPisoMinimo(CEM_KM));
+    }
+
+    @Test
+    @DisplayName("Deve recarregar a memória apenas quando o checksum da tabela mudar")
+    void verificarAlteracoes_DeveRecarregarQuandoChecksumMudar() {
+        assertEquals(new BigDecimal("150.0000"), service.obterTabelaVigente().getCustoFixo());
+
+        service.verificarAlteracoes();
+        verify(anttRepository, times(1)).findAll();
+
+        // Alteração feita direto no banco (ou por outro nó).
+        parametros.add(parametro(6, TabelaAntt.CUSTO_FIXO_VIAGEM, "200.0000", LocalDate.now()));
+        when(anttRepository.calcularChecksum()).thenReturn("b");
+        service.verificarAlteracoes();
+
+        verify(anttRepository, times(2)).findAll();
+        TabelaAntt recarregada = service.obterTabelaVigente();
+        assertEquals("b", recarregada.getChecksum());
+        assertEquals(new BigDecimal("200.0000"), recarregada.getCustoFixo());
+        // O histórico também foi substituído.
+        assertEquals("b", service.obterTabela(LocalDate.of(2024, 12, 31)).getChecksum());
+    }
+
+    private static AnttParametro parametro(Integer id, String chave, String valor, LocalDate dataVigencia) {
+        return new AnttParametro(id, chave, new BigDecimal(valor), null, dataVigencia);
+    }
+}
@@ -0,0 +1,95 @@
+package br.com.wta.frete.logistica.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários da publicação assíncrona dos eventos de leilão no Redis.
+ */
+public class BarramentoEventosLeilaoRedisTest {
+
+    private static final LocalDateTime PRAZO = LocalDateTime.now().plusHours(1);
+
+    private StringRedisTemplate redisTemplate;
+    private HubEventosLeilao hubEventos;
+    private SimpleMeterRegistry meterRegistry;
+    private BarramentoEventosLeilaoRedis barramento;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        when(redisTemplate.getRequiredConnectionFactory()).thenReturn(mock(RedisConnectionFactory.class));
+        hubEventos = mock(HubEventosLeilao.class);
+        meterRegistry = new SimpleMeterRegistry();
+        // Sem agrupamento e fila de uma posição.
+        barramento = new BarramentoEventosLeilaoRedis(redisTemplate, hubEventos, meterRegistry, 0, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        barramento.encerrar();
+    }
+
+    @Test
+    @DisplayName("Redis lento não deve segurar quem publica: entrega local na hora e descarte com a fila cheia")
+    void publicar_RedisLento_NaoDeveBloquearOChamador() throws Exception {
+        CountDownLatch emPublicacao = new CountDownLatch(1);
+        CountDownLatch liberarRedis = new CountDownLatch(1);
+        when(redisTemplate.execute(any(RedisCallback.class))).thenAnswer(inv -> {
+            emPublicacao.countDown();
+            liberarRedis.await();
+            return 1L;
+        });
+
+        barramento.publicar(evento(1L));
+        assertTrue(emPublicacao.await(5, TimeUnit.SECONDS));
+        barramento.publicar(evento(2L));
+        barramento.publicar(evento(3L));
+
+        // Os três chegaram aos assinantes locais sem esperar o Redis.
+        verify(hubEventos, times(3)).publicar(any());
+        assertEquals(1, barramento.getPublicacoesPendentes());
+        assertEquals(1.0, descartes("descartado"));
+
+        liberarRedis.countDown();
+        verify(redisTemplate, timeout(5_000).times(2)).execute(any(RedisCallback.class));
+    }
+
+    @Test
+    @DisplayName("Falha do Redis deve ser contabilizada sem interromper as publicações seguintes")
+    void publicar_FalhaDoRedis_DeveContarEContinuar() {
+        when(redisTemplate.execute(any(RedisCallback.class)))
+                .thenThrow(new RedisConnectionFailureException("indisponível"))
+                .thenReturn(1L);
+
+        barramento.publicar(evento(1L));
+        barramento.publicar(evento(2L));
+
+        verify(redisTemplate, timeout(5_000).times(2)).execute(any(RedisCallback.class));
+        assertEquals(1.0, descartes("falha"));
+        assertEquals(0.0, descartes("descartado"));
+    }
+
+    private double descartes(String resultado) {
+        return meterRegistry.counter("frete.leilao.barramento.publicacoes", "resultado", resultado).count();
+    }
+
+    private static EventoLeilao evento(Long freteId) {
+        return EventoLeilao.encerrado(freteId, "FINALIZADO", null, null, PRAZO);
+    }
+}
@@ -0,0 +1,87 @@
+package br.com.wta.frete.logistica.service;
+
+import br.com.wta.frete.logistica.service.EventoLeilao.TipoEventoLeilao;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários do agrupamento de eventos MELHOR_LANCE por leilão.
+ */
+public class CoalescedorEventosLeilaoTest {
+
+    private static final long JANELA_MS = 100;
+
+    private ScheduledExecutorService agendador;
+    private List<EventoLeilao> entregues;
+    private CoalescedorEventosLeilao coalescedor;
+
+    @BeforeEach
+    void setUp() {
+        agendador = Executors.newSingleThreadScheduledExecutor();
+        entregues = new CopyOnWriteArrayList<>();
+        coalescedor = new CoalescedorEventosLeilao(JANELA_MS, entregues::add, agendador);
+    }
+
+    @AfterEach
+    void tearDown() {
+        agendador.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Deve entregar o primeiro lance na hora e apenas o último lance do restante da janela")
+    void rajadaDeLances_DeveSerAgrupada() throws Exception {
+        for (int i = 0; i < 50; i++) {
+            coalescedor.publicar(melhorLance(1L, 1000 - i));
+        }
+
+        assertEquals(1, entregues.size());
+        assertEquals(new BigDecimal("1000.00"), entregues.get(0).valorMelhorLance());
+
+        aguardar(() -> entregues.size() == 2);
+        assertEquals(new BigDecimal("951.00"), entregues.get(1).valorMelhorLance());
+
+        // Janela sem eventos pendentes é descartada.
+        aguardar(() -> coalescedor.getJanelasAbertas() == 0);
+        assertEquals(2, entregues.size());
+    }
+
+    @Test
+    @DisplayName("Deve descartar o lance pendente quando o leilão é encerrado")
+    void encerramento_DeveDescartarPendente() throws Exception {
+        coalescedor.publicar(melhorLance(1L, 500));
+        coalescedor.publicar(melhorLance(1L, 490));
+        coalescedor.publicar(EventoLeilao.encerrado(1L, "ENCERRADO_COM_VENCEDOR", new BigDecimal("490.00"), 9L,
+                LocalDateTime.now()));
+
+        TimeUnit.MILLISECONDS.sleep(JANELA_MS * 3);
+
+        assertEquals(2, entregues.size());
+        assertEquals(TipoEventoLeilao.ENCERRADO, entregues.get(1).tipo());
+    }
+
+    private static EventoLeilao melhorLance(Long freteId, long valor) {
+        return new EventoLeilao(TipoEventoLeilao.MELHOR_LANCE, freteId, "AGUARDANDO_LANCES",
+                BigDecimal.valueOf(valor).setScale(2), 7L, 3, LocalDateTime.now().plusHours(1), 3600);
+    }
+
+    private static void aguardar(BooleanSupplier condicao) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 2_000;
+        while (!condicao.getAsBoolean() && System.currentTimeMillis() < limite) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        assertTrue(condicao.getAsBoolean(), "Condição não atingida no tempo esperado");
+    }
+}
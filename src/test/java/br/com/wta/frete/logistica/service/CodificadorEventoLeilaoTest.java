@@ -0,0 +1,80 @@
+package br.com.wta.frete.logistica.service;
+
+import br.com.wta.frete.logistica.service.CodificadorEventoLeilao.MensagemEvento;
+import br.com.wta.frete.logistica.service.EventoLeilao.TipoEventoLeilao;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários do formato binário dos eventos de leilão.
+ */
+public class CodificadorEventoLeilaoTest {
+
+    @Test
+    @DisplayName("Deve decodificar exatamente o evento codificado, inclusive campos nulos")
+    void codificarDecodificar_DeveSerSimetrico() {
+        EventoLeilao completo = new EventoLeilao(TipoEventoLeilao.MELHOR_LANCE, 42L, "AGUARDANDO_LANCES",
+                new BigDecimal("1234.50"), 7L, 5, LocalDateTime.of(2026, 3, 1, 18, 30, 15), 3600);
+        EventoLeilao semLances = EventoLeilao.encerrado(43L, "ENCERRADO_SEM_LANCES", null, null, null);
+
+        MensagemEvento a = CodificadorEventoLeilao.decodificar(CodificadorEventoLeilao.codificar(completo, -99L));
+        MensagemEvento b = CodificadorEventoLeilao.decodificar(CodificadorEventoLeilao.codificar(semLances, 1L));
+
+        assertEquals(completo, a.evento());
+        assertEquals(-99L, a.noOrigem());
+        assertEquals(semLances, b.evento());
+        assertTrue(CodificadorEventoLeilao.codificar(completo, 1L).length < 80);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar mensagem truncada ou de versão desconhecida")
+    void mensagemInvalida_DeveLancarExcecao() {
+        byte[] mensagem = CodificadorEventoLeilao.codificar(
+                EventoLeilao.encerrado(1L, "ENCERRADO_SEM_LANCES", null, null, null), 1L);
+
+        byte[] truncada = Arrays.copyOf(mensagem, 12);
+        byte[] outraVersao = mensagem.clone();
+        outraVersao[0] = 9;
+
+        assertThrows(IllegalArgumentException.class, () -> CodificadorEventoLeilao.decodificar(truncada));
+        assertThrows(IllegalArgumentException.class, () -> CodificadorEventoLeilao.decodificar(outraVersao));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar quadro corrompido (tamanho do status ou tipo inválidos) sem alocar")
+    void quadroCorrompido_DeveLancarIllegalArgumentException() {
+        String status = "ENCERRADO_SEM_LANCES";
+        byte[] mensagem = CodificadorEventoLeilao.codificar(EventoLeilao.encerrado(1L, status, null, null, null), 1L);
+        int posicaoTamanho = mensagem.length - status.length() - 2;
+
+        // 0xFFFF: negativo se lido com sinal; maior que o restante do quadro.
+        byte[] tamanhoNegativo = mensagem.clone();
+        tamanhoNegativo[posicaoTamanho] = (byte) 0xFF;
+        tamanhoNegativo[posicaoTamanho + 1] = (byte) 0xFF;
+        byte[] tamanhoExcedente = mensagem.clone();
+        tamanhoExcedente[posicaoTamanho + 1] = (byte) (status.length() + 1);
+        byte[] tipoInvalido = mensagem.clone();
+        tipoInvalido[9] = (byte) 0x80;
+
+        assertThrows(IllegalArgumentException.class, () -> CodificadorEventoLeilao.decodificar(tamanhoNegativo));
+        assertThrows(IllegalArgumentException.class, () -> CodificadorEventoLeilao.decodificar(tamanhoExcedente));
+        assertThrows(IllegalArgumentException.class, () -> CodificadorEventoLeilao.decodificar(tipoInvalido));
+    }
+
+    @Test
+    @DisplayName("Deve aceitar status com mais de 32767 bytes (tamanho sem sinal)")
+    void statusLongo_DeveSerSimetrico() {
+        EventoLeilao evento = EventoLeilao.encerrado(1L, "S".repeat(40_000), null, null, null);
+
+        assertEquals(evento, CodificadorEventoLeilao.decodificar(CodificadorEventoLeilao.codificar(evento, 1L))
+                .evento());
+        assertThrows(IllegalArgumentException.class, () -> CodificadorEventoLeilao.codificar(
+                EventoLeilao.encerrado(1L, "S".repeat(70_000), null, null, null), 1L));
+    }
+}
@@ -0,0 +1,128 @@
+package br.com.wta.frete.logistica.service;
+
+import br.com.wta.frete.colaboradores.entity.MetricaTransportadorFrete;
+import br.com.wta.frete.colaboradores.entity.Transportador;
+import br.com.wta.frete.colaboradores.repository.MetricaTransportadorFreteRepository;
+import br.com.wta.frete.logistica.controller.dto.CotacaoLoteRequest;
+import br.com.wta.frete.logistica.controller.dto.CotacaoRequest;
+import br.com.wta.frete.logistica.controller.dto.CotacaoResponse;
+import br.com.wta.frete.logistica.controller.dto.ItemCotacaoRequest;
+import br.com.wta.frete.logistica.entity.ModalidadeFrete;
+import br.com.wta.frete.logistica.repository.ModalidadeFreteRepository;
+import br.com.wta.frete.logistica.service.CotacaoLoteService.ContextoCotacao;
+import br.com.wta.frete.shared.service.GeoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários da precificação em lote (repositórios simulados).
+ */
+public class CotacaoLoteServiceTest {
+
+    private static final List<ItemCotacaoRequest> ITENS = List.of(
+            new ItemCotacaoRequest("Sucata", new BigDecimal("600"), null),
+            new ItemCotacaoRequest("Papelão", new BigDecimal("400"), null));
+
+    private CotacaoLoteService service;
+    private MetricaTransportadorFreteRepository metricaRepository;
+
+    @BeforeEach
+    void setUp() {
+        GeoService geoService = mock(GeoService.class);
+        when(geoService.calcularDistanciaRodoviaria(anyString(), anyString())).thenReturn(new BigDecimal("100.00"));
+
+        AnttParametroService anttService = mock(AnttParametroService.class);
+        when(anttService.obterTabelaVigente()).thenReturn(TabelaAntt.vigenteEm(List.of(), LocalDate.now(), "teste"));
+
+        ModalidadeFrete rodPesado = new ModalidadeFrete(1, "ROD_PESADO");
+        ModalidadeFreteRepository modalidadeRepository = mock(ModalidadeFreteRepository.class);
+        when(modalidadeRepository.findAll()).thenReturn(List.of(rodPesado));
+
+        Transportador transportador = new Transportador();
+        transportador.setPessoaId(7L);
+        MetricaTransportadorFrete metrica = new MetricaTransportadorFrete();
+        metrica.setMetricaId(70L);
+        metrica.setTransportador(transportador);
+        metrica.setModalidadeFrete(rodPesado);
+        metrica.setCustoFixoViagem(new BigDecimal("200.00"));
+        metrica.setCustoPorKm(new BigDecimal("1.0000"));
+        metrica.setMargemLucro(new BigDecimal("0.1000"));
+        metricaRepository = mock(MetricaTransportadorFreteRepository.class);
+        when(metricaRepository.buscarComModalidadePorTransportadores(any())).thenReturn(List.of(metrica));
+
+        IndiceMetricasTransportador indice = new IndiceMetricasTransportador(metricaRepository, modalidadeRepository,
+                60_000);
+        MetricaTransportadorFreteService metricaService = new MetricaTransportadorFreteService(metricaRepository,
+                modalidadeRepository, null, null, indice);
+
+        // Blocos de 2 entradas em 2 threads, para exercitar a divisão e a ordem.
+        service = new CotacaoLoteService(geoService, anttService, metricaService, modalidadeRepository, 2, 100, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.encerrar();
+    }
+
+    @Test
+    @DisplayName("Deve precificar com a margem padrão e com a métrica do transportador")
+    void cotar_DeveAplicarMargemPadraoEMetrica() {
+        ContextoCotacao contexto = service.prepararLote(new CotacaoLoteRequest(List.of(cotacao("b", "ROD_PESADO", 7L))));
+
+        CotacaoResponse aberta = service.cotar(0, cotacao("a", "ROD_PESADO", null), contexto);
+        CotacaoResponse personalizada = service.cotar(1, cotacao("b", "ROD_PESADO", 7L), contexto);
+
+        // Piso padrão: (100 + 100 * 0,50) * 1,05 = 157,50; sugerido = piso * 1,20.
+        assertEquals(new BigDecimal("157.50"), aberta.anttPisoMinimo());
+        assertEquals(new BigDecimal("189.00"), aberta.precoSugerido());
+        assertEquals(0, new BigDecimal("1000").compareTo(aberta.pesoTotalKg()));
+        // Métrica: (200 + 100 * 1) * 1,10 = 330,00.
+        assertEquals(new BigDecimal("330.00"), personalizada.precoSugerido());
+    }
+
+    @Test
+    @DisplayName("Deve devolver erros por linha sem interromper o lote e manter a ordem original")
+    void cotarLote_DeveManterOrdemEIsolarErros() throws Exception {
+        List<CotacaoRequest> cotacoes = List.of(
+                cotacao("0", "ROD_PESADO", null),
+                cotacao("1", "INEXISTENTE", null),
+                cotacao("2", "ROD_PESADO", 99L),
+                new CotacaoRequest("3", "01310100", "20040002", "ROD_PESADO", null, List.of()),
+                cotacao("4", "ROD_PESADO", 7L));
+
+        ContextoCotacao contexto = service.prepararLote(new CotacaoLoteRequest(cotacoes));
+        List<CotacaoResponse> respostas = new ArrayList<>();
+        int erros = service.cotarLote(cotacoes, contexto, respostas::addAll);
+
+        assertEquals(3, erros);
+        assertEquals(5, respostas.size());
+        for (int i = 0; i < respostas.size(); i++) {
+            assertEquals(i, respostas.get(i).indice());
+            assertEquals(String.valueOf(i), respostas.get(i).referencia());
+        }
+        assertEquals("MODALIDADE_NAO_ENCONTRADA", respostas.get(1).codigoErro());
+        assertEquals("METRICA_NAO_ENCONTRADA", respostas.get(2).codigoErro());
+        assertEquals("ITENS_OBRIGATORIOS", respostas.get(3).codigoErro());
+        assertEquals(CotacaoResponse.STATUS_OK, respostas.get(4).status());
+        // Métricas carregadas uma vez para o lote; nenhuma consulta por linha.
+        verify(metricaRepository, times(1)).buscarComModalidadePorTransportadores(any());
+        verify(metricaRepository, never()).findFirstByTransportadorPessoaIdAndModalidadeFreteIdOrderByMetricaIdAsc(
+                any(), any());
+    }
+
+    private static CotacaoRequest cotacao(String referencia, String modalidade, Long transportadorId) {
+        return new CotacaoRequest(referencia, "01310100", "20040002", modalidade, transportadorId, ITENS);
+    }
+}
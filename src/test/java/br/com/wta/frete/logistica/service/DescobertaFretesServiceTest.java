@@ -0,0 +1,102 @@
+package br.com.wta.frete.logistica.service;
+
+import br.com.wta.frete.colaboradores.service.FrotaDisponivelService;
+import br.com.wta.frete.logistica.entity.Frete;
+import br.com.wta.frete.logistica.entity.OrdemServico;
+import br.com.wta.frete.logistica.entity.StatusLeilao;
+import br.com.wta.frete.logistica.repository.FreteRepository;
+import br.com.wta.frete.logistica.repository.StatusLeilaoRepository;
+import br.com.wta.frete.logistica.repository.projection.FreteAbertoProjection;
+import br.com.wta.frete.shared.geo.MotorDistanciaCep;
+import br.com.wta.frete.shared.geo.PontoGeo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários da manutenção da grade de descoberta de fretes, em especial
+ * das alterações que chegam durante uma recarga.
+ */
+public class DescobertaFretesServiceTest {
+
+    private static final LocalDateTime PRAZO = LocalDateTime.now().plusHours(6);
+
+    private FreteRepository freteRepository;
+    private DescobertaFretesService service;
+
+    @BeforeEach
+    void setUp() {
+        freteRepository = mock(FreteRepository.class);
+        StatusLeilaoRepository statusLeilaoRepository = mock(StatusLeilaoRepository.class);
+        StatusLeilao aberto = new StatusLeilao(1, "AGUARDANDO_LANCES");
+        when(statusLeilaoRepository.findByNomeStatus("AGUARDANDO_LANCES")).thenReturn(Optional.of(aberto));
+        MotorDistanciaCep motorDistancia = mock(MotorDistanciaCep.class);
+        when(motorDistancia.localizarPonto(anyString(), anyString())).thenReturn(new PontoGeo(-23.55, -46.63, 1.2));
+
+        service = new DescobertaFretesService(freteRepository, statusLeilaoRepository,
+                mock(FrotaDisponivelService.class), motorDistancia, new SimpleMeterRegistry(), 0.5);
+    }
+
+    @Test
+    @DisplayName("Aberturas e encerramentos confirmados durante a recarga devem sobreviver à troca da grade")
+    void recarregar_AlteracoesDuranteALeitura_DevemSerReaplicadas() {
+        service.registrarAbertura(frete(2L), null, null);
+        when(freteRepository.buscarAbertosParaDescoberta(1)).thenAnswer(inv -> {
+            // Confirmados depois da leitura do banco, antes da troca.
+            service.registrarAbertura(frete(3L), new BigDecimal("500.501"), new BigDecimal("12.5"));
+            service.registrarEncerramento(2L);
+            return List.of(projecao(1L), projecao(2L));
+        });
+
+        service.recarregar();
+
+        assertNotNull(service.buscarIndexado(1L));
+        assertNotNull(service.buscarIndexado(3L));
+        // Carga em centésimos, arredondada para cima.
+        assertEquals(50_051L, service.buscarIndexado(3L).pesoCentesimosKg());
+        assertEquals(1_250L, service.buscarIndexado(3L).volumeCentesimosM3());
+        assertNull(service.buscarIndexado(2L));
+    }
+
+    @Test
+    @DisplayName("Falha na recarga deve manter a grade atual com as alterações recebidas")
+    void recarregar_Falha_DeveManterGradeAtual() {
+        service.registrarAbertura(frete(1L), null, null);
+        when(freteRepository.buscarAbertosParaDescoberta(1)).thenAnswer(inv -> {
+            service.registrarAbertura(frete(2L), null, null);
+            throw new QueryTimeoutException("timeout");
+        });
+
+        assertThrows(QueryTimeoutException.class, () -> service.recarregar());
+        service.registrarEncerramento(1L);
+
+        assertNull(service.buscarIndexado(1L));
+        assertNotNull(service.buscarIndexado(2L));
+    }
+
+    private static Frete frete(Long freteId) {
+        OrdemServico ordem = new OrdemServico();
+        ordem.setCepColeta("01001000");
+        ordem.setCepDestino("20040002");
+        return Frete.builder()
+                .freteId(freteId)
+                .ordemServico(ordem)
+                .dataExpiracaoNegociacao(PRAZO)
+                .build();
+    }
+
+    private static FreteAbertoProjection projecao(Long freteId) {
+        return new FreteAbertoProjection(freteId, "RODOVIARIO", "01001000", "20040002", null, null, PRAZO);
+    }
+}
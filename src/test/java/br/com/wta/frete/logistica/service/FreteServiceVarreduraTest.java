@@ -0,0 +1,110 @@
+package br.com.wta.frete.logistica.service;
+
+import br.com.wta.frete.logistica.entity.StatusLeilao;
+import br.com.wta.frete.logistica.repository.FreteRepository;
+import br.com.wta.frete.logistica.repository.StatusLeilaoRepository;
+import br.com.wta.frete.logistica.repository.projection.PrazoLeilaoProjection;
+import br.com.wta.frete.logistica.service.ProcessadorFinalizacaoLeiloes.ResumoLote;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários da varredura de leilões expirados, paginada por cursor
+ * (keyset) sobre (data_expiracao_negociacao, frete_id).
+ */
+public class FreteServiceVarreduraTest {
+
+    private static final int TAMANHO_LOTE = 2;
+    private static final Integer STATUS_ABERTO_ID = 1;
+    private static final LocalDateTime T1 = LocalDateTime.of(2026, 3, 1, 10, 0);
+    private static final LocalDateTime T2 = T1.plusMinutes(5);
+    private static final Limit PAGINA = Limit.of(TAMANHO_LOTE);
+
+    private FreteRepository freteRepository;
+    private ProcessadorFinalizacaoLeiloes processadorFinalizacao;
+    private FreteService service;
+
+    @BeforeEach
+    void setUp() {
+        freteRepository = mock(FreteRepository.class);
+        StatusLeilaoRepository statusLeilaoRepository = mock(StatusLeilaoRepository.class);
+        when(statusLeilaoRepository.findByNomeStatus("AGUARDANDO_LANCES"))
+                .thenReturn(Optional.of(new StatusLeilao(STATUS_ABERTO_ID, "AGUARDANDO_LANCES")));
+        processadorFinalizacao = mock(ProcessadorFinalizacaoLeiloes.class);
+        when(processadorFinalizacao.finalizarLote(anyList(), any()))
+                .thenAnswer(inv -> new ResumoLote(inv.<List<Long>>getArgument(0).size(), 0, 0));
+
+        service = new FreteService(freteRepository, null, null, null, null, null, statusLeilaoRepository, null,
+                null, null, null, null, null, null, null, null, null, new SimpleMeterRegistry(),
+                processadorFinalizacao, null, null, TAMANHO_LOTE);
+    }
+
+    @Test
+    @DisplayName("Cada página deve continuar do último frete da anterior, com o mesmo corte")
+    void finalizarLeiloesExpirados_DeveAvancarOCursorEntreLotes() {
+        when(freteRepository.buscarExpirados(eq(STATUS_ABERTO_ID), any(), eq(PAGINA)))
+                .thenReturn(List.of(prazo(1L, T1), prazo(2L, T1)));
+        // Mesmo prazo no fim da página: o desempate é pelo frete_id.
+        when(freteRepository.buscarExpiradosApos(eq(STATUS_ABERTO_ID), any(), eq(T1), eq(2L), eq(PAGINA)))
+                .thenReturn(List.of(prazo(3L, T1), prazo(4L, T2)));
+        when(freteRepository.buscarExpiradosApos(eq(STATUS_ABERTO_ID), any(), eq(T2), eq(4L), eq(PAGINA)))
+                .thenReturn(List.of(prazo(5L, T2)));
+
+        service.finalizarLeiloesExpirados();
+
+        ArgumentCaptor<LocalDateTime> limites = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(processadorFinalizacao).finalizarLote(eq(List.of(1L, 2L)), limites.capture());
+        verify(processadorFinalizacao).finalizarLote(eq(List.of(3L, 4L)), limites.capture());
+        verify(processadorFinalizacao).finalizarLote(eq(List.of(5L)), limites.capture());
+        assertEquals(1, limites.getAllValues().stream().distinct().count());
+
+        ArgumentCaptor<LocalDateTime> cortes = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(freteRepository).buscarExpirados(eq(STATUS_ABERTO_ID), cortes.capture(), eq(PAGINA));
+        verify(freteRepository, times(2)).buscarExpiradosApos(eq(STATUS_ABERTO_ID), cortes.capture(), any(),
+                any(), eq(PAGINA));
+        assertTrue(cortes.getAllValues().stream().allMatch(limites.getValue()::equals));
+        // A página incompleta encerra a varredura sem nova consulta.
+        verifyNoMoreInteractions(freteRepository);
+    }
+
+    @Test
+    @DisplayName("Página completa seguida de página vazia deve encerrar a varredura")
+    void finalizarLeiloesExpirados_PaginaSeguinteVazia_DeveParar() {
+        when(freteRepository.buscarExpirados(eq(STATUS_ABERTO_ID), any(), eq(PAGINA)))
+                .thenReturn(List.of(prazo(1L, T1), prazo(2L, T2)));
+        when(freteRepository.buscarExpiradosApos(eq(STATUS_ABERTO_ID), any(), eq(T2), eq(2L), eq(PAGINA)))
+                .thenReturn(List.of());
+
+        service.finalizarLeiloesExpirados();
+
+        verify(processadorFinalizacao, times(1)).finalizarLote(anyList(), any());
+        verify(freteRepository, times(1)).buscarExpiradosApos(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Sem leilões expirados não deve submeter nenhum lote")
+    void finalizarLeiloesExpirados_SemExpirados_NaoDeveSubmeter() {
+        when(freteRepository.buscarExpirados(eq(STATUS_ABERTO_ID), any(), eq(PAGINA))).thenReturn(List.of());
+
+        service.finalizarLeiloesExpirados();
+
+        verifyNoInteractions(processadorFinalizacao);
+        verify(freteRepository, never()).buscarExpiradosApos(any(), any(), any(), any(), any());
+    }
+
+    private static PrazoLeilaoProjection prazo(Long freteId, LocalDateTime dataExpiracao) {
+        return new PrazoLeilaoProjection(freteId, dataExpiracao);
+    }
+}
@@ -0,0 +1,200 @@
+package br.com.wta.frete.logistica.service;
+
+import br.com.wta.frete.colaboradores.entity.enums.TipoVeiculo;
+import br.com.wta.frete.colaboradores.service.IndiceCapacidadeVeiculos.VeiculoCapacidade;
+import br.com.wta.frete.logistica.service.GradeFretesAbertos.Consulta;
+import br.com.wta.frete.logistica.service.GradeFretesAbertos.FreteAberto;
+import br.com.wta.frete.logistica.service.GradeFretesAbertos.Resultado;
+import br.com.wta.frete.shared.geo.PontoGeo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários da grade em memória de leilões abertos (descoberta de
+ * fretes).
+ */
+public class GradeFretesAbertosTest {
+
+    private static final long AGORA = 1_000_000L;
+
+    private static final PontoGeo SAO_PAULO = new PontoGeo(-23.55, -46.63, 1.2);
+    private static final PontoGeo CAMPINAS = new PontoGeo(-22.91, -47.06, 1.2);
+    private static final PontoGeo RIO = new PontoGeo(-22.91, -43.17, 1.2);
+
+    private GradeFretesAbertos grade;
+
+    @BeforeEach
+    void setUp() {
+        grade = new GradeFretesAbertos(0.5);
+    }
+
+    @Test
+    @DisplayName("Deve retornar apenas fretes dentro do raio, do mais próximo do encerramento ao mais distante")
+    void consultar_DeveFiltrarPorRaioEOrdenarPorEncerramento() {
+        grade.registrar(frete(1, SAO_PAULO, "RODOVIARIO", 1_000_00L, AGORA + 3_000));
+        grade.registrar(frete(2, CAMPINAS, "RODOVIARIO", 2_000_00L, AGORA + 1_000));
+        grade.registrar(frete(3, RIO, "RODOVIARIO", 3_000_00L, AGORA + 500));
+
+        List<Resultado> resultado = grade.consultar(consulta(100, null, null, null, null, 10));
+
+        assertEquals(List.of(2L, 1L), ids(resultado));
+        assertTrue(resultado.get(0).distanciaKm() > 70 && resultado.get(0).distanciaKm() < 100);
+        assertEquals(List.of(3L, 2L, 1L), ids(grade.consultar(consulta(400, null, null, null, null, 10))));
+    }
+
+    @Test
+    @DisplayName("Deve aplicar modalidade, faixa de peso e capacidade da frota")
+    void consultar_DeveAplicarFiltros() {
+        grade.registrar(frete(1, SAO_PAULO, "RODOVIARIO", 500_00L, AGORA + 1_000));
+        grade.registrar(frete(2, SAO_PAULO, "RODOVIARIO", 5_000_00L, AGORA + 2_000));
+        grade.registrar(frete(3, SAO_PAULO, "AEREO", 500_00L, AGORA + 3_000));
+        grade.registrar(frete(4, SAO_PAULO, "RODOVIARIO", null, AGORA + 4_000));
+
+        assertEquals(List.of(1L, 2L, 4L), ids(grade.consultar(consulta(10, "rodoviario", null, null, null, 10))));
+        assertEquals(List.of(2L), ids(grade.consultar(consulta(10, null, 1_000_00L, null, null, 10))));
+        assertEquals(List.of(1L, 3L), ids(grade.consultar(consulta(10, null, null, 1_000_00L, null, 10))));
+        // Frota: peso desconhecido (frete 4) não é considerado compatível.
+        assertEquals(List.of(1L, 3L), ids(grade.consultar(consulta(10, null, null, null,
+                List.of(veiculo(4_999_99L, null)), 10))));
+        assertEquals(List.of(1L), ids(grade.consultar(consulta(10, null, null, null, null, 1))));
+    }
+
+    @Test
+    @DisplayName("Deve listar, em qualquer região, os fretes que algum veículo da frota comporta")
+    void listarCompativeis_DeveConsiderarPesoEVolume() {
+        grade.registrar(frete(1, SAO_PAULO, 800_00L, 30_00L, AGORA + 3_000));
+        grade.registrar(frete(2, RIO, 800_00L, null, AGORA + 1_000));
+        grade.registrar(frete(3, CAMPINAS, 10_000_00L, null, AGORA + 2_000));
+        grade.registrar(frete(4, RIO, 500_00L, 80_00L, AGORA + 4_000));
+        grade.registrar(frete(5, RIO, 100_00L, 1_00L, AGORA));
+
+        // Utilitário: 1000 kg / 40 m3; sem volume cadastrado: 20000 kg.
+        List<VeiculoCapacidade> frota = List.of(veiculo(1_000_00L, 40_00L), veiculo(20_000_00L, null));
+
+        assertEquals(List.of(2L, 3L, 1L), grade.listarCompativeis(frota, 10, AGORA).stream()
+                .map(FreteAberto::freteId).toList());
+        assertEquals(List.of(2L), grade.listarCompativeis(frota, 1, AGORA).stream()
+                .map(FreteAberto::freteId).toList());
+        assertEquals(3L, grade.buscar(3).freteId());
+        assertNull(grade.buscar(99));
+    }
+
+    @Test
+    @DisplayName("Leilões removidos ou com prazo vencido não devem ser retornados")
+    void consultar_DeveIgnorarRemovidosEExpirados() {
+        grade.registrar(frete(1, SAO_PAULO, "RODOVIARIO", 100L, AGORA + 1_000));
+        grade.registrar(frete(2, SAO_PAULO, "RODOVIARIO", 100L, AGORA));
+        grade.registrar(frete(3, SAO_PAULO, "RODOVIARIO", 100L, AGORA + 2_000));
+
+        grade.remover(3);
+        grade.remover(99);
+
+        assertEquals(List.of(1L), ids(grade.consultar(consulta(10, null, null, null, null, 10))));
+        assertEquals(2, grade.tamanho());
+    }
+
+    @Test
+    @DisplayName("Reindexar um frete com outra coleta deve movê-lo de célula")
+    void registrar_MesmoFrete_DeveAtualizarCelula() {
+        grade.registrar(frete(1, RIO, "RODOVIARIO", 100L, AGORA + 1_000));
+        grade.registrar(frete(1, SAO_PAULO, "RODOVIARIO", 100L, AGORA + 1_000));
+
+        assertEquals(List.of(1L), ids(grade.consultar(consulta(10, null, null, null, null, 10))));
+        assertTrue(grade.consultar(new Consulta(RIO, 10, null, null, null, null, 10, AGORA)).isEmpty());
+        assertEquals(1, grade.tamanho());
+    }
+
+    @Test
+    @DisplayName("A grade deve retornar o mesmo que uma varredura completa")
+    void consultar_DeveEquivalerAVarreduraCompleta() {
+        Random random = new Random(42);
+        List<FreteAberto> fretes = new ArrayList<>();
+        for (long id = 1; id <= 2_000; id++) {
+            PontoGeo coleta = new PontoGeo(-33 + random.nextDouble() * 30, -73 + random.nextDouble() * 39, 1.2);
+            FreteAberto frete = frete(id, coleta, "RODOVIARIO", 100L, AGORA + random.nextInt(100_000) + 1);
+            fretes.add(frete);
+            grade.registrar(frete);
+        }
+
+        for (double raio : new double[] { 5, 50, 300, 1_000 }) {
+            List<Long> esperado = fretes.stream()
+                    .filter(f -> SAO_PAULO.distanciaLinhaRetaKm(f.coleta()) <= raio)
+                    .sorted(Comparator.comparingLong(FreteAberto::expiraEmMillis)
+                            .thenComparingLong(FreteAberto::freteId))
+                    .map(FreteAberto::freteId)
+                    .toList();
+            assertEquals(esperado, ids(grade.consultar(consulta(raio, null, null, null, null, 5_000))),
+                    "raio " + raio);
+        }
+    }
+
+    @Test
+    @DisplayName("Registro e remoção concorrentes do mesmo frete devem manter o índice e as células coerentes")
+    void registrarERemover_Concorrentes_DevemManterCoerencia() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            for (long id = 1; id <= 2_000; id++) {
+                FreteAberto frete = frete(id, SAO_PAULO, "RODOVIARIO", 100L, AGORA + 1_000);
+                CyclicBarrier largada = new CyclicBarrier(2);
+                Future<?> registro = pool.submit(() -> {
+                    largada.await();
+                    grade.registrar(frete);
+                    return null;
+                });
+                Future<?> remocao = pool.submit(() -> {
+                    largada.await();
+                    grade.remover(frete.freteId());
+                    return null;
+                });
+                registro.get();
+                remocao.get();
+
+                // Qualquer ordem vale, desde que a célula concorde com o índice.
+                boolean naGrade = ids(grade.consultar(consulta(1, null, null, null, null, 5_000))).contains(id);
+                assertEquals(grade.buscar(id) != null, naGrade, "frete " + id);
+                grade.remover(id);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(0, grade.tamanho());
+        assertTrue(grade.consultar(consulta(1, null, null, null, null, 5_000)).isEmpty());
+    }
+
+    private static FreteAberto frete(long id, PontoGeo coleta, String modalidade, Long pesoCentesimos,
+            long expiraEm) {
+        return new FreteAberto(id, modalidade, "01001000", "20040002", coleta, pesoCentesimos, null, null,
+                expiraEm);
+    }
+
+    private static FreteAberto frete(long id, PontoGeo coleta, Long pesoCentesimos, Long volumeCentesimos,
+            long expiraEm) {
+        return new FreteAberto(id, "RODOVIARIO", "01001000", "20040002", coleta, pesoCentesimos, volumeCentesimos,
+                null, expiraEm);
+    }
+
+    private static VeiculoCapacidade veiculo(long pesoCentesimos, Long volumeCentesimos) {
+        return new VeiculoCapacidade(1, 7L, TipoVeiculo.TRUCK_3_EIXOS, pesoCentesimos, volumeCentesimos);
+    }
+
+    private static Consulta consulta(double raioKm, String modalidade, Long pesoMinimo, Long pesoMaximo,
+            List<VeiculoCapacidade> frota, int limite) {
+        return new Consulta(SAO_PAULO, raioKm, modalidade, pesoMinimo, pesoMaximo, frota, limite, AGORA);
+    }
+
+    private static List<Long> ids(List<Resultado> resultado) {
+        return resultado.stream().map(r -> r.frete().freteId()).toList();
+    }
+}
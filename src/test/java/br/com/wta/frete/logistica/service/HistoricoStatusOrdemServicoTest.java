@@ -0,0 +1,41 @@
+package br.com.wta.frete.logistica.service;
+
+import br.com.wta.frete.shared.outbox.RegistroOutbox;
+import br.com.wta.frete.shared.outbox.RegistroOutbox.ItemOutbox;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.OffsetDateTime;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários do consumidor que grava o histórico de status das Ordens
+ * de Serviço.
+ */
+public class HistoricoStatusOrdemServicoTest {
+
+    @Test
+    @DisplayName("Deve gravar a mudança com a data do evento e a linha do outbox como chave")
+    void processar_DeveGravarMudancaDeStatus() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        RegistroOutbox registroOutbox = new RegistroOutbox(jdbcTemplate, new ObjectMapper());
+        HistoricoStatusOrdemServico historico = new HistoricoStatusOrdemServico(jdbcTemplate, registroOutbox);
+        OffsetDateTime gravadoEm = OffsetDateTime.parse("2026-03-01T10:15:00-03:00");
+        ItemOutbox evento = new ItemOutbox(42L, OrdemServicoService.EVENTO_STATUS_ALTERADO, 7L, "uuid",
+                "{\"ordemServicoId\":7,\"statusAnterior\":\"PENDENTE\",\"statusNovo\":\"CONFIRMADO\","
+                        + "\"transportadorId\":3}",
+                0, gravadoEm);
+
+        historico.processar(evento);
+
+        verify(jdbcTemplate).update(eq(HistoricoStatusOrdemServico.SQL_INSERT),
+                eq(42L), eq(7L), eq("PENDENTE"), eq("CONFIRMADO"), eq(3L), eq(gravadoEm), eq(7L));
+        assertEquals(Set.of(OrdemServicoService.EVENTO_STATUS_ALTERADO), historico.tipos());
+    }
+}
@@ -0,0 +1,263 @@
+package br.com.wta.frete.logistica.service;
+
+import br.com.wta.frete.logistica.service.EventoLeilao.TipoEventoLeilao;
+import br.com.wta.frete.logistica.service.LivroOfertasLeilao.OfertaTransportador;
+import br.com.wta.frete.shared.exception.InvalidDataException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários da distribuição dos eventos de leilão aos assinantes SSE.
+ */
+public class HubEventosLeilaoTest {
+
+    private static final LocalDateTime PRAZO = LocalDateTime.now().plusHours(1);
+
+    private LivroOfertasService livroOfertasService;
+    private HubEventosLeilao hub;
+
+    @BeforeEach
+    void setUp() {
+        livroOfertasService = mock(LivroOfertasService.class);
+        when(livroOfertasService.obterLivro(1L)).thenReturn(livro(1L));
+        when(livroOfertasService.obterLivro(2L)).thenReturn(livro(2L));
+        hub = criarHub(3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.encerrar();
+    }
+
+    @Test
+    @DisplayName("Deve enviar o evento a todos os assinantes do leilão e apenas a eles")
+    void publicar_DeveDifundirAosAssinantesDoLeilao() {
+        EmissorGravado a = assinar(1L);
+        EmissorGravado b = assinar(1L);
+        EmissorGravado outroLeilao = assinar(2L);
+
+        hub.publicar(EventoLeilao.de(TipoEventoLeilao.MELHOR_LANCE, livroComLance(1L)));
+
+        aguardar(() -> a.eventos().size() == 2 && b.eventos().size() == 2);
+        assertEquals(List.of("ESTADO", "MELHOR_LANCE"), a.eventos());
+        assertEquals(List.of("ESTADO", "MELHOR_LANCE"), b.eventos());
+        assertEquals(List.of("ESTADO"), outroLeilao.eventos());
+        assertEquals(2, hub.getAssinantes(1L));
+    }
+
+    @Test
+    @DisplayName("Deve recusar assinaturas acima do limite do nó e liberar a vaga na saída")
+    void assinar_AcimaDoLimite_DeveRecusar() {
+        assinar(1L);
+        assinar(1L);
+        EmissorGravado terceiro = assinar(2L);
+
+        InvalidDataException erro = assertThrows(InvalidDataException.class, () -> hub.assinar(2L));
+        assertEquals("STREAM_LOTADO", erro.getReasonCode());
+
+        // O encerramento do leilão 2 libera a vaga do seu assinante.
+        hub.publicar(EventoLeilao.encerrado(2L, "FINALIZADO", null, null, PRAZO));
+        aguardar(terceiro::isConcluido);
+        assertNotNull(hub.assinar(2L));
+    }
+
+    @Test
+    @DisplayName("O heartbeat deve enviar o tempo restante e descartar assinantes desconectados")
+    void enviarTempoRestante_DeveRemoverEmissoresMortos() {
+        EmissorGravado vivo = assinar(1L);
+        EmissorGravado morto = assinar(1L);
+        aguardar(() -> vivo.eventos().size() == 1 && morto.eventos().size() == 1);
+        morto.desconectar();
+
+        hub.enviarTempoRestante();
+
+        aguardar(() -> vivo.eventos().size() == 2 && hub.getAssinantes(1L) == 1);
+        assertEquals(List.of("ESTADO", "TEMPO_RESTANTE"), vivo.eventos());
+        assertTrue(morto.isConcluido());
+    }
+
+    @Test
+    @DisplayName("O ENCERRADO deve ser entregue a todos, finalizar os streams e remover os assinantes")
+    void publicar_Encerrado_DeveFinalizarERemover() {
+        EmissorGravado a = assinar(1L);
+        EmissorGravado b = assinar(1L);
+
+        hub.publicar(EventoLeilao.encerrado(1L, "FINALIZADO", new BigDecimal("850.00"), 20L, PRAZO));
+
+        aguardar(() -> a.isConcluido() && b.isConcluido());
+        assertEquals(List.of("ESTADO", "ENCERRADO"), a.eventos());
+        assertEquals(List.of("ESTADO", "ENCERRADO"), b.eventos());
+        assertEquals(0, hub.getAssinantes(1L));
+    }
+
+    @Test
+    @DisplayName("Assinatura registrada após a difusão do encerramento deve receber o ENCERRADO e ser finalizada")
+    void assinar_AposEncerramentoDifundido_DeveFinalizarStream() {
+        // O ENCERRADO passa antes do registro, mas o livro lido ainda está aberto.
+        hub.publicar(EventoLeilao.encerrado(1L, "FINALIZADO", null, null, PRAZO));
+        EmissorGravado atrasado = assinar(1L);
+
+        aguardar(atrasado::isConcluido);
+        assertEquals(List.of("ENCERRADO"), atrasado.eventos());
+        assertEquals(0, hub.getAssinantes(1L));
+
+        // A vaga foi liberada: o limite (3) comporta novas assinaturas.
+        assinar(2L);
+        assinar(2L);
+        assinar(2L);
+    }
+
+    @Test
+    @DisplayName("Cliente lento não deve atrasar os demais e deve ser desconectado quando a sua fila encher")
+    void publicar_ClienteLento_DeveSerIsoladoEDesconectado() {
+        hub.encerrar();
+        // O primeiro assinante é lento; fila de 2 quadros por assinante.
+        EmissorLento lento = new EmissorLento();
+        AtomicBoolean primeiro = new AtomicBoolean(true);
+        hub = criarHub(10, 2, () -> primeiro.getAndSet(false) ? lento : new EmissorGravado());
+        assertSame(lento, assinar(1L));
+        EmissorGravado rapido = assinar(1L);
+        EmissorGravado outroLeilao = assinar(2L);
+        aguardar(() -> lento.eventos().size() == 1 && rapido.eventos().size() == 1);
+
+        // O primeiro lance trava o envio ao cliente lento; os dois seguintes
+        // ocupam a sua fila e o quarto a estoura. O cliente rápido recebe cada
+        // um sem esperar.
+        for (int i = 1; i <= 4; i++) {
+            hub.publicar(EventoLeilao.de(TipoEventoLeilao.MELHOR_LANCE, livroComLance(1L)));
+            int recebidos = i + 1;
+            aguardar(() -> rapido.eventos().size() == recebidos);
+        }
+        hub.publicar(EventoLeilao.de(TipoEventoLeilao.MELHOR_LANCE, livroComLance(2L)));
+        aguardar(() -> outroLeilao.eventos().size() == 2);
+
+        aguardar(() -> hub.getAssinantes(1L) == 1);
+        assertFalse(lento.isConcluido());
+
+        // Quando o envio travado volta, o stream do cliente lento é finalizado.
+        lento.liberar.countDown();
+        aguardar(lento::isConcluido);
+        assertEquals(List.of("ESTADO", "MELHOR_LANCE"), lento.eventos());
+    }
+
+    private EmissorGravado assinar(Long freteId) {
+        return (EmissorGravado) hub.assinar(freteId);
+    }
+
+    private HubEventosLeilao criarHub(int maxAssinantes) {
+        return criarHub(maxAssinantes, 64, EmissorGravado::new);
+    }
+
+    private HubEventosLeilao criarHub(int maxAssinantes, int filaAssinante, Supplier<EmissorGravado> emissores) {
+        return new HubEventosLeilao(livroOfertasService, new ObjectMapper().findAndRegisterModules(), 60_000,
+                maxAssinantes, 2, filaAssinante) {
+            @Override
+            SseEmitter criarEmissor() {
+                return emissores.get();
+            }
+        };
+    }
+
+    private static LivroOfertasLeilao livro(Long freteId) {
+        return new LivroOfertasLeilao(freteId, freteId * 10, LivroOfertasLeilao.STATUS_ABERTO, PRAZO);
+    }
+
+    private static LivroOfertasLeilao livroComLance(Long freteId) {
+        LivroOfertasLeilao livro = livro(freteId);
+        livro.registrar(new OfertaTransportador(1L, 20L, "Transportador 20", new BigDecimal("850.00"),
+                LocalDateTime.now()));
+        return livro;
+    }
+
+    private static void aguardar(BooleanSupplier condicao) {
+        long limite = System.currentTimeMillis() + 5_000;
+        while (!condicao.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < limite, "Condição não atingida a tempo.");
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Emissor que grava os nomes dos eventos enviados; desconectado, falha no
+     * envio como um cliente que fechou a conexão.
+     */
+    static class EmissorGravado extends SseEmitter {
+
+        private final List<String> eventos = new CopyOnWriteArrayList<>();
+        private volatile boolean desconectado;
+        private volatile boolean concluido;
+
+        @Override
+        public synchronized void send(Set<DataWithMediaType> quadro) throws IOException {
+            if (desconectado || concluido) {
+                throw new IOException("Conexão encerrada");
+            }
+            String texto = quadro.stream().map(d -> d.getData().toString()).collect(Collectors.joining());
+            for (String linha : texto.split("\n")) {
+                if (linha.startsWith("event:")) {
+                    eventos.add(linha.substring("event:".length()));
+                }
+            }
+        }
+
+        @Override
+        public synchronized void complete() {
+            concluido = true;
+        }
+
+        void desconectar() {
+            desconectado = true;
+        }
+
+        boolean isConcluido() {
+            return concluido;
+        }
+
+        List<String> eventos() {
+            return new ArrayList<>(eventos);
+        }
+    }
+
+    /**
+     * Cliente com a janela TCP cheia: o envio de lances fica travado até ser
+     * liberado.
+     */
+    static class EmissorLento extends EmissorGravado {
+
+        private final CountDownLatch liberar = new CountDownLatch(1);
+
+        @Override
+        public synchronized void send(Set<DataWithMediaType> quadro) throws IOException {
+            if (quadro.stream().anyMatch(d -> d.getData().toString().contains("MELHOR_LANCE"))) {
+                try {
+                    liberar.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Envio interrompido", e);
+                }
+            }
+            super.send(quadro);
+        }
+    }
+}
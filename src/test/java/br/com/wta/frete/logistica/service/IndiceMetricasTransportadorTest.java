@@ -0,0 +1,122 @@
+package br.com.wta.frete.logistica.service;
+
+import br.com.wta.frete.colaboradores.entity.MetricaTransportadorFrete;
+import br.com.wta.frete.colaboradores.repository.MetricaTransportadorFreteRepository;
+import br.com.wta.frete.logistica.entity.ModalidadeFrete;
+import br.com.wta.frete.logistica.repository.ModalidadeFreteRepository;
+import br.com.wta.frete.logistica.service.IndiceMetricasTransportador.FatoresMetrica;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários do índice de métricas de transportador em memória.
+ */
+public class IndiceMetricasTransportadorTest {
+
+    private MetricaTransportadorFreteRepository metricaRepository;
+    private ModalidadeFreteRepository modalidadeRepository;
+    private IndiceMetricasTransportador indice;
+
+    @BeforeEach
+    void setUp() {
+        metricaRepository = mock(MetricaTransportadorFreteRepository.class);
+        modalidadeRepository = mock(ModalidadeFreteRepository.class);
+        indice = new IndiceMetricasTransportador(metricaRepository, modalidadeRepository, 60_000);
+    }
+
+    @Test
+    @DisplayName("Deve calcular o mesmo valor da fórmula original em BigDecimal")
+    void calcularCusto_DeveBaterComFormulaOriginal() {
+        MetricaTransportadorFrete metrica = metrica(1L, 0, "350.00", "2.3750", "0.1250");
+        BigDecimal distanciaKm = new BigDecimal("1234.56");
+
+        BigDecimal esperado = metrica.getCustoFixoViagem().add(metrica.getCustoPorKm().multiply(distanciaKm))
+                .multiply(BigDecimal.ONE.add(metrica.getMargemLucro())).setScale(2, RoundingMode.HALF_UP);
+
+        assertEquals(esperado, FatoresMetrica.de(metrica).calcularCusto(distanciaKm));
+    }
+
+    @Test
+    @DisplayName("Deve consultar o banco uma única vez, inclusive para métrica inexistente")
+    void buscar_DeveUsarCacheInclusiveNegativo() {
+        when(metricaRepository.findFirstByTransportadorPessoaIdAndModalidadeFreteIdOrderByMetricaIdAsc(7L, 1))
+                .thenReturn(Optional.of(metrica(10L, 0, "100.00", "1.0000", "0.1000")));
+        when(metricaRepository.findFirstByTransportadorPessoaIdAndModalidadeFreteIdOrderByMetricaIdAsc(7L, 2))
+                .thenReturn(Optional.empty());
+
+        for (int i = 0; i < 3; i++) {
+            assertNotNull(indice.buscar(7L, 1));
+            assertNull(indice.buscar(7L, 2));
+        }
+
+        verify(metricaRepository, times(1)).findFirstByTransportadorPessoaIdAndModalidadeFreteIdOrderByMetricaIdAsc(7L, 1);
+        verify(metricaRepository, times(1)).findFirstByTransportadorPessoaIdAndModalidadeFreteIdOrderByMetricaIdAsc(7L, 2);
+    }
+
+    @Test
+    @DisplayName("Deve recarregar a nova versão após a invalidação do transportador")
+    void invalidar_DeveRecarregarNovaVersao() {
+        when(metricaRepository.findFirstByTransportadorPessoaIdAndModalidadeFreteIdOrderByMetricaIdAsc(7L, 1))
+                .thenReturn(Optional.of(metrica(10L, 0, "100.00", "1.0000", "0.1000")))
+                .thenReturn(Optional.of(metrica(10L, 1, "150.00", "1.0000", "0.1000")));
+
+        assertEquals(0, indice.buscar(7L, 1).versao());
+        indice.invalidar(7L, 1);
+        FatoresMetrica atualizada = indice.buscar(7L, 1);
+
+        assertEquals(1, atualizada.versao());
+        assertEquals(new BigDecimal("165.00"), atualizada.calcularCusto(BigDecimal.ZERO));
+    }
+
+    @Test
+    @DisplayName("A invalidação deve descartar apenas as entradas do transportador alterado")
+    void invalidar_DevePreservarOutrosTransportadores() {
+        when(metricaRepository.findFirstByTransportadorPessoaIdAndModalidadeFreteIdOrderByMetricaIdAsc(anyLong(),
+                anyInt())).thenReturn(Optional.of(metrica(10L, 0, "100.00", "1.0000", "0.1000")));
+        indice.buscar(7L, 1);
+        indice.buscar(7L, 2);
+        indice.buscar(8L, 1);
+
+        indice.invalidar(7L, 1);
+        indice.buscar(7L, 1);
+        indice.buscar(8L, 1);
+
+        verify(metricaRepository, times(2)).findFirstByTransportadorPessoaIdAndModalidadeFreteIdOrderByMetricaIdAsc(7L, 1);
+        verify(metricaRepository, times(1)).findFirstByTransportadorPessoaIdAndModalidadeFreteIdOrderByMetricaIdAsc(8L, 1);
+    }
+
+    @Test
+    @DisplayName("O ID da modalidade deve ser consultado de novo após o TTL")
+    void resolverModalidade_DeveExpirarPeloTtl() throws Exception {
+        indice = new IndiceMetricasTransportador(metricaRepository, modalidadeRepository, 50);
+        when(modalidadeRepository.findByNomeModalidade("RODOVIARIO"))
+                .thenReturn(Optional.of(new ModalidadeFrete(1, "RODOVIARIO")))
+                .thenReturn(Optional.of(new ModalidadeFrete(3, "RODOVIARIO")));
+
+        assertEquals(1, indice.resolverModalidade("RODOVIARIO"));
+        assertEquals(1, indice.resolverModalidade("RODOVIARIO"));
+        Thread.sleep(80);
+
+        assertEquals(3, indice.resolverModalidade("RODOVIARIO"));
+        verify(modalidadeRepository, times(2)).findByNomeModalidade("RODOVIARIO");
+    }
+
+    private static MetricaTransportadorFrete metrica(Long id, int versao, String fixo, String porKm, String margem) {
+        MetricaTransportadorFrete metrica = new MetricaTransportadorFrete();
+        metrica.setMetricaId(id);
+        metrica.setVersao(versao);
+        metrica.setCustoFixoViagem(new BigDecimal(fixo));
+        metrica.setCustoPorKm(new BigDecimal(porKm));
+        metrica.setMargemLucro(new BigDecimal(margem));
+        return metrica;
+    }
+}
@@ -0,0 +1,93 @@
+package br.com.wta.frete.logistica.service;
+
+import br.com.wta.frete.logistica.controller.dto.LanceLoteItemRequest;
+import br.com.wta.frete.logistica.controller.dto.LanceLoteRequest;
+import br.com.wta.frete.logistica.controller.dto.LanceLoteResponse;
+import br.com.wta.frete.logistica.controller.dto.LanceRequest;
+import br.com.wta.frete.logistica.controller.dto.LanceResponse;
+import br.com.wta.frete.logistica.controller.dto.ResultadoLanceResponse;
+import br.com.wta.frete.logistica.service.LanceService.ResultadoLance;
+import br.com.wta.frete.shared.exception.InvalidDataException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários do envio de lances em lote.
+ */
+public class LanceLoteServiceTest {
+
+    private LanceService lanceService;
+    private LanceLoteService lanceLoteService;
+
+    @BeforeEach
+    void setUp() {
+        lanceService = mock(LanceService.class);
+        lanceLoteService = new LanceLoteService(lanceService, 10, 4, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        lanceLoteService.encerrar();
+    }
+
+    @Test
+    @DisplayName("Deve agrupar por frete, mantendo a ordem do lote dentro de cada grupo")
+    void processarLote_DeveAgruparPorFreteNaOrdem() {
+        when(lanceService.criarLancesDoFrete(eq(1L), anyList())).thenAnswer(inv -> {
+            List<LanceRequest> requests = inv.getArgument(1);
+            return requests.stream().map(r -> ResultadoLance.aceito(lance(1L, r))).toList();
+        });
+        when(lanceService.criarLancesDoFrete(eq(2L), anyList()))
+                .thenReturn(List.of(ResultadoLance.rejeitado("VALIDACAO_LANCE", null, "Lance alto demais.")));
+
+        LanceLoteResponse resposta = lanceLoteService.processarLote(new LanceLoteRequest(List.of(
+                new LanceLoteItemRequest(1L, 10L, new BigDecimal("500.00")),
+                new LanceLoteItemRequest(2L, 10L, new BigDecimal("900.00")),
+                new LanceLoteItemRequest(1L, 11L, new BigDecimal("490.00")),
+                new LanceLoteItemRequest(null, 10L, new BigDecimal("100.00")))));
+
+        verify(lanceService).criarLancesDoFrete(1L, List.of(
+                new LanceRequest(10L, new BigDecimal("500.00")),
+                new LanceRequest(11L, new BigDecimal("490.00"))));
+
+        assertEquals(4, resposta.total());
+        assertEquals(2, resposta.aceitos());
+        assertEquals(2, resposta.rejeitados());
+
+        List<ResultadoLanceResponse> resultados = resposta.resultados();
+        assertEquals(ResultadoLanceResponse.STATUS_ACEITO, resultados.get(0).status());
+        assertEquals("VALIDACAO_LANCE", resultados.get(1).codigoErro());
+        assertEquals(11L, resultados.get(2).transportadorId());
+        assertEquals("freteId", resultados.get(3).campo());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar o grupo inteiro quando o leilão estiver ocupado")
+    void processarLote_DeveRejeitarGrupoQuandoLeilaoOcupado() {
+        when(lanceService.criarLancesDoFrete(eq(3L), anyList()))
+                .thenThrow(new InvalidDataException("Leilão ocupado.", "LEILAO_OCUPADO"));
+
+        LanceLoteResponse resposta = lanceLoteService.processarLote(new LanceLoteRequest(List.of(
+                new LanceLoteItemRequest(3L, 10L, new BigDecimal("500.00")),
+                new LanceLoteItemRequest(3L, 11L, new BigDecimal("480.00")))));
+
+        assertEquals(0, resposta.aceitos());
+        resposta.resultados().forEach(r -> assertEquals("LEILAO_OCUPADO", r.codigoErro()));
+    }
+
+    private static LanceResponse lance(Long freteId, LanceRequest request) {
+        return new LanceResponse(100L, freteId, request.transportadorId(), null, request.valorLance(),
+                LocalDateTime.now(), false, null);
+    }
+}
@@ -0,0 +1,174 @@
+package br.com.wta.frete.logistica.service;
+
+import br.com.wta.frete.logistica.controller.dto.LeilaoEstadoResponse;
+import br.com.wta.frete.logistica.entity.Frete;
+import br.com.wta.frete.logistica.entity.LeilaoEstado;
+import br.com.wta.frete.logistica.entity.StatusLeilao;
+import br.com.wta.frete.logistica.repository.LeilaoEstadoRepository;
+import br.com.wta.frete.logistica.service.LivroOfertasLeilao.OfertaTransportador;
+import br.com.wta.frete.shared.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários da manutenção do modelo de leitura do leilão
+ * (logistica.leilao_estado).
+ */
+public class LeilaoEstadoServiceTest {
+
+    private static final LocalDateTime PRAZO = LocalDateTime.of(2030, 1, 10, 18, 0);
+
+    private LeilaoEstadoRepository repository;
+    private LeilaoEstadoService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(LeilaoEstadoRepository.class);
+        service = new LeilaoEstadoService(repository);
+    }
+
+    @Test
+    @DisplayName("Deve registrar o melhor lance, o líder e a quantidade de lances do livro de ofertas")
+    void registrarLance_DeveAtualizarAPartirDoLivro() {
+        LivroOfertasLeilao livro = livro(oferta(1L, 10L, "900.00"), oferta(2L, 20L, "850.00"));
+        when(repository.atualizarLances(eq(7L), any(), any(), anyInt(), any())).thenReturn(1);
+
+        service.registrarLance(livro);
+
+        verify(repository).atualizarLances(eq(7L), eq(new BigDecimal("850.00")), eq(20L), eq(2),
+                any(LocalDateTime.class));
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Deve recriar a linha ausente a partir do livro de ofertas")
+    void registrarLance_LinhaAusente_DeveRecriar() {
+        long antes = System.currentTimeMillis();
+        LivroOfertasLeilao livro = livro(oferta(1L, 10L, "900.00"), oferta(2L, 20L, "850.00"));
+        when(repository.atualizarLances(eq(7L), any(), any(), anyInt(), any())).thenReturn(0);
+
+        service.registrarLance(livro);
+
+        LeilaoEstado recriado = salvo();
+        assertEquals(7L, recriado.getFreteId());
+        assertEquals(LivroOfertasLeilao.STATUS_ABERTO, recriado.getNomeStatus());
+        assertEquals(new BigDecimal("850.00"), recriado.getValorMelhorLance());
+        assertEquals(20L, recriado.getTransportadorLiderId());
+        assertEquals(2, recriado.getTotalLances());
+        assertEquals(PRAZO, recriado.getDataExpiracaoNegociacao());
+        // Não repete a versão 1 (nem outra já entregue como ETag).
+        assertTrue(recriado.getVersao() >= antes, "versão " + recriado.getVersao());
+    }
+
+    @Test
+    @DisplayName("Deve registrar o encerramento com o valor final e o vencedor")
+    void registrarEncerramento_DeveAtualizarStatusEVencedor() {
+        when(repository.atualizarEncerramento(eq(7L), any(), any(), any(), any())).thenReturn(1);
+
+        service.registrarEncerramento(frete("FINALIZADO"), new BigDecimal("850.00"), 20L);
+
+        verify(repository).atualizarEncerramento(eq(7L), eq("FINALIZADO"), eq(new BigDecimal("850.00")), eq(20L),
+                any(LocalDateTime.class));
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Deve recriar a linha ausente no encerramento, inclusive sem vencedor")
+    void registrarEncerramento_LinhaAusente_DeveRecriar() {
+        long antes = System.currentTimeMillis();
+        when(repository.atualizarEncerramento(eq(7L), any(), any(), any(), any())).thenReturn(0);
+
+        service.registrarEncerramento(frete("SEM_LANCES"), null, null);
+
+        LeilaoEstado recriado = salvo();
+        assertEquals("SEM_LANCES", recriado.getNomeStatus());
+        assertNull(recriado.getValorMelhorLance());
+        assertNull(recriado.getTransportadorLiderId());
+        assertEquals(PRAZO, recriado.getDataExpiracaoNegociacao());
+        assertTrue(recriado.getVersao() >= antes, "versão " + recriado.getVersao());
+    }
+
+    @Test
+    @DisplayName("Deve registrar a abertura com versão 1 e nenhum lance")
+    void registrarAbertura_DeveCriarLinha() {
+        service.registrarAbertura(frete(LivroOfertasLeilao.STATUS_ABERTO));
+
+        LeilaoEstado criado = salvo();
+        assertEquals(7L, criado.getFreteId());
+        assertEquals(0, criado.getTotalLances());
+        assertEquals(1, criado.getVersao());
+    }
+
+    @Test
+    @DisplayName("Deve calcular o tempo restante apenas para leilões abertos e dentro do prazo")
+    void toResponse_DeveMapearECalcularTempoRestante() {
+        LeilaoEstado estado = LeilaoEstado.builder()
+                .freteId(7L)
+                .nomeStatus(LivroOfertasLeilao.STATUS_ABERTO)
+                .valorMelhorLance(new BigDecimal("850.00"))
+                .transportadorLiderId(20L)
+                .totalLances(2)
+                .dataExpiracaoNegociacao(PRAZO)
+                .versao(3)
+                .atualizadoEm(PRAZO.minusHours(1))
+                .build();
+
+        LeilaoEstadoResponse aberto = LeilaoEstadoService.toResponse(estado, PRAZO.minusSeconds(90));
+
+        assertEquals(new LeilaoEstadoResponse(7L, LivroOfertasLeilao.STATUS_ABERTO, new BigDecimal("850.00"), 20L,
+                2, PRAZO, 90, 3, PRAZO.minusHours(1)), aberto);
+        assertEquals(0, LeilaoEstadoService.toResponse(estado, PRAZO.plusSeconds(5)).segundosRestantes());
+
+        estado.setNomeStatus("FINALIZADO");
+        assertEquals(0, LeilaoEstadoService.toResponse(estado, PRAZO.minusSeconds(90)).segundosRestantes());
+        estado.setDataExpiracaoNegociacao(null);
+        assertEquals(0, LeilaoEstadoService.toResponse(estado, PRAZO).segundosRestantes());
+    }
+
+    @Test
+    @DisplayName("Deve lançar ResourceNotFoundException para Frete sem estado")
+    void buscar_Inexistente_DeveLancarExcecao() {
+        when(repository.findById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> service.buscar(99L));
+    }
+
+    private LeilaoEstado salvo() {
+        ArgumentCaptor<LeilaoEstado> captor = ArgumentCaptor.forClass(LeilaoEstado.class);
+        verify(repository).save(captor.capture());
+        return captor.getValue();
+    }
+
+    private static LivroOfertasLeilao livro(OfertaTransportador... ofertas) {
+        LivroOfertasLeilao livro = new LivroOfertasLeilao(7L, 70L, LivroOfertasLeilao.STATUS_ABERTO, PRAZO);
+        for (OfertaTransportador oferta : ofertas) {
+            livro.registrar(oferta);
+        }
+        return livro;
+    }
+
+    private static OfertaTransportador oferta(Long lanceId, Long transportadorId, String valor) {
+        return new OfertaTransportador(lanceId, transportadorId, "Transportador " + transportadorId,
+                new BigDecimal(valor), PRAZO.minusDays(1));
+    }
+
+    private static Frete frete(String nomeStatus) {
+        StatusLeilao status = new StatusLeilao();
+        status.setNomeStatus(nomeStatus);
+        return Frete.builder()
+                .freteId(7L)
+                .statusLeilao(status)
+                .dataExpiracaoNegociacao(PRAZO)
+                .build();
+    }
+}
@@ -0,0 +1,147 @@
+package br.com.wta.frete.logistica.service;
+
+import br.com.wta.frete.logistica.service.LivroOfertasLeilao.ContraLance;
+import br.com.wta.frete.logistica.service.LivroOfertasLeilao.LanceAutomaticoAtivo;
+import br.com.wta.frete.logistica.service.LivroOfertasLeilao.OfertaTransportador;
+import br.com.wta.frete.shared.exception.InvalidDataException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários do livro de ofertas em memória (regras de lance 1 a 4).
+ */
+public class LivroOfertasLeilaoTest {
+
+    private LivroOfertasLeilao livro;
+    private LocalDateTime agora;
+
+    @BeforeEach
+    void setUp() {
+        agora = LocalDateTime.now();
+        livro = new LivroOfertasLeilao(10L, 20L, LivroOfertasLeilao.STATUS_ABERTO, agora.plusHours(1));
+    }
+
+    private OfertaTransportador oferta(long lanceId, long transportadorId, String valor) {
+        return new OfertaTransportador(lanceId, transportadorId, "T" + transportadorId, new BigDecimal(valor), agora);
+    }
+
+    @Test
+    @DisplayName("Deve aceitar o primeiro lance positivo e torná-lo o melhor lance")
+    void primeiroLance_DeveSerMelhorOferta() {
+        livro.validarValorDoLance(null, new BigDecimal("100.00"));
+        livro.registrar(oferta(1, 1, "100.00"));
+
+        assertEquals(1L, livro.getMelhorOferta().transportadorId());
+        assertEquals(1, livro.getTotalOfertas());
+    }
+
+    @Test
+    @DisplayName("Regra 1: Deve rejeitar lance não positivo")
+    void regra1_LanceNaoPositivo() {
+        assertThrows(InvalidDataException.class, () -> livro.validarValorDoLance(null, BigDecimal.ZERO));
+    }
+
+    @Test
+    @DisplayName("Regra 2: Deve rejeitar re-bid que não reduz o próprio lance")
+    void regra2_ReBidMaiorOuIgual() {
+        livro.registrar(oferta(1, 1, "100.00"));
+        livro.registrar(oferta(2, 2, "90.00"));
+
+        OfertaTransportador anterior = livro.ofertaDe(1L);
+        assertThrows(InvalidDataException.class,
+                () -> livro.validarValorDoLance(anterior, new BigDecimal("100.00")));
+    }
+
+    @Test
+    @DisplayName("Regra 3: Deve impedir que o líder supere o próprio lance")
+    void regra3_LiderNaoPodeDarLance() {
+        livro.registrar(oferta(1, 1, "100.00"));
+
+        OfertaTransportador anterior = livro.ofertaDe(1L);
+        InvalidDataException ex = assertThrows(InvalidDataException.class,
+                () -> livro.validarValorDoLance(anterior, new BigDecimal("50.00")));
+        assertTrue(ex.getMessage().contains("melhor lance"));
+    }
+
+    @Test
+    @DisplayName("Regra 4: Deve exigir decremento mínimo de R$ 5,00 sobre o melhor lance")
+    void regra4_DecrementoMinimo() {
+        livro.registrar(oferta(1, 1, "100.00"));
+
+        assertThrows(InvalidDataException.class, () -> livro.validarValorDoLance(null, new BigDecimal("95.01")));
+        assertDoesNotThrow(() -> livro.validarValorDoLance(null, new BigDecimal("95.00")));
+    }
+
+    @Test
+    @DisplayName("Deve substituir o lance do transportador e recalcular o melhor lance")
+    void registrar_DeveAtualizarMelhorOferta() {
+        livro.registrar(oferta(1, 1, "100.00"));
+        livro.registrar(oferta(2, 2, "95.00"));
+        livro.registrar(oferta(1, 1, "80.00"));
+
+        assertEquals(1L, livro.getMelhorOferta().transportadorId());
+        assertEquals(0, new BigDecimal("80.00").compareTo(livro.getMelhorOferta().valorLance()));
+        assertEquals(2, livro.getTotalOfertas());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar lances em leilão expirado ou fechado")
+    void validarStatus_ExpiradoOuFechado() {
+        LivroOfertasLeilao expirado = new LivroOfertasLeilao(1L, 1L, LivroOfertasLeilao.STATUS_ABERTO,
+                agora.minusMinutes(1));
+        LivroOfertasLeilao fechado = new LivroOfertasLeilao(1L, 1L, "ENCERRADO_COM_VENCEDOR", agora.plusHours(1));
+
+        assertThrows(InvalidDataException.class, () -> expirado.validarStatusParaLance(agora));
+        assertThrows(InvalidDataException.class, () -> fechado.validarStatusParaLance(agora));
+        assertDoesNotThrow(() -> livro.validarStatusParaLance(agora));
+    }
+
+    @Test
+    @DisplayName("Lance automático deve cobrir o lance manual com o decremento mínimo")
+    void lanceAutomatico_DeveCobrirComDecrementoMinimo() {
+        livro.registrarLanceAutomatico(new LanceAutomaticoAtivo(1L, 2L, new BigDecimal("50.00")));
+        livro.registrar(oferta(1, 1, "100.00"));
+
+        List<ContraLance> contraLances = livro.resolverLancesAutomaticos();
+
+        assertEquals(List.of(new ContraLance(2L, new BigDecimal("95.00"))), contraLances);
+    }
+
+    @Test
+    @DisplayName("Disputa entre lances automáticos deve ser resolvida em um único passo")
+    void lanceAutomatico_DisputaResolvidaEmUmPasso() {
+        livro.registrarLanceAutomatico(new LanceAutomaticoAtivo(1L, 2L, new BigDecimal("60.00")));
+        livro.registrarLanceAutomatico(new LanceAutomaticoAtivo(2L, 3L, new BigDecimal("40.00")));
+        livro.registrar(oferta(1, 1, "100.00"));
+
+        List<ContraLance> contraLances = livro.resolverLancesAutomaticos();
+
+        // O segundo colocado para no próprio mínimo; o vencedor fica um decremento abaixo.
+        assertEquals(List.of(
+                new ContraLance(2L, new BigDecimal("60.00")),
+                new ContraLance(3L, new BigDecimal("55.00"))), contraLances);
+
+        contraLances.forEach(c -> livro.registrar(oferta(10 + c.transportadorId(), c.transportadorId(),
+                c.valorLance().toPlainString())));
+        assertTrue(livro.resolverLancesAutomaticos().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Lance automático não deve descer abaixo do piso ANTT")
+    void lanceAutomatico_RespeitaPisoAntt() {
+        LivroOfertasLeilao comPiso = new LivroOfertasLeilao(10L, 20L, LivroOfertasLeilao.STATUS_ABERTO,
+                agora.plusHours(1), new BigDecimal("97.00"));
+        comPiso.registrarLanceAutomatico(new LanceAutomaticoAtivo(1L, 2L, new BigDecimal("50.00")));
+        comPiso.registrar(oferta(1, 1, "100.00"));
+
+        // Para cobrir seria preciso R$ 95,00, abaixo do piso de R$ 97,00.
+        assertTrue(comPiso.resolverLancesAutomaticos().isEmpty());
+    }
+}
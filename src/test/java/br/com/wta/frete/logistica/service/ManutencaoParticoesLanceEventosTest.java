@@ -0,0 +1,45 @@
+package br.com.wta.frete.logistica.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários da criação das partições mensais de lance_eventos.
+ */
+public class ManutencaoParticoesLanceEventosTest {
+
+    private static final YearMonth MARCO = YearMonth.of(2026, 3);
+
+    private JdbcTemplate jdbcTemplate;
+    private ManutencaoParticoesLanceEventos manutencao;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        manutencao = new ManutencaoParticoesLanceEventos(jdbcTemplate, 2, 0);
+    }
+
+    @Test
+    @DisplayName("Mês com linhas na DEFAULT não deve impedir a criação das partições seguintes")
+    void criarParticoes_FalhaEmUmMes_DeveSeguirParaOsDemais() {
+        doThrow(new DataIntegrityViolationException(
+                "updated partition constraint for default partition would be violated"))
+                .when(jdbcTemplate).execute(contains(ManutencaoParticoesLanceEventos.nomeParticao(MARCO)));
+
+        List<YearMonth> falhas = manutencao.criarParticoes(MARCO);
+
+        assertEquals(List.of(MARCO), falhas);
+        verify(jdbcTemplate).execute(contains("lance_eventos_202604 PARTITION OF"));
+        verify(jdbcTemplate).execute(contains("lance_eventos_202605 PARTITION OF"));
+    }
+}
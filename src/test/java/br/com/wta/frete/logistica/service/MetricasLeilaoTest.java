@@ -0,0 +1,66 @@
+package br.com.wta.frete.logistica.service;
+
+import br.com.wta.frete.logistica.entity.StatusLeilao;
+import br.com.wta.frete.logistica.repository.FreteRepository;
+import br.com.wta.frete.logistica.repository.StatusLeilaoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários das métricas de lances e leilões.
+ */
+public class MetricasLeilaoTest {
+
+    private SimpleMeterRegistry registry;
+    private FreteRepository freteRepository;
+    private StatusLeilaoRepository statusLeilaoRepository;
+    private MetricasLeilao metricas;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        freteRepository = mock(FreteRepository.class);
+        statusLeilaoRepository = mock(StatusLeilaoRepository.class);
+        metricas = new MetricasLeilao(registry, freteRepository, statusLeilaoRepository);
+    }
+
+    @Test
+    @DisplayName("Deve separar a latência e a contagem de lances por resultado e motivo")
+    void registrarLance_DeveSepararPorResultadoEMotivo() {
+        metricas.registrarLance(metricas.iniciarAmostra(), MetricasLeilao.RESULTADO_ACEITO, null);
+        metricas.registrarLance(metricas.iniciarAmostra(), MetricasLeilao.RESULTADO_REJEITADO, "LANCE_INVALIDO");
+        metricas.registrarLance(metricas.iniciarAmostra(), MetricasLeilao.RESULTADO_REJEITADO, "LANCE_INVALIDO");
+        metricas.contarLance(MetricasLeilao.ORIGEM_AUTOMATICO, MetricasLeilao.RESULTADO_ACEITO, null);
+
+        assertEquals(1, registry.get("frete.lance.criacao").tag("resultado", "aceito").tag("motivo", "nenhum")
+                .timer().count());
+        assertEquals(2, registry.get("frete.lance.criacao").tag("motivo", "LANCE_INVALIDO").timer().count());
+        assertEquals(2.0, registry.get("frete.lances").tag("origem", "individual").tag("resultado", "rejeitado")
+                .counter().count());
+        assertEquals(1.0, registry.get("frete.lances").tag("origem", "automatico").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve atualizar o gauge de leilões abertos e o tempo até o encerramento")
+    void atualizarLeiloesAbertos_DeveRefletirContagemDoBanco() {
+        StatusLeilao aberto = new StatusLeilao();
+        aberto.setId(1);
+        when(statusLeilaoRepository.findByNomeStatus(LivroOfertasLeilao.STATUS_ABERTO)).thenReturn(Optional.of(aberto));
+        when(freteRepository.countByStatusLeilaoId(1)).thenReturn(42L);
+
+        metricas.atualizarLeiloesAbertos();
+        metricas.registrarEncerramento(LocalDateTime.now().minusMinutes(10));
+        metricas.registrarEncerramento(null);
+
+        assertEquals(42.0, registry.get("frete.leilao.abertos").gauge().value());
+        assertEquals(1, registry.get("frete.leilao.lance-ate-encerramento").timer().count());
+    }
+}
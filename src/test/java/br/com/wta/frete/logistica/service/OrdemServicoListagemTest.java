@@ -0,0 +1,84 @@
+package br.com.wta.frete.logistica.service;
+
+import br.com.wta.frete.core.entity.enums.StatusServico;
+import br.com.wta.frete.logistica.controller.dto.PaginaOrdensServicoResponse;
+import br.com.wta.frete.logistica.repository.OrdemServicoRepository;
+import br.com.wta.frete.logistica.repository.projection.FiltroOrdensServico;
+import br.com.wta.frete.logistica.repository.projection.OrdemServicoResumoProjection;
+import br.com.wta.frete.logistica.service.mapper.OrdemServicoMapperImpl;
+import br.com.wta.frete.shared.exception.InvalidDataException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários da listagem paginada (keyset) de Ordens de Serviço.
+ */
+public class OrdemServicoListagemTest {
+
+    private OrdemServicoRepository ordemServicoRepository;
+    private OrdemServicoService service;
+
+    @BeforeEach
+    void setUp() {
+        ordemServicoRepository = mock(OrdemServicoRepository.class);
+        service = new OrdemServicoService(ordemServicoRepository, new OrdemServicoMapperImpl(), null, null, null,
+                null, null, null, null);
+    }
+
+    @Test
+    @DisplayName("Deve montar a página e apontar o cursor para a última OS quando há mais resultados")
+    void listar_PaginaCheia_DeveRetornarCursor() {
+        when(ordemServicoRepository.listarResumos(any(), isNull(), eq(3))).thenReturn(resumos(30, 29, 28));
+
+        PaginaOrdensServicoResponse pagina = service.listar(null, null, null, null, null, null, 2);
+
+        assertEquals(List.of(30L, 29L), pagina.itens().stream().map(i -> i.ordemServicoId()).toList());
+        assertEquals(29L, pagina.proximoCursor());
+        assertEquals("Pendente", pagina.itens().get(0).status());
+    }
+
+    @Test
+    @DisplayName("Última página não deve ter cursor; filtros devem ser repassados ao repositório")
+    void listar_UltimaPagina_DeveRepassarFiltros() {
+        ArgumentCaptor<FiltroOrdensServico> filtro = ArgumentCaptor.forClass(FiltroOrdensServico.class);
+        when(ordemServicoRepository.listarResumos(filtro.capture(), eq(29L), eq(51))).thenReturn(resumos(28));
+
+        PaginaOrdensServicoResponse pagina = service.listar("pendente", 7L, null, LocalDate.of(2025, 1, 1),
+                LocalDate.of(2025, 1, 31), 29L, null);
+
+        assertEquals(1, pagina.itens().size());
+        assertNull(pagina.proximoCursor());
+        assertEquals(StatusServico.PENDENTE, filtro.getValue().status());
+        assertEquals(7L, filtro.getValue().clienteSolicitanteId());
+        assertEquals(LocalDate.of(2025, 2, 1).atStartOfDay(ZoneId.systemDefault()),
+                filtro.getValue().solicitadaAte());
+    }
+
+    @Test
+    @DisplayName("Filtros inválidos devem ser rejeitados sem consultar o banco")
+    void listar_FiltrosInvalidos_DeveLancarInvalidDataException() {
+        assertThrows(InvalidDataException.class, () -> service.listar("XYZ", null, null, null, null, null, null));
+        assertThrows(InvalidDataException.class, () -> service.listar(null, null, null, null, null, null, 201));
+        assertThrows(InvalidDataException.class, () -> service.listar(null, null, null,
+                LocalDate.of(2025, 2, 1), LocalDate.of(2025, 1, 1), null, null));
+        verifyNoInteractions(ordemServicoRepository);
+    }
+
+    private static List<OrdemServicoResumoProjection> resumos(long... ids) {
+        return LongStream.of(ids)
+                .mapToObj(id -> new OrdemServicoResumoProjection(id, 100 + id, null, "Rua " + id, "01001000",
+                        "20040002", null, null, StatusServico.PENDENTE))
+                .toList();
+    }
+}
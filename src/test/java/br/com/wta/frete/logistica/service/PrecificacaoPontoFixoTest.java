@@ -0,0 +1,145 @@
+package br.com.wta.frete.logistica.service;
+
+import br.com.wta.frete.colaboradores.entity.MetricaTransportadorFrete;
+import br.com.wta.frete.logistica.service.IndiceMetricasTransportador.FatoresMetrica;
+import br.com.wta.frete.logistica.service.TabelaAntt.VersaoParametro;
+import br.com.wta.frete.shared.util.ValorFixo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Paridade da precificação em ponto fixo com as fórmulas originais em
+ * BigDecimal, sobre milhões de entradas aleatórias (semente fixa).
+ */
+public class PrecificacaoPontoFixoTest {
+
+    private static final long SEMENTE = 20_251_018L;
+    private static final LocalDate HOJE = LocalDate.of(2025, 1, 1);
+
+    @Test
+    @DisplayName("Piso ANTT em ponto fixo deve ser idêntico à fórmula original em BigDecimal")
+    void pisoMinimo_DeveSerIdenticoAoBigDecimal() {
+        SplittableRandom aleatorio = new SplittableRandom(SEMENTE);
+        TabelaAntt tabela = null;
+        BigDecimal custoFixo = null;
+        BigDecimal coeficiente = null;
+        BigDecimal taxa = null;
+
+        for (int i = 0; i < 2_000_000; i++) {
+            if (i % 1_000 == 0) {
+                // Parâmetros NUMERIC(10,4) aleatórios a cada mil cotações.
+                custoFixo = decimal(aleatorio.nextLong(10_000_000_000L), 4);
+                coeficiente = decimal(aleatorio.nextLong(1_000_000L), 4);
+                taxa = decimal(aleatorio.nextLong(10_001L), 4);
+                tabela = tabela(custoFixo, coeficiente, taxa);
+            }
+            long distanciaCentesimos = aleatorio.nextLong(1_000_000L);
+            BigDecimal distanciaKm = decimal(distanciaCentesimos, 2);
+
+            BigDecimal esperado = custoFixo.add(distanciaKm.multiply(coeficiente))
+                    .multiply(BigDecimal.ONE.add(taxa)).setScale(2, RoundingMode.HALF_UP);
+
+            assertEquals(esperado, tabela.calcularPisoMinimo(distanciaKm));
+            assertEquals(esperado.unscaledValue().longValueExact(),
+                    tabela.calcularPisoMinimoCentavos(distanciaCentesimos));
+        }
+    }
+
+    @Test
+    @DisplayName("Custo personalizado em ponto fixo deve ser idêntico à fórmula original em BigDecimal")
+    void custoPersonalizado_DeveSerIdenticoAoBigDecimal() {
+        SplittableRandom aleatorio = new SplittableRandom(SEMENTE + 1);
+        MetricaTransportadorFrete metrica = null;
+        FatoresMetrica fatores = null;
+
+        for (int i = 0; i < 1_000_000; i++) {
+            if (i % 1_000 == 0) {
+                metrica = new MetricaTransportadorFrete();
+                metrica.setCustoFixoViagem(decimal(aleatorio.nextLong(100_000_000L), 2));
+                metrica.setCustoPorKm(decimal(aleatorio.nextLong(1_000_000L), 4));
+                metrica.setMargemLucro(decimal(aleatorio.nextLong(10_001L), 4));
+                fatores = FatoresMetrica.de(metrica);
+            }
+            long distanciaCentesimos = aleatorio.nextLong(1_000_000L);
+            BigDecimal distanciaKm = decimal(distanciaCentesimos, 2);
+
+            BigDecimal esperado = metrica.getCustoFixoViagem().add(metrica.getCustoPorKm().multiply(distanciaKm))
+                    .multiply(BigDecimal.ONE.add(metrica.getMargemLucro())).setScale(2, RoundingMode.HALF_UP);
+
+            assertEquals(esperado, fatores.calcularCusto(distanciaKm));
+            assertEquals(esperado.unscaledValue().longValueExact(), fatores.calcularCustoCentavos(distanciaCentesimos));
+        }
+    }
+
+    @Test
+    @DisplayName("Margem de mercado em ponto fixo deve ser idêntica à fórmula original em BigDecimal")
+    void margemMercado_DeveSerIdenticaAoBigDecimal() {
+        SplittableRandom aleatorio = new SplittableRandom(SEMENTE + 2);
+
+        for (int i = 0; i < 1_000_000; i++) {
+            long pisoCentavos = aleatorio.nextLong(100_000_000_000L);
+            BigDecimal esperado = decimal(pisoCentavos, 2).multiply(FreteService.MARGEM_MERCADO_PADRAO)
+                    .setScale(2, RoundingMode.HALF_UP);
+
+            assertEquals(esperado.unscaledValue().longValueExact(), FreteService.aplicarMargemMercado(pisoCentavos));
+        }
+    }
+
+    @Test
+    @DisplayName("Arredondamento HALF_UP deve coincidir com o BigDecimal, inclusive para negativos")
+    void arredondar_DeveCoincidirComHalfUp() {
+        SplittableRandom aleatorio = new SplittableRandom(SEMENTE + 3);
+
+        for (int i = 0; i < 1_000_000; i++) {
+            long valor = aleatorio.nextLong();
+            int casas = aleatorio.nextInt(1, 19);
+            long esperado = decimal(valor, casas).setScale(0, RoundingMode.HALF_UP).longValueExact();
+
+            assertEquals(esperado, ValorFixo.arredondar(valor, casas));
+        }
+        assertEquals(-2L, ValorFixo.arredondar(-15L, 1));
+        assertEquals(-1L, ValorFixo.arredondar(-14L, 1));
+    }
+
+    @Test
+    @DisplayName("Fora da faixa do long, deve cair no cálculo em BigDecimal com o mesmo resultado")
+    void foraDaFaixa_DeveUsarBigDecimal() {
+        BigDecimal custoFixo = new BigDecimal("999999.9999");
+        BigDecimal coeficiente = new BigDecimal("999999.9999");
+        BigDecimal taxa = new BigDecimal("0.0500");
+        TabelaAntt tabela = tabela(custoFixo, coeficiente, taxa);
+
+        // Distância com mais casas que a escala fixa e distância que estoura o produto.
+        for (BigDecimal distanciaKm : List.of(new BigDecimal("10.125"), new BigDecimal("99999999999.99"))) {
+            BigDecimal esperado = custoFixo.add(distanciaKm.multiply(coeficiente))
+                    .multiply(BigDecimal.ONE.add(taxa)).setScale(2, RoundingMode.HALF_UP);
+            assertEquals(esperado, tabela.calcularPisoMinimo(distanciaKm));
+        }
+
+        // Parâmetro com mais casas que a coluna: a tabela inteira usa BigDecimal.
+        TabelaAntt tabelaDecimal = tabela(new BigDecimal("0.00005"), coeficiente, taxa);
+        assertEquals(tabelaDecimal.calcularPisoMinimoDecimal(new BigDecimal("1.00")),
+                tabelaDecimal.calcularPisoMinimo(new BigDecimal("1.00")));
+        assertEquals(ValorFixo.escalar(tabelaDecimal.calcularPisoMinimoDecimal(new BigDecimal("1.00")), 2),
+                tabelaDecimal.calcularPisoMinimoCentavos(100L));
+    }
+
+    private static TabelaAntt tabela(BigDecimal custoFixo, BigDecimal coeficiente, BigDecimal taxa) {
+        return TabelaAntt.vigenteEm(List.of(
+                new VersaoParametro(1, TabelaAntt.CUSTO_FIXO_VIAGEM, custoFixo, null, HOJE),
+                new VersaoParametro(2, TabelaAntt.COEFICIENTE_POR_KM, coeficiente, null, HOJE),
+                new VersaoParametro(3, TabelaAntt.TAXA_ADMINISTRATIVA, taxa, null, HOJE)), HOJE, "teste");
+    }
+
+    private static BigDecimal decimal(long valorEscalado, int escala) {
+        return BigDecimal.valueOf(valorEscalado, escala);
+    }
+}
@@ -0,0 +1,159 @@
+package br.com.wta.frete.logistica.service;
+
+import br.com.wta.frete.logistica.service.ProcessadorFinalizacaoLeiloes.ResumoLote;
+import br.com.wta.frete.shared.exception.InvalidDataException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários do pool de encerramento de leilões: retentativa, timeout
+ * e backpressure.
+ */
+public class ProcessadorFinalizacaoLeiloesTest {
+
+    private static final LocalDateTime LIMITE = LocalDateTime.now();
+
+    private FreteService freteService;
+    private SimpleMeterRegistry meterRegistry;
+    private ProcessadorFinalizacaoLeiloes processador;
+
+    @BeforeEach
+    void setUp() {
+        freteService = mock(FreteService.class);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (processador != null) {
+            processador.encerrar();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve repetir falhas de concorrência e bloqueio ocupado até encerrar o leilão")
+    void finalizarLote_FalhaTransitoria_DeveRepetir() {
+        processador = criar(1, 5_000, 3);
+        when(freteService.finalizarLeilaoPorId(eq(1L), any()))
+                .thenThrow(new CannotAcquireLockException("lock"))
+                .thenThrow(new InvalidDataException("Leilão ocupado", "LEILAO_OCUPADO"))
+                .thenReturn(true);
+
+        assertEquals(new ResumoLote(1, 0, 0), processador.finalizarLote(List.of(1L), LIMITE));
+        verify(freteService, times(3)).finalizarLeilaoPorId(1L, LIMITE);
+        assertEquals(2.0, meterRegistry.counter("frete.leilao.finalizacao.retentativas").count());
+    }
+
+    @Test
+    @DisplayName("Não deve repetir erros de negócio nem ultrapassar o limite de tentativas")
+    void finalizarLote_FalhaDefinitiva_DeveRetornarFalha() {
+        processador = criar(1, 5_000, 2);
+        when(freteService.finalizarLeilaoPorId(eq(1L), any()))
+                .thenThrow(new InvalidDataException("Frete inválido", "FRETE_INVALIDO"));
+        when(freteService.finalizarLeilaoPorId(eq(2L), any()))
+                .thenThrow(new CannotAcquireLockException("lock"));
+
+        assertEquals(new ResumoLote(0, 0, 2), processador.finalizarLote(List.of(1L, 2L), LIMITE));
+        verify(freteService, times(1)).finalizarLeilaoPorId(1L, LIMITE);
+        verify(freteService, times(2)).finalizarLeilaoPorId(2L, LIMITE);
+    }
+
+    @Test
+    @DisplayName("Deve cancelar e interromper o encerramento que excede o timeout")
+    void finalizarLote_ExcedeTimeout_DeveCancelar() {
+        processador = criar(1, 200, 3);
+        AtomicBoolean interrompido = new AtomicBoolean();
+        when(freteService.finalizarLeilaoPorId(eq(1L), any())).thenAnswer(inv -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrompido.set(true);
+            }
+            return true;
+        });
+
+        assertEquals(new ResumoLote(0, 0, 1), processador.finalizarLote(List.of(1L), LIMITE));
+        aguardar(interrompido::get);
+        // O vigia contabiliza a falha logo após cancelar a tarefa.
+        aguardar(() -> meterRegistry.counter("frete.leilao.finalizacao", "resultado", "falha").count() == 1.0);
+    }
+
+    @Test
+    @DisplayName("O tempo de espera na fila não deve contar para o timeout")
+    void finalizarLote_TarefasNaFila_DevemTerOPrazoInteiro() {
+        // Um worker: cada tarefa espera a anterior, e a soma excede o timeout.
+        processador = criar(1, 400, 1);
+        when(freteService.finalizarLeilaoPorId(anyLong(), any())).thenAnswer(inv -> {
+            Thread.sleep(250);
+            return true;
+        });
+
+        assertEquals(new ResumoLote(3, 0, 0), processador.finalizarLote(List.of(1L, 2L, 3L), LIMITE));
+    }
+
+    @Test
+    @DisplayName("Com a fila cheia, o agendador deve desistir e a varredura executar na própria thread")
+    void filaCheia_TentarSubmeterRecusaEVarreduraExecutaNaChamadora() throws Exception {
+        // Um worker e fila de 4 posições.
+        processador = criar(1, 5_000, 1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        CountDownLatch ocupado = new CountDownLatch(1);
+        Map<Long, String> threads = new ConcurrentHashMap<>();
+        when(freteService.finalizarLeilaoPorId(anyLong(), any())).thenAnswer(inv -> {
+            Long freteId = inv.getArgument(0);
+            threads.put(freteId, Thread.currentThread().getName());
+            if (freteId == 1L) {
+                ocupado.countDown();
+                liberar.await();
+            }
+            return true;
+        });
+
+        assertTrue(processador.tentarSubmeter(1L, LIMITE));
+        assertTrue(ocupado.await(5, TimeUnit.SECONDS));
+        for (long freteId = 2; freteId <= 5; freteId++) {
+            assertTrue(processador.tentarSubmeter(freteId, LIMITE));
+        }
+
+        // O agendador não executa nada na sua thread.
+        assertFalse(processador.tentarSubmeter(6L, LIMITE));
+        assertFalse(threads.containsKey(6L));
+
+        // A varredura executa de forma síncrona, antes de o worker ser liberado.
+        assertEquals(new ResumoLote(1, 0, 0), processador.finalizarLote(List.of(7L), LIMITE));
+        assertEquals(Thread.currentThread().getName(), threads.get(7L));
+        assertFalse(threads.containsKey(2L));
+        assertFalse(Thread.currentThread().isInterrupted());
+
+        liberar.countDown();
+    }
+
+    private ProcessadorFinalizacaoLeiloes criar(int workers, long timeoutMs, int tentativas) {
+        return new ProcessadorFinalizacaoLeiloes(freteService, meterRegistry, 10, workers, timeoutMs, tentativas);
+    }
+
+    private static void aguardar(BooleanSupplier condicao) {
+        long limite = System.currentTimeMillis() + 5_000;
+        while (!condicao.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < limite, "Condição não atingida a tempo.");
+            Thread.onSpinWait();
+        }
+    }
+}
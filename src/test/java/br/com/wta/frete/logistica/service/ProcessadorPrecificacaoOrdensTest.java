@@ -0,0 +1,110 @@
+package br.com.wta.frete.logistica.service;
+
+import br.com.wta.frete.logistica.entity.OrdemServico;
+import br.com.wta.frete.logistica.repository.FreteRepository;
+import br.com.wta.frete.logistica.repository.OrdemServicoRepository;
+import br.com.wta.frete.logistica.service.ProcessadorPrecificacaoOrdens.PedidoPrecificacao;
+import br.com.wta.frete.shared.exception.InvalidDataException;
+import br.com.wta.frete.shared.outbox.RegistroOutbox;
+import br.com.wta.frete.shared.outbox.RegistroOutbox.ItemOutbox;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários dos workers de precificação assíncrona da OS.
+ */
+public class ProcessadorPrecificacaoOrdensTest {
+
+    private static final String TIPO = ProcessadorPrecificacaoOrdens.TIPO_TAREFA;
+
+    private RegistroOutbox registroOutbox;
+    private FreteService freteService;
+    private OrdemServicoRepository ordemServicoRepository;
+    private FreteRepository freteRepository;
+    private PlatformTransactionManager transactionManager;
+    private ProcessadorPrecificacaoOrdens processador;
+
+    private final ItemOutbox item = new ItemOutbox(10L, TIPO, 7L, null, "{}", 0, OffsetDateTime.now());
+    private final PedidoPrecificacao pedido = new PedidoPrecificacao("ROD_PESADO", List.of());
+
+    @BeforeEach
+    void setUp() {
+        registroOutbox = mock(RegistroOutbox.class);
+        freteService = mock(FreteService.class);
+        ordemServicoRepository = mock(OrdemServicoRepository.class);
+        freteRepository = mock(FreteRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        processador = new ProcessadorPrecificacaoOrdens(registroOutbox, freteService, ordemServicoRepository,
+                freteRepository, transactionManager, new SimpleMeterRegistry(), 0, 1000, 3);
+
+        when(registroOutbox.lerPayload(item, PedidoPrecificacao.class)).thenReturn(pedido);
+        when(freteRepository.buscarIdsPorOrdemServico(7L)).thenReturn(List.of());
+    }
+
+    @Test
+    @DisplayName("Deve criar o Frete e concluir a tarefa na mesma transação")
+    void processarProxima_DeveCriarFreteEConcluir() {
+        OrdemServico ordem = new OrdemServico();
+        when(registroOutbox.reservarProximo(TIPO)).thenReturn(Optional.of(item));
+        when(ordemServicoRepository.findById(7L)).thenReturn(Optional.of(ordem));
+
+        assertTrue(processador.processarProxima());
+
+        verify(freteService).criarFrete(ordem, pedido.itensFrete(), "ROD_PESADO");
+        verify(registroOutbox).concluir(10L);
+        verify(transactionManager).commit(any());
+        verify(registroOutbox, never()).registrarFalha(anyLong(), any(), anyBoolean(), anyInt(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Não deve criar um segundo Frete para a mesma OS")
+    void processarProxima_OsComFrete_DeveApenasConcluir() {
+        when(registroOutbox.reservarProximo(TIPO)).thenReturn(Optional.of(item));
+        when(freteRepository.buscarIdsPorOrdemServico(7L)).thenReturn(List.of(99L));
+
+        assertTrue(processador.processarProxima());
+
+        verifyNoInteractions(freteService);
+        verify(registroOutbox).concluir(10L);
+    }
+
+    @Test
+    @DisplayName("Erro de negócio deve encerrar a tarefa; erro transitório deve ser repetido")
+    void processarProxima_Falhas_DevemSerClassificadas() {
+        when(registroOutbox.reservarProximo(TIPO)).thenReturn(Optional.of(item));
+        when(ordemServicoRepository.findById(7L)).thenReturn(Optional.of(new OrdemServico()));
+        when(freteService.criarFrete(any(), any(), any()))
+                .thenThrow(new InvalidDataException("Modalidade inexistente", "MODALIDADE_NAO_ENCONTRADA"))
+                .thenThrow(new QueryTimeoutException("timeout"));
+
+        assertTrue(processador.processarProxima());
+        verify(registroOutbox).registrarFalha(eq(10L), eq("Modalidade inexistente"), eq(true), eq(3), anyLong());
+
+        assertTrue(processador.processarProxima());
+        verify(registroOutbox).registrarFalha(eq(10L), eq("timeout"), eq(false), eq(3), anyLong());
+
+        verify(registroOutbox, never()).concluir(anyLong());
+        verify(transactionManager, times(2)).rollback(any());
+    }
+
+    @Test
+    @DisplayName("Sem tarefa disponível, deve retornar false")
+    void processarProxima_SemTarefa_DeveRetornarFalse() {
+        when(registroOutbox.reservarProximo(TIPO)).thenReturn(Optional.empty());
+
+        assertFalse(processador.processarProxima());
+        verifyNoInteractions(freteService);
+    }
+}
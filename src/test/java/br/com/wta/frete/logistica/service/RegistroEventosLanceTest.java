@@ -0,0 +1,106 @@
+package br.com.wta.frete.logistica.service;
+
+import br.com.wta.frete.logistica.service.RegistroEventosLance.EventoLance;
+import br.com.wta.frete.logistica.service.RegistroEventosLance.OrigemLance;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários da gravação em lote do histórico de lances.
+ */
+public class RegistroEventosLanceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private RegistroEventosLance registro;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        registro = new RegistroEventosLance(jdbcTemplate, 100);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.getSynchronizations().forEach(s -> s.afterCompletion(
+                    TransactionSynchronization.STATUS_COMMITTED));
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("Deve acumular os eventos da transação e inseri-los em um único lote no commit")
+    void registrar_DeveInserirEmLoteNoCommit() {
+        for (long i = 1; i <= 3; i++) {
+            registro.registrar(evento(i));
+        }
+        verifyNoInteractions(jdbcTemplate);
+
+        List<TransactionSynchronization> sincronizacoes = TransactionSynchronizationManager.getSynchronizations();
+        assertEquals(1, sincronizacoes.size());
+        sincronizacoes.get(0).beforeCommit(false);
+
+        verify(jdbcTemplate, times(1)).batchUpdate(eq(RegistroEventosLance.SQL_INSERT),
+                argThat((List<EventoLance> eventos) -> eventos.size() == 3), eq(100),
+                any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("Uma transação REQUIRES_NEW deve inserir apenas os seus eventos, no seu próprio commit")
+    void registrar_TransacaoInterna_DeveTerLoteProprio() throws Exception {
+        // Transações reais (gerenciador JDBC sobre uma conexão simulada).
+        TransactionSynchronizationManager.clearSynchronization();
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(mock(Connection.class));
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        TransactionTemplate externa = new TransactionTemplate(transactionManager);
+        TransactionTemplate interna = new TransactionTemplate(transactionManager);
+        interna.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        List<List<Long>> lotes = new ArrayList<>();
+        when(jdbcTemplate.batchUpdate(eq(RegistroEventosLance.SQL_INSERT), anyList(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class))).thenAnswer(invocacao -> {
+                    List<EventoLance> eventos = invocacao.getArgument(1);
+                    lotes.add(eventos.stream().map(EventoLance::lanceId).toList());
+                    return new int[0][];
+                });
+
+        externa.executeWithoutResult(status -> {
+            registro.registrar(evento(1));
+            interna.executeWithoutResult(statusInterno -> registro.registrar(evento(2)));
+            registro.registrar(evento(3));
+        });
+
+        assertEquals(List.of(List.of(2L), List.of(1L, 3L)), lotes);
+        assertFalse(TransactionSynchronizationManager.hasResource(registro));
+    }
+
+    private static EventoLance evento(long lanceId) {
+        return new EventoLance(1L, lanceId, 10L, new BigDecimal("100.00"), null, OrigemLance.MANUAL,
+                LocalDateTime.now());
+    }
+}
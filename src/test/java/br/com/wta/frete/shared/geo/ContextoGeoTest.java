@@ -0,0 +1,61 @@
+package br.com.wta.frete.shared.geo;
+
+import br.com.wta.frete.shared.service.GeoService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sobe os componentes de geolocalização pelo container do Spring (varredura
+ * do pacote, como na aplicação), sem banco: quebra de injeção nos construtores
+ * falha aqui mesmo quando o contexto completo não pode subir.
+ */
+public class ContextoGeoTest {
+
+    private final ApplicationContextRunner contexto = new ApplicationContextRunner()
+            .withUserConfiguration(ConfiguracaoGeo.class);
+
+    @Test
+    @DisplayName("Deve subir o contexto com o roteador pela malha rodoviária (padrão)")
+    void contexto_DeveSubirComRoteadorGrafo() {
+        contexto.run(ctx -> {
+            assertNull(ctx.getStartupFailure());
+            assertInstanceOf(RoteadorGrafoRodoviario.class, ctx.getBean(RoteadorRodoviario.class));
+
+            BigDecimal km = ctx.getBean(GeoService.class).calcularDistanciaRodoviaria("01001000", "13010000");
+            assertTrue(km.doubleValue() > 50 && km.doubleValue() < 200, "Distância fora da faixa: " + km);
+        });
+    }
+
+    @Test
+    @DisplayName("Deve subir o contexto com o roteador em linha reta quando configurado")
+    void contexto_DeveSubirComRoteadorLinhaReta() {
+        contexto.withPropertyValues("frete.geo.roteador=linha-reta", "frete.geo.cache.tamanho=32")
+                .run(ctx -> {
+                    assertNull(ctx.getStartupFailure());
+                    assertInstanceOf(RoteadorLinhaReta.class, ctx.getBean(RoteadorRodoviario.class));
+                    assertNotNull(ctx.getBean(MotorDistanciaCep.class).getTabela());
+                });
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ComponentScan(basePackageClasses = MotorDistanciaCep.class)
+    @Import(GeoService.class)
+    static class ConfiguracaoGeo {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
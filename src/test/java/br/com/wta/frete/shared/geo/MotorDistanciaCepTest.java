@@ -0,0 +1,135 @@
+package br.com.wta.frete.shared.geo;
+
+import br.com.wta.frete.shared.exception.InvalidDataException;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários do motor offline de distância entre CEPs.
+ */
+public class MotorDistanciaCepTest {
+
+    private static TabelaCentroidesCep tabelaCompilada;
+    private static MotorDistanciaCep motor;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        // Compila o CSV versionado (mesmo caminho do fallback em tempo de execução).
+        try (InputStream csv = MotorDistanciaCepTest.class.getClassLoader()
+                .getResourceAsStream(MotorDistanciaCep.RECURSO_CSV)) {
+            tabelaCompilada = new TabelaCentroidesCep(CompiladorCentroidesCep.compilar(csv));
+            motor = new MotorDistanciaCep(tabelaCompilada, new RoteadorLinhaReta(), 100);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve estimar São Paulo -> Rio de Janeiro próximo da distância rodoviária real (~430 km)")
+    void saoPauloRio_DeveSerPlausivel() {
+        double km = motor.distanciaKm("01310-100", "20040-002");
+
+        assertTrue(km > 380 && km < 480, "Distância fora da faixa esperada: " + km);
+    }
+
+    @Test
+    @DisplayName("Deve ser determinística e simétrica")
+    void distancia_DeveSerDeterministicaESimetrica() {
+        double ida = motor.distanciaKm("80010000", "90010000");
+
+        assertEquals(ida, motor.distanciaKm("80010000", "90010000"));
+        assertEquals(ida, motor.distanciaKm("90010000", "80010000"));
+    }
+
+    @Test
+    @DisplayName("Deve usar o prefixo mais longo (693 = Boa Vista, não 69 = Manaus)")
+    void prefixoMaisLongo_DeveTerPrioridade() {
+        TabelaCentroidesCep tabela = motor.getTabela();
+
+        int boaVista = tabela.buscar("69301000");
+        int manaus = tabela.buscar("69005000");
+
+        assertNotEquals(boaVista, manaus);
+        assertTrue(tabela.latitude(boaVista) > 0, "Boa Vista fica no hemisfério norte");
+    }
+
+    @Test
+    @DisplayName("Deve aplicar a distância mínima para o mesmo CEP ou a mesma região")
+    void mesmaRegiao_DeveUsarDistanciaMinima() {
+        assertEquals(MotorDistanciaCep.DISTANCIA_MINIMA_KM, motor.distanciaKm("01310100", "01310100"));
+        assertEquals(MotorDistanciaCep.DISTANCIA_MINIMA_KM, motor.distanciaKm("01310100", "01001000"));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar CEP com formato inválido")
+    void cepInvalido_DeveLancarExcecao() {
+        InvalidDataException ex = assertThrows(InvalidDataException.class,
+                () -> motor.distanciaKm("1234", "20040002"));
+
+        assertEquals("CEP_INVALIDO", ex.getReasonCode());
+    }
+
+    @Test
+    @DisplayName("Consultas paralelas devem reaproveitar o cache segmentado sem ultrapassar a capacidade")
+    void distancia_ConsultasParalelas_DevemUsarOCache() throws Exception {
+        AtomicInteger calculos = new AtomicInteger();
+        RoteadorLinhaReta linhaReta = new RoteadorLinhaReta();
+        MotorDistanciaCep comContagem = new MotorDistanciaCep(tabelaCompilada, (origem, destino) -> {
+            calculos.incrementAndGet();
+            return linhaReta.distanciaKm(origem, destino);
+        }, 1_000);
+        List<String> ceps = List.of("10000000", "20000000", "30000000", "40000000", "50000000", "60000000",
+                "70000000", "80000000", "90000000");
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                tarefas.add(pool.submit(() -> {
+                    for (String origem : ceps) {
+                        for (String destino : ceps) {
+                            assertEquals(motor.distanciaKm(origem, destino),
+                                    comContagem.distanciaKm(origem, destino));
+                        }
+                    }
+                }));
+            }
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // 36 pares distintos (simétricos); perdas simultâneas podem recalcular.
+        assertEquals(36, comContagem.getTamanhoCache());
+        int calculados = calculos.get();
+        assertTrue(calculados >= 36 && calculados <= 36 * 8, "Cálculos: " + calculados);
+        comContagem.distanciaKm("10000000", "90000000");
+        assertEquals(calculados, calculos.get());
+    }
+
+    @Test
+    @DisplayName("O cache deve respeitar a capacidade configurada")
+    void cache_DeveRespeitarACapacidade() {
+        MotorDistanciaCep pequeno = new MotorDistanciaCep(tabelaCompilada, new RoteadorLinhaReta(), 16);
+        for (int origem = 1; origem <= 9; origem++) {
+            for (int destino = origem + 1; destino <= 9; destino++) {
+                pequeno.distanciaKm(origem + "0000000", destino + "0000000");
+            }
+        }
+
+        // Capacidade por segmento: 16 / SEGMENTOS_CACHE + 1.
+        int limite = (16 / MotorDistanciaCep.SEGMENTOS_CACHE + 1) * MotorDistanciaCep.SEGMENTOS_CACHE;
+        assertTrue(pequeno.getTamanhoCache() <= limite, "Entradas: " + pequeno.getTamanhoCache());
+    }
+}
@@ -0,0 +1,55 @@
+package br.com.wta.frete.shared.geo;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários do roteamento pela malha rodoviária (A*).
+ */
+public class RoteadorGrafoRodoviarioTest {
+
+    private static final PontoGeo SAO_PAULO = new PontoGeo(-23.5505, -46.6333, 1.25);
+    private static final PontoGeo PORTO_ALEGRE = new PontoGeo(-30.0346, -51.2177, 1.25);
+    private static final PontoGeo CAMPINAS = new PontoGeo(-22.9056, -47.0608, 1.25);
+
+    private static RoteadorGrafoRodoviario roteador;
+
+    @BeforeAll
+    static void setUp() {
+        // Binário gerado no build ou, na falta dele, CSVs compilados na hora.
+        roteador = new RoteadorGrafoRodoviario(RoteadorGrafoRodoviario.carregarGrafo(), 150);
+    }
+
+    @Test
+    @DisplayName("Deve estimar São Paulo -> Porto Alegre próximo da distância rodoviária real (~1.110 km)")
+    void saoPauloPortoAlegre_DeveSerPlausivel() {
+        double km = roteador.distanciaKm(SAO_PAULO, PORTO_ALEGRE);
+
+        assertTrue(km > 1000 && km < 1250, "Distância fora da faixa esperada: " + km);
+        assertTrue(km >= SAO_PAULO.distanciaLinhaRetaKm(PORTO_ALEGRE));
+    }
+
+    @Test
+    @DisplayName("Deve encontrar o mesmo menor caminho nos dois sentidos entre todos os nós")
+    void menorCaminho_DeveSerSimetricoEAlcancavel() {
+        GrafoRodoviario grafo = roteador.getGrafo();
+        int n = grafo.getQuantidadeNos();
+
+        for (int a = 0; a < n; a++) {
+            for (int b = a + 1; b < n; b++) {
+                double ida = grafo.menorCaminhoKm(a, b);
+                assertFalse(Double.isInfinite(ida), "Nós sem caminho: " + a + " -> " + b);
+                assertEquals(ida, grafo.menorCaminhoKm(b, a), 0.01);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Deve usar a estimativa por linha reta em viagens curtas")
+    void viagemCurta_DeveUsarLinhaReta() {
+        assertEquals(RoteadorLinhaReta.estimar(SAO_PAULO, CAMPINAS), roteador.distanciaKm(SAO_PAULO, CAMPINAS));
+    }
+}
@@ -0,0 +1,70 @@
+package br.com.wta.frete.shared.lock;
+
+import br.com.wta.frete.shared.exception.InvalidDataException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários do bloqueio por chave dentro da JVM.
+ */
+public class GerenciadorBloqueiosLocalTest {
+
+    @Test
+    @DisplayName("Deve serializar execuções da mesma chave e liberar a entrada ao final")
+    void mesmaChave_DeveSerializar() throws Exception {
+        GerenciadorBloqueiosLocal gerenciador = new GerenciadorBloqueiosLocal(5000);
+        AtomicInteger emExecucao = new AtomicInteger();
+        AtomicInteger maximoSimultaneo = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+
+        for (int i = 0; i < 200; i++) {
+            pool.submit(() -> gerenciador.executar(1L, () -> {
+                maximoSimultaneo.accumulateAndGet(emExecucao.incrementAndGet(), Math::max);
+                emExecucao.decrementAndGet();
+                return null;
+            }));
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(1, maximoSimultaneo.get());
+        assertEquals(0, gerenciador.getChavesAtivas());
+    }
+
+    @Test
+    @DisplayName("Não deve bloquear chaves diferentes e deve rejeitar por timeout na mesma chave")
+    void chavesDiferentes_NaoDevemDisputar() throws Exception {
+        GerenciadorBloqueiosLocal gerenciador = new GerenciadorBloqueiosLocal(50);
+        CountDownLatch dentro = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+
+        Thread dono = new Thread(() -> gerenciador.executar(1L, () -> {
+            dentro.countDown();
+            try {
+                liberar.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }));
+        dono.start();
+        assertTrue(dentro.await(5, TimeUnit.SECONDS));
+
+        assertEquals("ok", gerenciador.executar(2L, () -> "ok"));
+        InvalidDataException ex = assertThrows(InvalidDataException.class,
+                () -> gerenciador.executar(1L, () -> "nunca"));
+        assertEquals("LEILAO_OCUPADO", ex.getReasonCode());
+
+        liberar.countDown();
+        dono.join();
+        assertEquals(0, gerenciador.getChavesAtivas());
+    }
+}
@@ -0,0 +1,118 @@
+package br.com.wta.frete.shared.outbox;
+
+import br.com.wta.frete.shared.exception.ResourceNotFoundException;
+import br.com.wta.frete.shared.outbox.RegistroOutbox.ItemOutbox;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários do relay de eventos do outbox.
+ */
+public class RelayOutboxTest {
+
+    private RegistroOutbox registroOutbox;
+    private PlatformTransactionManager transactionManager;
+    private ManipuladorOutbox manipuladorLeilao;
+    private ManipuladorOutbox manipuladorGeral;
+    private RelayOutbox relay;
+
+    private final ItemOutbox evento = new ItemOutbox(10L, "LEILAO_ENCERRADO", 7L, "LEILAO_ENCERRADO:7", "{}", 0,
+            OffsetDateTime.now());
+
+    @BeforeEach
+    void setUp() {
+        registroOutbox = mock(RegistroOutbox.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        manipuladorLeilao = manipulador("confirmacao-os", "LEILAO_ENCERRADO");
+        manipuladorGeral = manipulador("redis", ManipuladorOutbox.TODOS_OS_TIPOS);
+        ConsumidorDedicadoOutbox dedicado = () -> "PRECIFICACAO_ORDEM_SERVICO";
+
+        relay = new RelayOutbox(registroOutbox, List.of(manipuladorLeilao, manipuladorGeral), List.of(dedicado),
+                transactionManager, new SimpleMeterRegistry(), 0, 1000, 50, 60000, 3, 7);
+
+        when(registroOutbox.reservarLote(List.of("PRECIFICACAO_ORDEM_SERVICO"), 50, 60000))
+                .thenReturn(List.of(evento));
+    }
+
+    @Test
+    @DisplayName("Deve entregar o evento aos manipuladores do tipo e aos gerais e concluí-lo")
+    void processarLote_DeveEntregarEConcluir() {
+        when(registroOutbox.registrarConsumo(anyString(), anyString())).thenReturn(true);
+
+        assertEquals(1, relay.processarLote());
+
+        verify(manipuladorLeilao).processar(evento);
+        verify(manipuladorGeral).processar(evento);
+        verify(registroOutbox).registrarConsumo("LEILAO_ENCERRADO:7", "confirmacao-os");
+        verify(registroOutbox).registrarConsumo("LEILAO_ENCERRADO:7", "redis");
+        verify(registroOutbox).concluir(10L);
+        verify(registroOutbox, never()).registrarFalha(anyLong(), any(), anyBoolean(), anyInt(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Reentrega não deve repetir o efeito de um manipulador que já consumiu o evento")
+    void processarLote_EventoJaConsumido_NaoDeveReprocessar() {
+        when(registroOutbox.registrarConsumo("LEILAO_ENCERRADO:7", "confirmacao-os")).thenReturn(false);
+        when(registroOutbox.registrarConsumo("LEILAO_ENCERRADO:7", "redis")).thenReturn(true);
+
+        relay.processarLote();
+
+        verify(manipuladorLeilao, never()).processar(any());
+        verify(manipuladorGeral).processar(evento);
+        verify(registroOutbox).concluir(10L);
+    }
+
+    @Test
+    @DisplayName("Erro transitório deve ser repetido; erro de negócio deve encerrar o evento")
+    void processarLote_Falhas_DevemSerClassificadas() {
+        when(registroOutbox.registrarConsumo(anyString(), anyString())).thenReturn(true);
+        doThrow(new QueryTimeoutException("timeout"))
+                .doThrow(new ResourceNotFoundException("Lance vencedor não encontrado"))
+                .when(manipuladorLeilao).processar(evento);
+
+        relay.processarLote();
+        verify(registroOutbox).registrarFalha(eq(10L), eq("timeout"), eq(false), eq(3), anyLong());
+
+        relay.processarLote();
+        verify(registroOutbox).registrarFalha(eq(10L), eq("Lance vencedor não encontrado"), eq(true), eq(3),
+                anyLong());
+
+        verify(manipuladorGeral, never()).processar(any());
+        verify(registroOutbox, never()).concluir(anyLong());
+        verify(transactionManager, times(2)).rollback(any());
+    }
+
+    @Test
+    @DisplayName("Evento sem manipulador interno deve apenas ser concluído")
+    void processarLote_TipoSemManipulador_DeveConcluir() {
+        ItemOutbox status = new ItemOutbox(11L, "ORDEM_SERVICO_STATUS_ALTERADO", 7L, "chave", "{}", 0,
+                OffsetDateTime.now());
+        relay = new RelayOutbox(registroOutbox, List.of(manipuladorLeilao), List.of(), transactionManager,
+                new SimpleMeterRegistry(), 0, 1000, 50, 60000, 3, 7);
+        when(registroOutbox.reservarLote(List.of(), 50, 60000)).thenReturn(List.of(status));
+
+        assertEquals(1, relay.processarLote());
+
+        verify(manipuladorLeilao, never()).processar(any());
+        verify(registroOutbox).concluir(11L);
+    }
+
+    private static ManipuladorOutbox manipulador(String nome, String tipo) {
+        ManipuladorOutbox manipulador = mock(ManipuladorOutbox.class);
+        when(manipulador.nome()).thenReturn(nome);
+        when(manipulador.tipos()).thenReturn(Set.of(tipo));
+        return manipulador;
+    }
+}